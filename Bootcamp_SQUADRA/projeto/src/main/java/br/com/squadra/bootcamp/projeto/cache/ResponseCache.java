@@ -0,0 +1,140 @@
+package br.com.squadra.bootcamp.projeto.cache;
+
+import br.com.squadra.bootcamp.projeto.jfr.CacheEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache de corpos de resposta HTTP já serializados.
+ * <p>
+ * Cada entrada guarda os bytes UTF-8 do JSON e, a partir de um tamanho mínimo, a versão já compactada em gzip,
+ * junto com o carimbo das tabelas ({@link TableVersions}) lido antes de a resposta ser gerada. Uma entrada só é
+ * devolvida enquanto o carimbo atual for igual ao armazenado; depois de uma escrita ela é simplesmente substituída
+ * na próxima falha. Os arrays são compartilhados entre as requisições e nunca devem ser alterados.
+ * </p>
+ * Ao atingir a capacidade, entradas arbitrárias são descartadas para abrir espaço.
+ */
+public class ResponseCache {
+
+    public static final String CACHE = "http-response";
+
+    private static final Counter hits = counter("hit");
+    private static final Counter misses = counter("miss");
+
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private static volatile int maxEntries = 1024;
+    private static volatile int gzipMinBytes = 1024;
+
+    static {
+        Gauge.builder("http.response.cache.size", entries, Map::size)
+                .description("Respostas mantidas no cache de respostas serializadas")
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Resposta armazenada.
+     *
+     * @param stamp       Carimbo das tabelas no momento em que a resposta começou a ser gerada.
+     * @param pattern     Padrão da rota que atendeu a requisição original.
+     * @param contentType Tipo de conteúdo da resposta.
+     * @param headers     Demais cabeçalhos a repetir (CORS, {@code Vary}).
+     * @param json        Corpo da resposta.
+     * @param gzip        Corpo compactado em gzip, ou {@code null} se for pequeno demais para compensar.
+     */
+    public record Entry(long stamp, String pattern, String contentType, List<Map.Entry<String, String>> headers,
+                        byte[] json, byte[] gzip) {
+    }
+
+    /**
+     * Configura o cache.
+     *
+     * @param capacity Quantidade máxima de respostas armazenadas.
+     * @param gzipMin  Tamanho mínimo, em bytes, para guardar também a versão compactada.
+     */
+    public static void configure(int capacity, int gzipMin) {
+        maxEntries = capacity;
+        gzipMinBytes = gzipMin;
+    }
+
+    /**
+     * Busca uma resposta ainda válida.
+     *
+     * @param key   Chave da requisição (rota e parâmetros normalizados).
+     * @param stamp Carimbo atual das tabelas de que a rota depende.
+     * @return Resposta armazenada ou {@code null} se não houver ou estiver obsoleta.
+     */
+    public static Entry get(String key, long stamp) {
+        Entry entry = entries.get(key);
+        boolean hit = entry != null && entry.stamp() == stamp;
+        (hit ? hits : misses).increment();
+        CacheEvent.emit(CACHE, key, hit);
+        return hit ? entry : null;
+    }
+
+    /**
+     * Armazena uma resposta, compactando o corpo quando ele atinge o tamanho mínimo configurado.
+     *
+     * @param key         Chave da requisição.
+     * @param stamp       Carimbo das tabelas lido antes de gerar a resposta.
+     * @param pattern     Padrão da rota que atendeu a requisição.
+     * @param contentType Tipo de conteúdo da resposta.
+     * @param headers     Cabeçalhos a repetir nos acertos.
+     * @param json        Corpo da resposta.
+     */
+    public static void put(String key, long stamp, String pattern, String contentType,
+                           List<Map.Entry<String, String>> headers, byte[] json) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            Iterator<String> it = entries.keySet().iterator();
+            if (it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        byte[] gzip = json.length >= gzipMinBytes ? gzip(json) : null;
+        entries.put(key, new Entry(stamp, pattern, contentType, headers, json, gzip));
+    }
+
+    /**
+     * Descarta todas as respostas armazenadas.
+     */
+    public static void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return Quantidade de respostas armazenadas.
+     */
+    public static int size() {
+        return entries.size();
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static Counter counter(String result) {
+        return Counter.builder("http.response.cache")
+                .description("Consultas ao cache de respostas serializadas")
+                .tag("result", result)
+                .register(Metrics.globalRegistry);
+    }
+}
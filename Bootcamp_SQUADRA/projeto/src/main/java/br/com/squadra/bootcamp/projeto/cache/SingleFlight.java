@@ -0,0 +1,167 @@
+package br.com.squadra.bootcamp.projeto.cache;
+
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import br.com.squadra.bootcamp.projeto.jfr.CacheEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa consultas idênticas e simultâneas em uma única ida ao banco.
+ * <p>
+ * A primeira chamada com uma chave executa a consulta; as que chegam enquanto ela está em andamento esperam e
+ * recebem o mesmo resultado (ou a mesma exceção). Nada fica guardado depois que a consulta termina: não é um cache,
+ * apenas evita que uma rajada de requisições iguais, como logo após o esvaziamento dos caches, vire uma rajada de
+ * consultas iguais.
+ * </p>
+ * <p>
+ * A chave inclui o carimbo ({@link TableVersions#stamp(Table...)}) das tabelas de que a consulta depende: uma
+ * leitura feita depois de uma escrita nunca aproveita uma consulta iniciada antes dela. Os parâmetros são
+ * normalizados antes de compor a chave: {@link Optional} vazio equivale a {@code null} e, com
+ * {@code singleflight.normalize-case} ligado, textos são comparados em maiúsculas, como os filtros dos DAOs.
+ * </p>
+ * Quem aguardou recebe uma cópia da lista retornada; os elementos são compartilhados e tratados como somente leitura.
+ * Métricas: {@code singleflight.calls} (tags {@code name} e {@code role} {@code leader}/{@code follower}) e
+ * {@code singleflight.collapse.ratio}, a fração de chamadas atendidas por uma consulta de outra requisição. Cada
+ * chamada também gera um {@link CacheEvent} do cache {@code singleflight-<nome>}: acerto quando aproveitou uma
+ * consulta em andamento.
+ */
+public class SingleFlight {
+
+    private static final char SEPARADOR = '\u001f';
+
+    private static volatile boolean enabled = true;
+    private static volatile boolean normalizeCase = true;
+
+    private final String cache;
+    private final Table[] tables;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    /**
+     * Configura o agrupamento de todas as instâncias.
+     *
+     * @param on        Indica se as consultas devem ser agrupadas.
+     * @param upperCase Indica se os parâmetros de texto devem ser comparados em maiúsculas.
+     */
+    public static void configure(boolean on, boolean upperCase) {
+        enabled = on;
+        normalizeCase = upperCase;
+    }
+
+    private SingleFlight(String name, Table... tables) {
+        this.cache = "singleflight-" + name;
+        this.tables = tables;
+        this.leaders = calls(name, "leader");
+        this.followers = calls(name, "follower");
+    }
+
+    /**
+     * Cria um agrupador e registra o seu medidor {@code singleflight.collapse.ratio}, que só pode referenciar a
+     * instância depois de construída.
+     *
+     * @param name   Nome do grupo de consultas, usado nas métricas.
+     * @param tables Tabelas de que as consultas dependem.
+     * @return Agrupador criado.
+     */
+    public static SingleFlight of(String name, Table... tables) {
+        SingleFlight flights = new SingleFlight(name, tables);
+        Gauge.builder("singleflight.collapse.ratio", flights, SingleFlight::collapseRatio)
+                .description("Fração das consultas atendidas por uma consulta idêntica já em andamento")
+                .tag("name", name)
+                .register(Metrics.globalRegistry);
+        return flights;
+    }
+
+    private static Counter calls(String name, String role) {
+        return Counter.builder("singleflight.calls")
+                .description("Consultas recebidas pelo agrupador")
+                .tag("name", name)
+                .tag("role", role)
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Executa a consulta ou aguarda a consulta idêntica já em andamento.
+     *
+     * @param loader    Consulta ao banco.
+     * @param operation Nome da operação, parte da chave.
+     * @param params    Parâmetros da consulta, parte da chave.
+     * @param <V>       Tipo do resultado.
+     * @return Resultado da consulta.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(Supplier<V> loader, String operation, Object... params) {
+        if (!enabled) {
+            return loader.get();
+        }
+        String key = key(operation, params);
+        CompletableFuture<Object> novo = new CompletableFuture<>();
+        CompletableFuture<Object> existente = inFlight.putIfAbsent(key, novo);
+        if (existente != null) {
+            followers.increment();
+            CacheEvent.emit(cache, key, true);
+            return (V) share(await(existente));
+        }
+        leaders.increment();
+        CacheEvent.emit(cache, key, false);
+        try {
+            V result = loader.get();
+            novo.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            novo.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, novo);
+        }
+    }
+
+    private String key(String operation, Object[] params) {
+        StringBuilder sb = new StringBuilder(operation).append(SEPARADOR).append(TableVersions.stamp(tables));
+        for (Object param : params) {
+            sb.append(SEPARADOR);
+            Object valor = param instanceof Optional<?> optional ? optional.orElse(null) : param;
+            if (valor instanceof String texto && normalizeCase) {
+                sb.append(texto.toUpperCase(Locale.ROOT));
+            } else {
+                sb.append(valor);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static Object share(Object result) {
+        return result instanceof List<?> list ? new ArrayList<>(list) : result;
+    }
+
+    private double collapseRatio() {
+        double total = leaders.count() + followers.count();
+        return total == 0 ? 0 : followers.count() / total;
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.squadra.bootcamp.projeto.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contadores de versão das tabelas da aplicação, incrementados pelos métodos de escrita dos DAOs.
+ * <p>
+ * Caches derivados do banco guardam o carimbo ({@link #stamp(Table...)}) das tabelas de que dependem no momento em
+ * que leram os dados; qualquer escrita posterior em uma dessas tabelas altera o carimbo e torna a entrada obsoleta,
+ * sem que o cache precise ser avisado.
+ * </p>
+ * Os contadores existem apenas na memória desta instância.
+ */
+public class TableVersions {
+
+    /**
+     * Tabelas versionadas.
+     */
+    public enum Table {
+        TB_UF, TB_MUNICIPIO, TB_BAIRRO, TB_PESSOA, TB_ENDERECO
+    }
+
+    private static final AtomicLongArray versions = new AtomicLongArray(Table.values().length);
+
+    /**
+     * Registra uma escrita na tabela. Deve ser chamado depois que o comando foi executado com sucesso.
+     *
+     * @param table Tabela alterada.
+     */
+    public static void bump(Table table) {
+        versions.incrementAndGet(table.ordinal());
+    }
+
+    /**
+     * @param table Tabela consultada.
+     * @return Versão atual da tabela.
+     */
+    public static long version(Table table) {
+        return versions.get(table.ordinal());
+    }
+
+    /**
+     * Calcula o carimbo de um conjunto de tabelas. Como as versões só crescem, qualquer escrita em uma das tabelas
+     * produz um carimbo diferente.
+     *
+     * @param tables Tabelas de que o dado depende.
+     * @return Soma das versões das tabelas.
+     */
+    public static long stamp(Table... tables) {
+        long stamp = 0;
+        for (Table table : tables) {
+            stamp += versions.get(table.ordinal());
+        }
+        return stamp;
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.squadra.bootcamp.projeto.config;
+
+import br.com.squadra.bootcamp.projeto.model.dao.BatchLoader;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Aplica ao {@link BatchLoader} as propriedades {@code batch.*} do {@code application.properties}.
+ */
+@Configuration
+public class BatchLoaderConfig {
+
+    @Value("${batch.enabled:true}")
+    private boolean enabled;  // Agrupa buscas por código simultâneas em consultas IN (...)
+
+    @Value("${batch.window-micros:200}")
+    private long windowMicros;  // Espera máxima para completar um lote enquanto outra consulta está em andamento
+
+    @Value("${batch.max-size:256}")
+    private int maxSize;  // Códigos por lote; o lote é enviado assim que atinge esse tamanho
+
+    @PostConstruct
+    public void configure() {
+        BatchLoader.configure(enabled, windowMicros, maxSize);
+    }
+}
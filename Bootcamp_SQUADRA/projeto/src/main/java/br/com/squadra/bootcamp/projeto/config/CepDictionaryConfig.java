@@ -0,0 +1,21 @@
+package br.com.squadra.bootcamp.projeto.config;
+
+import br.com.squadra.bootcamp.projeto.readmodel.CepDictionary;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Aplica ao {@link CepDictionary} as propriedades {@code cep-dictionary.*} do {@code application.properties}.
+ */
+@Configuration
+public class CepDictionaryConfig {
+
+    @Value("${cep-dictionary.path:}")
+    private String path;  // Arquivo gerado pelo CepDictionaryCompiler; vazio desabilita a validação por CEP
+
+    @PostConstruct
+    public void configure() {
+        CepDictionary.configure(path);
+    }
+}
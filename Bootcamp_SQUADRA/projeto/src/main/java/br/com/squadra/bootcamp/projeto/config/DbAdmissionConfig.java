@@ -0,0 +1,50 @@
+package br.com.squadra.bootcamp.projeto.config;
+
+import br.com.squadra.bootcamp.projeto.limiter.DbAdmission;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Aplica ao {@link DbAdmission} as propriedades {@code db.limiter.*} e {@code db.bulkhead.*} do
+ * {@code application.properties}.
+ */
+@Configuration
+public class DbAdmissionConfig {
+
+    @Value("${db.limiter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${db.limiter.initial-limit:32}")
+    private int initialLimit;  // Leituras simultâneas admitidas antes de qualquer ajuste
+
+    @Value("${db.limiter.min-limit:4}")
+    private int minLimit;
+
+    @Value("${db.limiter.max-limit:128}")
+    private int maxLimit;
+
+    @Value("${db.limiter.target-latency-ms:500}")
+    private long targetMillis;  // Latência de chamada de DAO a partir da qual o limite é reduzido
+
+    @Value("${db.limiter.backoff:0.9}")
+    private double backoff;  // Fator aplicado ao limite a cada sinal de congestionamento
+
+    @Value("${db.bulkhead.read:32}")
+    private int read;
+
+    @Value("${db.bulkhead.write:8}")
+    private int write;
+
+    @Value("${db.bulkhead.bulk:2}")
+    private int bulk;  // Exportações (findAll) simultâneas
+
+    @Value("${db.bulkhead.max-wait-ms:50}")
+    private long maxWaitMillis;  // Espera máxima por uma vaga antes de responder 503
+
+    @PostConstruct
+    public void configure() {
+        DbAdmission.configureBulkheads(read, write, bulk, maxWaitMillis);
+        DbAdmission.configureLimiter(enabled, initialLimit, minLimit, maxLimit, targetMillis, backoff);
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.squadra.bootcamp.projeto.config;
+
+import br.com.squadra.bootcamp.projeto.model.dao.Flyweights;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Aplica ao {@link Flyweights} as propriedades {@code flyweight.*} do {@code application.properties}.
+ */
+@Configuration
+public class FlyweightConfig {
+
+    @Value("${flyweight.enabled:true}")
+    private boolean enabled;  // Compartilha UFs, municípios e nomes entre todas as listas carregadas
+
+    @Value("${flyweight.max-names:100000}")
+    private int maxNames;  // Nomes distintos guardados; os excedentes deixam de ser compartilhados
+
+    @PostConstruct
+    public void configure() {
+        Flyweights.configure(enabled, maxNames);
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.squadra.bootcamp.projeto.config;
+
+import br.com.squadra.bootcamp.projeto.health.WarmupHealthIndicator;
+import br.com.squadra.bootcamp.projeto.model.dao.GeoDictionary;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Aplica ao {@link GeoDictionary} as propriedades {@code geo-dictionary.*} do {@code application.properties}.
+ * Habilitado, o dicionário é registrado no {@link WarmupHealthIndicator} e montado assim que a aplicação sobe, em vez
+ * de esperar pela primeira busca, que não chegaria com o nó fora da prontidão.
+ */
+@Configuration
+public class GeoDictionaryConfig {
+
+    @Value("${geo-dictionary.enabled:true}")
+    private boolean enabled;  // Atende as buscas por código de UF, município e bairro pelo dicionário em memória
+
+    @Value("${geo-dictionary.retry-initial-ms:1000}")
+    private long retryInitialMillis;  // Espera antes de repetir uma montagem que falhou
+
+    @Value("${geo-dictionary.retry-max-ms:60000}")
+    private long retryMaxMillis;  // Espera máxima entre tentativas, alcançada dobrando a espera a cada falha
+
+    @Autowired
+    private WarmupHealthIndicator warmup;
+
+    @PostConstruct
+    public void configure() {
+        GeoDictionary.configure(enabled, retryInitialMillis, retryMaxMillis);
+        if (enabled) {
+            warmup.register(GeoDictionary.CACHE);
+            GeoDictionary.onBuilt(() -> warmup.markWarm(GeoDictionary.CACHE));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        GeoDictionary.warmUpAsync();
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.squadra.bootcamp.projeto.config;
+
+import br.com.squadra.bootcamp.projeto.events.ChangeEventBus;
+import br.com.squadra.bootcamp.projeto.events.Outbox;
+import br.com.squadra.bootcamp.projeto.invalidation.ClusterInvalidation;
+import br.com.squadra.bootcamp.projeto.invalidation.InvalidationTransport;
+import br.com.squadra.bootcamp.projeto.invalidation.OutboxInvalidationTransport;
+import br.com.squadra.bootcamp.projeto.invalidation.UdpInvalidationTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Cria o {@link ClusterInvalidation} com o transporte escolhido pela propriedade
+ * {@code cache.invalidation.transport}: {@code outbox} (padrão, pelo banco de dados) ou {@code udp}.
+ */
+@Configuration
+public class InvalidationConfig {
+
+    @Value("${cache.invalidation.transport:outbox}")
+    private String transport;
+
+    @Value("${cache.invalidation.max-tracked-keys:100000}")
+    private int maxTrackedKeys;  // Registros cuja última versão é guardada para descartar avisos fora de ordem
+
+    @Value("${cache.invalidation.udp.port:4446}")
+    private int udpPort;
+
+    @Value("${cache.invalidation.udp.peers:}")
+    private String udpPeers;  // Destinos no formato host:porta, separados por vírgula
+
+    @Value("${cache.invalidation.udp.group:}")
+    private String udpGroup;  // Grupo multicast opcional; deve constar também em udp.peers
+
+    @Value("${cache.invalidation.udp.key:}")
+    private String udpKey;  // Chave do HMAC dos datagramas, igual em todas as instâncias
+
+    @Value("${cache.invalidation.udp.heartbeat-ms:1000}")
+    private long udpHeartbeatMillis;  // Intervalo dos datagramas de sequência sem avisos
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public ClusterInvalidation clusterInvalidation(ChangeEventBus bus) throws IOException {
+        InvalidationTransport meio = switch (transport) {
+            case "outbox" -> new OutboxInvalidationTransport(bus);
+            case "udp" -> new UdpInvalidationTransport(Outbox.ORIGIN, udpPort, UdpInvalidationTransport.parsePeers(udpPeers),
+                    udpGroup.isBlank() ? null : InetAddress.getByName(udpGroup), udpKey.getBytes(StandardCharsets.UTF_8),
+                    udpHeartbeatMillis);
+            default -> throw new IllegalArgumentException("Transporte de invalidação desconhecido: " + transport);
+        };
+        return new ClusterInvalidation(meio, maxTrackedKeys);
+    }
+}
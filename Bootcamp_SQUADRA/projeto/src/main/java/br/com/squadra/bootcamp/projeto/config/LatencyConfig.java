@@ -0,0 +1,30 @@
+package br.com.squadra.bootcamp.projeto.config;
+
+import br.com.squadra.bootcamp.projeto.latency.RequestLatency;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Aplica ao {@link RequestLatency} as propriedades {@code http.latency.*} do {@code application.properties} e
+ * substitui o conversor JSON do Spring Boot pelo {@link TimedJacksonConverter}.
+ */
+@Configuration
+public class LatencyConfig {
+
+    @Value("${http.latency.capacity:128}")
+    private int capacity;  // Quantidade de requisições lentas mantidas em memória
+
+    @PostConstruct
+    public void configure() {
+        RequestLatency.configure(capacity);
+    }
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJacksonConverter(objectMapper);
+    }
+}
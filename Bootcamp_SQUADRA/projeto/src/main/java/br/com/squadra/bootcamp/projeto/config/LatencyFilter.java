@@ -0,0 +1,126 @@
+package br.com.squadra.bootcamp.projeto.config;
+
+import br.com.squadra.bootcamp.projeto.jdbc.QueryStats;
+import br.com.squadra.bootcamp.projeto.jdbc.QueryStatsHolder;
+import br.com.squadra.bootcamp.projeto.latency.CountingResponseWrapper;
+import br.com.squadra.bootcamp.projeto.latency.RequestLatency;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Filtro que mede a latência ponta a ponta de cada requisição HTTP e a registra no {@link RequestLatency}, por
+ * método, rota e combinação de filtros. Requisições acima do SLO da rota são guardadas com o detalhamento do tempo.
+ * <p>
+ * Executa dentro do {@link QueryStatsFilter}, para que os contadores de banco da requisição ainda estejam
+ * disponíveis ao final.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class LatencyFilter extends OncePerRequestFilter {
+
+    private static final String SEM_FILTRO = "nenhum";
+    private static final String OUTROS_FILTROS = "outros";
+
+    @Value("${http.latency.slo-ms:500}")
+    private long defaultSloMillis;  // SLO das rotas sem valor específico
+
+    @Value("${http.latency.route-slo-ms:}")
+    private String routeSlo;  // SLO por rota, no formato /rota=ms separado por vírgulas
+
+    @Value("${http.latency.max-filters:16}")
+    private int maxFilters;  // Combinações de filtros distintas por rota; as demais são agrupadas em "outros"
+
+    private final Map<String, Long> sloPorRota = new HashMap<>();
+    private final Map<String, Set<String>> filtrosPorRota = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void parseRouteSlo() {
+        for (String item : routeSlo.split(",")) {
+            String[] partes = item.split("=");
+            if (partes.length == 2) {
+                sloPorRota.put(partes[0].trim(), Long.parseLong(partes[1].trim()));
+            }
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long inicio = System.nanoTime();
+        CountingResponseWrapper wrapper = new CountingResponseWrapper(response);
+        RequestLatency.begin();
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            long elapsed = System.nanoTime() - inicio;
+            long serialization = RequestLatency.end();
+            String route = route(request);
+            String filter = filter(route, request);
+            long slo = sloPorRota.getOrDefault(route, defaultSloMillis);
+            if (RequestLatency.record(request.getMethod(), route, filter, response.getStatus(), slo, elapsed)) {
+                QueryStats stats = QueryStatsHolder.current();
+                RequestLatency.offer(new RequestLatency.SlowRequest(
+                        Instant.now(),
+                        request.getMethod(),
+                        route,
+                        filter,
+                        response.getStatus(),
+                        elapsed / 1_000_000.0,
+                        slo,
+                        stats != null ? stats.getDbNanos() / 1_000_000.0 : 0,
+                        serialization / 1_000_000.0,
+                        stats != null ? stats.getStatementCount() : 0,
+                        wrapper.getBytesWritten(),
+                        Thread.currentThread().getName()));
+            }
+        }
+    }
+
+    /**
+     * Identifica a rota pelo padrão do mapeamento que atendeu a requisição, evitando que valores variáveis da URI
+     * gerem séries de métricas distintas.
+     */
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "NAO_MAPEADA";
+    }
+
+    /**
+     * Monta a combinação de filtros com os nomes dos parâmetros informados, em ordem alfabética. Os valores nunca
+     * são usados, e cada rota aceita no máximo {@code maxFilters} combinações distintas.
+     */
+    private String filter(String route, HttpServletRequest request) {
+        Map<String, String[]> parametros = request.getParameterMap();
+        if (parametros.isEmpty()) {
+            return SEM_FILTRO;
+        }
+        String filter = String.join(",", new TreeSet<>(parametros.keySet()));
+        Set<String> conhecidos = filtrosPorRota.computeIfAbsent(route, k -> ConcurrentHashMap.newKeySet());
+        if (conhecidos.contains(filter)) {
+            return filter;
+        }
+        if (conhecidos.size() >= maxFilters) {
+            return OUTROS_FILTROS;
+        }
+        conhecidos.add(filter);
+        return filter;
+    }
+}
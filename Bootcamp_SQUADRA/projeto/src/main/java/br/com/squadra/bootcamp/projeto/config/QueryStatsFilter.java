@@ -0,0 +1,101 @@
+package br.com.squadra.bootcamp.projeto.config;
+
+import br.com.squadra.bootcamp.projeto.jdbc.QueryStats;
+import br.com.squadra.bootcamp.projeto.jdbc.QueryStatsHolder;
+import br.com.squadra.bootcamp.projeto.jdbc.RoutingContext;
+import br.com.squadra.bootcamp.projeto.jfr.HttpRequestEvent;
+import br.com.squadra.bootcamp.projeto.model.dao.IdentityMap;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Filtro que abre um escopo de {@link QueryStats} para cada requisição HTTP e, ao final, emite um alerta no log
+ * quando a requisição executou comandos demais ou repetiu o mesmo formato de SQL (padrão N+1). Também emite o
+ * {@link HttpRequestEvent} do JFR com a duração total da requisição. Ao final, libera a thread da fixação no
+ * primário feita pelo {@link RoutingContext} após uma escrita. O {@link IdentityMap} da requisição tem o mesmo
+ * escopo.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryStatsFilter.class);
+
+    @Value("${jdbc.query-stats.warn-threshold:20}")
+    private int warnThreshold;  // Quantidade de comandos por requisição a partir da qual um alerta é emitido
+
+    @Value("${jdbc.query-stats.repeat-threshold:5}")
+    private int repeatThreshold;  // Quantidade de execuções do mesmo formato de SQL considerada N+1
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStatsHolder.begin(request.getMethod() + " " + request.getRequestURI());
+        IdentityMap.begin();
+        HttpRequestEvent event = new HttpRequestEvent();
+        event.begin();
+        RoutingContext.Scope routing = RoutingContext.scope();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            routing.close();
+            QueryStats stats = QueryStatsHolder.end();
+            IdentityMap.end();
+            commit(event, request, response, stats);
+            report(request, stats);
+        }
+    }
+
+    /**
+     * Grava o evento JFR da requisição, se houver gravação ativa para ele.
+     *
+     * @param event    Evento iniciado no começo da requisição.
+     * @param request  Requisição atendida.
+     * @param response Resposta enviada.
+     * @param stats    Contadores acumulados durante a requisição.
+     */
+    private static void commit(HttpRequestEvent event, HttpServletRequest request, HttpServletResponse response,
+                               QueryStats stats) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = request.getMethod();
+            event.endpoint = request.getRequestURI();
+            event.status = response.getStatus();
+            event.statements = stats.getStatementCount();
+            event.commit();
+        }
+    }
+
+    /**
+     * Registra no log as requisições que ultrapassaram os limites configurados.
+     *
+     * @param request Requisição atendida.
+     * @param stats   Contadores acumulados durante a requisição.
+     */
+    private void report(HttpServletRequest request, QueryStats stats) {
+        String endpoint = stats.getEndpoint();
+        if (stats.getStatementCount() > warnThreshold) {
+            log.warn("{} executou {} comandos SQL ({} idas ao banco, {} linhas), acima do limite de {}.",
+                    endpoint, stats.getStatementCount(), stats.getRoundTripCount(), stats.getRowCount(), warnThreshold);
+        }
+        Map<String, Integer> repetidos = stats.getRepeatedShapes(repeatThreshold);
+        for (Map.Entry<String, Integer> entry : repetidos.entrySet()) {
+            log.warn("{} executou {} vezes o mesmo SQL (possível N+1): {}", endpoint, entry.getValue(), entry.getKey());
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("{}: {}", endpoint, stats);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package br.com.squadra.bootcamp.projeto.config;
+
+import br.com.squadra.bootcamp.projeto.cache.ResponseCache;
+import br.com.squadra.bootcamp.projeto.cache.TableVersions;
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Filtro que atende as consultas {@code GET} mais frequentes a partir do {@link ResponseCache}, devolvendo os bytes
+ * já serializados (ou já compactados, quando o cliente aceita gzip) sem passar pelo controlador nem pelo Jackson.
+ * <p>
+ * A chave é a rota com os parâmetros em ordem alfabética. Cada rota declara as tabelas de que sua resposta depende,
+ * e o carimbo dessas tabelas é lido antes de gerar a resposta: uma escrita concorrente torna a entrada obsoleta
+ * em vez de deixar um resultado antigo no cache. Apenas respostas {@code 200} em JSON são armazenadas.
+ * </p>
+ * Executa dentro do {@link LatencyFilter}, para que os acertos também sejam medidos na rota correta.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    // Tabelas lidas por cada rota; as respostas de /pessoa e /endereco embutem endereços, bairros, municípios e UFs
+    private static final Map<String, Table[]> ROUTES = Map.of(
+            "/uf", new Table[]{Table.TB_UF},
+            "/municipio", new Table[]{Table.TB_MUNICIPIO},
+            "/bairro", new Table[]{Table.TB_BAIRRO},
+            "/pessoa", new Table[]{Table.TB_PESSOA, Table.TB_ENDERECO, Table.TB_BAIRRO, Table.TB_MUNICIPIO, Table.TB_UF},
+            "/pessoa/busca", new Table[]{Table.TB_PESSOA},
+            "/endereco", new Table[]{Table.TB_PESSOA, Table.TB_ENDERECO, Table.TB_BAIRRO, Table.TB_MUNICIPIO, Table.TB_UF});
+
+    // Cabeçalhos gerados pelo servidor a cada resposta, que não são repetidos nos acertos
+    private static final Set<String> IGNORED_HEADERS = Set.of(
+            "content-type", "content-length", "content-encoding", "transfer-encoding", "date");
+
+    @Value("${http.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${http.response-cache.max-entries:1024}")
+    private int maxEntries;  // Quantidade máxima de respostas armazenadas
+
+    @Value("${http.response-cache.max-body-bytes:1048576}")
+    private int maxBodyBytes;  // Respostas maiores não são armazenadas
+
+    @Value("${http.response-cache.gzip-min-bytes:1024}")
+    private int gzipMinBytes;  // Abaixo deste tamanho a versão gzip não compensa
+
+    @PostConstruct
+    public void configure() {
+        ResponseCache.configure(maxEntries, gzipMinBytes);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"GET".equals(request.getMethod()) || !ROUTES.containsKey(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Table[] tables = ROUTES.get(path(request));
+        String key = key(request);
+        long stamp = TableVersions.stamp(tables);
+        ResponseCache.Entry entry = ResponseCache.get(key, stamp);
+        if (entry != null) {
+            write(request, response, entry);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            String contentType = wrapper.getContentType();
+            if (wrapper.getStatus() == HttpServletResponse.SC_OK && contentType != null && contentType.contains("json")
+                    && wrapper.getContentSize() <= maxBodyBytes && TableVersions.stamp(tables) == stamp) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                ResponseCache.put(key, stamp, pattern != null ? pattern.toString() : null, contentType,
+                        headers(wrapper), wrapper.getContentAsByteArray());
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Escreve a resposta armazenada diretamente no fluxo de saída, sem cópias.
+     */
+    private static void write(HttpServletRequest request, HttpServletResponse response, ResponseCache.Entry entry)
+            throws IOException {
+        if (entry.pattern() != null) {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, entry.pattern());
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(entry.contentType());
+        for (Map.Entry<String, String> header : entry.headers()) {
+            response.addHeader(header.getKey(), header.getValue());
+        }
+        byte[] body = entry.json();
+        if (entry.gzip() != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+            if (accept != null && accept.contains("gzip")) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                body = entry.gzip();
+            }
+        }
+        response.setContentLength(body.length);
+        ServletOutputStream out = response.getOutputStream();
+        out.write(body);
+        out.flush();
+    }
+
+    /**
+     * Monta a chave com a rota e os parâmetros em ordem alfabética. A presença do cabeçalho {@code Origin} também
+     * entra na chave, pois muda os cabeçalhos CORS da resposta.
+     */
+    private static String key(HttpServletRequest request) {
+        StringBuilder sb = new StringBuilder(path(request));
+        char separador = '?';
+        for (Map.Entry<String, String[]> parametro : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            for (String valor : parametro.getValue()) {
+                sb.append(separador).append(parametro.getKey()).append('=').append(valor);
+                separador = '&';
+            }
+        }
+        if (request.getHeader(HttpHeaders.ORIGIN) != null) {
+            sb.append("#cors");
+        }
+        return sb.toString();
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static List<Map.Entry<String, String>> headers(HttpServletResponse response) {
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        for (String name : response.getHeaderNames()) {
+            if (!IGNORED_HEADERS.contains(name.toLowerCase())) {
+                for (String value : response.getHeaders(name)) {
+                    headers.add(Map.entry(name, value));
+                }
+            }
+        }
+        return List.copyOf(headers);
+    }
+}
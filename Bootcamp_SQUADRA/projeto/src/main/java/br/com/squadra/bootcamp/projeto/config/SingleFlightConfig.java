@@ -0,0 +1,24 @@
+package br.com.squadra.bootcamp.projeto.config;
+
+import br.com.squadra.bootcamp.projeto.cache.SingleFlight;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Aplica ao {@link SingleFlight} as propriedades {@code singleflight.*} do {@code application.properties}.
+ */
+@Configuration
+public class SingleFlightConfig {
+
+    @Value("${singleflight.enabled:true}")
+    private boolean enabled;  // Agrupa consultas idênticas e simultâneas dos serviços
+
+    @Value("${singleflight.normalize-case:true}")
+    private boolean normalizeCase;  // Filtros de texto que diferem só em maiúsculas/minúsculas compartilham a consulta
+
+    @PostConstruct
+    public void configure() {
+        SingleFlight.configure(enabled, normalizeCase);
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.squadra.bootcamp.projeto.config;
+
+import br.com.squadra.bootcamp.projeto.jdbc.SlowQueryLog;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Aplica ao {@link SlowQueryLog} as propriedades {@code jdbc.slow-query.*} do {@code application.properties}.
+ */
+@Configuration
+public class SlowQueryLogConfig {
+
+    @Value("${jdbc.slow-query.threshold-ms:500}")
+    private long thresholdMillis;  // Tempo mínimo para uma execução ser registrada; negativo desabilita
+
+    @Value("${jdbc.slow-query.capacity:256}")
+    private int capacity;  // Quantidade de consultas lentas mantidas em memória
+
+    @Value("${jdbc.slow-query.mask-binds:true}")
+    private boolean maskBinds;  // Mascara os parâmetros de texto (logins, senhas, nomes)
+
+    @Value("${jdbc.slow-query.log-enabled:false}")
+    private boolean logEnabled;  // Escreve as consultas lentas também no arquivo de log com rotação
+
+    @PostConstruct
+    public void configure() {
+        SlowQueryLog.configure(thresholdMillis, capacity, maskBinds, logEnabled);
+    }
+}
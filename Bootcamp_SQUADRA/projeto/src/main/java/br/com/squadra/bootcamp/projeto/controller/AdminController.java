@@ -0,0 +1,77 @@
+package br.com.squadra.bootcamp.projeto.controller;
+
+import br.com.squadra.bootcamp.projeto.cache.ResponseCache;
+import br.com.squadra.bootcamp.projeto.jdbc.SlowQueryLog;
+import br.com.squadra.bootcamp.projeto.latency.RequestLatency;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controlador com endpoints administrativos de diagnóstico da aplicação.
+ */
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    /**
+     * Metodo GET que retorna as consultas lentas mais recentes, da mais nova para a mais antiga.
+     *
+     * @return Lista de consultas lentas mantidas em memória.
+     */
+    @GetMapping("/slow-queries")
+    public ResponseEntity<List<SlowQueryLog.SlowQuery>> getSlowQueries() {
+        return ResponseEntity.ok(SlowQueryLog.snapshot());
+    }
+
+    /**
+     * Metodo DELETE que descarta as consultas lentas mantidas em memória.
+     *
+     * @return Resposta vazia com status 204.
+     */
+    @DeleteMapping("/slow-queries")
+    public ResponseEntity<Void> clearSlowQueries() {
+        SlowQueryLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Metodo GET que retorna o resumo de latência de cada rota e as requisições mais lentas entre as que
+     * ultrapassaram o SLO recentemente, com o detalhamento do tempo gasto.
+     *
+     * @param limite Quantidade máxima de requisições lentas retornadas (padrão 20).
+     * @return Mapa com as chaves {@code rotas} e {@code piores}.
+     */
+    @GetMapping("/latency")
+    public ResponseEntity<Map<String, Object>> getLatency(@RequestParam(defaultValue = "20") int limite) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("rotas", RequestLatency.summaries());
+        body.put("piores", RequestLatency.worst(limite));
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * Metodo DELETE que descarta as requisições lentas mantidas em memória.
+     *
+     * @return Resposta vazia com status 204.
+     */
+    @DeleteMapping("/latency")
+    public ResponseEntity<Void> clearLatency() {
+        RequestLatency.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Metodo DELETE que descarta as respostas mantidas no cache de respostas serializadas.
+     *
+     * @return Resposta vazia com status 204.
+     */
+    @DeleteMapping("/response-cache")
+    public ResponseEntity<Void> clearResponseCache() {
+        ResponseCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,7 +1,9 @@
 package br.com.squadra.bootcamp.projeto.controller;
 
 import br.com.squadra.bootcamp.projeto.dto.BairroDTO;
+import br.com.squadra.bootcamp.projeto.dto.DuplicadoDTO;
 import br.com.squadra.bootcamp.projeto.service.BairroService;
+import br.com.squadra.bootcamp.projeto.service.DuplicateNames;
 import br.com.squadra.bootcamp.projeto.service.MessageErrorService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +13,7 @@ import org.springframework.web.method.HandlerMethod;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Controlador responsável pelas operações relacionadas aos bairros, como
@@ -18,7 +21,7 @@ import java.util.Optional;
  * A classe contém métodos para manipulação de dados dos bairros, validando as entradas
  * e retornando respostas adequadas ao cliente.
  */
-@CrossOrigin("*")
+@CrossOrigin(origins = "*", exposedHeaders = DuplicateNames.HEADER)
 @RestController
 @RequestMapping("/bairro")
 public class BairroController {
@@ -96,7 +99,32 @@ public class BairroController {
     }
 
     /**
-     * Metodo POST para inserir um novo bairro.
+     * Metodo GET para o relatório de bairros de um mesmo município com nomes provavelmente duplicados.
+     *
+     * @param similaridadeMinima Similaridade mínima entre os nomes, maior que 0 e até 1 (opcional)
+     * @return Lista de pares de bairros com nomes semelhantes.
+     */
+    @GetMapping("/duplicados")
+    public ResponseEntity<?> getDuplicados(@RequestParam(required = false) String similaridadeMinima) {
+        double limiar = DuplicateNames.LIMIAR_PADRAO;
+        try {
+            if (similaridadeMinima != null) {
+                limiar = Double.parseDouble(similaridadeMinima);
+            }
+        } catch (NumberFormatException e) {
+            limiar = -1;
+        }
+        if (!(limiar > 0 && limiar <= 1)) {
+            return ResponseEntity.status(404)
+                    .body(new MessageErrorService(
+                            "Não foi possível consultar Bairro no banco de dados. O campo similaridadeMinima deve ser um número maior que 0 e até 1.", 404));
+        }
+        return ResponseEntity.ok(bairroService.findDuplicates(limiar));
+    }
+
+    /**
+     * Metodo POST para inserir um novo bairro. Se já houver no município bairros com nome semelhante, o bairro é
+     * incluído e os códigos deles são informados no cabeçalho {@code X-Possiveis-Duplicados}.
      *
      * @param bairroDTO Dados do bairro a ser inserido
      * @return Lista atualizada de bairros ou uma mensagem de erro caso não seja possível inserir o bairro.
@@ -105,8 +133,15 @@ public class BairroController {
     public ResponseEntity<?> insertBairro(@RequestBody BairroDTO bairroDTO) {
         MessageErrorService messageErrorService = bairroService.validatePostBairro(bairroDTO);
         if (messageErrorService == null) {
+            List<DuplicadoDTO> semelhantes = bairroService.findLikelyDuplicates(bairroDTO);
             bairroService.insert(bairroDTO);
-            return ResponseEntity.status(200).body(bairroService.findAll());
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(200);
+            if (!semelhantes.isEmpty()) {
+                response.header(DuplicateNames.HEADER, semelhantes.stream()
+                        .map(semelhante -> semelhante.getCodigo().toString())
+                        .collect(Collectors.joining(",")));
+            }
+            return response.body(bairroService.findAll());
         } else {
             return ResponseEntity.status(404).body(messageErrorService);
         }
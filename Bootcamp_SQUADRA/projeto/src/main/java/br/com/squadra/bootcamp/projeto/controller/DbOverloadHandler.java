@@ -0,0 +1,28 @@
+package br.com.squadra.bootcamp.projeto.controller;
+
+import br.com.squadra.bootcamp.projeto.exception.DbOverloadException;
+import br.com.squadra.bootcamp.projeto.service.MessageErrorService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Responde com 503 as requisições recusadas pelo controle de admissão do banco de dados, em todos os controladores.
+ */
+@RestControllerAdvice
+public class DbOverloadHandler {
+
+    /**
+     * Captura a recusa por sobrecarga e sugere ao cliente que tente novamente em um segundo.
+     *
+     * @param ex Exceção lançada pelo controle de admissão
+     * @return Mensagem de erro com status 503
+     */
+    @ExceptionHandler(DbOverloadException.class)
+    public ResponseEntity<MessageErrorService> handleDbOverloadException(DbOverloadException ex) {
+        return ResponseEntity.status(503)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageErrorService("Serviço temporariamente sobrecarregado. Tente novamente.", 503));
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.squadra.bootcamp.projeto.controller;
+
+import br.com.squadra.bootcamp.projeto.readmodel.CepIndex;
+import br.com.squadra.bootcamp.projeto.service.EnderecoService;
+import br.com.squadra.bootcamp.projeto.service.MessageErrorService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador responsável pelas consultas de endereços através da API, como a busca por CEP usada nas
+ * consultas de logística.
+ */
+@CrossOrigin("*")
+@RestController
+@RequestMapping("/endereco")
+public class EnderecoController {
+
+    private static final int TAMANHO_PADRAO = 50;
+
+    @Autowired
+    private EnderecoService enderecoService;  // Serviço para consultas de endereços
+
+    /**
+     * Metodo GET para consultar endereços por CEP, de forma exata ({@code 01310-100}) ou por prefixo
+     * ({@code 01310*}).
+     *
+     * @param cep CEP ou prefixo seguido de {@code *}
+     * @param pagina Número da página, a partir de zero (opcional)
+     * @param tamanho Quantidade de endereços por página, até 100 (opcional)
+     * @return Página de endereços com os dados da pessoa a que pertencem.
+     */
+    @GetMapping
+    public ResponseEntity<?> getEnderecosByCep(
+            @RequestParam(required = false) String cep,
+            @RequestParam(required = false) String pagina,
+            @RequestParam(required = false) String tamanho) {
+
+        CepIndex.Faixa faixa;
+        try {
+            faixa = CepIndex.Faixa.parse(cep);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404)
+                    .body(new MessageErrorService(
+                            "Não foi possível consultar Endereço no banco de dados. O campo cep deve conter 8 dígitos ou um prefixo seguido de *.", 404));
+        }
+
+        Paginacao paginacao;
+        try {
+            paginacao = Paginacao.parse(pagina, tamanho, TAMANHO_PADRAO);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404)
+                    .body(new MessageErrorService(
+                            "Não foi possível consultar Endereço no banco de dados. Os campos pagina e tamanho devem ser números, com tamanho entre 1 e " + Paginacao.TAMANHO_MAXIMO + ".", 404));
+        }
+
+        return ResponseEntity.ok(enderecoService.findByCep(faixa, paginacao.pagina(), paginacao.tamanho()));
+    }
+}
@@ -1,6 +1,9 @@
 package br.com.squadra.bootcamp.projeto.controller;
 
+import br.com.squadra.bootcamp.projeto.dto.DuplicadoDTO;
 import br.com.squadra.bootcamp.projeto.dto.MunicipioDTO;
+import br.com.squadra.bootcamp.projeto.exception.DbOverloadException;
+import br.com.squadra.bootcamp.projeto.service.DuplicateNames;
 import br.com.squadra.bootcamp.projeto.service.MessageErrorService;
 import br.com.squadra.bootcamp.projeto.service.MunicipioService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +14,7 @@ import org.springframework.web.method.HandlerMethod;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Controlador responsável pelas operações relacionadas aos municípios, como
@@ -18,7 +22,7 @@ import java.util.Optional;
  * A classe contém métodos para manipulação de dados dos municípios, validando as entradas
  * e retornando respostas adequadas ao cliente.
  */
-@CrossOrigin("*")
+@CrossOrigin(origins = "*", exposedHeaders = DuplicateNames.HEADER)
 @RestController
 @RequestMapping("/municipio")
 public class MunicipioController {
@@ -96,7 +100,32 @@ public class MunicipioController {
     }
 
     /**
-     * Metodo POST para inserir um novo município.
+     * Metodo GET para o relatório de municípios de uma mesma UF com nomes provavelmente duplicados.
+     *
+     * @param similaridadeMinima Similaridade mínima entre os nomes, maior que 0 e até 1 (opcional)
+     * @return Lista de pares de municípios com nomes semelhantes.
+     */
+    @GetMapping("/duplicados")
+    public ResponseEntity<?> getDuplicados(@RequestParam(required = false) String similaridadeMinima) {
+        double limiar = DuplicateNames.LIMIAR_PADRAO;
+        try {
+            if (similaridadeMinima != null) {
+                limiar = Double.parseDouble(similaridadeMinima);
+            }
+        } catch (NumberFormatException e) {
+            limiar = -1;
+        }
+        if (!(limiar > 0 && limiar <= 1)) {
+            return ResponseEntity.status(404)
+                    .body(new MessageErrorService(
+                            "Não foi possível consultar Município no banco de dados. O campo similaridadeMinima deve ser um número maior que 0 e até 1.", 404));
+        }
+        return ResponseEntity.ok(municipioService.findDuplicates(limiar));
+    }
+
+    /**
+     * Metodo POST para inserir um novo município. Se já houver na UF municípios com nome semelhante, o município é
+     * incluído e os códigos deles são informados no cabeçalho {@code X-Possiveis-Duplicados}.
      *
      * @param municipioDTO Dados do município a ser inserido
      * @return Lista atualizada de municípios ou uma mensagem de erro caso não seja possível inserir o município.
@@ -106,11 +135,20 @@ public class MunicipioController {
         try {
             MessageErrorService messageErrorService = municipioService.validatePostMunicipio(municipioDTO);
             if (messageErrorService == null) {
+                List<DuplicadoDTO> semelhantes = municipioService.findLikelyDuplicates(municipioDTO);
                 municipioService.insert(municipioDTO);
-                return ResponseEntity.status(200).body(municipioService.findAll());
+                ResponseEntity.BodyBuilder response = ResponseEntity.status(200);
+                if (!semelhantes.isEmpty()) {
+                    response.header(DuplicateNames.HEADER, semelhantes.stream()
+                            .map(semelhante -> semelhante.getCodigo().toString())
+                            .collect(Collectors.joining(",")));
+                }
+                return response.body(municipioService.findAll());
             } else {
                 return ResponseEntity.status(404).body(messageErrorService);
             }
+        } catch (DbOverloadException ex) {
+            throw ex;  // Respondida com 503 pelo DbOverloadHandler
         } catch (Exception ex) {
             return ResponseEntity.status(404).body(
                     new MessageErrorService("Não foi possível cadastrar município no banco de dados.", 404)
@@ -0,0 +1,31 @@
+package br.com.squadra.bootcamp.projeto.controller;
+
+/**
+ * Parâmetros de paginação das consultas paginadas da API.
+ *
+ * @param pagina  Número da página, a partir de zero.
+ * @param tamanho Quantidade de itens por página.
+ */
+record Paginacao(int pagina, int tamanho) {
+
+    static final int TAMANHO_MAXIMO = 100;
+
+    /**
+     * Interpreta os parâmetros {@code pagina} e {@code tamanho} de uma requisição.
+     *
+     * @param pagina        Número da página informado, ou {@code null} para a primeira página.
+     * @param tamanho       Tamanho da página informado, ou {@code null} para o tamanho padrão.
+     * @param tamanhoPadrao Tamanho usado quando o parâmetro não é informado.
+     * @return Paginação correspondente.
+     * @throws IllegalArgumentException Se algum parâmetro não for um número, se a página for negativa ou se o tamanho
+     *                                  não estiver entre 1 e {@value #TAMANHO_MAXIMO}.
+     */
+    static Paginacao parse(String pagina, String tamanho, int tamanhoPadrao) {
+        int paginaInt = pagina != null ? Integer.parseInt(pagina) : 0;
+        int tamanhoInt = tamanho != null ? Integer.parseInt(tamanho) : tamanhoPadrao;
+        if (paginaInt < 0 || tamanhoInt < 1 || tamanhoInt > TAMANHO_MAXIMO) {
+            throw new IllegalArgumentException("Paginação inválida: pagina=" + pagina + ", tamanho=" + tamanho);
+        }
+        return new Paginacao(paginaInt, tamanhoInt);
+    }
+}
@@ -1,9 +1,12 @@
 package br.com.squadra.bootcamp.projeto.controller;
 
+import br.com.squadra.bootcamp.projeto.dto.PaginaDTO;
 import br.com.squadra.bootcamp.projeto.dto.PessoaDTO;
+import br.com.squadra.bootcamp.projeto.exception.DbOverloadException;
 import br.com.squadra.bootcamp.projeto.service.MessageErrorService;
 import br.com.squadra.bootcamp.projeto.service.PessoaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +27,8 @@ import java.util.Optional;
 @RequestMapping("/pessoa")
 public class PessoaController {
 
+    private static final int TAMANHO_PADRAO = 20;
+
     @Autowired
     private PessoaService pessoaService;  // Serviço para operações com pessoas
 
@@ -85,6 +90,71 @@ public class PessoaController {
         }
     }
 
+    /**
+     * Metodo GET para buscar pessoas por nome, sobrenome e login. Cada palavra da busca pode ser o início de uma
+     * palavra cadastrada, e acentos e maiúsculas são ignorados ({@code joa sil} encontra "João Silva"). A busca
+     * precisa de ao menos uma palavra com três letras ou mais.
+     *
+     * @param q Texto da busca
+     * @param idadeMinima Idade mínima, inclusive (opcional)
+     * @param idadeMaxima Idade máxima, inclusive (opcional)
+     * @param status Status da pessoa (opcional)
+     * @param pagina Número da página, a partir de zero (opcional)
+     * @param tamanho Quantidade de pessoas por página, até 100 (opcional)
+     * @return Página de pessoas em ordem de relevância, ou 503 enquanto o índice de busca está sendo carregado.
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<?> searchPessoas(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String idadeMinima,
+            @RequestParam(required = false) String idadeMaxima,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String pagina,
+            @RequestParam(required = false) String tamanho) {
+
+        MessageErrorService messageErrorService = pessoaService.validateSearch(q);
+        if (messageErrorService != null) {
+            return ResponseEntity.status(404).body(messageErrorService);
+        }
+
+        Integer idadeMinimaInt = null;
+        Integer idadeMaximaInt = null;
+        Integer statusInt = null;
+        try {
+            if (idadeMinima != null) {
+                idadeMinimaInt = Integer.parseInt(idadeMinima);
+            }
+            if (idadeMaxima != null) {
+                idadeMaximaInt = Integer.parseInt(idadeMaxima);
+            }
+            if (status != null) {
+                statusInt = Integer.parseInt(status);
+            }
+        } catch (NumberFormatException e) {
+            return ResponseEntity.status(404)
+                    .body(new MessageErrorService(
+                            "Não foi possível consultar Pessoa no banco de dados. Os campos idadeMinima, idadeMaxima e status devem conter apenas números.", 404));
+        }
+
+        Paginacao paginacao;
+        try {
+            paginacao = Paginacao.parse(pagina, tamanho, TAMANHO_PADRAO);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404)
+                    .body(new MessageErrorService(
+                            "Não foi possível consultar Pessoa no banco de dados. Os campos pagina e tamanho devem ser números, com tamanho entre 1 e " + Paginacao.TAMANHO_MAXIMO + ".", 404));
+        }
+
+        PaginaDTO<PessoaDTO> resultado = pessoaService.search(q, Optional.ofNullable(idadeMinimaInt),
+                Optional.ofNullable(idadeMaximaInt), Optional.ofNullable(statusInt), paginacao.pagina(), paginacao.tamanho());
+        if (resultado == null) {
+            return ResponseEntity.status(503)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(new MessageErrorService("Índice de busca de pessoas em carregamento. Tente novamente.", 503));
+        }
+        return ResponseEntity.ok(resultado);
+    }
+
     /**
      * Metodo POST para inserir uma nova pessoa.
      *
@@ -116,6 +186,8 @@ public class PessoaController {
         try {
             pessoaService.update(pessoaDTO);
             return ResponseEntity.status(200).body(pessoaService.findAll());
+        } catch (DbOverloadException e) {
+            throw e;  // Respondida com 503 pelo DbOverloadHandler
         } catch (Exception e) {
             return ResponseEntity.status(404).body(new MessageErrorService("Não foi possível alterar pessoa no banco de dados.", 404));
         }
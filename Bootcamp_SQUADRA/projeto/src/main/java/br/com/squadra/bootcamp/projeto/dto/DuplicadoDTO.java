@@ -0,0 +1,77 @@
+package br.com.squadra.bootcamp.projeto.dto;
+
+import br.com.squadra.bootcamp.projeto.service.DuplicateNames;
+
+/**
+ * Par de bairros ou municípios do mesmo pai com nomes provavelmente duplicados, como "JARDIM AMERICA" e
+ * "JD. AMÉRICA". O código do pai é o do município, para bairros, ou o da UF, para municípios.
+ */
+public class DuplicadoDTO {
+
+    private Long codigoPai;
+    private Long codigo;
+    private String nome;
+    private Long codigoDuplicado;
+    private String nomeDuplicado;
+    private Double similaridade;
+
+    public DuplicadoDTO(){
+    }
+
+    public DuplicadoDTO(DuplicateNames.Par par) {
+        this.codigoPai = par.nome().codigoPai();
+        this.codigo = par.nome().codigo();
+        this.nome = par.nome().nome();
+        this.codigoDuplicado = par.duplicado().codigo();
+        this.nomeDuplicado = par.duplicado().nome();
+        this.similaridade = Math.round(par.similaridade() * 1000) / 1000.0;
+    }
+
+    public Long getCodigoPai() {
+        return codigoPai;
+    }
+
+    public void setCodigoPai(Long codigoPai) {
+        this.codigoPai = codigoPai;
+    }
+
+    public Long getCodigo() {
+        return codigo;
+    }
+
+    public void setCodigo(Long codigo) {
+        this.codigo = codigo;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public Long getCodigoDuplicado() {
+        return codigoDuplicado;
+    }
+
+    public void setCodigoDuplicado(Long codigoDuplicado) {
+        this.codigoDuplicado = codigoDuplicado;
+    }
+
+    public String getNomeDuplicado() {
+        return nomeDuplicado;
+    }
+
+    public void setNomeDuplicado(String nomeDuplicado) {
+        this.nomeDuplicado = nomeDuplicado;
+    }
+
+    public Double getSimilaridade() {
+        return similaridade;
+    }
+
+    public void setSimilaridade(Double similaridade) {
+        this.similaridade = similaridade;
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.squadra.bootcamp.projeto.dto;
+
+/**
+ * Endereço encontrado em uma consulta por CEP, com os dados de identificação da pessoa a que pertence.
+ */
+public class EnderecoPessoaDTO {
+
+    private Long codigoPessoa;
+    private String nome;
+    private String sobrenome;
+    private String login;
+    private EnderecoDTOGet endereco;
+
+    public EnderecoPessoaDTO(){
+    }
+
+    public EnderecoPessoaDTO(PessoaDTO pessoa, EnderecoDTOGet endereco) {
+        this.codigoPessoa = pessoa.getCodigoPessoa();
+        this.nome = pessoa.getNome();
+        this.sobrenome = pessoa.getSobrenome();
+        this.login = pessoa.getLogin();
+        this.endereco = endereco;
+    }
+
+    public Long getCodigoPessoa() {
+        return codigoPessoa;
+    }
+
+    public void setCodigoPessoa(Long codigoPessoa) {
+        this.codigoPessoa = codigoPessoa;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getSobrenome() {
+        return sobrenome;
+    }
+
+    public void setSobrenome(String sobrenome) {
+        this.sobrenome = sobrenome;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public void setLogin(String login) {
+        this.login = login;
+    }
+
+    public EnderecoDTOGet getEndereco() {
+        return endereco;
+    }
+
+    public void setEndereco(EnderecoDTOGet endereco) {
+        this.endereco = endereco;
+    }
+}
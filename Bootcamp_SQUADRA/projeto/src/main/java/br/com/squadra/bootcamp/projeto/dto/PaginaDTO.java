@@ -0,0 +1,58 @@
+package br.com.squadra.bootcamp.projeto.dto;
+
+import java.util.List;
+
+/**
+ * Página de uma consulta paginada.
+ *
+ * @param <T> Tipo dos itens da página.
+ */
+public class PaginaDTO<T> {
+
+    private List<T> conteudo;
+    private int pagina;
+    private int tamanho;
+    private long total;
+
+    public PaginaDTO(){
+    }
+
+    public PaginaDTO(List<T> conteudo, int pagina, int tamanho, long total) {
+        this.conteudo = conteudo;
+        this.pagina = pagina;
+        this.tamanho = tamanho;
+        this.total = total;
+    }
+
+    public List<T> getConteudo() {
+        return conteudo;
+    }
+
+    public void setConteudo(List<T> conteudo) {
+        this.conteudo = conteudo;
+    }
+
+    public int getPagina() {
+        return pagina;
+    }
+
+    public void setPagina(int pagina) {
+        this.pagina = pagina;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public void setTamanho(int tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+}
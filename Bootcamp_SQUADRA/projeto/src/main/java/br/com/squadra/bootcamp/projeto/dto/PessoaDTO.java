@@ -1,5 +1,7 @@
 package br.com.squadra.bootcamp.projeto.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -10,6 +12,7 @@ public class PessoaDTO {
     private String sobrenome;
     private Integer idade;
     private String login;
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)  // Recebida no cadastro, nunca devolvida nas consultas
     private String senha;
     private Integer status;
     private List<EnderecoDTOGet> enderecos = new ArrayList<>();
@@ -0,0 +1,32 @@
+package br.com.squadra.bootcamp.projeto.events;
+
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+
+import java.time.Instant;
+
+/**
+ * Alteração de um registro, gravada na tabela {@code TB_OUTBOX} na mesma transação da escrita.
+ *
+ * @param version   Código do evento, crescente na ordem de confirmação das transações de um mesmo banco.
+ * @param table     Tabela alterada.
+ * @param id        Código do registro alterado.
+ * @param operation Operação executada.
+ * @param origin    Instância da aplicação que fez a escrita (ver {@link Outbox#ORIGIN}).
+ * @param timestamp Instante da escrita.
+ */
+public record ChangeEvent(long version, Table table, long id, Operation operation, String origin, Instant timestamp) {
+
+    /**
+     * Operações registradas.
+     */
+    public enum Operation {
+        INSERT, UPDATE, DELETE
+    }
+
+    /**
+     * @return {@code true} se a escrita foi feita por outra instância da aplicação.
+     */
+    public boolean isRemote() {
+        return !Outbox.ORIGIN.equals(origin);
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.squadra.bootcamp.projeto.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Barramento de eventos de alteração dentro do processo.
+ * <p>
+ * Os eventos são publicados pelo {@link OutboxRelay} em lotes, na ordem em que foram gravados, e entregues a cada
+ * assinante na thread do relay: um assinante nunca recebe dois lotes ao mesmo tempo nem fora de ordem. Uma falha em
+ * um assinante é registrada e não impede a entrega aos demais.
+ * </p>
+ * Assinantes devem ser rápidos; trabalho pesado deve ser repassado a outra thread.
+ */
+@Component
+public class ChangeEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventBus.class);
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private record Subscriber(String name, Consumer<List<ChangeEvent>> listener, Counter delivered, Counter errors) {
+    }
+
+    /**
+     * Registra um assinante.
+     *
+     * @param name     Nome do assinante, usado nos logs e nas métricas {@code events.delivered} e {@code events.errors}.
+     * @param listener Função chamada com cada lote de eventos.
+     */
+    public void subscribe(String name, Consumer<List<ChangeEvent>> listener) {
+        subscribers.add(new Subscriber(name, listener,
+                Counter.builder("events.delivered")
+                        .description("Eventos de alteração entregues ao assinante")
+                        .tag("subscriber", name)
+                        .register(Metrics.globalRegistry),
+                Counter.builder("events.errors")
+                        .description("Lotes de eventos de alteração que falharam no assinante")
+                        .tag("subscriber", name)
+                        .register(Metrics.globalRegistry)));
+    }
+
+    /**
+     * Entrega um lote de eventos a todos os assinantes.
+     *
+     * @param events Eventos em ordem de gravação.
+     */
+    public void publish(List<ChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.listener().accept(events);
+                subscriber.delivered().increment(events.size());
+            } catch (RuntimeException e) {
+                subscriber.errors().increment();
+                log.error("Falha ao entregar {} eventos ao assinante {}.", events.size(), subscriber.name(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.squadra.bootcamp.projeto.events;
+
+import br.com.squadra.bootcamp.projeto.cache.TableVersions;
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import br.com.squadra.bootcamp.projeto.events.ChangeEvent.Operation;
+import br.com.squadra.bootcamp.projeto.jdbc.JdbcTransaction;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Gravação de eventos de alteração na tabela {@code TB_OUTBOX}.
+ * <p>
+ * Os métodos de escrita dos DAOs executam o comando e o registro do evento na mesma transação
+ * ({@link #write(Connection, Table, long, Operation, JdbcTransaction.SqlWork)}): ou os dois são confirmados, ou
+ * nenhum. O {@link OutboxRelay} lê a tabela e publica os eventos no {@link ChangeEventBus}.
+ * </p>
+ * Depois da confirmação, os eventos também são entregues aos ouvintes registrados com
+ * {@link #addCommitListener(Consumer)}, na thread que fez a escrita.
+ */
+public class Outbox {
+
+    /**
+     * Identificação desta instância da aplicação, gravada em cada evento ({@code pid@host}).
+     */
+    public static final String ORIGIN = ManagementFactory.getRuntimeMXBean().getName();
+
+    private static final String INSERT = "INSERT INTO TB_OUTBOX (CODIGO_EVENTO, ENTIDADE, CODIGO, OPERACAO, ORIGEM, DATA_EVENTO) "
+            + "VALUES (SEQUENCE_OUTBOX.NEXTVAL, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
+
+    private static final List<Consumer<List<ChangeEvent>>> commitListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registra um ouvinte das escritas confirmadas por esta instância.
+     *
+     * @param listener Função chamada, após cada confirmação, com os eventos gravados na transação.
+     */
+    public static void addCommitListener(Consumer<List<ChangeEvent>> listener) {
+        commitListeners.add(listener);
+    }
+
+    /**
+     * Remove um ouvinte registrado com {@link #addCommitListener(Consumer)}.
+     *
+     * @param listener Ouvinte a remover.
+     */
+    public static void removeCommitListener(Consumer<List<ChangeEvent>> listener) {
+        commitListeners.remove(listener);
+    }
+
+    /**
+     * Executa uma escrita e registra o evento correspondente na mesma transação. Depois da confirmação, a versão da
+     * tabela em {@link TableVersions} é incrementada.
+     *
+     * @param connection Conexão compartilhada do banco em que a escrita é feita; os comandos de {@code work} devem
+     *                   usar a conexão da transação que recebem.
+     * @param table      Tabela alterada.
+     * @param id         Código do registro alterado.
+     * @param operation  Operação executada.
+     * @param work       Comandos da escrita.
+     * @throws SQLException Se a escrita ou o registro do evento falhar; nesse caso nada é confirmado.
+     */
+    public static void write(Connection connection, Table table, long id, Operation operation,
+                             JdbcTransaction.SqlWork work) throws SQLException {
+        ChangeEvent[] event = new ChangeEvent[1];
+        JdbcTransaction.run(connection, tx -> {
+            work.execute(tx);
+            event[0] = append(tx, table, id, operation);
+        });
+        committed(List.of(event[0]));
+    }
+
+    /**
+     * Conclui escritas confirmadas: incrementa a versão das tabelas em {@link TableVersions} e entrega os eventos
+     * aos ouvintes. Deve ser chamado depois da confirmação de uma transação que usou
+     * {@link #append(Connection, Table, long, Operation)} diretamente.
+     *
+     * @param events Eventos gravados na transação confirmada.
+     */
+    public static void committed(List<ChangeEvent> events) {
+        events.stream().map(ChangeEvent::table).distinct().forEach(TableVersions::bump);
+        for (Consumer<List<ChangeEvent>> listener : commitListeners) {
+            listener.accept(events);
+        }
+    }
+
+    /**
+     * Registra um evento com um único comando, que obtém o código da sequência e o devolve como chave gerada.
+     * Deve ser chamado dentro de uma transação aberta com {@link JdbcTransaction}.
+     *
+     * @param connection Conexão da transação.
+     * @param table      Tabela alterada.
+     * @param id         Código do registro alterado.
+     * @param operation  Operação executada.
+     * @return Evento gravado, com o código gerado pela sequência.
+     * @throws SQLException Se ocorrer um erro ao gravar o evento.
+     */
+    public static ChangeEvent append(Connection connection, Table table, long id, Operation operation) throws SQLException {
+        long version;
+        try (PreparedStatement stmt = connection.prepareStatement(INSERT, new String[]{"CODIGO_EVENTO"})) {
+            stmt.setString(1, table.name());
+            stmt.setLong(2, id);
+            stmt.setString(3, operation.name());
+            stmt.setString(4, ORIGIN);
+            stmt.executeUpdate();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                rs.next();
+                version = rs.getLong(1);
+            }
+        }
+        return new ChangeEvent(version, table, id, operation, ORIGIN, Instant.now());
+    }
+}
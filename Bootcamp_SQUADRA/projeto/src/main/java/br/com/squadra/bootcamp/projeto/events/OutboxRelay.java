@@ -0,0 +1,270 @@
+package br.com.squadra.bootcamp.projeto.events;
+
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import br.com.squadra.bootcamp.projeto.events.ChangeEvent.Operation;
+import br.com.squadra.bootcamp.projeto.jdbc.InList;
+import br.com.squadra.bootcamp.projeto.service.ConnectionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lê os eventos gravados na tabela {@code TB_OUTBOX} e os publica no {@link ChangeEventBus}.
+ * <p>
+ * Uma thread própria consulta periodicamente cada banco (o principal e, se houver, cada shard) a partir do último
+ * evento publicado, em lotes de até {@code outbox.batch-size} eventos ordenados pelo código. Como todas as
+ * instâncias da aplicação publicam os eventos de todas as escritas, a tabela não é esvaziada na leitura: eventos
+ * mais antigos que {@code outbox.retention-minutes} são removidos periodicamente por uma única instância, a que
+ * detém a concessão registrada em {@code TB_OUTBOX_LIMPEZA}.
+ * </p>
+ * <p>
+ * Os códigos vêm de uma sequência {@code ORDER NOCACHE}, mas uma transação que obteve um código menor pode ser
+ * confirmada depois de outra com código maior. Cada código pulado na leitura é guardado como lacuna e procurado
+ * de novo nas leituras seguintes, até aparecer ou até passar {@code outbox.gap-timeout-ms}, quando a transação é
+ * considerada desfeita. Esses eventos são publicados fora da ordem dos códigos.
+ * </p>
+ * A leitura começa nos eventos gravados a partir de {@code outbox.gap-timeout-ms} antes da subida da aplicação,
+ * para não perder escritas confirmadas enquanto os caches eram carregados; eventos repetidos apenas provocam
+ * releituras.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String COLUMNS = "SELECT CODIGO_EVENTO, ENTIDADE, CODIGO, OPERACAO, ORIGEM, DATA_EVENTO FROM TB_OUTBOX ";
+    private static final String SELECT = COLUMNS + "WHERE CODIGO_EVENTO > ? ORDER BY CODIGO_EVENTO FETCH FIRST ? ROWS ONLY";
+    private static final String LEASE = "UPDATE TB_OUTBOX_LIMPEZA SET ORIGEM = ?, VALIDO_ATE = ? "
+            + "WHERE CODIGO_LIMPEZA = 1 AND (ORIGEM = ? OR VALIDO_ATE < ?)";
+    private static final int MAX_GAPS = 10_000;
+
+    @Value("${outbox.poll-ms:200}")
+    private long pollMillis;  // Intervalo entre leituras da tabela
+
+    @Value("${outbox.batch-size:500}")
+    private int batchSize;  // Eventos por lote entregue aos assinantes
+
+    @Value("${outbox.retention-minutes:60}")
+    private long retentionMinutes;  // Tempo que os eventos ficam na tabela
+
+    @Value("${outbox.gap-timeout-ms:60000}")
+    private long gapTimeoutMillis;  // Tempo de espera por um código pulado, maior que a transação mais longa
+
+    @Autowired
+    private ChangeEventBus bus;
+
+    private final Counter relayed = Counter.builder("outbox.relayed")
+            .description("Eventos lidos da TB_OUTBOX e publicados no barramento")
+            .register(Metrics.globalRegistry);
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Posição de leitura em um banco. Acessada apenas pela thread do relay.
+     */
+    private static class Source {
+        final Connection connection;
+        long lastVersion = -1;
+        final NavigableMap<Long, Instant> gaps = new TreeMap<>();  // Códigos pulados e quando foram notados
+
+        Source(Connection connection) {
+            this.connection = connection;
+        }
+    }
+
+    private final List<Source> sources = new ArrayList<>();
+    private Instant nextPurge = Instant.now();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Set<Connection> connections = new LinkedHashSet<>();
+        connections.add(ConnectionService.getConnection());
+        connections.addAll(ConnectionService.getShardConnections());
+        start(connections);
+    }
+
+    /**
+     * Começa a ler a {@code TB_OUTBOX} dos bancos informados.
+     *
+     * @param connections Conexões compartilhadas de cada banco.
+     */
+    void start(Collection<Connection> connections) {
+        connections.forEach(connection -> sources.add(new Source(connection)));
+        scheduler.scheduleWithFixedDelay(this::poll, 0, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Publica os eventos novos de todos os bancos. Executado apenas pela thread {@code outbox-relay}.
+     */
+    private void poll() {
+        for (Source source : sources) {
+            try {
+                if (source.lastVersion < 0) {
+                    Instant inicio = Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime());
+                    source.lastVersion = maxVersionBefore(source.connection, inicio.minusMillis(gapTimeoutMillis));
+                }
+                fillGaps(source);
+                List<ChangeEvent> batch;
+                do {
+                    batch = read(source.connection, source.lastVersion);
+                    if (!batch.isEmpty()) {
+                        Instant agora = Instant.now();
+                        for (ChangeEvent event : batch) {
+                            for (long pulado = source.lastVersion + 1; pulado < event.version(); pulado++) {
+                                source.gaps.put(pulado, agora);
+                            }
+                            source.lastVersion = event.version();
+                        }
+                        while (source.gaps.size() > MAX_GAPS) {
+                            source.gaps.pollFirstEntry();
+                        }
+                        bus.publish(batch);
+                        relayed.increment(batch.size());
+                    }
+                } while (batch.size() == batchSize);
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Falha ao ler a TB_OUTBOX: {}", e.getMessage());
+            }
+        }
+        if (Instant.now().isAfter(nextPurge)) {
+            purge();
+            nextPurge = Instant.now().plus(retentionMinutes, ChronoUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Procura os códigos pulados nas leituras anteriores e publica os eventos que foram confirmados desde então.
+     * Lacunas mais antigas que {@code outbox.gap-timeout-ms} são descartadas.
+     */
+    private void fillGaps(Source source) throws SQLException {
+        Instant limite = Instant.now().minusMillis(gapTimeoutMillis);
+        source.gaps.values().removeIf(notada -> notada.isBefore(limite));
+        if (source.gaps.isEmpty()) {
+            return;
+        }
+        List<ChangeEvent> encontrados = new ArrayList<>();
+        for (List<Long> chunk : InList.chunks(source.gaps.keySet())) {
+            String sql = COLUMNS + "WHERE CODIGO_EVENTO IN (" + InList.placeholders(chunk) + ") ORDER BY CODIGO_EVENTO";
+            try (PreparedStatement stmt = source.connection.prepareStatement(sql)) {
+                InList.bind(stmt, 1, chunk);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        encontrados.add(instanceEvent(rs));
+                    }
+                }
+            }
+        }
+        if (!encontrados.isEmpty()) {
+            encontrados.forEach(event -> source.gaps.remove(event.version()));
+            bus.publish(encontrados);
+            relayed.increment(encontrados.size());
+        }
+    }
+
+    /**
+     * Lê os eventos seguintes a {@code after}.
+     */
+    private List<ChangeEvent> read(Connection connection, long after) throws SQLException {
+        List<ChangeEvent> events = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(SELECT)) {
+            stmt.setLong(1, after);
+            stmt.setInt(2, batchSize);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    events.add(instanceEvent(rs));
+                }
+            }
+        }
+        return events;
+    }
+
+    private static ChangeEvent instanceEvent(ResultSet rs) throws SQLException {
+        return new ChangeEvent(
+                rs.getLong("CODIGO_EVENTO"),
+                Table.valueOf(rs.getString("ENTIDADE")),
+                rs.getLong("CODIGO"),
+                Operation.valueOf(rs.getString("OPERACAO")),
+                rs.getString("ORIGEM"),
+                rs.getTimestamp("DATA_EVENTO").toInstant());
+    }
+
+    private static long maxVersionBefore(Connection connection, Instant limite) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT MAX(CODIGO_EVENTO) FROM TB_OUTBOX WHERE DATA_EVENTO < ?")) {
+            stmt.setTimestamp(1, Timestamp.from(limite));
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Remove os eventos mais antigos que o período de retenção, se esta instância obtiver a concessão de limpeza de
+     * cada banco. A concessão é renovada a cada limpeza e vale por dois períodos de retenção; se a instância que a
+     * detém parar, outra assume quando ela vencer.
+     */
+    private void purge() {
+        Instant agora = Instant.now();
+        Timestamp limite = Timestamp.from(agora.minus(retentionMinutes, ChronoUnit.MINUTES));
+        for (Source source : sources) {
+            try {
+                if (!acquireLease(source.connection, agora)) {
+                    continue;
+                }
+                try (PreparedStatement stmt = source.connection.prepareStatement("DELETE FROM TB_OUTBOX WHERE DATA_EVENTO < ?")) {
+                    stmt.setTimestamp(1, limite);
+                    int removidos = stmt.executeUpdate();
+                    if (removidos > 0) {
+                        log.info("{} eventos antigos removidos da TB_OUTBOX.", removidos);
+                    }
+                }
+            } catch (SQLException e) {
+                log.warn("Falha ao limpar a TB_OUTBOX: {}", e.getMessage());
+            }
+        }
+    }
+
+    private boolean acquireLease(Connection connection, Instant agora) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(LEASE)) {
+            stmt.setString(1, Outbox.ORIGIN);
+            stmt.setTimestamp(2, Timestamp.from(agora.plus(2 * retentionMinutes, ChronoUnit.MINUTES)));
+            stmt.setString(3, Outbox.ORIGIN);
+            stmt.setTimestamp(4, Timestamp.from(agora));
+            return stmt.executeUpdate() == 1;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.squadra.bootcamp.projeto.exception;
+
+/**
+ * Chamada ao banco de dados recusada pelo controle de admissão por sobrecarga. Respondida com HTTP 503.
+ */
+public class DbOverloadException extends DbException {
+
+    public DbOverloadException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,149 @@
+package br.com.squadra.bootcamp.projeto.health;
+
+import br.com.squadra.bootcamp.projeto.model.dao.CountedDAO;
+import br.com.squadra.bootcamp.projeto.service.ConnectionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Indicador de saúde do banco de dados, usado no grupo de prontidão ({@code /actuator/health/readiness}).
+ * <p>
+ * O banco é verificado periodicamente por uma thread própria, com {@link Connection#isValid(int)}, e o resultado fica
+ * em cache: consultar o endpoint nunca bloqueia nem gera carga no banco. Na mesma verificação é calculada a taxa de
+ * erros das chamadas de DAO desde a verificação anterior. A saturação (chamadas de DAO em andamento na única
+ * conexão compartilhada) é lida no momento da consulta.
+ * </p>
+ * Estados reportados:
+ * <ul>
+ *     <li>{@code DOWN}: banco inacessível ou verificação atrasada;</li>
+ *     <li>{@code OUT_OF_SERVICE}: banco acessível, mas saturado ou com taxa de erros acima do limite;</li>
+ *     <li>{@code UP}: caso contrário.</li>
+ * </ul>
+ */
+@Component
+public class DatabaseHealthIndicator implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseHealthIndicator.class);
+
+    @Value("${health.db.interval-ms:5000}")
+    private long intervalMillis;  // Intervalo entre verificações do banco
+
+    @Value("${health.db.timeout-seconds:2}")
+    private int timeoutSeconds;  // Tempo máximo de espera pela resposta do banco
+
+    @Value("${health.db.max-in-flight:32}")
+    private int maxInFlight;  // Chamadas de DAO simultâneas a partir das quais o nó é considerado saturado
+
+    @Value("${health.db.max-error-rate:0.5}")
+    private double maxErrorRate;  // Fração de chamadas de DAO com erro a partir da qual o nó deixa de receber tráfego
+
+    @Value("${health.db.min-calls:10}")
+    private long minCalls;  // Chamadas mínimas no intervalo para a taxa de erros ser considerada
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "db-health");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Check last;
+    private long lastCalls;
+    private long lastErrors;
+
+    /**
+     * Resultado de uma verificação periódica.
+     */
+    private record Check(Instant checkedAt, boolean reachable, double pingMillis, String error, long calls,
+                         double errorRate) {
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::check, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public Health health() {
+        Check check = last;
+        if (check == null) {
+            return Health.unknown().withDetail("motivo", "aguardando a primeira verificação").build();
+        }
+        long idadeMillis = Instant.now().toEpochMilli() - check.checkedAt().toEpochMilli();
+        int inFlight = CountedDAO.inFlight();
+
+        Health.Builder builder;
+        if (idadeMillis > 3 * intervalMillis + timeoutSeconds * 1000L) {
+            builder = Health.down().withDetail("motivo", "verificação atrasada");
+        } else if (!check.reachable()) {
+            builder = Health.down().withDetail("motivo", check.error());
+        } else if (inFlight >= maxInFlight) {
+            builder = Health.status(Status.OUT_OF_SERVICE).withDetail("motivo", "conexão saturada");
+        } else if (check.calls() >= minCalls && check.errorRate() >= maxErrorRate) {
+            builder = Health.status(Status.OUT_OF_SERVICE).withDetail("motivo", "taxa de erros elevada");
+        } else {
+            builder = Health.up();
+        }
+        return builder
+                .withDetail("verificadoEm", check.checkedAt().toString())
+                .withDetail("pingMillis", check.pingMillis())
+                .withDetail("chamadasEmAndamento", inFlight)
+                .withDetail("limiteChamadasEmAndamento", maxInFlight)
+                .withDetail("chamadasNoIntervalo", check.calls())
+                .withDetail("taxaDeErros", check.errorRate())
+                .withDetail("replicas", ConnectionService.replicaStatus())
+                .build();
+    }
+
+    /**
+     * Verifica o banco e calcula a taxa de erros desde a verificação anterior. Executada apenas pela thread
+     * {@code db-health}.
+     */
+    private void check() {
+        boolean reachable = false;
+        String error = null;
+        long inicio = System.nanoTime();
+        try {
+            Connection connection = ConnectionService.getConnection();
+            reachable = connection.isValid(timeoutSeconds);
+            if (!reachable) {
+                error = "conexão inválida";
+            }
+        } catch (Exception e) {
+            error = e.getMessage();
+        }
+        double pingMillis = (System.nanoTime() - inicio) / 1_000_000.0;
+
+        long calls = CountedDAO.totalCalls();
+        long errors = CountedDAO.totalErrors();
+        long deltaCalls = calls - lastCalls;
+        double errorRate = deltaCalls > 0 ? (double) (errors - lastErrors) / deltaCalls : 0;
+        lastCalls = calls;
+        lastErrors = errors;
+
+        Check anterior = last;
+        last = new Check(Instant.now(), reachable, pingMillis, error, deltaCalls, errorRate);
+        if (!reachable && (anterior == null || anterior.reachable())) {
+            log.warn("Banco de dados inacessível: {}", error);
+        } else if (reachable && anterior != null && !anterior.reachable()) {
+            log.info("Banco de dados acessível novamente.");
+        }
+    }
+}
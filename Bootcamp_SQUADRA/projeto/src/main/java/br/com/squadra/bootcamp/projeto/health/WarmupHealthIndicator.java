@@ -0,0 +1,51 @@
+package br.com.squadra.bootcamp.projeto.health;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Indicador de saúde que mantém o nó fora do grupo de prontidão enquanto algum cache registrado ainda não foi
+ * aquecido, para que um nó recém-iniciado só receba tráfego depois de carregar seus dados em memória.
+ * <p>
+ * Cada cache chama {@link #register(String)} ao ser criado e {@link #markWarm(String)} ao terminar a carga inicial.
+ * Sem caches registrados o indicador reporta {@code UP}.
+ * </p>
+ */
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final Map<String, Boolean> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Registra um cache que precisa ser aquecido antes de o nó receber tráfego.
+     *
+     * @param cache Nome do cache.
+     */
+    public void register(String cache) {
+        caches.putIfAbsent(cache, false);
+    }
+
+    /**
+     * Marca um cache como aquecido.
+     *
+     * @param cache Nome do cache.
+     */
+    public void markWarm(String cache) {
+        caches.put(cache, true);
+    }
+
+    @Override
+    public Health health() {
+        Map<String, Boolean> estado = new TreeMap<>(caches);
+        boolean aquecido = !estado.containsValue(false);
+        return Health.status(aquecido ? Status.UP : Status.OUT_OF_SERVICE)
+                .withDetails(Map.of("caches", estado))
+                .build();
+    }
+}
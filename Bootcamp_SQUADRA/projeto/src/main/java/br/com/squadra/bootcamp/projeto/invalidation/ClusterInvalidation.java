@@ -0,0 +1,209 @@
+package br.com.squadra.bootcamp.projeto.invalidation;
+
+import br.com.squadra.bootcamp.projeto.cache.ResponseCache;
+import br.com.squadra.bootcamp.projeto.cache.TableVersions;
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import br.com.squadra.bootcamp.projeto.events.ChangeEvent;
+import br.com.squadra.bootcamp.projeto.events.Outbox;
+import br.com.squadra.bootcamp.projeto.jdbc.RoutingContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Invalidação de caches entre as instâncias da aplicação.
+ * <p>
+ * Cada escrita confirmada por esta instância é enviada às demais como um aviso compacto (tabela, código, versão)
+ * pelo {@link InvalidationTransport} configurado. Avisos recebidos de outras instâncias incrementam a versão da
+ * tabela em {@link TableVersions}, o que invalida as respostas em cache que dependem dela, e são repassados aos
+ * caches assinantes.
+ * </p>
+ * <p>
+ * Para cada registro é guardada a maior versão já vista, inclusive das escritas locais. Um aviso com versão igual
+ * ou menor chegou repetido ou fora de ordem e é descartado: ele não pode fazer um cache voltar a um estado já
+ * superado. O mapa de versões é limitado; quando um registro sai dele, um aviso antigo desse registro apenas
+ * provoca uma releitura desnecessária.
+ * </p>
+ * Quando o transporte informa que avisos foram perdidos, todos os caches são esvaziados e recarregados. Os caches
+ * assinantes são chamados com a thread fixada no primário ({@link RoutingContext#primary()}): uma réplica atrasada
+ * devolveria o estado anterior ao aviso, que ficaria no cache até a próxima alteração.
+ */
+public class ClusterInvalidation implements InvalidationTransport.Listener {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterInvalidation.class);
+
+    private final InvalidationTransport transport;
+    private final int maxTrackedKeys;
+    private final Consumer<List<ChangeEvent>> commitListener = this::broadcast;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private final Counter sent;
+    private final Counter applied;
+    private final Counter stale;
+    private final Counter gaps;
+
+    private record Key(Table table, long id) {
+    }
+
+    private record Subscriber(String name, Consumer<List<Invalidation>> onInvalidate, Runnable onFlush) {
+    }
+
+    // Maior versão vista de cada registro, em ordem de acesso para descartar os menos recentes
+    private final Map<Key, Long> versions;
+
+    /**
+     * @param transport      Meio de troca dos avisos.
+     * @param maxTrackedKeys Quantidade máxima de registros cuja versão é guardada.
+     */
+    public ClusterInvalidation(InvalidationTransport transport, int maxTrackedKeys) {
+        this.transport = transport;
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.versions = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Long> eldest) {
+                return size() > ClusterInvalidation.this.maxTrackedKeys;
+            }
+        };
+        this.sent = counter("invalidation.sent", "Avisos de invalidação enviados a outras instâncias", null);
+        this.applied = counter("invalidation.received", "Avisos de invalidação recebidos de outras instâncias", "applied");
+        this.stale = counter("invalidation.received", "Avisos de invalidação recebidos de outras instâncias", "stale");
+        this.gaps = counter("invalidation.gaps", "Perdas de avisos que provocaram o esvaziamento dos caches", null);
+    }
+
+    private Counter counter(String name, String description, String result) {
+        Counter.Builder builder = Counter.builder(name).description(description).tag("transport", transport.name());
+        if (result != null) {
+            builder.tag("result", result);
+        }
+        return builder.register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Começa a receber avisos e a enviar os das escritas confirmadas por esta instância.
+     */
+    public void start() {
+        transport.start(this);
+        Outbox.addCommitListener(commitListener);
+        log.info("Invalidação entre instâncias ativa (transporte {}).", transport.name());
+    }
+
+    /**
+     * Para de receber e enviar avisos.
+     */
+    public void close() {
+        Outbox.removeCommitListener(commitListener);
+        transport.close();
+    }
+
+    /**
+     * Registra um cache que deve ser invalidado pelas escritas de outras instâncias.
+     *
+     * @param name         Nome do cache, usado nos logs.
+     * @param onInvalidate Função chamada com os avisos aceitos, na thread do transporte.
+     * @param onFlush      Função chamada quando avisos foram perdidos e o cache deve ser recarregado por inteiro.
+     */
+    public void subscribe(String name, Consumer<List<Invalidation>> onInvalidate, Runnable onFlush) {
+        subscribers.add(new Subscriber(name, onInvalidate, onFlush));
+    }
+
+    /**
+     * Envia às outras instâncias os avisos de escritas confirmadas por esta instância.
+     *
+     * @param events Eventos gravados na transação confirmada.
+     */
+    public void broadcast(List<ChangeEvent> events) {
+        List<Invalidation> invalidations = new ArrayList<>(events.size());
+        synchronized (versions) {
+            for (ChangeEvent event : events) {
+                Invalidation invalidation = Invalidation.of(event);
+                versions.merge(new Key(invalidation.table(), invalidation.id()), invalidation.version(), Math::max);
+                invalidations.add(invalidation);
+            }
+        }
+        transport.broadcast(invalidations);
+        sent.increment(invalidations.size());
+    }
+
+    @Override
+    public void onInvalidations(String origin, List<Invalidation> invalidations) {
+        List<Invalidation> aceitos = new ArrayList<>(invalidations.size());
+        synchronized (versions) {
+            for (Invalidation invalidation : invalidations) {
+                Key key = new Key(invalidation.table(), invalidation.id());
+                Long atual = versions.get(key);
+                if (atual != null && atual >= invalidation.version()) {
+                    continue;
+                }
+                versions.put(key, invalidation.version());
+                aceitos.add(invalidation);
+            }
+        }
+        stale.increment(invalidations.size() - aceitos.size());
+        if (aceitos.isEmpty()) {
+            return;
+        }
+        applied.increment(aceitos.size());
+        aceitos.stream().map(Invalidation::table).distinct().forEach(TableVersions::bump);
+        RoutingContext.Scope primario = RoutingContext.primary();
+        try {
+            for (Subscriber subscriber : subscribers) {
+                try {
+                    subscriber.onInvalidate().accept(aceitos);
+                } catch (RuntimeException e) {
+                    log.error("Falha ao invalidar o cache {} com {} avisos de {}.", subscriber.name(), aceitos.size(), origin, e);
+                }
+            }
+        } finally {
+            primario.close();
+        }
+    }
+
+    @Override
+    public void onGap(String origin) {
+        gaps.increment();
+        log.warn("Avisos de invalidação de {} foram perdidos; esvaziando os caches.", origin);
+        flush();
+    }
+
+    /**
+     * Esvazia todos os caches: as respostas em cache e os caches assinantes, que são recarregados do banco.
+     */
+    public void flush() {
+        synchronized (versions) {
+            versions.clear();
+        }
+        for (Table table : Table.values()) {
+            TableVersions.bump(table);
+        }
+        ResponseCache.clear();
+        RoutingContext.Scope primario = RoutingContext.primary();
+        try {
+            for (Subscriber subscriber : subscribers) {
+                try {
+                    subscriber.onFlush().run();
+                } catch (RuntimeException e) {
+                    log.error("Falha ao recarregar o cache {}.", subscriber.name(), e);
+                }
+            }
+        } finally {
+            primario.close();
+        }
+    }
+
+    /**
+     * @return Quantidade de registros cuja versão está sendo guardada.
+     */
+    public int trackedKeys() {
+        synchronized (versions) {
+            return versions.size();
+        }
+    }
+}
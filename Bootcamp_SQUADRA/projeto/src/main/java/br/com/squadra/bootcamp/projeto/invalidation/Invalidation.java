@@ -0,0 +1,22 @@
+package br.com.squadra.bootcamp.projeto.invalidation;
+
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import br.com.squadra.bootcamp.projeto.events.ChangeEvent;
+
+/**
+ * Aviso compacto de que um registro foi alterado, trocado entre as instâncias da aplicação.
+ *
+ * @param table   Tabela alterada.
+ * @param id      Código do registro alterado.
+ * @param version Versão da alteração (código do evento em {@code TB_OUTBOX}), crescente para um mesmo registro.
+ */
+public record Invalidation(Table table, long id, long version) {
+
+    /**
+     * @param event Evento de alteração.
+     * @return Aviso correspondente ao evento.
+     */
+    public static Invalidation of(ChangeEvent event) {
+        return new Invalidation(event.table(), event.id(), event.version());
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.squadra.bootcamp.projeto.invalidation;
+
+import java.util.List;
+
+/**
+ * Meio pelo qual os avisos de invalidação são trocados entre as instâncias da aplicação.
+ * <p>
+ * Um transporte entrega ao {@link Listener} os avisos recebidos de outras instâncias, agrupados pela instância de
+ * origem e na ordem em que chegaram, e informa quando percebe que avisos de uma origem foram perdidos. Os avisos
+ * podem chegar repetidos ou fora de ordem: o {@link ClusterInvalidation} descarta os que já foram superados.
+ * </p>
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Recebedor dos avisos de um transporte.
+     */
+    interface Listener {
+
+        /**
+         * @param origin        Instância que fez as escritas.
+         * @param invalidations Avisos recebidos.
+         */
+        void onInvalidations(String origin, List<Invalidation> invalidations);
+
+        /**
+         * Chamado quando avisos de uma origem foram perdidos e não podem ser recuperados.
+         *
+         * @param origin Instância cujos avisos foram perdidos.
+         */
+        void onGap(String origin);
+    }
+
+    /**
+     * @return Nome do transporte, usado nos logs e nas métricas.
+     */
+    String name();
+
+    /**
+     * Começa a receber avisos.
+     *
+     * @param listener Recebedor dos avisos de outras instâncias.
+     */
+    void start(Listener listener);
+
+    /**
+     * Envia às outras instâncias os avisos das escritas confirmadas por esta instância.
+     *
+     * @param invalidations Avisos, na ordem das escritas.
+     */
+    void broadcast(List<Invalidation> invalidations);
+
+    /**
+     * Para de receber e enviar avisos.
+     */
+    void close();
+}
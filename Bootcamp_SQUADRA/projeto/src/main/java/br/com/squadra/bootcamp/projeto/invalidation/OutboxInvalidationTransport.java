@@ -0,0 +1,55 @@
+package br.com.squadra.bootcamp.projeto.invalidation;
+
+import br.com.squadra.bootcamp.projeto.events.ChangeEvent;
+import br.com.squadra.bootcamp.projeto.events.ChangeEventBus;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transporte padrão: o próprio banco de dados.
+ * <p>
+ * Cada escrita já grava seu evento na tabela {@code TB_OUTBOX}, que o {@code OutboxRelay} lê periodicamente e
+ * publica no {@link ChangeEventBus}. Este transporte apenas converte os eventos de outras instâncias em avisos;
+ * não há nada a enviar. Como o relay retoma a leitura a partir do último evento lido, procura de novo os códigos
+ * pulados por transações ainda não confirmadas e, na subida, relê os eventos gravados pouco antes dela, nenhum aviso
+ * é perdido enquanto os eventos estiverem retidos na tabela.
+ * </p>
+ */
+public class OutboxInvalidationTransport implements InvalidationTransport {
+
+    private final ChangeEventBus bus;
+
+    public OutboxInvalidationTransport(ChangeEventBus bus) {
+        this.bus = bus;
+    }
+
+    @Override
+    public String name() {
+        return "outbox";
+    }
+
+    @Override
+    public void start(Listener listener) {
+        bus.subscribe("cluster-invalidation", events -> {
+            Map<String, List<Invalidation>> porOrigem = new LinkedHashMap<>();
+            for (ChangeEvent event : events) {
+                if (event.isRemote()) {
+                    porOrigem.computeIfAbsent(event.origin(), k -> new ArrayList<>()).add(Invalidation.of(event));
+                }
+            }
+            porOrigem.forEach(listener::onInvalidations);
+        });
+    }
+
+    @Override
+    public void broadcast(List<Invalidation> invalidations) {
+        // Os eventos já foram gravados em TB_OUTBOX na transação da escrita
+    }
+
+    @Override
+    public void close() {
+    }
+}
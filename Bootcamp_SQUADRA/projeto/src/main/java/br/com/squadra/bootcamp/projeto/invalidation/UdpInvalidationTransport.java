@@ -0,0 +1,277 @@
+package br.com.squadra.bootcamp.projeto.invalidation;
+
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.SocketAddress;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Transporte por datagramas UDP, para peers conhecidos ({@code host:porta}) ou para um grupo multicast.
+ * <p>
+ * Os avisos são entregues em milissegundos, sem esperar o relay, mas datagramas podem se perder, repetir ou chegar
+ * fora de ordem. Cada datagrama leva a origem, a época (instante em que o transporte da origem foi criado) e um
+ * número de sequência por origem; um salto na sequência indica datagramas perdidos e é informado ao
+ * {@link Listener#onGap(String)}. Uma época nova (a origem foi reiniciada) recomeça a contagem sem salto.
+ * </p>
+ * <p>
+ * Um salto só é percebido quando chega um datagrama posterior; para que a perda do último datagrama antes de um
+ * período sem escritas não passe despercebida, cada instância envia a cada {@code heartbeatMillis} um datagrama sem
+ * avisos com a sua sequência atual. Um destinatário que viu uma sequência menor sabe que perdeu datagramas.
+ * </p>
+ * <p>
+ * Cada datagrama termina com um HMAC-SHA256 do seu conteúdo, calculado com a chave compartilhada pelas instâncias;
+ * datagramas sem a assinatura correta são descartados, para que ninguém na rede possa invalidar os caches ou
+ * provocar recargas completas.
+ * </p>
+ * Formato: {@code int} mágico, origem ({@code UTF}), época, sequência, quantidade de avisos ({@code short}), para
+ * cada aviso a tabela ({@code byte}), o código e a versão, e por fim os {@value #MAC_LENGTH} bytes do HMAC.
+ */
+public class UdpInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(UdpInvalidationTransport.class);
+
+    private static final int MAGIC = 0x494E5632;  // "INV2"
+    private static final int MAX_PER_DATAGRAM = 64;  // 17 bytes por aviso: cabe com folga em um datagrama de 1500 bytes
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+    private static final Table[] TABLES = Table.values();
+
+    private final String origin;
+    private final long epoch = System.currentTimeMillis();
+    private final DatagramSocket socket;
+    private final List<SocketAddress> peers;
+    private final SecretKeySpec key;
+    private final long heartbeatMillis;
+    private final Mac sendMac;
+    private long sequence;
+    private ScheduledExecutorService heartbeats;
+
+    // Última sequência recebida de cada origem; usado apenas pela thread de recebimento
+    private record Stream(long epoch, long sequence) {
+    }
+
+    private final Map<String, Stream> streams = new HashMap<>();
+    private volatile boolean running;
+
+    /**
+     * Cria o transporte e abre o socket.
+     *
+     * @param origin          Identificação desta instância.
+     * @param port            Porta local de recebimento.
+     * @param peers           Destinos dos avisos.
+     * @param group           Grupo multicast a ingressar, ou {@code null} para receber apenas datagramas endereçados
+     *                        a esta instância. Quando informado, o grupo também deve estar entre os destinos.
+     * @param key             Chave compartilhada do HMAC, igual em todas as instâncias.
+     * @param heartbeatMillis Intervalo entre os datagramas de sequência enviados sem avisos.
+     * @throws IOException Se o socket não puder ser aberto.
+     */
+    public UdpInvalidationTransport(String origin, int port, List<SocketAddress> peers, InetAddress group, byte[] key,
+                                    long heartbeatMillis) throws IOException {
+        if (key == null || key.length == 0) {
+            throw new IllegalArgumentException("O transporte UDP de invalidação exige uma chave compartilhada.");
+        }
+        this.origin = origin;
+        this.peers = List.copyOf(peers);
+        this.key = new SecretKeySpec(key, MAC_ALGORITHM);
+        this.heartbeatMillis = heartbeatMillis;
+        this.sendMac = mac();
+        if (group != null) {
+            MulticastSocket multicast = new MulticastSocket(port);
+            multicast.joinGroup(new InetSocketAddress(group, port), null);
+            this.socket = multicast;
+        } else {
+            this.socket = new DatagramSocket(port);
+        }
+    }
+
+    /**
+     * Converte uma lista de destinos no formato {@code host:porta,host:porta}.
+     *
+     * @param peers Destinos separados por vírgula; vazio para nenhum.
+     * @return Endereços dos destinos.
+     */
+    public static List<SocketAddress> parsePeers(String peers) {
+        List<SocketAddress> enderecos = new ArrayList<>();
+        for (String peer : peers.split(",")) {
+            String texto = peer.trim();
+            if (texto.isEmpty()) {
+                continue;
+            }
+            int separador = texto.lastIndexOf(':');
+            if (separador < 0) {
+                throw new IllegalArgumentException("Destino de invalidação sem porta: " + texto);
+            }
+            enderecos.add(new InetSocketAddress(texto.substring(0, separador), Integer.parseInt(texto.substring(separador + 1))));
+        }
+        return enderecos;
+    }
+
+    /**
+     * @return Porta local em que os avisos são recebidos.
+     */
+    public int getLocalPort() {
+        return socket.getLocalPort();
+    }
+
+    @Override
+    public String name() {
+        return "udp";
+    }
+
+    @Override
+    public void start(Listener listener) {
+        running = true;
+        Thread thread = new Thread(() -> receive(listener), "invalidation-udp");
+        thread.setDaemon(true);
+        thread.start();
+        heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread heartbeat = new Thread(r, "invalidation-udp-heartbeat");
+            heartbeat.setDaemon(true);
+            return heartbeat;
+        });
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void broadcast(List<Invalidation> invalidations) {
+        for (int inicio = 0; inicio < invalidations.size(); inicio += MAX_PER_DATAGRAM) {
+            send(encode(invalidations.subList(inicio, Math.min(inicio + MAX_PER_DATAGRAM, invalidations.size())), ++sequence));
+        }
+    }
+
+    /**
+     * Envia a sequência atual, sem avisos, para que os destinos percebam datagramas perdidos mesmo sem novas escritas.
+     */
+    public synchronized void heartbeat() {
+        send(encode(List.of(), sequence));
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (heartbeats != null) {
+            heartbeats.shutdownNow();
+        }
+        socket.close();
+    }
+
+    private void send(byte[] data) {
+        for (SocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(data, data.length, peer));
+            } catch (IOException e) {
+                // O destino perceberá o salto na sequência no próximo datagrama ou heartbeat
+                log.warn("Falha ao enviar avisos de invalidação para {}: {}", peer, e.getMessage());
+            }
+        }
+    }
+
+    private Mac mac() {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] encode(List<Invalidation> invalidations, long seq) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + invalidations.size() * 17 + MAC_LENGTH);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeUTF(origin);
+            out.writeLong(epoch);
+            out.writeLong(seq);
+            out.writeShort(invalidations.size());
+            for (Invalidation invalidation : invalidations) {
+                out.writeByte(invalidation.table().ordinal());
+                out.writeLong(invalidation.id());
+                out.writeLong(invalidation.version());
+            }
+            out.flush();
+            out.write(sendMac.doFinal(bytes.toByteArray()));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void receive(Listener listener) {
+        Mac receiveMac = mac();
+        byte[] buffer = new byte[65_507];
+        while (running) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Falha ao receber avisos de invalidação: {}", e.getMessage());
+                }
+                continue;
+            }
+            int conteudo = packet.getLength() - MAC_LENGTH;
+            if (conteudo <= 0) {
+                continue;
+            }
+            receiveMac.update(packet.getData(), 0, conteudo);
+            if (!MessageDigest.isEqual(receiveMac.doFinal(), Arrays.copyOfRange(packet.getData(), conteudo, packet.getLength()))) {
+                log.warn("Datagrama de invalidação com assinatura inválida descartado de {}.", packet.getSocketAddress());
+                continue;
+            }
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(packet.getData(), 0, conteudo))) {
+                if (in.readInt() != MAGIC) {
+                    continue;
+                }
+                String remetente = in.readUTF();
+                if (remetente.equals(origin)) {
+                    continue;  // Eco do próprio datagrama multicast
+                }
+                long epocaRemetente = in.readLong();
+                long seq = in.readLong();
+                int quantidade = in.readUnsignedShort();
+                List<Invalidation> invalidations = new ArrayList<>(quantidade);
+                for (int i = 0; i < quantidade; i++) {
+                    invalidations.add(new Invalidation(TABLES[in.readUnsignedByte()], in.readLong(), in.readLong()));
+                }
+                Stream anterior = streams.get(remetente);
+                // Um heartbeat repete a sequência do último datagrama enviado; um datagrama de avisos a incrementa
+                if (anterior != null && anterior.epoch() == epocaRemetente
+                        && seq > anterior.sequence() + (invalidations.isEmpty() ? 0 : 1)) {
+                    listener.onGap(remetente);
+                }
+                if (anterior == null || anterior.epoch() != epocaRemetente || seq > anterior.sequence()) {
+                    streams.put(remetente, new Stream(epocaRemetente, seq));
+                }
+                if (!invalidations.isEmpty()) {
+                    listener.onInvalidations(remetente, invalidations);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Datagrama de invalidação descartado de {}: {}", packet.getSocketAddress(), e.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.squadra.bootcamp.projeto.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Colunas alteradas de um registro, usadas para montar um {@code UPDATE} que grava apenas o que mudou.
+ * <p>
+ * Cada coluna é comparada com {@link #compare(String, Object, Object)}: valores iguais são ignorados e valores
+ * diferentes entram na cláusula {@code SET}, na ordem em que foram comparados. Como no Oracle, texto vazio equivale a
+ * {@code NULL}. Sem nenhuma coluna alterada o DAO não executa comando algum. Os nomes das colunas vêm sempre do
+ * código do DAO, nunca da requisição.
+ * </p>
+ */
+public class ColumnChanges {
+
+    private final Map<String, Object> valores = new LinkedHashMap<>();
+
+    /**
+     * Compara o valor atual de uma coluna com o novo e registra a coluna se eles forem diferentes.
+     *
+     * @param column Nome da coluna.
+     * @param atual  Valor gravado no banco.
+     * @param novo   Valor desejado.
+     * @return Esta instância, para encadear as comparações.
+     */
+    public ColumnChanges compare(String column, Object atual, Object novo) {
+        atual = vazioComoNulo(atual);
+        novo = vazioComoNulo(novo);
+        if (atual == null ? novo != null : !atual.equals(novo)) {
+            valores.put(column, novo);
+        }
+        return this;
+    }
+
+    /**
+     * @return {@code true} se nenhuma coluna foi alterada.
+     */
+    public boolean isEmpty() {
+        return valores.isEmpty();
+    }
+
+    /**
+     * @return Nomes das colunas alteradas, na ordem da cláusula {@code SET}.
+     */
+    public Set<String> columns() {
+        return valores.keySet();
+    }
+
+    /**
+     * Monta a cláusula {@code SET} com um parâmetro por coluna alterada, por exemplo {@code NOME = ?, CEP = ?}.
+     *
+     * @return Texto da cláusula, sem a palavra {@code SET}.
+     */
+    public String setClause() {
+        return String.join(" = ?, ", valores.keySet()) + " = ?";
+    }
+
+    /**
+     * Associa os valores das colunas alteradas aos parâmetros do comando. Valores nulos são gravados como
+     * {@code VARCHAR}, o tipo das únicas colunas opcionais.
+     *
+     * @param stmt  Comando preparado com a cláusula de {@link #setClause()}.
+     * @param first Índice do primeiro parâmetro da cláusula.
+     * @return Índice do próximo parâmetro, depois da cláusula.
+     * @throws SQLException Se ocorrer um erro ao associar os valores.
+     */
+    public int bind(PreparedStatement stmt, int first) throws SQLException {
+        int index = first;
+        for (Object valor : valores.values()) {
+            if (valor == null) {
+                stmt.setNull(index++, Types.VARCHAR);
+            } else if (valor instanceof Long numero) {
+                stmt.setLong(index++, numero);
+            } else if (valor instanceof Integer numero) {
+                stmt.setInt(index++, numero);
+            } else {
+                stmt.setString(index++, valor.toString());
+            }
+        }
+        return index;
+    }
+
+    private static Object vazioComoNulo(Object valor) {
+        return valor instanceof String texto && texto.isEmpty() ? null : valor;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnChanges" + valores.keySet();
+    }
+}
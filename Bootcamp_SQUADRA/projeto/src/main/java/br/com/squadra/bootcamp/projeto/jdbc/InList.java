@@ -0,0 +1,73 @@
+package br.com.squadra.bootcamp.projeto.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Monta listas de parâmetros para cláusulas {@code IN (...)}.
+ * <p>
+ * O Oracle aceita no máximo {@value #MAX_SIZE} expressões em uma lista, então os códigos são divididos em blocos.
+ * Cada bloco é completado, repetindo o último código, até a próxima potência de dois: consultas com quantidades
+ * próximas de códigos compartilham o mesmo texto de SQL, e portanto o mesmo cursor no banco e o mesmo formato
+ * em {@link SqlShape}.
+ * </p>
+ */
+public class InList {
+
+    public static final int MAX_SIZE = 1000;
+
+    /**
+     * Divide os códigos em blocos, descartando nulos e repetições.
+     *
+     * @param ids Códigos procurados.
+     * @return Blocos de no máximo {@value #MAX_SIZE} códigos.
+     */
+    public static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        distintos.remove(null);
+        List<List<Long>> blocos = new ArrayList<>();
+        for (int inicio = 0; inicio < distintos.size(); inicio += MAX_SIZE) {
+            blocos.add(distintos.subList(inicio, Math.min(inicio + MAX_SIZE, distintos.size())));
+        }
+        return blocos;
+    }
+
+    /**
+     * @param chunk Bloco de códigos.
+     * @return Marcadores ({@code ?, ?, ...}) para o bloco completado.
+     */
+    public static String placeholders(List<Long> chunk) {
+        int tamanho = paddedSize(chunk.size());
+        StringBuilder sb = new StringBuilder(tamanho * 3);
+        for (int i = 0; i < tamanho; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Associa os códigos do bloco aos marcadores gerados por {@link #placeholders(List)}.
+     *
+     * @param stmt  Comando preparado.
+     * @param first Índice do primeiro marcador da lista.
+     * @param chunk Bloco de códigos.
+     * @throws SQLException Se ocorrer um erro ao associar os parâmetros.
+     */
+    public static void bind(PreparedStatement stmt, int first, List<Long> chunk) throws SQLException {
+        int tamanho = paddedSize(chunk.size());
+        for (int i = 0; i < tamanho; i++) {
+            stmt.setLong(first + i, chunk.get(Math.min(i, chunk.size() - 1)));
+        }
+    }
+
+    private static int paddedSize(int size) {
+        if (size <= 1) {
+            return 1;
+        }
+        return Math.min(MAX_SIZE, Integer.highestOneBit(size - 1) << 1);
+    }
+}
@@ -0,0 +1,232 @@
+package br.com.squadra.bootcamp.projeto.jdbc;
+
+import br.com.squadra.bootcamp.projeto.jfr.DaoCallEvent;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Proxy JDBC que contabiliza, nos {@link QueryStats} da requisição atual, os comandos executados, as idas e voltas
+ * ao banco, as linhas lidas e o tempo gasto através de uma {@link Connection}.
+ * <p>
+ * Todos os {@link Statement}, {@link PreparedStatement}, {@link CallableStatement} e {@link ResultSet} criados a
+ * partir da conexão envolvida também são instrumentados, com a mesma interface devolvida pelo método que os criou. Uma execução termina quando o {@code ResultSet} (ou o próprio comando) é fechado, de
+ * modo que o tempo medido inclui a leitura das linhas. Execuções que ultrapassam o limite do {@link SlowQueryLog}
+ * são registradas com os valores dos parâmetros, e cada comando é associado ao {@link DaoCallEvent} em andamento.
+ * </p>
+ */
+public class InstrumentedConnection {
+
+    /**
+     * Envolve a conexão em um proxy instrumentado.
+     *
+     * @param connection Conexão real com o banco de dados.
+     * @return Conexão instrumentada, com a mesma interface.
+     */
+    public static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                InstrumentedConnection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Intercepta a criação de comandos para instrumentá-los.
+     */
+    private static class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedConnection.invoke(connection, method, args);
+            String name = method.getName();
+            if (result instanceof PreparedStatement stmt && (name.equals("prepareStatement") || name.equals("prepareCall"))) {
+                return wrapStatement(stmt, method.getReturnType(), (String) args[0]);
+            }
+            if (result instanceof Statement stmt && name.equals("createStatement")) {
+                return wrapStatement(stmt, Statement.class, null);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Envolve um comando com a interface devolvida pelo método que o criou: um proxy só de {@link PreparedStatement}
+     * não poderia ser usado como o {@link CallableStatement} de {@code prepareCall}.
+     */
+    private static Statement wrapStatement(Statement statement, Class<?> type, String sql) {
+        return (Statement) Proxy.newProxyInstance(
+                InstrumentedConnection.class.getClassLoader(),
+                new Class<?>[]{type},
+                new StatementHandler(statement, sql));
+    }
+
+    /**
+     * Contabiliza as execuções de um comando. Para {@link PreparedStatement} o SQL é conhecido na criação;
+     * para {@link Statement} ele é recebido a cada execução.
+     */
+    private static class StatementHandler implements InvocationHandler {
+
+        private static final Object[] SEM_PARAMETROS = new Object[0];
+
+        private final Statement statement;
+        private final String sql;
+        private Object[] binds = SEM_PARAMETROS;
+
+        // Execução em andamento: SQL, início e ResultSet ainda aberto, se houver
+        private String executingSql;
+        private long executionStart;
+        private ResultSetHandler openResultSet;
+
+        StatementHandler(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index
+                    && SlowQueryLog.isEnabled()) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                binds = SEM_PARAMETROS;
+            } else if (name.equals("close")) {
+                finishOpenResultSet();
+            } else if (name.startsWith("execute")) {
+                return execute(method, args, name);
+            }
+            Object result = InstrumentedConnection.invoke(statement, method, args);
+            if (result instanceof ResultSet rs && name.equals("getResultSet")) {
+                return wrapResultSet(rs);
+            }
+            return result;
+        }
+
+        private Object execute(Method method, Object[] args, String name) throws Throwable {
+            finishOpenResultSet();
+            executingSql = sql != null ? sql : (args != null && args.length > 0 && args[0] instanceof String s ? s : "<batch>");
+            QueryStats stats = QueryStatsHolder.current();
+            if (stats != null) {
+                stats.recordStatement(SqlShape.of(executingSql));
+            }
+            DaoCallEvent.statementExecuted(executingSql);
+            executionStart = System.nanoTime();
+            Object result = InstrumentedConnection.invoke(statement, method, args);
+            if (result instanceof ResultSet rs) {
+                return wrapResultSet(rs);
+            }
+            finish(affectedRows(result));
+            return result;
+        }
+
+        private ResultSet wrapResultSet(ResultSet resultSet) {
+            openResultSet = new ResultSetHandler(resultSet, this);
+            return (ResultSet) Proxy.newProxyInstance(
+                    InstrumentedConnection.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class},
+                    openResultSet);
+        }
+
+        private void bind(int index, Object value) {
+            // Comandos têm poucos parâmetros: o array cresce exatamente até o maior índice usado
+            if (index >= binds.length) {
+                binds = Arrays.copyOf(binds, index + 1);
+            }
+            binds[index] = value;
+        }
+
+        /**
+         * Encerra a execução em andamento, acumulando o tempo e oferecendo-a ao registro de consultas lentas.
+         *
+         * @param rows Linhas lidas ou afetadas.
+         */
+        void finish(long rows) {
+            if (executingSql == null) {
+                return;
+            }
+            long elapsed = System.nanoTime() - executionStart;
+            QueryStats stats = QueryStatsHolder.current();
+            if (stats != null) {
+                stats.recordElapsed(elapsed);
+            }
+            SlowQueryLog.offer(executingSql, binds, elapsed, rows);
+            executingSql = null;
+            openResultSet = null;
+        }
+
+        private void finishOpenResultSet() {
+            if (openResultSet != null) {
+                finish(openResultSet.rows);
+            }
+        }
+
+        private static long affectedRows(Object result) {
+            if (result instanceof Integer count) {
+                return Math.max(count, 0);
+            }
+            if (result instanceof int[] counts) {
+                return Arrays.stream(counts).filter(c -> c > 0).sum();
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Contabiliza as linhas lidas e estima as idas e voltas adicionais a partir do tamanho de busca do driver.
+     */
+    private static class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet resultSet;
+        private final StatementHandler owner;
+        private int rows;
+
+        ResultSetHandler(ResultSet resultSet, StatementHandler owner) {
+            this.resultSet = resultSet;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close") && owner.openResultSet == this) {
+                owner.finish(rows);
+            }
+            Object result = InstrumentedConnection.invoke(resultSet, method, args);
+            if (name.equals("next") && Boolean.TRUE.equals(result)) {
+                QueryStats stats = QueryStatsHolder.current();
+                if (stats != null) {
+                    stats.recordRow();
+                    int fetchSize = resultSet.getFetchSize();
+                    // A primeira leitura vem junto com a execução; cada novo bloco de fetchSize linhas é outra ida ao banco
+                    if (rows > 0 && fetchSize > 0 && rows % fetchSize == 0) {
+                        stats.recordRoundTrip();
+                    }
+                }
+                rows++;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.squadra.bootcamp.projeto.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Executa um bloco de comandos JDBC em uma única transação.
+ * <p>
+ * A conexão da aplicação é compartilhada entre as threads e trabalha em modo {@code autoCommit}; ela não pode
+ * carregar uma transação, pois as leituras de outras threads enxergariam os comandos ainda não confirmados. Cada
+ * transação usa uma conexão própria com o mesmo banco, aberta pela fábrica registrada para a conexão compartilhada
+ * em {@link #register(Connection, ConnectionFactory)}. As conexões de transação ficam guardadas após o uso, até
+ * {@value #MAX_IDLE} por banco, para não abrir uma conexão a cada escrita.
+ * </p>
+ * <p>
+ * Os comandos do bloco devem ser executados na conexão recebida por {@link SqlWork#execute(Connection)}. Blocos
+ * aninhados na mesma thread participam da transação mais externa. Conexões sem fábrica registrada, de uso
+ * exclusivo de quem as abriu (ferramentas e testes), carregam a transação elas mesmas.
+ * </p>
+ */
+public class JdbcTransaction {
+
+    private static final int MAX_IDLE = 4;
+
+    /**
+     * Bloco de comandos executado dentro da transação.
+     */
+    @FunctionalInterface
+    public interface SqlWork {
+        void execute(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Abre uma nova conexão com o mesmo banco de uma conexão compartilhada.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private static final Map<Connection, ConnectionFactory> factories = new ConcurrentHashMap<>();
+    private static final Map<Connection, Deque<Connection>> idle = new ConcurrentHashMap<>();
+
+    // Transações em andamento na thread atual, por conexão compartilhada
+    private static final ThreadLocal<Map<Connection, Connection>> current = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Registra a fábrica das conexões de transação de uma conexão compartilhada.
+     *
+     * @param shared  Conexão compartilhada entre as threads.
+     * @param factory Fábrica de novas conexões com o mesmo banco.
+     */
+    public static void register(Connection shared, ConnectionFactory factory) {
+        factories.put(shared, factory);
+        idle.put(shared, new ArrayDeque<>());
+    }
+
+    /**
+     * Executa o bloco e confirma a transação, ou a desfaz se o bloco lançar qualquer exceção.
+     *
+     * @param connection Conexão compartilhada do banco em que os comandos são executados.
+     * @param work       Comandos da transação.
+     * @throws SQLException Se algum comando, o {@code commit} ou o {@code rollback} falhar.
+     */
+    public static void run(Connection connection, SqlWork work) throws SQLException {
+        Map<Connection, Connection> transacoes = current.get();
+        Connection emAndamento = transacoes.get(connection);
+        if (emAndamento != null) {
+            work.execute(emAndamento);  // Já existe uma transação em andamento nesta thread
+            return;
+        }
+        ConnectionFactory factory = factories.get(connection);
+        if (factory == null) {
+            synchronized (connection) {
+                transacoes.put(connection, connection);
+                try {
+                    execute(connection, work);
+                } finally {
+                    transacoes.remove(connection);
+                }
+            }
+            return;
+        }
+        Connection transacao = acquire(connection, factory);
+        boolean reutilizavel = false;
+        transacoes.put(connection, transacao);
+        try {
+            execute(transacao, work);
+            reutilizavel = true;
+        } catch (SQLException | RuntimeException e) {
+            reutilizavel = !(e instanceof SQLException) || transacao.isValid(1);
+            throw e;
+        } finally {
+            transacoes.remove(connection);
+            release(connection, transacao, reutilizavel);
+        }
+    }
+
+    private static void execute(Connection connection, SqlWork work) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            work.execute(connection);
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollback) {
+                e.addSuppressed(rollback);
+            }
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static Connection acquire(Connection shared, ConnectionFactory factory) throws SQLException {
+        Deque<Connection> livres = idle.get(shared);
+        synchronized (livres) {
+            while (!livres.isEmpty()) {
+                Connection livre = livres.pop();
+                if (!livre.isClosed()) {
+                    return livre;
+                }
+            }
+        }
+        return factory.open();
+    }
+
+    private static void release(Connection shared, Connection transacao, boolean reutilizavel) {
+        Deque<Connection> livres = idle.get(shared);
+        if (reutilizavel) {
+            synchronized (livres) {
+                if (livres.size() < MAX_IDLE) {
+                    livres.push(transacao);
+                    return;
+                }
+            }
+        }
+        try {
+            transacao.close();
+        } catch (SQLException ignored) {
+            // A conexão já estava inutilizável
+        }
+    }
+}
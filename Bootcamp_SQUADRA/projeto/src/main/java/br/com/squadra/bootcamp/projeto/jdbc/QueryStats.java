@@ -0,0 +1,122 @@
+package br.com.squadra.bootcamp.projeto.jdbc;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Contadores de acesso ao banco de dados de uma única requisição HTTP.
+ * <p>
+ * Registra a quantidade de comandos SQL executados, de idas e voltas ao banco (execuções e buscas adicionais de
+ * linhas do {@code ResultSet}) e de linhas lidas, além de quantas vezes cada formato de SQL foi executado.
+ * Formatos repetidos dentro da mesma requisição são o sintoma clássico de consultas N+1.
+ * </p>
+ * Instâncias são confinadas à thread da requisição através do {@link QueryStatsHolder}.
+ */
+public class QueryStats {
+
+    private final String endpoint;
+    private int statementCount;
+    private int roundTripCount;
+    private long rowCount;
+    private long dbNanos;
+    private final Map<String, Integer> shapeCounts = new HashMap<>();
+
+    /**
+     * Cria os contadores de uma requisição.
+     *
+     * @param endpoint Identificação do endpoint atendido (por exemplo {@code GET /bairro}), ou {@code null}.
+     */
+    public QueryStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Registra a execução de um comando SQL.
+     *
+     * @param sqlShape Formato normalizado do SQL executado (ver {@link SqlShape#of(String)}).
+     */
+    public void recordStatement(String sqlShape) {
+        statementCount++;
+        roundTripCount++;
+        shapeCounts.merge(sqlShape, 1, Integer::sum);
+    }
+
+    /**
+     * Registra uma ida e volta adicional ao banco, como a busca de um novo bloco de linhas do {@code ResultSet}.
+     */
+    public void recordRoundTrip() {
+        roundTripCount++;
+    }
+
+    /**
+     * Registra a leitura de uma linha de um {@code ResultSet}.
+     */
+    public void recordRow() {
+        rowCount++;
+    }
+
+    /**
+     * Acumula o tempo gasto em uma execução, desde o envio do comando até a leitura da última linha.
+     *
+     * @param nanos Tempo da execução, em nanossegundos.
+     */
+    public void recordElapsed(long nanos) {
+        dbNanos += nanos;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public int getRoundTripCount() {
+        return roundTripCount;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    /**
+     * Retorna a quantidade de execuções de um formato de SQL.
+     *
+     * @param sqlShape Formato normalizado do SQL.
+     * @return Quantidade de execuções, ou zero se o formato não foi executado.
+     */
+    public int getShapeCount(String sqlShape) {
+        return shapeCounts.getOrDefault(sqlShape, 0);
+    }
+
+    /**
+     * Retorna os formatos de SQL executados pelo menos {@code minimo} vezes, do mais para o menos repetido.
+     *
+     * @param minimo Quantidade mínima de execuções para um formato ser considerado repetido.
+     * @return Mapa do formato de SQL para a quantidade de execuções.
+     */
+    public Map<String, Integer> getRepeatedShapes(int minimo) {
+        Map<String, Integer> repetidos = new LinkedHashMap<>();
+        shapeCounts.entrySet().stream()
+                .filter(entry -> entry.getValue() >= minimo)
+                .sorted((o1, o2) -> -o1.getValue().compareTo(o2.getValue()))
+                .forEach(entry -> repetidos.put(entry.getKey(), entry.getValue()));
+        return repetidos;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryStats{" +
+                "statementCount=" + statementCount +
+                ", roundTripCount=" + roundTripCount +
+                ", rowCount=" + rowCount +
+                ", dbMillis=" + dbNanos / 1_000_000 +
+                '}';
+    }
+}
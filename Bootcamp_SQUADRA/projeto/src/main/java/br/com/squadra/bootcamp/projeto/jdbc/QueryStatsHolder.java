@@ -0,0 +1,54 @@
+package br.com.squadra.bootcamp.projeto.jdbc;
+
+/**
+ * Mantém os {@link QueryStats} da requisição em andamento, associados à thread que a atende.
+ * <p>
+ * O filtro HTTP abre o escopo com {@link #begin()} e o encerra com {@link #end()}. Testes podem fazer o mesmo
+ * para verificar quantas consultas um trecho de código executa.
+ * </p>
+ */
+public class QueryStatsHolder {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Inicia a contagem para a thread atual, descartando qualquer contagem anterior.
+     *
+     * @return Contadores recém-criados.
+     */
+    public static QueryStats begin() {
+        return begin(null);
+    }
+
+    /**
+     * Inicia a contagem para a thread atual, identificando o endpoint atendido.
+     *
+     * @param endpoint Identificação do endpoint, usada nos registros de consultas lentas.
+     * @return Contadores recém-criados.
+     */
+    public static QueryStats begin(String endpoint) {
+        QueryStats stats = new QueryStats(endpoint);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Retorna os contadores da thread atual.
+     *
+     * @return Contadores em uso ou {@code null} se não houver contagem iniciada.
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Encerra a contagem da thread atual.
+     *
+     * @return Contadores acumulados ou {@code null} se não houver contagem iniciada.
+     */
+    public static QueryStats end() {
+        QueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+}
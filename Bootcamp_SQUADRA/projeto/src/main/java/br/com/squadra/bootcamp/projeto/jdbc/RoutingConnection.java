@@ -0,0 +1,228 @@
+package br.com.squadra.bootcamp.projeto.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Conexão que distribui os comandos entre um banco primário e uma ou mais réplicas somente leitura.
+ * <p>
+ * Comandos criados com intenção de leitura ({@link RoutingContext#useReplica()}) vão para as réplicas em rodízio;
+ * todos os demais, assim como controle de transação e demais métodos da conexão, vão para o primário. Uma réplica
+ * que falha ao criar um comando é marcada como indisponível e o comando é atendido pelo primário. Uma falha de
+ * conexão ao executar um comando já criado na réplica também a marca como indisponível; esse comando falha, mas os
+ * seguintes vão para o primário. Depois de {@code retryMillis} a réplica volta a ser testada com
+ * {@link Connection#isValid(int)}.
+ * </p>
+ */
+public class RoutingConnection {
+
+    private static final Logger log = LoggerFactory.getLogger(RoutingConnection.class);
+
+    /**
+     * Réplica de leitura. A conexão é aberta sob demanda e reaberta após uma falha.
+     */
+    public static class Replica {
+
+        private final String name;
+        private final Supplier<Connection> factory;
+        private Connection connection;
+        private volatile boolean healthy = true;
+        private volatile long downSince;
+
+        /**
+         * @param name    Identificação da réplica, usada em logs e no indicador de saúde.
+         * @param factory Abre uma nova conexão com a réplica.
+         */
+        public Replica(String name, Supplier<Connection> factory) {
+            this.name = name;
+            this.factory = factory;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        synchronized Connection connection() {
+            if (connection == null) {
+                connection = factory.get();
+            }
+            return connection;
+        }
+
+        synchronized void markDown(Exception e) {
+            if (healthy) {
+                log.warn("Réplica {} indisponível, leituras redirecionadas: {}", name, e.getMessage());
+            }
+            healthy = false;
+            downSince = System.currentTimeMillis();
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException ignored) {
+                    // A conexão já está com problemas; será reaberta na próxima tentativa
+                }
+                connection = null;
+            }
+        }
+
+        /**
+         * Testa novamente uma réplica indisponível, no máximo uma vez a cada {@code retryMillis}.
+         */
+        boolean available(long retryMillis) {
+            if (healthy) {
+                return true;
+            }
+            if (System.currentTimeMillis() - downSince < retryMillis) {
+                return false;
+            }
+            synchronized (this) {
+                if (healthy) {
+                    return true;
+                }
+                try {
+                    if (connection().isValid(2)) {
+                        healthy = true;
+                        log.info("Réplica {} disponível novamente.", name);
+                        return true;
+                    }
+                    markDown(new SQLException("conexão inválida"));
+                } catch (RuntimeException | SQLException e) {
+                    markDown(e);
+                }
+                return false;
+            }
+        }
+
+        synchronized void close() throws SQLException {
+            if (connection != null) {
+                connection.close();
+                connection = null;
+            }
+        }
+    }
+
+    /**
+     * Cria a conexão roteada.
+     *
+     * @param primary     Conexão com o banco primário.
+     * @param replicas    Réplicas de leitura, em ordem de rodízio.
+     * @param retryMillis Tempo mínimo até testar novamente uma réplica indisponível.
+     * @return Conexão que implementa a mesma interface e escolhe o destino a cada comando criado.
+     */
+    public static Connection wrap(Connection primary, List<Replica> replicas, long retryMillis) {
+        return (Connection) Proxy.newProxyInstance(
+                RoutingConnection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new RoutingHandler(primary, new ArrayList<>(replicas), retryMillis));
+    }
+
+    private static class RoutingHandler implements InvocationHandler {
+
+        private final Connection primary;
+        private final List<Replica> replicas;
+        private final long retryMillis;
+        private final AtomicInteger next = new AtomicInteger();
+
+        RoutingHandler(Connection primary, List<Replica> replicas, long retryMillis) {
+            this.primary = primary;
+            this.replicas = replicas;
+            this.retryMillis = retryMillis;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (RoutingContext.useReplica()
+                    && (name.equals("prepareStatement") || name.equals("createStatement") || name.equals("prepareCall"))) {
+                Object statement = onReplica(method, args);
+                if (statement != null) {
+                    return statement;
+                }
+            }
+            if (name.equals("close")) {
+                for (Replica replica : replicas) {
+                    replica.close();
+                }
+            }
+            try {
+                return method.invoke(primary, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Cria o comando na próxima réplica disponível do rodízio.
+         *
+         * @return Comando criado, ou {@code null} se nenhuma réplica estiver disponível.
+         */
+        private Object onReplica(Method method, Object[] args) {
+            int total = replicas.size();
+            int inicio = Math.floorMod(next.getAndIncrement(), Math.max(total, 1));
+            for (int i = 0; i < total; i++) {
+                Replica replica = replicas.get((inicio + i) % total);
+                if (!replica.available(retryMillis)) {
+                    continue;
+                }
+                try {
+                    Object statement = method.invoke(replica.connection(), args);
+                    return watch(replica, method.getReturnType(), statement);
+                } catch (InvocationTargetException e) {
+                    replica.markDown(e.getCause() instanceof Exception causa ? causa : e);
+                } catch (RuntimeException | IllegalAccessException e) {
+                    replica.markDown(e);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Envolve um comando criado na réplica para marcá-la como indisponível se a execução falhar por perda de conexão.
+     */
+    private static Object watch(Replica replica, Class<?> type, Object statement) {
+        return Proxy.newProxyInstance(
+                RoutingConnection.class.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    try {
+                        return method.invoke(statement, args);
+                    } catch (InvocationTargetException e) {
+                        if (method.getName().startsWith("execute") && e.getCause() instanceof SQLException causa
+                                && isConnectionFailure(causa)) {
+                            replica.markDown(causa);
+                        }
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /**
+     * Indica se o erro vem da conexão com o banco, e não do comando: um erro de sintaxe ou de restrição também
+     * aconteceria no primário e não torna a réplica indisponível.
+     */
+    private static boolean isConnectionFailure(SQLException e) {
+        return e instanceof SQLRecoverableException
+                || e instanceof SQLNonTransientConnectionException
+                || e instanceof SQLTransientConnectionException
+                || (e.getSQLState() != null && e.getSQLState().startsWith("08"));
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.squadra.bootcamp.projeto.jdbc;
+
+/**
+ * Intenção de acesso da thread atual, usada pela {@link RoutingConnection} para decidir se um comando pode ser
+ * enviado a uma réplica de leitura.
+ * <p>
+ * O {@link br.com.squadra.bootcamp.projeto.model.dao.RoutedDAO} declara {@link Intent#READ} nos métodos
+ * {@code find*} e {@link Intent#WRITE} nos demais. Dentro de um escopo aberto com {@link #scope()}, uma escrita fixa
+ * a thread no primário até o fim do escopo: o filtro HTTP abre um escopo por requisição, e assim a requisição sempre
+ * lê o que acabou de gravar. Fora de um escopo, a escrita só usa o primário enquanto durar.
+ * </p>
+ * <p>
+ * {@link #primary()} abre um escopo já fixado no primário, para leituras que não podem ver uma réplica atrasada,
+ * como a releitura de um registro avisado por outra instância.
+ * </p>
+ * Sem intenção declarada, todo comando vai para o primário.
+ */
+public class RoutingContext {
+
+    /**
+     * Intenção de acesso ao banco.
+     */
+    public enum Intent { READ, WRITE }
+
+    /**
+     * Escopo de fixação no primário; deve ser fechado com {@link #close()}, que restaura o estado anterior.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private enum Pin { OPEN, PINNED }
+
+    private static final ThreadLocal<Intent> INTENT = new ThreadLocal<>();
+    private static final ThreadLocal<Pin> PIN = new ThreadLocal<>();
+
+    /**
+     * Declara a intenção de uma chamada. Dentro de uma escrita, chamadas de leitura continuam no primário.
+     *
+     * @param intent Intenção da chamada.
+     * @return Intenção anterior, a ser restaurada com {@link #exit(Intent)}.
+     */
+    public static Intent enter(Intent intent) {
+        Intent anterior = INTENT.get();
+        if (intent == Intent.WRITE && PIN.get() == Pin.OPEN) {
+            PIN.set(Pin.PINNED);
+        }
+        INTENT.set(anterior == Intent.WRITE ? Intent.WRITE : intent);
+        return anterior;
+    }
+
+    /**
+     * Restaura a intenção anterior ao final de uma chamada.
+     *
+     * @param anterior Valor retornado por {@link #enter(Intent)}.
+     */
+    public static void exit(Intent anterior) {
+        if (anterior == null) {
+            INTENT.remove();
+        } else {
+            INTENT.set(anterior);
+        }
+    }
+
+    /**
+     * @return {@code true} se o comando atual pode ser enviado a uma réplica.
+     */
+    public static boolean useReplica() {
+        return INTENT.get() == Intent.READ && PIN.get() != Pin.PINNED;
+    }
+
+    /**
+     * Abre um escopo em que uma escrita fixa a thread no primário até o seu fechamento.
+     *
+     * @return Escopo a ser fechado ao final, em um bloco {@code try}.
+     */
+    public static Scope scope() {
+        return open(PIN.get() == Pin.PINNED ? Pin.PINNED : Pin.OPEN);
+    }
+
+    /**
+     * Abre um escopo em que todos os comandos vão para o primário.
+     *
+     * @return Escopo a ser fechado ao final, em um bloco {@code try}.
+     */
+    public static Scope primary() {
+        return open(Pin.PINNED);
+    }
+
+    private static Scope open(Pin pin) {
+        Pin anterior = PIN.get();
+        PIN.set(pin);
+        return () -> {
+            if (anterior == null) {
+                PIN.remove();
+            } else {
+                PIN.set(anterior);
+            }
+        };
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.squadra.bootcamp.projeto.jdbc;
+
+import br.com.squadra.bootcamp.projeto.util.RingBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Registro das consultas lentas executadas pela aplicação.
+ * <p>
+ * Toda execução que ultrapassa o limite configurado é guardada em um {@link RingBuffer}, que sobrescreve a entrada
+ * mais antiga sem usar travas. Opcionalmente, a entrada também é escrita no logger {@code slow-query}, que o
+ * {@code logback-spring.xml} direciona para um arquivo com rotação.
+ * </p>
+ * Com o registro desabilitado (limite negativo) nenhum valor de parâmetro é capturado pelo proxy JDBC.
+ */
+public class SlowQueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger("slow-query");
+
+    private static volatile long thresholdNanos = -1;
+    private static volatile boolean maskBinds = true;
+    private static volatile boolean logEnabled = false;
+    private static volatile RingBuffer<SlowQuery> buffer = new RingBuffer<>(256);
+
+    /**
+     * Consulta lenta capturada.
+     *
+     * @param timestamp     Instante em que a execução terminou.
+     * @param sql           Texto do SQL executado.
+     * @param binds         Valores dos parâmetros, mascarados quando configurado.
+     * @param elapsedMillis Tempo total de execução e leitura das linhas, em milissegundos.
+     * @param rows          Linhas lidas (consultas) ou afetadas (atualizações).
+     * @param endpoint      Endpoint HTTP que originou a execução, quando houver.
+     * @param thread        Nome da thread que executou o comando.
+     */
+    public record SlowQuery(Instant timestamp, String sql, String binds, double elapsedMillis, long rows,
+                            String endpoint, String thread) {
+    }
+
+    /**
+     * Configura o registro.
+     *
+     * @param thresholdMillis Tempo mínimo, em milissegundos, para uma execução ser registrada; negativo desabilita.
+     * @param capacity        Quantidade de entradas mantidas em memória.
+     * @param mask            Indica se os valores de texto dos parâmetros devem ser mascarados.
+     * @param writeLog        Indica se as entradas também devem ser escritas no logger {@code slow-query}.
+     */
+    public static void configure(long thresholdMillis, int capacity, boolean mask, boolean writeLog) {
+        thresholdNanos = thresholdMillis < 0 ? -1 : thresholdMillis * 1_000_000L;
+        maskBinds = mask;
+        logEnabled = writeLog;
+        if (capacity != buffer.capacity()) {
+            buffer = new RingBuffer<>(capacity);
+        }
+    }
+
+    /**
+     * @return {@code true} se o registro está habilitado e os parâmetros devem ser capturados.
+     */
+    public static boolean isEnabled() {
+        return thresholdNanos >= 0;
+    }
+
+    /**
+     * Avalia uma execução e a registra se tiver ultrapassado o limite. Os parâmetros só são formatados nesse caso.
+     *
+     * @param sql          Texto do SQL executado.
+     * @param binds        Valores dos parâmetros, indexados a partir de 1 (a posição 0 não é usada).
+     * @param elapsedNanos Tempo total de execução, em nanossegundos.
+     * @param rows         Linhas lidas ou afetadas.
+     */
+    public static void offer(String sql, Object[] binds, long elapsedNanos, long rows) {
+        long limite = thresholdNanos;
+        if (limite < 0 || elapsedNanos < limite) {
+            return;
+        }
+        QueryStats stats = QueryStatsHolder.current();
+        SlowQuery entry = new SlowQuery(
+                Instant.now(),
+                sql,
+                formatBinds(binds),
+                elapsedNanos / 1_000_000.0,
+                rows,
+                stats != null ? stats.getEndpoint() : null,
+                Thread.currentThread().getName());
+        buffer.add(entry);
+        if (logEnabled) {
+            log.info("{} ms | {} linhas | {} | {} | binds: {}", String.format("%.1f", entry.elapsedMillis()),
+                    rows, entry.endpoint(), sql, entry.binds());
+        }
+    }
+
+    /**
+     * Retorna as consultas lentas em memória, da mais recente para a mais antiga.
+     *
+     * @return Cópia do conteúdo do buffer.
+     */
+    public static List<SlowQuery> snapshot() {
+        List<SlowQuery> list = buffer.snapshot();
+        list.sort(Comparator.comparing(SlowQuery::timestamp).reversed());
+        return list;
+    }
+
+    /**
+     * Descarta todas as entradas em memória.
+     */
+    public static void clear() {
+        buffer = new RingBuffer<>(buffer.capacity());
+    }
+
+    private static String formatBinds(Object[] binds) {
+        if (binds == null) {
+            return "[]";
+        }
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 1; i < binds.length; i++) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(i).append('=');
+            Object value = binds[i];
+            if (value == null) {
+                sb.append("NULL");
+            } else if (value instanceof Number || value instanceof Boolean) {
+                sb.append(value);
+            } else if (maskBinds) {
+                // Nem o primeiro caractere nem o tamanho: ambos ajudam a adivinhar uma senha ou um login
+                sb.append("'***'");
+            } else {
+                sb.append('\'').append(value).append('\'');
+            }
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.squadra.bootcamp.projeto.jdbc;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Normaliza comandos SQL em um "formato", removendo literais e espaços redundantes.
+ * <p>
+ * Dois comandos com o mesmo formato diferem apenas nos valores, de modo que execuções repetidas do mesmo formato
+ * indicam consultas que poderiam ter sido agrupadas.
+ * </p>
+ */
+public class SqlShape {
+
+    private static final int MAX_CACHE = 1024;
+    private static final Map<String, String> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Retorna o formato normalizado do SQL. Como os DAOs usam SQL fixo com parâmetros, o resultado é memorizado.
+     *
+     * @param sql Comando SQL original.
+     * @return Formato com literais substituídos por {@code ?} e espaços consecutivos reduzidos a um.
+     */
+    public static String of(String sql) {
+        String shape = CACHE.get(sql);
+        if (shape == null) {
+            shape = normalize(sql);
+            if (CACHE.size() < MAX_CACHE) {
+                CACHE.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    private static String normalize(String sql) {
+        StringBuilder sb = new StringBuilder(sql.length());
+        boolean espaco = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                // Literal de texto: substitui por ? e pula até o fechamento (considerando '' como escape)
+                i++;
+                while (i < sql.length()) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                sb.append('?');
+                espaco = false;
+            } else if (Character.isDigit(c) && (sb.isEmpty() || !Character.isLetterOrDigit(sb.charAt(sb.length() - 1)) && sb.charAt(sb.length() - 1) != '_')) {
+                while (i + 1 < sql.length() && (Character.isDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) {
+                    i++;
+                }
+                sb.append('?');
+                espaco = false;
+            } else if (Character.isWhitespace(c)) {
+                if (!espaco && !sb.isEmpty()) {
+                    sb.append(' ');
+                }
+                espaco = true;
+            } else {
+                sb.append(c);
+                espaco = false;
+            }
+        }
+        return sb.toString().trim();
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.squadra.bootcamp.projeto.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do Java Flight Recorder emitido a cada consulta a um cache da aplicação, indicando acerto ou falha.
+ */
+@Name("br.com.squadra.Cache")
+@Label("Consulta a cache")
+@Category({"Squadra", "Cache"})
+@Description("Acerto ou falha em um cache da aplicação")
+@StackTrace(false)
+public class CacheEvent extends Event {
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Chave")
+    public String key;
+
+    @Label("Acerto")
+    public boolean hit;
+
+    /**
+     * Grava uma consulta a cache, se houver gravação ativa para o evento. A chave só é convertida em texto nesse caso.
+     *
+     * @param cache Nome do cache.
+     * @param key   Chave consultada.
+     * @param hit   {@code true} para acerto, {@code false} para falha.
+     */
+    public static void emit(String cache, Object key, boolean hit) {
+        CacheEvent event = new CacheEvent();
+        if (event.shouldCommit()) {
+            event.cache = cache;
+            event.key = String.valueOf(key);
+            event.hit = hit;
+            event.commit();
+        }
+    }
+
+    /**
+     * Grava uma consulta a um cache que guarda vários tipos de entidade; a chave gravada é {@code Tipo:chave}.
+     *
+     * @param cache Nome do cache.
+     * @param type  Tipo da entidade consultada.
+     * @param key   Chave consultada.
+     * @param hit   {@code true} para acerto, {@code false} para falha.
+     */
+    public static void emit(String cache, Class<?> type, Object key, boolean hit) {
+        CacheEvent event = new CacheEvent();
+        if (event.shouldCommit()) {
+            event.cache = cache;
+            event.key = type.getSimpleName() + ":" + key;
+            event.hit = hit;
+            event.commit();
+        }
+    }
+}
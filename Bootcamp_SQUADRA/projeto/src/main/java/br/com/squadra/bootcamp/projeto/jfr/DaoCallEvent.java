@@ -0,0 +1,103 @@
+package br.com.squadra.bootcamp.projeto.jfr;
+
+import br.com.squadra.bootcamp.projeto.jdbc.SqlShape;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do Java Flight Recorder emitido a cada chamada de método de DAO.
+ * <p>
+ * Enquanto a chamada está em andamento, o evento fica associado à thread para que o proxy JDBC registre nele os
+ * formatos de SQL executados. Essa associação só é feita quando há uma gravação JFR ativa com o evento habilitado.
+ * </p>
+ */
+@Name("br.com.squadra.DaoCall")
+@Label("Chamada de DAO")
+@Category({"Squadra", "Banco de dados"})
+@Description("Chamada de método de DAO com os comandos SQL executados")
+@StackTrace(false)
+public class DaoCallEvent extends Event {
+
+    private static final int MAX_SQL = 512;
+    private static final ThreadLocal<DaoCallEvent> CURRENT = new ThreadLocal<>();
+
+    @Label("DAO")
+    public String dao;
+
+    @Label("Método")
+    public String method;
+
+    @Label("SQL")
+    @Description("Formatos dos comandos executados, separados por |")
+    public String sql;
+
+    @Label("Comandos SQL")
+    public int statements;
+
+    @Label("Registros")
+    public long rows;
+
+    // Chamada externa, restaurada ao final quando um DAO é chamado dentro de outro
+    private transient DaoCallEvent previous;
+
+    /**
+     * Inicia o evento e o associa à thread atual.
+     *
+     * @param dao    Nome da implementação do DAO.
+     * @param method Nome do método chamado.
+     * @return Evento iniciado, ou {@code null} se não houver gravação ativa para ele.
+     */
+    public static DaoCallEvent start(String dao, String method) {
+        DaoCallEvent event = new DaoCallEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.dao = dao;
+        event.method = method;
+        event.previous = CURRENT.get();
+        event.begin();
+        CURRENT.set(event);
+        return event;
+    }
+
+    /**
+     * Registra um comando executado na chamada de DAO em andamento na thread, se houver.
+     *
+     * @param sql Texto do comando; só é normalizado quando há evento em andamento.
+     */
+    public static void statementExecuted(String sql) {
+        DaoCallEvent event = CURRENT.get();
+        if (event == null) {
+            return;
+        }
+        String sqlShape = SqlShape.of(sql);
+        event.statements++;
+        if (event.sql == null) {
+            event.sql = sqlShape;
+        } else if (event.sql.length() < MAX_SQL && !event.sql.contains(sqlShape)) {
+            event.sql = event.sql + " | " + sqlShape;
+        }
+    }
+
+    /**
+     * Encerra o evento, desassocia-o da thread e o grava se ultrapassar o limite configurado na gravação.
+     *
+     * @param rows Registros retornados pela chamada.
+     */
+    public void finish(long rows) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+        this.rows = rows;
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.squadra.bootcamp.projeto.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do Java Flight Recorder emitido ao final de cada requisição HTTP.
+ * <p>
+ * A duração cobre todo o processamento da requisição na thread do Tomcat. Como os eventos nativos de alocação,
+ * GC e bloqueio também registram thread e instante, o JDK Mission Control consegue relacioná-los a este evento.
+ * </p>
+ */
+@Name("br.com.squadra.HttpRequest")
+@Label("Requisição HTTP")
+@Category({"Squadra", "HTTP"})
+@Description("Requisição HTTP atendida por um controlador")
+@StackTrace(false)
+public class HttpRequestEvent extends Event {
+
+    @Label("Método")
+    public String method;
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Comandos SQL")
+    public int statements;
+}
@@ -0,0 +1,226 @@
+package br.com.squadra.bootcamp.projeto.latency;
+
+import br.com.squadra.bootcamp.projeto.util.RingBuffer;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência ponta a ponta das requisições HTTP.
+ * <p>
+ * Cada combinação de método, rota, filtro (nomes dos parâmetros informados) e status tem um {@link Timer}
+ * {@code http.latency} com histograma de percentis e um limite de SLO. As requisições que ultrapassam o SLO são
+ * guardadas em um {@link RingBuffer} junto com o detalhamento do tempo gasto: banco de dados, serialização JSON,
+ * quantidade de comandos SQL e tamanho da resposta.
+ * </p>
+ * O tempo de serialização é acumulado por thread entre {@link #begin()} e {@link #end()}.
+ */
+public class RequestLatency {
+
+    private static final ThreadLocal<long[]> SERIALIZATION = new ThreadLocal<>();
+    private static final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private static volatile RingBuffer<SlowRequest> buffer = new RingBuffer<>(128);
+
+    /**
+     * Requisição que ultrapassou o SLO da sua rota.
+     *
+     * @param timestamp           Instante em que a requisição terminou.
+     * @param method              Método HTTP.
+     * @param route               Padrão da rota atendida (por exemplo {@code /bairro}).
+     * @param filter              Nomes dos parâmetros informados, em ordem alfabética.
+     * @param status              Status HTTP da resposta.
+     * @param totalMillis         Tempo total da requisição, em milissegundos.
+     * @param sloMillis           SLO da rota, em milissegundos.
+     * @param dbMillis            Tempo gasto em comandos SQL, em milissegundos.
+     * @param serializationMillis Tempo gasto na serialização JSON da resposta, em milissegundos.
+     * @param statements          Comandos SQL executados (consultas de hidratação incluídas).
+     * @param payloadBytes        Tamanho do corpo da resposta, em bytes.
+     * @param thread              Nome da thread que atendeu a requisição.
+     */
+    public record SlowRequest(Instant timestamp, String method, String route, String filter, int status,
+                              double totalMillis, double sloMillis, double dbMillis, double serializationMillis,
+                              int statements, long payloadBytes, String thread) {
+    }
+
+    /**
+     * Resumo da latência recente de uma combinação de método, rota, filtro e status.
+     *
+     * @param method     Método HTTP.
+     * @param route      Padrão da rota.
+     * @param filter     Nomes dos parâmetros informados.
+     * @param status     Status HTTP.
+     * @param count      Quantidade total de requisições.
+     * @param p50Millis  Mediana recente, em milissegundos.
+     * @param p95Millis  Percentil 95 recente, em milissegundos.
+     * @param p99Millis  Percentil 99 recente, em milissegundos.
+     * @param maxMillis  Maior tempo recente, em milissegundos.
+     * @param sloMillis  SLO da rota, em milissegundos.
+     * @param withinSlo  Fração das requisições atendidas dentro do SLO.
+     */
+    public record RouteSummary(String method, String route, String filter, String status, long count,
+                               double p50Millis, double p95Millis, double p99Millis, double maxMillis,
+                               long sloMillis, double withinSlo) {
+    }
+
+    private record Route(Timer timer, long sloMillis) {
+    }
+
+    /**
+     * Define quantas requisições lentas são mantidas em memória.
+     *
+     * @param capacity Quantidade de entradas.
+     */
+    public static void configure(int capacity) {
+        if (capacity != buffer.capacity()) {
+            buffer = new RingBuffer<>(capacity);
+        }
+    }
+
+    /**
+     * Inicia a medição da serialização para a thread atual.
+     */
+    public static void begin() {
+        SERIALIZATION.set(new long[1]);
+    }
+
+    /**
+     * Acumula o tempo de uma serialização feita na requisição em andamento, se houver.
+     *
+     * @param nanos Tempo gasto, em nanossegundos.
+     */
+    public static void recordSerialization(long nanos) {
+        long[] acumulado = SERIALIZATION.get();
+        if (acumulado != null) {
+            acumulado[0] += nanos;
+        }
+    }
+
+    /**
+     * Encerra a medição da thread atual.
+     *
+     * @return Tempo total de serialização, em nanossegundos.
+     */
+    public static long end() {
+        long[] acumulado = SERIALIZATION.get();
+        SERIALIZATION.remove();
+        return acumulado != null ? acumulado[0] : 0;
+    }
+
+    /**
+     * Registra a latência de uma requisição no {@link Timer} da sua combinação.
+     *
+     * @param method       Método HTTP.
+     * @param route        Padrão da rota.
+     * @param filter       Nomes dos parâmetros informados.
+     * @param status       Status HTTP.
+     * @param sloMillis    SLO da rota, em milissegundos (no mínimo 1).
+     * @param elapsedNanos Tempo total da requisição, em nanossegundos.
+     * @return {@code true} se a requisição ultrapassou o SLO.
+     */
+    public static boolean record(String method, String route, String filter, int status, long sloMillis,
+                                 long elapsedNanos) {
+        long slo = Math.max(1, sloMillis);
+        String key = method + ' ' + route + ' ' + filter + ' ' + status;
+        Route r = routes.computeIfAbsent(key, k -> new Route(Timer.builder("http.latency")
+                .description("Latência ponta a ponta das requisições HTTP")
+                .tag("method", method)
+                .tag("route", route)
+                .tag("filter", filter)
+                .tag("status", String.valueOf(status))
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(Duration.ofMillis(slo))
+                .register(Metrics.globalRegistry), slo));
+        r.timer().record(elapsedNanos, TimeUnit.NANOSECONDS);
+        return elapsedNanos > r.sloMillis() * 1_000_000L;
+    }
+
+    /**
+     * Guarda uma requisição que ultrapassou o SLO.
+     *
+     * @param request Detalhamento da requisição.
+     */
+    public static void offer(SlowRequest request) {
+        buffer.add(request);
+    }
+
+    /**
+     * Retorna as requisições lentas em memória, da mais para a menos demorada.
+     *
+     * @param limite Quantidade máxima de entradas.
+     * @return Requisições mais lentas entre as mais recentes.
+     */
+    public static List<SlowRequest> worst(int limite) {
+        return buffer.snapshot().stream()
+                .sorted(Comparator.comparingDouble(SlowRequest::totalMillis).reversed())
+                .limit(Math.max(0, limite))
+                .toList();
+    }
+
+    /**
+     * Resume a latência de todas as combinações já atendidas, da pior para a melhor mediana.
+     *
+     * @return Resumo de cada combinação.
+     */
+    public static List<RouteSummary> summaries() {
+        List<RouteSummary> list = new ArrayList<>(routes.size());
+        for (Route r : routes.values()) {
+            Timer timer = r.timer();
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            list.add(new RouteSummary(
+                    timer.getId().getTag("method"),
+                    timer.getId().getTag("route"),
+                    timer.getId().getTag("filter"),
+                    timer.getId().getTag("status"),
+                    timer.count(),
+                    percentile(snapshot, 0.5),
+                    percentile(snapshot, 0.95),
+                    percentile(snapshot, 0.99),
+                    snapshot.max(TimeUnit.MILLISECONDS),
+                    r.sloMillis(),
+                    withinSlo(snapshot, r.sloMillis())));
+        }
+        list.sort(Comparator.comparingDouble(RouteSummary::p50Millis).reversed());
+        return list;
+    }
+
+    /**
+     * Descarta as requisições lentas em memória.
+     */
+    public static void clear() {
+        buffer = new RingBuffer<>(buffer.capacity());
+    }
+
+    private static double percentile(HistogramSnapshot snapshot, double percentile) {
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return 0;
+    }
+
+    private static double withinSlo(HistogramSnapshot snapshot, long sloMillis) {
+        if (snapshot.count() == 0) {
+            return 1;
+        }
+        double limite = TimeUnit.MILLISECONDS.toNanos(sloMillis);
+        for (CountAtBucket bucket : snapshot.histogramCounts()) {
+            if (bucket.bucket() == limite) {
+                return Math.min(1, bucket.count() / snapshot.count());
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.squadra.bootcamp.projeto.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite adaptativo de chamadas simultâneas ao banco, ajustado por aumento aditivo e redução multiplicativa (AIMD).
+ * <p>
+ * Enquanto as chamadas terminam abaixo da latência alvo e o limite está sendo usado, ele cresce em
+ * {@code 1 / limite} por chamada, ou seja, cerca de uma unidade a cada ciclo completo de chamadas. Uma chamada
+ * acima da latência alvo multiplica o limite pelo fator de redução, no máximo uma vez por intervalo de latência
+ * alvo, para que uma rajada de respostas lentas conte como um único sinal de congestionamento.
+ * </p>
+ * Chamadas além do limite são recusadas de imediato, em vez de esperar na fila da conexão.
+ */
+public class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetNanos;
+    private final double backoff;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private double limit;
+    private long lastDecrease;
+
+    /**
+     * @param initialLimit Limite inicial.
+     * @param minLimit     Menor limite permitido.
+     * @param maxLimit     Maior limite permitido.
+     * @param targetMillis Latência a partir da qual uma chamada indica congestionamento.
+     * @param backoff      Fator aplicado ao limite em caso de congestionamento (entre 0 e 1).
+     */
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, long targetMillis, double backoff) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetNanos = targetMillis * 1_000_000L;
+        this.backoff = backoff;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.lastDecrease = System.nanoTime() - targetNanos;
+    }
+
+    /**
+     * Reserva uma vaga, se houver.
+     *
+     * @return {@code true} se a chamada pode prosseguir; nesse caso {@link #release()} deve ser chamado ao final.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int atual = inFlight.get();
+            if (atual >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera uma vaga reservada com {@link #tryAcquire()}.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Ajusta o limite com a latência de uma chamada concluída.
+     *
+     * @param elapsedNanos Duração da chamada.
+     */
+    public synchronized void onSample(long elapsedNanos) {
+        long agora = System.nanoTime();
+        if (elapsedNanos > targetNanos) {
+            if (agora - lastDecrease >= targetNanos) {
+                limit = Math.max(minLimit, limit * backoff);
+                lastDecrease = agora;
+            }
+        } else if (inFlight.get() * 2 >= limit) {
+            // Só cresce se o limite atual está sendo usado; com pouca carga não há o que aprender
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    /**
+     * @return Limite atual, arredondado para baixo.
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @return Chamadas em andamento que reservaram vaga.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,193 @@
+package br.com.squadra.bootcamp.projeto.limiter;
+
+import br.com.squadra.bootcamp.projeto.exception.DbOverloadException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controle de admissão das chamadas ao banco de dados, aplicado pelo {@code AdmittedDAO}.
+ * <p>
+ * Cada chamada pertence a um compartimento ({@link Kind}) com um número fixo de vagas: uma exportação pesada
+ * ({@code findAll}) ocupa apenas as vagas de {@link Kind#BULK} e não impede as leituras e escritas comuns. Se o
+ * compartimento estiver cheio, a chamada espera alguns milissegundos por uma vaga e então é recusada.
+ * </p>
+ * <p>
+ * Leituras também passam pelo {@link AimdLimiter}, cujo limite acompanha a latência do banco: quando o banco fica
+ * lento, o limite cai e o excesso é recusado na hora com {@link DbOverloadException} (HTTP 503), em vez de acumular
+ * threads do Tomcat. Escritas não passam pelo limitador, apenas pelo seu compartimento, para que não sejam sufocadas
+ * pelas leituras; mas sua latência também ajusta o limite. Exportações ficam fora do limitador e do seu sinal: são
+ * lentas por natureza e derrubariam o limite das leituras comuns sem que o banco estivesse congestionado.
+ * </p>
+ * Apenas chamadas feitas durante uma requisição HTTP podem ser recusadas, e só até a primeira escrita da requisição:
+ * depois dela a alteração já foi confirmada, e recusar a leitura da resposta devolveria 503 para uma escrita feita.
+ * Tarefas em segundo plano (carga de caches, relay de eventos) ocupam vagas quando há, mas nunca são recusadas.
+ * Chamadas aninhadas na mesma thread usam a vaga da chamada externa.
+ */
+public class DbAdmission {
+
+    /**
+     * Compartimentos de chamadas ao banco.
+     */
+    public enum Kind {
+        READ, WRITE, BULK
+    }
+
+    /**
+     * Vaga obtida por uma chamada; deve ser liberada com {@link #close()} ao final.
+     */
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final Permit NOOP = () -> {
+    };
+
+    private static final String WRITTEN = DbAdmission.class.getName() + ".WRITTEN";
+
+    private static final ThreadLocal<Boolean> holding = new ThreadLocal<>();
+
+    private static volatile boolean enabled = false;
+    private static volatile long maxWaitMillis = 50;
+    private static volatile AimdLimiter limiter = new AimdLimiter(32, 4, 128, 500, 0.9);
+    private static volatile Map<Kind, Semaphore> bulkheads = bulkheads(32, 8, 2);
+
+    private static final Map<Kind, Counter> rejectedByLimit = new EnumMap<>(Kind.class);
+    private static final Map<Kind, Counter> rejectedByBulkhead = new EnumMap<>(Kind.class);
+
+    static {
+        Gauge.builder("db.limiter.limit", () -> limiter.getLimit())
+                .description("Limite adaptativo atual de chamadas simultâneas ao banco")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("db.limiter.inflight", () -> limiter.getInFlight())
+                .description("Leituras em andamento contadas pelo limitador adaptativo")
+                .register(Metrics.globalRegistry);
+        for (Kind kind : Kind.values()) {
+            String tag = kind.name().toLowerCase();
+            Gauge.builder("db.bulkhead.available", () -> bulkheads.get(kind).availablePermits())
+                    .description("Vagas livres no compartimento")
+                    .tag("kind", tag)
+                    .register(Metrics.globalRegistry);
+            rejectedByLimit.put(kind, rejected(tag, "limit"));
+            rejectedByBulkhead.put(kind, rejected(tag, "bulkhead"));
+        }
+    }
+
+    private static Counter rejected(String kind, String reason) {
+        return Counter.builder("db.limiter.rejected")
+                .description("Chamadas ao banco recusadas por sobrecarga")
+                .tag("kind", kind)
+                .tag("reason", reason)
+                .register(Metrics.globalRegistry);
+    }
+
+    private static Map<Kind, Semaphore> bulkheads(int read, int write, int bulk) {
+        Map<Kind, Semaphore> map = new EnumMap<>(Kind.class);
+        map.put(Kind.READ, new Semaphore(read));
+        map.put(Kind.WRITE, new Semaphore(write));
+        map.put(Kind.BULK, new Semaphore(bulk));
+        return map;
+    }
+
+    /**
+     * Configura o limitador adaptativo.
+     *
+     * @param on           Indica se o controle de admissão está ativo.
+     * @param initialLimit Limite inicial de leituras simultâneas.
+     * @param minLimit     Menor limite permitido.
+     * @param maxLimit     Maior limite permitido.
+     * @param targetMillis Latência a partir da qual uma chamada indica congestionamento.
+     * @param backoff      Fator aplicado ao limite em caso de congestionamento.
+     */
+    public static void configureLimiter(boolean on, int initialLimit, int minLimit, int maxLimit, long targetMillis,
+                                        double backoff) {
+        limiter = new AimdLimiter(initialLimit, minLimit, maxLimit, targetMillis, backoff);
+        enabled = on;
+    }
+
+    /**
+     * Configura os compartimentos.
+     *
+     * @param read     Vagas para leituras.
+     * @param write    Vagas para escritas.
+     * @param bulk     Vagas para exportações ({@code findAll}).
+     * @param waitMillis Tempo máximo de espera por uma vaga antes de recusar a chamada.
+     */
+    public static void configureBulkheads(int read, int write, int bulk, long waitMillis) {
+        bulkheads = bulkheads(read, write, bulk);
+        maxWaitMillis = waitMillis;
+    }
+
+    /**
+     * Admite uma chamada ao banco.
+     *
+     * @param kind Compartimento da chamada.
+     * @return Vaga a ser liberada ao final da chamada.
+     * @throws DbOverloadException Se a chamada foi recusada por sobrecarga.
+     */
+    public static Permit enter(Kind kind) {
+        if (!enabled || holding.get() != null) {
+            return NOOP;
+        }
+        RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+        boolean recusavel = requisicao != null && requisicao.getAttribute(WRITTEN, RequestAttributes.SCOPE_REQUEST) == null;
+        AimdLimiter lim = limiter;
+        boolean limitado = kind == Kind.READ;
+        if (limitado && !lim.tryAcquire()) {
+            if (recusavel) {
+                rejectedByLimit.get(kind).increment();
+                throw new DbOverloadException("Banco de dados sobrecarregado: limite de " + lim.getLimit()
+                        + " chamadas simultâneas atingido.");
+            }
+            limitado = false;
+        }
+        Semaphore bulkhead = bulkheads.get(kind);
+        boolean reservado = acquire(bulkhead, recusavel);
+        if (!reservado && recusavel) {
+            if (limitado) {
+                lim.release();
+            }
+            rejectedByBulkhead.get(kind).increment();
+            throw new DbOverloadException("Banco de dados sobrecarregado: sem vagas para chamadas do tipo " + kind + ".");
+        }
+        holding.set(Boolean.TRUE);
+        long inicio = System.nanoTime();
+        boolean liberarLimite = limitado;
+        return () -> {
+            holding.remove();
+            if (kind != Kind.BULK) {
+                lim.onSample(System.nanoTime() - inicio);
+            }
+            if (kind == Kind.WRITE && requisicao != null) {
+                requisicao.setAttribute(WRITTEN, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            }
+            if (liberarLimite) {
+                lim.release();
+            }
+            if (reservado) {
+                bulkhead.release();
+            }
+        };
+    }
+
+    private static boolean acquire(Semaphore bulkhead, boolean recusavel) {
+        if (!recusavel) {
+            // Tarefas em segundo plano ocupam uma vaga se houver, mas não esperam por ela
+            return bulkhead.tryAcquire();
+        }
+        try {
+            return bulkhead.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
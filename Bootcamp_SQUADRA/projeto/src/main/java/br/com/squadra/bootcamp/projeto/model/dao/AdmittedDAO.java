@@ -0,0 +1,61 @@
+package br.com.squadra.bootcamp.projeto.model.dao;
+
+import br.com.squadra.bootcamp.projeto.limiter.DbAdmission;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Decorador que faz cada chamada de um DAO passar pelo {@link DbAdmission}, que pode recusá-la por sobrecarga.
+ * Métodos {@code findAll} usam o compartimento de exportações, os demais {@code find*} o de leituras e o restante o
+ * de escritas.
+ */
+public class AdmittedDAO {
+
+    /**
+     * Envolve o DAO em um proxy com controle de admissão.
+     *
+     * @param type   Interface do DAO.
+     * @param target DAO envolvido.
+     * @param <T>    Tipo da interface do DAO.
+     * @return Proxy que implementa a mesma interface.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T wrap(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(
+                AdmittedDAO.class.getClassLoader(),
+                new Class<?>[]{type},
+                new AdmittedHandler(target));
+    }
+
+    /**
+     * @param method Nome do método do DAO.
+     * @return Compartimento usado pelo método.
+     */
+    static DbAdmission.Kind kindOf(String method) {
+        if (method.equals("findAll")) {
+            return DbAdmission.Kind.BULK;
+        }
+        return method.startsWith("find") ? DbAdmission.Kind.READ : DbAdmission.Kind.WRITE;
+    }
+
+    private record AdmittedHandler(Object target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args);
+            }
+            DbAdmission.Permit permit = DbAdmission.enter(kindOf(method.getName()));
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                permit.close();
+            }
+        }
+    }
+}
@@ -3,12 +3,14 @@ package br.com.squadra.bootcamp.projeto.model.dao;
 import br.com.squadra.bootcamp.projeto.dto.BairroDTO;
 import br.com.squadra.bootcamp.projeto.model.entities.Bairro;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BairroDAO {
 
     public Bairro findByCodigoBairro(Long codigoBairro);
+    public List<Bairro> findByCodigosBairro(Collection<Long> codigosBairro);
     public List<Bairro> findByCodigoMunicipio(Long codigoMunicipio);
     public List<Bairro> findAll();
     public List<Bairro> findByStatus(int status);
@@ -0,0 +1,192 @@
+package br.com.squadra.bootcamp.projeto.model.dao;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Agrupa buscas por código feitas ao mesmo tempo por várias threads em uma única consulta {@code IN (...)}.
+ * <p>
+ * Funciona como o algoritmo de Nagle: se nenhuma consulta do carregador está em andamento, a busca é enviada na
+ * hora e não há atraso com pouca carga. Se já há uma consulta em andamento, a primeira thread que chega abre um
+ * lote e espera até {@code batch.window-micros} ou até o lote atingir {@code batch.max-size}; as threads seguintes
+ * entram no mesmo lote. A thread que abriu o lote executa a consulta, na sua própria requisição, e entrega a cada
+ * thread o resultado do seu código.
+ * </p>
+ * Métricas: {@code dao.batch.size} (códigos por consulta) e {@code dao.batch.loads} (buscas recebidas), com a tag
+ * {@code loader}.
+ *
+ * @param <V> Tipo da entidade carregada.
+ */
+public class BatchLoader<V> {
+
+    private static volatile boolean enabled = true;
+    private static volatile long windowNanos = 200_000;
+    private static volatile int maxSize = 256;
+
+    private final Function<List<Long>, List<V>> query;
+    private final Function<V, Long> idOf;
+    private final DistributionSummary batchSize;
+    private final Counter loads;
+
+    private final Object lock = new Object();
+    private Batch<V> open;      // Lote aguardando códigos; protegido por lock
+    private int dispatching;    // Consultas em andamento; protegido por lock
+
+    private static class Batch<V> {
+        final Map<Long, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        final Thread leader = Thread.currentThread();
+        boolean closed;
+    }
+
+    /**
+     * Configura todos os carregadores.
+     *
+     * @param on     Indica se as buscas devem ser agrupadas.
+     * @param micros Espera máxima, em microssegundos, para completar um lote.
+     * @param size   Quantidade máxima de códigos por lote.
+     */
+    public static void configure(boolean on, long micros, int size) {
+        enabled = on;
+        windowNanos = micros * 1_000L;
+        maxSize = size;
+    }
+
+    /**
+     * @param name  Nome do carregador, usado nas métricas.
+     * @param query Consulta que recebe vários códigos e devolve as entidades encontradas.
+     * @param idOf  Extrai o código de uma entidade.
+     */
+    public BatchLoader(String name, Function<List<Long>, List<V>> query, Function<V, Long> idOf) {
+        this.query = query;
+        this.idOf = idOf;
+        this.batchSize = DistributionSummary.builder("dao.batch.size")
+                .description("Códigos por consulta agrupada")
+                .tag("loader", name)
+                .register(Metrics.globalRegistry);
+        this.loads = Counter.builder("dao.batch.loads")
+                .description("Buscas por código recebidas pelo carregador")
+                .tag("loader", name)
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Busca uma entidade pelo código, possivelmente junto com as buscas de outras threads.
+     *
+     * @param id Código procurado.
+     * @return Entidade encontrada ou {@code null}.
+     */
+    public V load(Long id) {
+        loads.increment();
+        if (!enabled || id == null) {
+            return id == null ? null : single(id);
+        }
+        Batch<V> batch = null;
+        CompletableFuture<V> future = null;
+        boolean leader = false;
+        synchronized (lock) {
+            if (open == null && dispatching == 0) {
+                // Nada em andamento: consulta imediata, sem esperar outras threads
+                dispatching++;
+            } else {
+                if (open == null) {
+                    open = new Batch<>();
+                    leader = true;
+                }
+                batch = open;
+                future = batch.futures.computeIfAbsent(id, k -> new CompletableFuture<>());
+                if (batch.futures.size() >= maxSize) {
+                    close(batch);
+                    LockSupport.unpark(batch.leader);
+                }
+            }
+        }
+        if (batch == null) {
+            try {
+                return single(id);
+            } finally {
+                finishDispatch();
+            }
+        }
+        if (leader) {
+            long prazo = System.nanoTime() + windowNanos;
+            long restante;
+            while ((restante = prazo - System.nanoTime()) > 0 && !isClosed(batch)) {
+                LockSupport.parkNanos(restante);
+            }
+            synchronized (lock) {
+                close(batch);
+                dispatching++;
+            }
+            try {
+                dispatch(batch);
+            } finally {
+                finishDispatch();
+            }
+        }
+        return await(future);
+    }
+
+    private V single(Long id) {
+        batchSize.record(1);
+        List<V> result = query.apply(List.of(id));
+        return result.isEmpty() ? null : result.getFirst();
+    }
+
+    private void finishDispatch() {
+        synchronized (lock) {
+            dispatching--;
+        }
+    }
+
+    private boolean isClosed(Batch<V> batch) {
+        synchronized (lock) {
+            return batch.closed;
+        }
+    }
+
+    private void close(Batch<V> batch) {
+        batch.closed = true;
+        if (open == batch) {
+            open = null;
+        }
+    }
+
+    private void dispatch(Batch<V> batch) {
+        List<Long> ids = new ArrayList<>(batch.futures.keySet());
+        batchSize.record(ids.size());
+        try {
+            Map<Long, V> porCodigo = new HashMap<>();
+            for (V value : query.apply(ids)) {
+                porCodigo.put(idOf.apply(value), value);
+            }
+            batch.futures.forEach((id, future) -> future.complete(porCodigo.get(id)));
+        } catch (RuntimeException | Error e) {
+            batch.futures.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.squadra.bootcamp.projeto.model.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Decorador que desvia a busca por código de um DAO para um {@link BatchLoader}, compartilhado por todas as
+ * instâncias do DAO. Entidades que a requisição já carregou são devolvidas pelo {@link IdentityMap}, sem passar
+ * pelo carregador. Os demais métodos são repassados ao DAO envolvido.
+ */
+public class BatchingDAO {
+
+    /**
+     * Envolve o DAO em um proxy que agrupa as buscas por código.
+     *
+     * @param type   Interface do DAO.
+     * @param target DAO envolvido.
+     * @param method Nome do método de busca por código, com um único parâmetro {@code Long}.
+     * @param entity Classe da entidade retornada pelo método.
+     * @param loader Carregador que atende o método.
+     * @param <T>    Tipo da interface do DAO.
+     * @param <V>    Tipo da entidade.
+     * @return Proxy que implementa a mesma interface.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, V> T wrap(Class<T> type, T target, String method, Class<V> entity, BatchLoader<V> loader) {
+        return (T) Proxy.newProxyInstance(
+                BatchingDAO.class.getClassLoader(),
+                new Class<?>[]{type},
+                new BatchingHandler<>(target, method, entity, loader));
+    }
+
+    private record BatchingHandler<V>(Object target, String method, Class<V> entity, BatchLoader<V> loader)
+            implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+            if (m.getName().equals(method) && args != null && args.length == 1 && m.getParameterTypes()[0] == Long.class) {
+                return IdentityMap.get(entity, (Long) args[0], loader::load);
+            }
+            try {
+                return m.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
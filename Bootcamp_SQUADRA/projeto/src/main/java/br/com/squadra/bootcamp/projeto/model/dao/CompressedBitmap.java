@@ -0,0 +1,268 @@
+package br.com.squadra.bootcamp.projeto.model.dao;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Conjunto imutável de inteiros não negativos em formato compactado, no estilo Roaring.
+ * <p>
+ * Os valores são divididos pelos 16 bits altos em blocos de até 65.536 valores. Cada bloco é guardado como um
+ * array ordenado dos 16 bits baixos enquanto tiver até 4.096 valores (2 bytes por valor), e como um mapa de bits
+ * de 8 KB acima disso. A interseção ({@link #and(CompressedBitmap)}) percorre apenas os blocos presentes nos dois
+ * conjuntos e escolhe, para cada par, a forma mais barata: interseção de arrays ordenados, teste de bits ou
+ * {@code AND} de palavras de 64 bits.
+ * </p>
+ * Usado pelos índices do {@link GeoDictionary}, em que os valores são posições de registros.
+ */
+public final class CompressedBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    public static final CompressedBitmap EMPTY = new CompressedBitmap(new char[0], new Object[0], 0);
+
+    private final char[] keys;           // 16 bits altos de cada bloco, em ordem crescente
+    private final Object[] containers;   // char[] ordenado ou long[WORDS], na mesma posição da chave
+    private final int cardinality;
+
+    private CompressedBitmap(char[] keys, Object[] containers, int cardinality) {
+        this.keys = keys;
+        this.containers = containers;
+        this.cardinality = cardinality;
+    }
+
+    /**
+     * @param valor Valor único do conjunto.
+     * @return Conjunto com um único valor.
+     */
+    public static CompressedBitmap of(int valor) {
+        return new CompressedBitmap(new char[]{(char) (valor >>> 16)}, new Object[]{new char[]{(char) valor}}, 1);
+    }
+
+    /**
+     * @return Quantidade de valores do conjunto.
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * @param valor Valor procurado.
+     * @return {@code true} se o valor pertence ao conjunto.
+     */
+    public boolean contains(int valor) {
+        int i = Arrays.binarySearch(keys, (char) (valor >>> 16));
+        if (i < 0) {
+            return false;
+        }
+        char baixo = (char) valor;
+        return containers[i] instanceof char[] array
+                ? Arrays.binarySearch(array, baixo) >= 0
+                : (((long[]) containers[i])[baixo >>> 6] & (1L << baixo)) != 0;
+    }
+
+    /**
+     * Calcula a interseção com outro conjunto.
+     *
+     * @param outro Outro conjunto.
+     * @return Novo conjunto com os valores presentes nos dois.
+     */
+    public CompressedBitmap and(CompressedBitmap outro) {
+        int capacidade = Math.min(keys.length, outro.keys.length);
+        char[] novasChaves = new char[capacidade];
+        Object[] novosBlocos = new Object[capacidade];
+        int blocos = 0;
+        int total = 0;
+        for (int i = 0, j = 0; i < keys.length && j < outro.keys.length; ) {
+            if (keys[i] < outro.keys[j]) {
+                i++;
+            } else if (keys[i] > outro.keys[j]) {
+                j++;
+            } else {
+                Object bloco = and(containers[i], outro.containers[j]);
+                int quantidade = count(bloco);
+                if (quantidade > 0) {
+                    novasChaves[blocos] = keys[i];
+                    novosBlocos[blocos++] = bloco;
+                    total += quantidade;
+                }
+                i++;
+                j++;
+            }
+        }
+        return total == 0 ? EMPTY
+                : new CompressedBitmap(Arrays.copyOf(novasChaves, blocos), Arrays.copyOf(novosBlocos, blocos), total);
+    }
+
+    /**
+     * Percorre os valores em ordem crescente.
+     *
+     * @param acao Ação executada para cada valor.
+     */
+    public void forEach(IntConsumer acao) {
+        for (int i = 0; i < keys.length; i++) {
+            int alto = keys[i] << 16;
+            if (containers[i] instanceof char[] array) {
+                for (char baixo : array) {
+                    acao.accept(alto | baixo);
+                }
+            } else {
+                long[] palavras = (long[]) containers[i];
+                for (int p = 0; p < WORDS; p++) {
+                    for (long palavra = palavras[p]; palavra != 0; palavra &= palavra - 1) {
+                        acao.accept(alto | (p << 6) | Long.numberOfTrailingZeros(palavra));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Bytes ocupados pelos blocos, sem contar os cabeçalhos dos objetos.
+     */
+    public long sizeInBytes() {
+        long bytes = keys.length * 2L;
+        for (Object bloco : containers) {
+            bytes += bloco instanceof char[] array ? array.length * 2L : WORDS * 8L;
+        }
+        return bytes;
+    }
+
+    private static Object and(Object a, Object b) {
+        if (a instanceof char[] x && b instanceof char[] y) {
+            char[] resultado = new char[Math.min(x.length, y.length)];
+            int n = 0;
+            for (int i = 0, j = 0; i < x.length && j < y.length; ) {
+                if (x[i] < y[j]) {
+                    i++;
+                } else if (x[i] > y[j]) {
+                    j++;
+                } else {
+                    resultado[n++] = x[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(resultado, n);
+        }
+        if (a instanceof char[] || b instanceof char[]) {
+            char[] array = a instanceof char[] x ? x : (char[]) b;
+            long[] palavras = a instanceof long[] x ? x : (long[]) b;
+            char[] resultado = new char[array.length];
+            int n = 0;
+            for (char baixo : array) {
+                if ((palavras[baixo >>> 6] & (1L << baixo)) != 0) {
+                    resultado[n++] = baixo;
+                }
+            }
+            return Arrays.copyOf(resultado, n);
+        }
+        long[] x = (long[]) a;
+        long[] y = (long[]) b;
+        long[] palavras = new long[WORDS];
+        int quantidade = 0;
+        for (int p = 0; p < WORDS; p++) {
+            palavras[p] = x[p] & y[p];
+            quantidade += Long.bitCount(palavras[p]);
+        }
+        return quantidade > ARRAY_MAX ? palavras : toArray(palavras, quantidade);
+    }
+
+    private static int count(Object bloco) {
+        if (bloco instanceof char[] array) {
+            return array.length;
+        }
+        int quantidade = 0;
+        for (long palavra : (long[]) bloco) {
+            quantidade += Long.bitCount(palavra);
+        }
+        return quantidade;
+    }
+
+    private static char[] toArray(long[] palavras, int quantidade) {
+        char[] array = new char[quantidade];
+        int n = 0;
+        for (int p = 0; p < WORDS; p++) {
+            for (long palavra = palavras[p]; palavra != 0; palavra &= palavra - 1) {
+                array[n++] = (char) ((p << 6) | Long.numberOfTrailingZeros(palavra));
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Monta um conjunto a partir de valores adicionados em ordem crescente.
+     */
+    public static final class Builder {
+
+        private char[] keys = new char[4];
+        private Object[] containers = new Object[4];
+        private int blocos;
+        private int cardinality;
+
+        private char[] array = new char[16];  // Bloco em montagem, enquanto couber em um array
+        private long[] palavras;              // Bloco em montagem, depois de passar de ARRAY_MAX valores
+        private int quantidade;
+        private int chaveAtual = -1;
+
+        /**
+         * @param valor Valor a adicionar, maior que todos os já adicionados.
+         * @return Este construtor.
+         * @throws IllegalArgumentException Se o valor não for maior que o último adicionado.
+         */
+        public Builder add(int valor) {
+            int chave = valor >>> 16;
+            char baixo = (char) valor;
+            if (chave != chaveAtual) {
+                if (chave < chaveAtual) {
+                    throw new IllegalArgumentException("Valores devem ser adicionados em ordem crescente: " + valor);
+                }
+                flush();
+                chaveAtual = chave;
+            } else if (quantidade > 0 && palavras == null && baixo <= array[quantidade - 1]) {
+                throw new IllegalArgumentException("Valores devem ser adicionados em ordem crescente: " + valor);
+            }
+            if (palavras != null) {
+                palavras[baixo >>> 6] |= 1L << baixo;
+            } else if (quantidade == ARRAY_MAX) {
+                palavras = new long[WORDS];
+                for (int i = 0; i < quantidade; i++) {
+                    palavras[array[i] >>> 6] |= 1L << array[i];
+                }
+                palavras[baixo >>> 6] |= 1L << baixo;
+            } else {
+                if (quantidade == array.length) {
+                    array = Arrays.copyOf(array, quantidade * 2);
+                }
+                array[quantidade] = baixo;
+            }
+            quantidade++;
+            return this;
+        }
+
+        /**
+         * @return Conjunto com os valores adicionados.
+         */
+        public CompressedBitmap build() {
+            flush();
+            return cardinality == 0 ? EMPTY
+                    : new CompressedBitmap(Arrays.copyOf(keys, blocos), Arrays.copyOf(containers, blocos), cardinality);
+        }
+
+        private void flush() {
+            if (quantidade == 0) {
+                return;
+            }
+            if (blocos == keys.length) {
+                keys = Arrays.copyOf(keys, blocos * 2);
+                containers = Arrays.copyOf(containers, blocos * 2);
+            }
+            keys[blocos] = (char) chaveAtual;
+            containers[blocos++] = palavras != null ? palavras : Arrays.copyOf(array, quantidade);
+            cardinality += quantidade;
+            palavras = null;
+            array = new char[16];
+            quantidade = 0;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.squadra.bootcamp.projeto.model.dao;
+
+import io.micrometer.core.instrument.Metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorador que mantém os contadores globais de chamadas de DAO usados pelos indicadores de saúde: chamadas em
+ * andamento (também publicadas no medidor {@code dao.inflight}), total de chamadas e total de erros, somando todos
+ * os DAOs.
+ */
+public class CountedDAO {
+
+    private static final AtomicInteger inFlight = Metrics.globalRegistry.gauge("dao.inflight", new AtomicInteger());
+    private static final LongAdder calls = new LongAdder();
+    private static final LongAdder errors = new LongAdder();
+
+    /**
+     * Envolve o DAO em um proxy que atualiza os contadores.
+     *
+     * @param type   Interface do DAO.
+     * @param target DAO envolvido.
+     * @param <T>    Tipo da interface do DAO.
+     * @return Proxy que implementa a mesma interface.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T wrap(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(
+                CountedDAO.class.getClassLoader(),
+                new Class<?>[]{type},
+                new CountedHandler(target));
+    }
+
+    /**
+     * @return Quantidade de chamadas de DAO em andamento neste instante.
+     */
+    public static int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return Quantidade de chamadas de DAO concluídas desde o início da aplicação.
+     */
+    public static long totalCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * @return Quantidade de chamadas de DAO que lançaram exceção desde o início da aplicação.
+     */
+    public static long totalErrors() {
+        return errors.sum();
+    }
+
+    private record CountedHandler(Object target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args);
+            }
+            inFlight.incrementAndGet();
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                errors.increment();
+                throw e.getCause();
+            } finally {
+                inFlight.decrementAndGet();
+                calls.increment();
+            }
+        }
+    }
+}
@@ -1,17 +1,83 @@
 package br.com.squadra.bootcamp.projeto.model.dao;
 
 import br.com.squadra.bootcamp.projeto.model.dao.impl.*;
+import br.com.squadra.bootcamp.projeto.model.entities.Bairro;
+import br.com.squadra.bootcamp.projeto.model.entities.Municipio;
+import br.com.squadra.bootcamp.projeto.model.entities.Uf;
 import br.com.squadra.bootcamp.projeto.service.ConnectionService;
 
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Classe responsável por implementar o padrão Factory para instanciar objetos DAO.
  * <p>
  * Esta classe fornece métodos estáticos para criar instâncias específicas de DAOs,
  * garantindo que todos utilizem a mesma conexão gerenciada pelo {@link ConnectionService}.
  * </p>
+ * <p>
+ * Os DAOs retornados são envolvidos pelos decoradores de {@link #decorate}: controle de admissão, roteamento entre
+ * primário e réplicas, mapa de identidade, contadores de saúde, eventos JFR e métricas de cada método.
+ * </p>
+ * <p>
+ * As buscas por código de UF, município e bairro passam por um {@link BatchLoader} compartilhado, que agrupa as
+ * buscas simultâneas de várias requisições em uma consulta {@code IN (...)}.
+ * </p>
  */
 public class DAOFactory {
 
+    /**
+     * Carregadores compartilhados, criados no primeiro uso (depois que a conexão está disponível). Cada nível é
+     * criado depois do nível de cima, cujo DAO com carregador ele recebe para buscar os pais.
+     */
+    private static class Loaders {
+        static final UfDAO ufDAO = decorate(UfDAO.class, new UfDAOImpl(ConnectionService.getConnection()));
+        static final BatchLoader<Uf> UFS = new BatchLoader<>("uf", ufDAO::findByIds, Uf::getCodigoUF);
+        static final UfDAO batchedUfDAO = BatchingDAO.wrap(UfDAO.class, ufDAO, "findById", Uf.class, UFS);
+
+        static final MunicipioDAO municipioDAO = decorate(MunicipioDAO.class, municipioImpl());
+        static final BatchLoader<Municipio> MUNICIPIOS = new BatchLoader<>("municipio", municipioDAO::findByCodigosMunicipio, Municipio::getCodigoMunicipio);
+        static final MunicipioDAO batchedMunicipioDAO = BatchingDAO.wrap(MunicipioDAO.class, municipioDAO, "findByCodigoMunicipio", Municipio.class, MUNICIPIOS);
+
+        static final BairroDAO bairroDAO = decorate(BairroDAO.class, bairroImpl());
+        static final BatchLoader<Bairro> BAIRROS = new BatchLoader<>("bairro", bairroDAO::findByCodigosBairro, Bairro::getCodigoBairro);
+    }
+
+    /**
+     * Envolve um DAO com os decoradores aplicados a todas as chamadas, do mais externo ao mais interno:
+     * {@link AdmittedDAO}, {@link RoutedDAO}, {@link IdentityMapDAO}, {@link CountedDAO}, {@link TracedDAO} e
+     * {@link MeteredDAO}. A admissão vem primeiro para que uma chamada recusada não chegue a ser medida.
+     *
+     * @param type   Interface do DAO.
+     * @param target Implementação real do DAO.
+     * @param <T>    Tipo da interface do DAO.
+     * @return DAO decorado.
+     */
+    static <T> T decorate(Class<T> type, T target) {
+        T dao = MeteredDAO.wrap(type, target);
+        dao = TracedDAO.wrap(type, dao, target.getClass().getSimpleName());
+        dao = CountedDAO.wrap(type, dao);
+        dao = IdentityMapDAO.wrap(type, dao);
+        dao = RoutedDAO.wrap(type, dao);
+        return AdmittedDAO.wrap(type, dao);
+    }
+
+    /**
+     * Municípios lidos buscam a UF pelo {@link UfDAO} decorado com o carregador compartilhado, em vez de uma
+     * consulta na conexão do DAO: uma a uma pelo carregador e em lote por {@link UfDAO#findByIds}.
+     */
+    private static MunicipioDAOImpl municipioImpl() {
+        return new MunicipioDAOImpl(ConnectionService.getConnection(), Loaders.batchedUfDAO);
+    }
+
+    /**
+     * Bairros lidos buscam o município pelo {@link MunicipioDAO} decorado com o carregador compartilhado.
+     */
+    private static BairroDAOImpl bairroImpl() {
+        return new BairroDAOImpl(ConnectionService.getConnection(), Loaders.batchedMunicipioDAO);
+    }
+
     /**
      * Cria e retorna uma instância de {@link UfDAO}.
      * <p>
@@ -21,7 +87,8 @@ public class DAOFactory {
      * @return Uma instância de {@link UfDAO}.
      */
     public static UfDAO createUfDAO() {
-        return new UfDAOImpl(ConnectionService.getConnection());
+        UfDAO dao = decorate(UfDAO.class, new UfDAOImpl(ConnectionService.getConnection()));
+        return BatchingDAO.wrap(UfDAO.class, dao, "findById", Uf.class, Loaders.UFS);
     }
 
     /**
@@ -33,7 +100,8 @@ public class DAOFactory {
      * @return Uma instância de {@link MunicipioDAO}.
      */
     public static MunicipioDAO createMunicipioDAO() {
-        return new MunicipioDAOImpl(ConnectionService.getConnection());
+        MunicipioDAO dao = decorate(MunicipioDAO.class, municipioImpl());
+        return BatchingDAO.wrap(MunicipioDAO.class, dao, "findByCodigoMunicipio", Municipio.class, Loaders.MUNICIPIOS);
     }
 
     /**
@@ -45,31 +113,50 @@ public class DAOFactory {
      * @return Uma instância de {@link BairroDAO}.
      */
     public static BairroDAO createBairroDAO() {
-        return new BairroDAOImpl(ConnectionService.getConnection());
+        BairroDAO dao = decorate(BairroDAO.class, bairroImpl());
+        return BatchingDAO.wrap(BairroDAO.class, dao, "findByCodigoBairro", Bairro.class, Loaders.BAIRROS);
     }
 
     /**
      * Cria e retorna uma instância de {@link PessoaDAO}.
      * <p>
      * A implementação retornada é {@link PessoaDAOImpl}, com a conexão obtida do {@link ConnectionService}.
+     * Com shards configurados, é um {@link ShardedPessoaDAO} com um {@link PessoaDAOImpl} por shard.
      * </p>
      *
      * @return Uma instância de {@link PessoaDAO}.
      */
     public static PessoaDAO createPessoaDAO() {
-        return new PessoaDAOImpl(ConnectionService.getConnection());
+        List<Connection> shards = ConnectionService.getShardConnections();
+        if (shards.isEmpty()) {
+            return decorate(PessoaDAO.class, new PessoaDAOImpl(ConnectionService.getConnection()));
+        }
+        List<PessoaDAO> daos = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            daos.add(new PessoaDAOImpl(shards.get(i), i, shards.size()));
+        }
+        return decorate(PessoaDAO.class, new ShardedPessoaDAO(daos));
     }
 
     /**
      * Cria e retorna uma instância de {@link EnderecoDAO}.
      * <p>
      * A implementação retornada é {@link EnderecoDAOImpl}, com a conexão obtida do {@link ConnectionService}.
+     * Com shards configurados, é um {@link ShardedEnderecoDAO} com um {@link EnderecoDAOImpl} por shard.
      * </p>
      *
      * @return Uma instância de {@link EnderecoDAO}.
      */
     public static EnderecoDAO createEnderecoDAO() {
-        return new EnderecoDAOImpl(ConnectionService.getConnection());
+        List<Connection> shards = ConnectionService.getShardConnections();
+        if (shards.isEmpty()) {
+            return decorate(EnderecoDAO.class, new EnderecoDAOImpl(ConnectionService.getConnection()));
+        }
+        List<EnderecoDAO> daos = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            daos.add(new EnderecoDAOImpl(shards.get(i), i, shards.size()));
+        }
+        return decorate(EnderecoDAO.class, new ShardedEnderecoDAO(daos));
     }
 
 }
\ No newline at end of file
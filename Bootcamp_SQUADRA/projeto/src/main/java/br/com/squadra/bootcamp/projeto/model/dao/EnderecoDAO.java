@@ -1,13 +1,21 @@
 package br.com.squadra.bootcamp.projeto.model.dao;
 
+import br.com.squadra.bootcamp.projeto.jdbc.ColumnChanges;
 import br.com.squadra.bootcamp.projeto.model.entities.Endereco;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface EnderecoDAO {
     List<Endereco> findByCodigoPessoa(Long codigoPessoa);
+    List<Endereco> findByCodigosPessoa(Collection<Long> codigosPessoa);
+    List<Endereco> findAll();
+    Endereco findByCodigoEndereco(Long codigoEndereco);
+    List<Endereco> findByCep(String de, String ate, long offset, int limite);
+    long findCountByCep(String de, String ate);
     Endereco insert(Endereco endereco);
     Endereco update(Endereco endereco);
+    boolean updateColumns(Long codigoEndereco, ColumnChanges changes);
     void deleteByCodigoPessoa(Long codigoPessoa);
     void deleteByCodigoEndereco(Long codigoEndereco);
 }
@@ -0,0 +1,208 @@
+package br.com.squadra.bootcamp.projeto.model.dao;
+
+import br.com.squadra.bootcamp.projeto.jfr.CacheEvent;
+import br.com.squadra.bootcamp.projeto.model.entities.Municipio;
+import br.com.squadra.bootcamp.projeto.model.entities.Uf;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Instâncias compartilhadas de UF e município e repositório de nomes, para que listas grandes guardem uma única
+ * cópia de cada pai e de cada nome repetido.
+ * <p>
+ * Os DAOs passam por aqui a UF de cada município e o município de cada bairro lidos do banco: enquanto o registro
+ * for igual ao da instância guardada, a mesma instância é devolvida a todas as linhas e requisições; quando ele muda,
+ * uma cópia nova a substitui. As instâncias compartilhadas são congeladas ({@link Uf#freeze()},
+ * {@link Municipio#freeze()}) e qualquer tentativa de alterá-las lança exceção. As entidades devolvidas diretamente
+ * pelos DAOs continuam sendo instâncias próprias, que podem ser alteradas e gravadas. Municípios são comparados pela
+ * identidade da UF, de modo que a atualização de uma UF também renova os seus municípios.
+ * </p>
+ * <p>
+ * Nomes de bairros e de pessoas se repetem muito ("CENTRO", "SILVA") e passam por {@link #nome(String)}, que devolve
+ * sempre a mesma {@link String} para o mesmo texto enquanto houver espaço no repositório.
+ * </p>
+ * Com o recurso desabilitado, as entidades e os nomes são devolvidos como foram lidos, como antes. Métrica: {@code dao.flyweight}, com as
+ * tags {@code type} ({@code uf}, {@code municipio} ou {@code nome}) e {@code result} ({@code hit} ou {@code miss}),
+ * e um {@link CacheEvent} do cache {@code flyweight-<type>}. Toda falha é contada e gravada; os acertos, que são
+ * quase todas as consultas e acontecem a cada linha lida, são amostrados: um em cada {@value #HIT_SAMPLE} é gravado
+ * e contado com peso {@value #HIT_SAMPLE}, o que mantém a taxa de acerto sem um incremento por linha.
+ */
+public class Flyweights {
+
+    private static final Map<Long, Uf> ufs = new ConcurrentHashMap<>();
+    private static final Map<Long, Municipio> municipios = new ConcurrentHashMap<>();
+    private static final Map<String, String> nomes = new ConcurrentHashMap<>();
+
+    private static final Counters ufCounters = new Counters("uf");
+    private static final Counters municipioCounters = new Counters("municipio");
+    private static final Counters nomeCounters = new Counters("nome");
+
+    private static final int HIT_SAMPLE = 64;
+
+    private static volatile boolean enabled = true;
+    private static volatile int maxNames = 100_000;
+
+    private record Counters(Counter hit, Counter miss, String cache) {
+
+        Counters(String type) {
+            this(counter(type, "hit"), counter(type, "miss"), "flyweight-" + type);
+        }
+
+        private static Counter counter(String type, String result) {
+            return Counter.builder("dao.flyweight")
+                    .description("Entidades e nomes atendidos por instâncias compartilhadas")
+                    .tag("type", type)
+                    .tag("result", result)
+                    .register(Metrics.globalRegistry);
+        }
+
+        void record(Object key, boolean hit) {
+            if (!hit) {
+                miss.increment();
+                CacheEvent.emit(cache, key, false);
+            } else if (ThreadLocalRandom.current().nextInt(HIT_SAMPLE) == 0) {
+                this.hit.increment(HIT_SAMPLE);
+                CacheEvent.emit(cache, key, true);
+            }
+        }
+    }
+
+    /**
+     * Configura o compartilhamento.
+     *
+     * @param ativo       Indica se as instâncias devem ser compartilhadas.
+     * @param maximoNomes Quantidade máxima de nomes distintos guardados; os excedentes não são compartilhados.
+     */
+    public static void configure(boolean ativo, int maximoNomes) {
+        enabled = ativo;
+        maxNames = maximoNomes;
+        clear();
+    }
+
+    /**
+     * Descarta todas as instâncias e nomes guardados.
+     */
+    public static void clear() {
+        ufs.clear();
+        municipios.clear();
+        nomes.clear();
+    }
+
+    /**
+     * Retorna a UF compartilhada com os mesmos dados da UF informada.
+     *
+     * @param uf UF lida do banco, ou {@code null}.
+     * @return Instância congelada, ou a própria UF se ela não tiver código ou o compartilhamento estiver desabilitado.
+     */
+    public static Uf uf(Uf uf) {
+        if (!enabled || uf == null || uf.getCodigoUF() == null) {
+            return uf;
+        }
+        return uf(uf.getCodigoUF(), uf.getSigla(), uf.getNome(), uf.getStatus());
+    }
+
+    /**
+     * Retorna a UF compartilhada com os dados informados, sem exigir uma instância temporária para a comparação.
+     *
+     * @param codigoUF Código da UF.
+     * @param sigla    Sigla da UF.
+     * @param nome     Nome da UF.
+     * @param status   Status da UF.
+     * @return Instância congelada, ou uma instância nova e alterável se o compartilhamento estiver desabilitado.
+     */
+    public static Uf uf(long codigoUF, String sigla, String nome, Integer status) {
+        Uf atual = enabled ? ufs.get(codigoUF) : null;
+        boolean hit = atual != null && Objects.equals(atual.getSigla(), sigla)
+                && Objects.equals(atual.getNome(), nome) && Objects.equals(atual.getStatus(), status);
+        if (enabled) {
+            ufCounters.record(codigoUF, hit);
+        }
+        if (hit) {
+            return atual;
+        }
+        Uf copia = new Uf();
+        copia.setCodigoUF(codigoUF);
+        copia.setSigla(sigla);
+        copia.setNome(nome);
+        copia.setStatus(status);
+        if (enabled) {
+            copia.freeze();
+            ufs.put(codigoUF, copia);
+        }
+        return copia;
+    }
+
+    /**
+     * Retorna o município compartilhado com os mesmos dados do município informado. A UF também é compartilhada.
+     *
+     * @param municipio Município lido do banco, ou {@code null}.
+     * @return Instância congelada, ou o próprio município se ele não tiver código ou o compartilhamento estiver
+     * desabilitado.
+     */
+    public static Municipio municipio(Municipio municipio) {
+        if (!enabled || municipio == null || municipio.getCodigoMunicipio() == null) {
+            return municipio;
+        }
+        return municipio(municipio.getCodigoMunicipio(), uf(municipio.getUf()), municipio.getNome(), municipio.getStatus());
+    }
+
+    /**
+     * Retorna o município compartilhado com os dados informados, sem exigir uma instância temporária para a
+     * comparação.
+     *
+     * @param codigoMunicipio Código do município.
+     * @param uf              UF já compartilhada, obtida de {@link #uf(long, String, String, Integer)} ou
+     *                        {@link #uf(Uf)}.
+     * @param nome            Nome do município.
+     * @param status          Status do município.
+     * @return Instância congelada, ou uma instância nova e alterável se o compartilhamento estiver desabilitado.
+     */
+    public static Municipio municipio(long codigoMunicipio, Uf uf, String nome, Integer status) {
+        Municipio atual = enabled ? municipios.get(codigoMunicipio) : null;
+        boolean hit = atual != null && atual.getUf() == uf && Objects.equals(atual.getNome(), nome)
+                && Objects.equals(atual.getStatus(), status);
+        if (enabled) {
+            municipioCounters.record(codigoMunicipio, hit);
+        }
+        if (hit) {
+            return atual;
+        }
+        Municipio copia = new Municipio();
+        copia.setCodigoMunicipio(codigoMunicipio);
+        copia.setUf(uf);
+        copia.setNome(nome(nome));
+        copia.setStatus(status);
+        if (enabled) {
+            copia.freeze();
+            municipios.put(codigoMunicipio, copia);
+        }
+        return copia;
+    }
+
+    /**
+     * Retorna a cópia compartilhada de um nome.
+     *
+     * @param nome Nome lido do banco.
+     * @return A mesma {@link String} para textos iguais, ou o próprio argumento se o repositório estiver cheio.
+     */
+    public static String nome(String nome) {
+        if (!enabled || nome == null) {
+            return nome;
+        }
+        String atual = nomes.get(nome);
+        nomeCounters.record(nome, atual != null);
+        if (atual != null) {
+            return atual;
+        }
+        if (nomes.size() >= maxNames) {
+            return nome;
+        }
+        atual = nomes.putIfAbsent(nome, nome);
+        return atual != null ? atual : nome;
+    }
+}
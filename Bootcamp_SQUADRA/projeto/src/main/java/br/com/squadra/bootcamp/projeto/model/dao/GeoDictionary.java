@@ -0,0 +1,585 @@
+package br.com.squadra.bootcamp.projeto.model.dao;
+
+import br.com.squadra.bootcamp.projeto.cache.TableVersions;
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import br.com.squadra.bootcamp.projeto.exception.DbException;
+import br.com.squadra.bootcamp.projeto.jfr.CacheEvent;
+import br.com.squadra.bootcamp.projeto.model.entities.Bairro;
+import br.com.squadra.bootcamp.projeto.model.entities.Municipio;
+import br.com.squadra.bootcamp.projeto.model.entities.Uf;
+import br.com.squadra.bootcamp.projeto.service.ConnectionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntConsumer;
+
+/**
+ * Dicionário em memória de toda a hierarquia de UFs, municípios e bairros, usado pelas buscas por código e por
+ * filtros dos DAOs.
+ * <p>
+ * Em vez de um mapa de entidades por código, cada nível é guardado em colunas: arrays primitivos com o código, o
+ * status, a posição do pai no nível de cima e a posição do nome em um repositório único de nomes, além de um mapa
+ * de código para posição com chaves {@code long} e endereçamento aberto. A base nacional (5.570 municípios e
+ * dezenas de milhares de bairros) ocupa poucos MB, e cada busca é uma sondagem no mapa seguida da leitura das
+ * colunas. As entidades devolvidas são instâncias novas, que podem ser alteradas; os pais passam pelo
+ * {@link Flyweights}, como nas leituras do banco.
+ * </p>
+ * <p>
+ * O dicionário é montado com uma única consulta sobre {@code TB_UF ⟕ TB_MUNICIPIO ⟕ TB_BAIRRO}, em segundo plano,
+ * na primeira busca. Ele guarda o carimbo ({@link TableVersions}) das três tabelas lido antes da consulta: depois de
+ * qualquer escrita nelas, local ou recebida de outra instância, {@link #current()} deixa de devolvê-lo, os DAOs
+ * voltam a consultar o banco e uma nova montagem é agendada. Uma montagem que falha é repetida pela mesma thread
+ * depois de {@code geo-dictionary.retry-initial-ms}, com a espera dobrada a cada nova falha até
+ * {@code geo-dictionary.retry-max-ms}, sem depender de novas buscas: com o dicionário registrado na prontidão, o
+ * nó não recebe as buscas que agendariam a nova tentativa.
+ * </p>
+ * Métrica: {@code dao.geo.dictionary}, com a tag {@code result} ({@code hit} quando o dicionário atendeu a busca
+ * ou {@code stale} quando ela foi ao banco), e um {@link CacheEvent} do cache {@value #CACHE} a cada busca, com o
+ * carimbo atual das tabelas como chave.
+ * <p>
+ * As buscas com filtros ({@link #bairros}, {@link #municipios}) usam índices {@link CompressedBitmap} de posições
+ * por status e por pai, montados junto com as colunas: cada filtro informado vira um conjunto, os conjuntos são
+ * intersectados e só as posições restantes são materializadas. O filtro por nome é uma busca binária no
+ * repositório de nomes, que é ordenado, seguida da comparação da coluna de nomes.
+ * </p>
+ */
+public class GeoDictionary {
+
+    public static final String CACHE = "geo-dictionary";
+
+    private static final Logger log = LoggerFactory.getLogger(GeoDictionary.class);
+
+    private static final Table[] TABLES = {Table.TB_UF, Table.TB_MUNICIPIO, Table.TB_BAIRRO};
+
+    private static final String SQL = "SELECT U.CODIGO_UF, U.SIGLA, U.NOME AS NOME_UF, U.STATUS AS STATUS_UF, "
+            + "M.CODIGO_MUNICIPIO, M.NOME AS NOME_MUNICIPIO, M.STATUS AS STATUS_MUNICIPIO, "
+            + "B.CODIGO_BAIRRO, B.NOME AS NOME_BAIRRO, B.STATUS AS STATUS_BAIRRO "
+            + "FROM TB_UF U "
+            + "LEFT JOIN TB_MUNICIPIO M ON M.CODIGO_UF = U.CODIGO_UF "
+            + "LEFT JOIN TB_BAIRRO B ON B.CODIGO_MUNICIPIO = M.CODIGO_MUNICIPIO";
+
+    private static final Counter hits = counter("hit");
+    private static final Counter stale = counter("stale");
+
+    private static final AtomicBoolean building = new AtomicBoolean();
+    private static volatile boolean enabled;
+    private static volatile long retryInitialMillis = 1000;
+    private static volatile long retryMaxMillis = 60000;
+    private static volatile GeoDictionary current;
+    private static volatile Runnable onBuilt = () -> {
+    };
+
+    private final long stamp;
+    private final Level ufs;
+    private final Level municipios;
+    private final Level bairros;
+    private final String[] nomes;
+    private final String[] siglas;  // Sigla de cada UF, na mesma posição da UF
+
+    private GeoDictionary(long stamp, Level ufs, Level municipios, Level bairros, String[] nomes, String[] siglas) {
+        this.stamp = stamp;
+        this.ufs = ufs;
+        this.municipios = municipios;
+        this.bairros = bairros;
+        this.nomes = nomes;
+        this.siglas = siglas;
+    }
+
+    /**
+     * Habilita ou desabilita o dicionário. Desabilitado, todas as buscas vão ao banco, como antes.
+     *
+     * @param ativo               Indica se as buscas por código devem usar o dicionário.
+     * @param esperaInicialMillis Espera antes de repetir uma montagem que falhou.
+     * @param esperaMaximaMillis  Espera máxima entre tentativas, alcançada dobrando a espera a cada falha.
+     */
+    public static void configure(boolean ativo, long esperaInicialMillis, long esperaMaximaMillis) {
+        enabled = ativo;
+        retryInitialMillis = esperaInicialMillis;
+        retryMaxMillis = esperaMaximaMillis;
+        current = null;
+    }
+
+    /**
+     * Define uma ação executada ao final de cada montagem bem-sucedida, como marcar o dicionário como aquecido.
+     *
+     * @param acao Ação executada na thread da montagem.
+     */
+    public static void onBuilt(Runnable acao) {
+        onBuilt = acao;
+    }
+
+    /**
+     * Agenda a montagem do dicionário, se ele estiver habilitado, sem esperar pela primeira busca.
+     */
+    public static void warmUpAsync() {
+        if (enabled) {
+            rebuildAsync();
+        }
+    }
+
+    /**
+     * Retorna o dicionário, se ele estiver atualizado em relação às escritas em UFs, municípios e bairros.
+     * Caso contrário agenda uma nova montagem, sem esperar por ela.
+     *
+     * @return Dicionário atualizado, ou {@code null} se as buscas devem ir ao banco.
+     */
+    public static GeoDictionary current() {
+        if (!enabled) {
+            return null;
+        }
+        GeoDictionary dicionario = current;
+        long stampAtual = TableVersions.stamp(TABLES);
+        if (dicionario != null && dicionario.stamp == stampAtual) {
+            hits.increment();
+            CacheEvent.emit(CACHE, stampAtual, true);
+            return dicionario;
+        }
+        stale.increment();
+        CacheEvent.emit(CACHE, stampAtual, false);
+        rebuildAsync();
+        return null;
+    }
+
+    private static void rebuildAsync() {
+        if (!building.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                // A thread só termina depois de uma montagem bem-sucedida ou se o dicionário for desabilitado
+                for (int falhas = 1; enabled; falhas++) {
+                    try {
+                        current = build(ConnectionService.getConnection());
+                        onBuilt.run();
+                        return;
+                    } catch (RuntimeException e) {
+                        long espera = Math.min(retryMaxMillis, retryInitialMillis << Math.min(falhas - 1, 30));
+                        log.error("Falha ao montar o dicionário geográfico; as buscas continuam no banco e a montagem "
+                                + "será repetida em {} ms.", espera, e);
+                        Thread.sleep(espera);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                building.set(false);
+            }
+        }, "geo-dictionary");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Monta o dicionário com uma única leitura das três tabelas.
+     *
+     * @param connection Conexão com o banco de dados.
+     * @return Dicionário com o carimbo das tabelas lido antes da consulta.
+     * @throws DbException Se ocorrer um erro na consulta ao banco de dados.
+     */
+    public static GeoDictionary build(Connection connection) {
+        long inicio = System.nanoTime();
+        long stamp = TableVersions.stamp(TABLES);
+        Level.Builder ufs = new Level.Builder(32);
+        Level.Builder municipios = new Level.Builder(8192);
+        Level.Builder bairros = new Level.Builder(65536);
+        Map<String, Integer> nomes = new HashMap<>();
+        Map<Integer, String> siglas = new HashMap<>();
+        try (PreparedStatement stmt = connection.prepareStatement(SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                long codigoUF = rs.getLong("CODIGO_UF");
+                int uf = ufs.indexOf(codigoUF);
+                if (uf < 0) {
+                    uf = ufs.add(codigoUF, -1, nome(nomes, rs.getString("NOME_UF")), rs.getInt("STATUS_UF"));
+                    siglas.put(uf, rs.getString("SIGLA"));
+                }
+                long codigoMunicipio = rs.getLong("CODIGO_MUNICIPIO");
+                if (rs.wasNull()) {
+                    continue;
+                }
+                int municipio = municipios.indexOf(codigoMunicipio);
+                if (municipio < 0) {
+                    municipio = municipios.add(codigoMunicipio, uf, nome(nomes, rs.getString("NOME_MUNICIPIO")),
+                            rs.getInt("STATUS_MUNICIPIO"));
+                }
+                long codigoBairro = rs.getLong("CODIGO_BAIRRO");
+                if (!rs.wasNull()) {
+                    bairros.add(codigoBairro, municipio, nome(nomes, rs.getString("NOME_BAIRRO")), rs.getInt("STATUS_BAIRRO"));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DbException("Erro ao montar o dicionário geográfico: " + e.getMessage(), e);
+        }
+        // Repositório de nomes em ordem alfabética, para que o filtro por nome seja uma busca binária
+        String[] pool = nomes.keySet().toArray(new String[0]);
+        Arrays.sort(pool);
+        int[] renumeracao = new int[pool.length];
+        for (int i = 0; i < pool.length; i++) {
+            renumeracao[nomes.get(pool[i])] = i;
+        }
+        ufs.renumber(renumeracao);
+        municipios.renumber(renumeracao);
+        bairros.renumber(renumeracao);
+        String[] siglaPorUf = new String[ufs.size];
+        siglas.forEach((uf, sigla) -> siglaPorUf[uf] = sigla);
+        GeoDictionary dicionario = new GeoDictionary(stamp, ufs.build(0), municipios.build(ufs.size),
+                bairros.build(municipios.size), pool, siglaPorUf);
+        log.info("Dicionário geográfico carregado: {} UFs, {} municípios, {} bairros e {} nomes em {} ms.",
+                dicionario.ufs.size(), dicionario.municipios.size(), dicionario.bairros.size(), pool.length,
+                (System.nanoTime() - inicio) / 1_000_000);
+        return dicionario;
+    }
+
+    private static int nome(Map<String, Integer> nomes, String nome) {
+        return nome == null ? -1 : nomes.computeIfAbsent(nome, k -> nomes.size());
+    }
+
+    /**
+     * @param codigoUF Código da UF.
+     * @return Nova instância da UF, ou {@code null} se ela não existir.
+     */
+    public Uf uf(long codigoUF) {
+        int i = ufs.indexOf(codigoUF);
+        return i < 0 ? null : uf(i);
+    }
+
+    /**
+     * @param codigoMunicipio Código do município.
+     * @return Nova instância do município, com a UF compartilhada, ou {@code null} se ele não existir.
+     */
+    public Municipio municipio(long codigoMunicipio) {
+        int i = municipios.indexOf(codigoMunicipio);
+        return i < 0 ? null : municipio(i);
+    }
+
+    /**
+     * @param codigoBairro Código do bairro.
+     * @return Nova instância do bairro, com o município compartilhado, ou {@code null} se ele não existir.
+     */
+    public Bairro bairro(long codigoBairro) {
+        int i = bairros.indexOf(codigoBairro);
+        return i < 0 ? null : bairro(i);
+    }
+
+    /**
+     * Busca bairros com a mesma semântica de {@code BairroDAO.findByFilters}: filtros nulos são ignorados e o nome
+     * é comparado em maiúsculas.
+     *
+     * @param codigoBairro    Código do bairro, ou {@code null}.
+     * @param codigoMunicipio Código do município, ou {@code null}.
+     * @param nome            Nome do bairro, ou {@code null}.
+     * @param status          Status do bairro, ou {@code null}.
+     * @return Novas instâncias dos bairros encontrados, em ordem de carga.
+     */
+    public List<Bairro> bairros(Long codigoBairro, Long codigoMunicipio, String nome, Integer status) {
+        int pai = codigoMunicipio == null ? -1 : municipios.indexOf(codigoMunicipio);
+        if (codigoMunicipio != null && pai < 0) {
+            return new ArrayList<>();
+        }
+        List<Bairro> bairroList = new ArrayList<>();
+        bairros.filter(codigoBairro, pai, nomeIndex(nome), nome != null, status, i -> bairroList.add(bairro(i)));
+        return bairroList;
+    }
+
+    /**
+     * Busca municípios com a mesma semântica de {@code MunicipioDAO.findByFilters}: filtros nulos são ignorados e
+     * o nome é comparado em maiúsculas.
+     *
+     * @param codigoMunicipio Código do município, ou {@code null}.
+     * @param codigoUF        Código da UF, ou {@code null}.
+     * @param nome            Nome do município, ou {@code null}.
+     * @param status          Status do município, ou {@code null}.
+     * @return Novas instâncias dos municípios encontrados, em ordem de carga.
+     */
+    public List<Municipio> municipios(Long codigoMunicipio, Long codigoUF, String nome, Integer status) {
+        int pai = codigoUF == null ? -1 : ufs.indexOf(codigoUF);
+        if (codigoUF != null && pai < 0) {
+            return new ArrayList<>();
+        }
+        List<Municipio> municipioList = new ArrayList<>();
+        municipios.filter(codigoMunicipio, pai, nomeIndex(nome), nome != null, status,
+                i -> municipioList.add(municipio(i)));
+        return municipioList;
+    }
+
+    private int nomeIndex(String nome) {
+        return nome == null ? -1 : Math.max(-1, Arrays.binarySearch(nomes, nome.toUpperCase()));
+    }
+
+    private Bairro bairro(int i) {
+        Bairro bairro = new Bairro();
+        bairro.setCodigoBairro(bairros.codigos[i]);
+        bairro.setNome(nome(bairros.nomes[i]));
+        bairro.setStatus(bairros.status[i] & 0xFF);
+        bairro.setMunicipio(sharedMunicipio(bairros.pais[i]));
+        return bairro;
+    }
+
+    private Uf uf(int i) {
+        Uf uf = new Uf();
+        uf.setCodigoUF(ufs.codigos[i]);
+        uf.setSigla(siglas[i]);
+        uf.setNome(nome(ufs.nomes[i]));
+        uf.setStatus(ufs.status[i] & 0xFF);
+        return uf;
+    }
+
+    private Municipio municipio(int i) {
+        Municipio municipio = new Municipio();
+        municipio.setCodigoMunicipio(municipios.codigos[i]);
+        municipio.setNome(nome(municipios.nomes[i]));
+        municipio.setStatus(municipios.status[i] & 0xFF);
+        municipio.setUf(sharedUf(municipios.pais[i]));
+        return municipio;
+    }
+
+    // Pais das entidades devolvidas: vão direto ao Flyweights pelas colunas, sem uma instância temporária por linha
+    private Uf sharedUf(int i) {
+        return Flyweights.uf(ufs.codigos[i], siglas[i], nome(ufs.nomes[i]), ufs.status[i] & 0xFF);
+    }
+
+    private Municipio sharedMunicipio(int i) {
+        return Flyweights.municipio(municipios.codigos[i], sharedUf(municipios.pais[i]), nome(municipios.nomes[i]),
+                municipios.status[i] & 0xFF);
+    }
+
+    private String nome(int i) {
+        return i < 0 ? null : nomes[i];
+    }
+
+    /**
+     * Um nível da hierarquia, em colunas. A posição de cada registro é a mesma em todas as colunas.
+     */
+    private static final class Level {
+
+        final long[] codigos;
+        final int[] pais;
+        final int[] nomes;
+        final byte[] status;                 // Status de 0 a 255, sem sinal: lido sempre com & 0xFF
+        final LongIntMap posicoes;
+        final CompressedBitmap[] porStatus;  // Indexado por status & 0xFF; null para status sem registros
+        final CompressedBitmap[] porPai;     // Indexado pela posição do pai
+
+        private Level(long[] codigos, int[] pais, int[] nomes, byte[] status, LongIntMap posicoes,
+                      CompressedBitmap[] porStatus, CompressedBitmap[] porPai) {
+            this.codigos = codigos;
+            this.pais = pais;
+            this.nomes = nomes;
+            this.status = status;
+            this.posicoes = posicoes;
+            this.porStatus = porStatus;
+            this.porPai = porPai;
+        }
+
+        /**
+         * Entrega as posições que atendem a todos os filtros informados, em ordem crescente.
+         *
+         * @param codigo    Código do registro, ou {@code null}.
+         * @param pai       Posição do pai, ou {@code -1} sem filtro por pai.
+         * @param nome      Posição do nome no repositório, ou {@code -1} se o nome não existir.
+         * @param porNome   Indica se o filtro por nome foi informado.
+         * @param situacao  Status, ou {@code null}.
+         * @param acao      Ação executada para cada posição encontrada.
+         */
+        void filter(Long codigo, int pai, int nome, boolean porNome, Integer situacao, IntConsumer acao) {
+            if (porNome && nome < 0) {
+                return;
+            }
+            CompressedBitmap candidatos = null;  // null: todas as posições
+            if (codigo != null) {
+                int i = indexOf(codigo);
+                if (i < 0) {
+                    return;
+                }
+                candidatos = CompressedBitmap.of(i);
+            }
+            if (pai >= 0) {
+                candidatos = and(candidatos, porPai[pai]);
+            }
+            if (situacao != null) {
+                candidatos = and(candidatos, (situacao & ~0xFF) == 0 ? porStatus[situacao] : null);
+            }
+            if (candidatos == null) {
+                for (int i = 0; i < codigos.length; i++) {
+                    if (!porNome || nomes[i] == nome) {
+                        acao.accept(i);
+                    }
+                }
+            } else {
+                candidatos.forEach(i -> {
+                    if (!porNome || nomes[i] == nome) {
+                        acao.accept(i);
+                    }
+                });
+            }
+        }
+
+        private static CompressedBitmap and(CompressedBitmap candidatos, CompressedBitmap indice) {
+            if (indice == null) {
+                return CompressedBitmap.EMPTY;
+            }
+            return candidatos == null ? indice : candidatos.and(indice);
+        }
+
+        int indexOf(long codigo) {
+            return posicoes.get(codigo);
+        }
+
+        int size() {
+            return codigos.length;
+        }
+
+        private static final class Builder {
+
+            long[] codigos;
+            int[] pais;
+            int[] nomes;
+            byte[] status;
+            int size;
+            final LongIntMap posicoes = new LongIntMap(16);
+
+            Builder(int capacidade) {
+                codigos = new long[capacidade];
+                pais = new int[capacidade];
+                nomes = new int[capacidade];
+                status = new byte[capacidade];
+            }
+
+            int indexOf(long codigo) {
+                return posicoes.get(codigo);
+            }
+
+            int add(long codigo, int pai, int nome, int situacao) {
+                if (size == codigos.length) {
+                    codigos = Arrays.copyOf(codigos, size * 2);
+                    pais = Arrays.copyOf(pais, size * 2);
+                    nomes = Arrays.copyOf(nomes, size * 2);
+                    status = Arrays.copyOf(status, size * 2);
+                }
+                codigos[size] = codigo;
+                pais[size] = pai;
+                nomes[size] = nome;
+                status[size] = (byte) situacao;
+                posicoes.put(codigo, size);
+                return size++;
+            }
+
+            void renumber(int[] renumeracao) {
+                for (int i = 0; i < size; i++) {
+                    if (nomes[i] >= 0) {
+                        nomes[i] = renumeracao[nomes[i]];
+                    }
+                }
+            }
+
+            Level build(int quantidadePais) {
+                LongIntMap compacto = new LongIntMap(size);
+                CompressedBitmap.Builder[] status = new CompressedBitmap.Builder[256];
+                CompressedBitmap.Builder[] pais = new CompressedBitmap.Builder[quantidadePais];
+                for (int i = 0; i < size; i++) {
+                    compacto.put(codigos[i], i);
+                    int situacao = this.status[i] & 0xFF;
+                    if (status[situacao] == null) {
+                        status[situacao] = new CompressedBitmap.Builder();
+                    }
+                    status[situacao].add(i);
+                    int pai = this.pais[i];
+                    if (pai >= 0) {
+                        if (pais[pai] == null) {
+                            pais[pai] = new CompressedBitmap.Builder();
+                        }
+                        pais[pai].add(i);
+                    }
+                }
+                return new Level(Arrays.copyOf(codigos, size), Arrays.copyOf(this.pais, size), Arrays.copyOf(nomes, size),
+                        Arrays.copyOf(this.status, size), compacto, build(status), build(pais));
+            }
+
+            private static CompressedBitmap[] build(CompressedBitmap.Builder[] builders) {
+                CompressedBitmap[] indice = new CompressedBitmap[builders.length];
+                for (int i = 0; i < builders.length; i++) {
+                    indice[i] = builders[i] == null ? null : builders[i].build();
+                }
+                return indice;
+            }
+        }
+    }
+
+    /**
+     * Mapa de {@code long} para posição, com endereçamento aberto e sondagem linear, sem objetos por entrada.
+     * Posições livres têm valor {@code -1}.
+     */
+    static final class LongIntMap {
+
+        private long[] chaves;
+        private int[] valores;
+        private int size;
+
+        LongIntMap(int esperado) {
+            int capacidade = Integer.highestOneBit(Math.max(4, esperado) * 2 - 1) << 1;
+            chaves = new long[capacidade];
+            valores = new int[capacidade];
+            Arrays.fill(valores, -1);
+        }
+
+        int get(long chave) {
+            int mascara = chaves.length - 1;
+            for (int i = hash(chave) & mascara; valores[i] >= 0; i = (i + 1) & mascara) {
+                if (chaves[i] == chave) {
+                    return valores[i];
+                }
+            }
+            return -1;
+        }
+
+        void put(long chave, int valor) {
+            if ((size + 1) * 2 > chaves.length) {
+                long[] antigasChaves = chaves;
+                int[] antigosValores = valores;
+                chaves = new long[antigasChaves.length * 2];
+                valores = new int[antigasChaves.length * 2];
+                Arrays.fill(valores, -1);
+                size = 0;
+                for (int i = 0; i < antigasChaves.length; i++) {
+                    if (antigosValores[i] >= 0) {
+                        put(antigasChaves[i], antigosValores[i]);
+                    }
+                }
+            }
+            int mascara = chaves.length - 1;
+            int i = hash(chave) & mascara;
+            while (valores[i] >= 0 && chaves[i] != chave) {
+                i = (i + 1) & mascara;
+            }
+            if (valores[i] < 0) {
+                size++;
+            }
+            chaves[i] = chave;
+            valores[i] = valor;
+        }
+
+        private static int hash(long chave) {
+            long h = chave * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    private static Counter counter(String result) {
+        return Counter.builder("dao.geo.dictionary")
+                .description("Buscas de UFs, municípios e bairros atendidas pelo dicionário em memória")
+                .tag("result", result)
+                .register(Metrics.globalRegistry);
+    }
+}
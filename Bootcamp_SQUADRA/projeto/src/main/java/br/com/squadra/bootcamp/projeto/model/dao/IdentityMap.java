@@ -0,0 +1,109 @@
+package br.com.squadra.bootcamp.projeto.model.dao;
+
+import br.com.squadra.bootcamp.projeto.jfr.CacheEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Mapa de identidade de uma requisição: guarda as entidades já carregadas por código, para que buscas repetidas
+ * dentro da mesma requisição sejam atendidas da memória.
+ * <p>
+ * O escopo é aberto com {@link #begin()} e descartado com {@link #end()} pelo filtro HTTP, de modo que nenhuma
+ * entidade sobrevive de uma requisição para outra. Qualquer escrita feita pela requisição esvazia o mapa
+ * ({@link #clear()}, chamado pelo {@link IdentityMapDAO}), para que leituras posteriores vejam o que foi gravado. Fora de um escopo (tarefas em segundo
+ * plano), as buscas vão sempre ao banco.
+ * </p>
+ * As entidades do mapa são compartilhadas pelos trechos da requisição que as buscaram e não devem ser alteradas.
+ * Métrica: {@code dao.identity-map} com a tag {@code result} ({@code hit} ou {@code miss}); cada busca também gera um
+ * {@link CacheEvent} do cache {@value #CACHE}.
+ */
+public class IdentityMap {
+
+    public static final String CACHE = "identity-map";
+
+    private static final ThreadLocal<IdentityMap> CURRENT = new ThreadLocal<>();
+    private static final Object AUSENTE = new Object();
+
+    private static final Counter hits = counter("hit");
+    private static final Counter misses = counter("miss");
+
+    private final Map<Class<?>, Map<Long, Object>> entities = new HashMap<>();
+
+    private static Counter counter(String result) {
+        return Counter.builder("dao.identity-map")
+                .description("Buscas por código atendidas pelo mapa de identidade da requisição")
+                .tag("result", result)
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Abre o escopo da thread atual, descartando qualquer escopo anterior.
+     */
+    public static void begin() {
+        CURRENT.set(new IdentityMap());
+    }
+
+    /**
+     * Descarta o escopo da thread atual.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Esvazia o mapa da thread atual, se houver.
+     */
+    public static void clear() {
+        IdentityMap map = CURRENT.get();
+        if (map != null) {
+            map.entities.clear();
+        }
+    }
+
+    /**
+     * Retorna a entidade do mapa ou a carrega e a guarda. Buscas sem resultado também são lembradas.
+     *
+     * @param type   Classe da entidade.
+     * @param id     Código da entidade.
+     * @param loader Carga da entidade a partir do banco.
+     * @param <T>    Tipo da entidade.
+     * @return Entidade encontrada ou {@code null}.
+     */
+    public static <T> T get(Class<T> type, Long id, Function<Long, T> loader) {
+        IdentityMap map = CURRENT.get();
+        if (map == null || id == null) {
+            return loader.apply(id);
+        }
+        Map<Long, Object> porCodigo = map.entities.computeIfAbsent(type, k -> new HashMap<>());
+        Object valor = porCodigo.get(id);
+        if (valor != null) {
+            hits.increment();
+            CacheEvent.emit(CACHE, type, id, true);
+            return valor == AUSENTE ? null : type.cast(valor);
+        }
+        misses.increment();
+        CacheEvent.emit(CACHE, type, id, false);
+        T entity = loader.apply(id);
+        porCodigo.put(id, entity == null ? AUSENTE : entity);
+        return entity;
+    }
+
+    /**
+     * Guarda uma entidade carregada por outra consulta, se houver escopo aberto.
+     *
+     * @param type   Classe da entidade.
+     * @param id     Código da entidade.
+     * @param entity Entidade carregada.
+     * @param <T>    Tipo da entidade.
+     */
+    public static <T> void put(Class<T> type, Long id, T entity) {
+        IdentityMap map = CURRENT.get();
+        if (map != null && id != null && entity != null) {
+            map.entities.computeIfAbsent(type, k -> new HashMap<>()).put(id, entity);
+        }
+    }
+}
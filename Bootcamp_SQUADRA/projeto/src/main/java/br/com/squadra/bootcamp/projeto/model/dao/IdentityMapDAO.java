@@ -0,0 +1,48 @@
+package br.com.squadra.bootcamp.projeto.model.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Decorador que esvazia o {@link IdentityMap} da requisição depois de cada escrita de um DAO (métodos que não são
+ * {@code find*}), com ou sem sucesso, para que as leituras seguintes vejam o que foi gravado.
+ */
+public class IdentityMapDAO {
+
+    /**
+     * Envolve o DAO em um proxy que esvazia o mapa de identidade depois das escritas.
+     *
+     * @param type   Interface do DAO.
+     * @param target DAO envolvido.
+     * @param <T>    Tipo da interface do DAO.
+     * @return Proxy que implementa a mesma interface.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T wrap(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(
+                IdentityMapDAO.class.getClassLoader(),
+                new Class<?>[]{type},
+                new IdentityMapHandler(target));
+    }
+
+    private record IdentityMapHandler(Object target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args);
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (!method.getName().startsWith("find")) {
+                    IdentityMap.clear();
+                }
+            }
+        }
+    }
+}
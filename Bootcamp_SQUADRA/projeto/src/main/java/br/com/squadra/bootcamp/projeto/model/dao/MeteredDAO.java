@@ -0,0 +1,130 @@
+package br.com.squadra.bootcamp.projeto.model.dao;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorador que instrumenta com Micrometer todos os métodos de um DAO.
+ * <p>
+ * Para cada método são publicados:
+ * <ul>
+ *     <li>{@code dao.calls}: histograma de latência, com as tags {@code dao}, {@code method} e {@code outcome};</li>
+ *     <li>{@code dao.rows}: distribuição da quantidade de registros retornados;</li>
+ *     <li>{@code dao.errors}: contador de exceções, com a tag {@code exception}.</li>
+ * </ul>
+ * As métricas são registradas no registro global, que o Spring Boot Actuator expõe em {@code /actuator/prometheus}.
+ * </p>
+ * Os demais aspectos das chamadas ficam em decoradores próprios, combinados pelo {@link DAOFactory}.
+ */
+public class MeteredDAO {
+
+    /**
+     * Envolve o DAO em um proxy instrumentado.
+     *
+     * @param type   Interface do DAO.
+     * @param target Implementação real do DAO.
+     * @param <T>    Tipo da interface do DAO.
+     * @return Proxy que implementa a mesma interface e publica as métricas de cada chamada.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T wrap(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(
+                MeteredDAO.class.getClassLoader(),
+                new Class<?>[]{type},
+                new MeteredHandler(target));
+    }
+
+    /**
+     * @param result Valor retornado por um método de DAO.
+     * @return Quantidade de registros do resultado: o tamanho de uma coleção, 0 para {@code null} e 1 para os demais.
+     */
+    static int countRows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        return 1;
+    }
+
+    /**
+     * Medidores de um método, criados uma única vez e reaproveitados em todas as chamadas.
+     */
+    private record Meters(Timer success, Timer error, DistributionSummary rows, String dao, String method) {
+
+        static Meters of(String dao, String method) {
+            return new Meters(
+                    timer(dao, method, "success"),
+                    timer(dao, method, "error"),
+                    DistributionSummary.builder("dao.rows")
+                            .description("Registros retornados por chamada de DAO")
+                            .tag("dao", dao)
+                            .tag("method", method)
+                            .register(Metrics.globalRegistry),
+                    dao, method);
+        }
+
+        private static Timer timer(String dao, String method, String outcome) {
+            return Timer.builder("dao.calls")
+                    .description("Latência das chamadas de DAO")
+                    .tag("dao", dao)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry);
+        }
+
+        Counter errors(Throwable e) {
+            return Counter.builder("dao.errors")
+                    .description("Exceções lançadas por chamadas de DAO")
+                    .tag("dao", dao)
+                    .tag("method", method)
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(Metrics.globalRegistry);
+        }
+    }
+
+    private static class MeteredHandler implements InvocationHandler {
+
+        private final Object target;
+        private final String dao;
+        private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+        MeteredHandler(Object target) {
+            this.target = target;
+            this.dao = target.getClass().getSimpleName();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args);
+            }
+            Meters m = meters.computeIfAbsent(method, k -> Meters.of(dao, k.getName()));
+            long inicio = System.nanoTime();
+            try {
+                Object result = method.invoke(target, args);
+                m.success().record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                m.rows().record(countRows(result));
+                return result;
+            } catch (InvocationTargetException e) {
+                m.error().record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                m.errors(e.getCause()).increment();
+                throw e.getCause();
+            }
+        }
+
+    }
+}
@@ -3,12 +3,14 @@ package br.com.squadra.bootcamp.projeto.model.dao;
 import br.com.squadra.bootcamp.projeto.dto.MunicipioDTO;
 import br.com.squadra.bootcamp.projeto.model.entities.Municipio;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface MunicipioDAO {
 
     Municipio findByCodigoMunicipio(Long codigoMunicipio);
+    List<Municipio> findByCodigosMunicipio(Collection<Long> codigosMunicipio);
     List<Municipio> findByCodigoUF(Long codigoUF);
     List<Municipio> findAll();
     List<Municipio> findByStatus(int status);
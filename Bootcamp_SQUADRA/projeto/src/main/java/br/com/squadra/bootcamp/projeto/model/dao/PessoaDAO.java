@@ -1,15 +1,19 @@
 package br.com.squadra.bootcamp.projeto.model.dao;
 
+import br.com.squadra.bootcamp.projeto.jdbc.ColumnChanges;
 import br.com.squadra.bootcamp.projeto.model.entities.Pessoa;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface PessoaDAO {
     Pessoa findByCodigoPessoa(Long codigoPessoa);
+    List<Pessoa> findByCodigosPessoa(Collection<Long> codigosPessoa);
     List<Pessoa> findByFilters(Optional<Long> codigoPessoa, Optional<String> login, Optional<Integer> status);
     List<Pessoa> findAll();
     Pessoa insert(Pessoa pessoa);
     Pessoa update(Pessoa pessoa);
+    boolean updateColumns(Long codigoPessoa, ColumnChanges changes);
     Pessoa findByLogin(String login);
 }
@@ -0,0 +1,50 @@
+package br.com.squadra.bootcamp.projeto.model.dao;
+
+import br.com.squadra.bootcamp.projeto.jdbc.RoutingContext;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Decorador que declara no {@link RoutingContext} a intenção de cada chamada de um DAO: métodos {@code find*} são
+ * leituras, que podem ser atendidas por uma réplica, e os demais são escritas.
+ */
+public class RoutedDAO {
+
+    /**
+     * Envolve o DAO em um proxy que declara a intenção de cada chamada.
+     *
+     * @param type   Interface do DAO.
+     * @param target DAO envolvido.
+     * @param <T>    Tipo da interface do DAO.
+     * @return Proxy que implementa a mesma interface.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T wrap(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(
+                RoutedDAO.class.getClassLoader(),
+                new Class<?>[]{type},
+                new RoutedHandler(target));
+    }
+
+    private record RoutedHandler(Object target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args);
+            }
+            RoutingContext.Intent intentAnterior = RoutingContext.enter(method.getName().startsWith("find")
+                    ? RoutingContext.Intent.READ : RoutingContext.Intent.WRITE);
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                RoutingContext.exit(intentAnterior);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.squadra.bootcamp.projeto.model.dao;
+
+import br.com.squadra.bootcamp.projeto.jfr.DaoCallEvent;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Decorador que gera um {@link DaoCallEvent} a cada chamada de um DAO enquanto houver uma gravação JFR ativa com o
+ * evento habilitado. Sem gravação, a chamada é apenas repassada.
+ */
+public class TracedDAO {
+
+    /**
+     * Envolve o DAO em um proxy que gera os eventos JFR.
+     *
+     * @param type   Interface do DAO.
+     * @param target DAO envolvido.
+     * @param dao    Nome da implementação do DAO, registrado nos eventos.
+     * @param <T>    Tipo da interface do DAO.
+     * @return Proxy que implementa a mesma interface.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T wrap(Class<T> type, T target, String dao) {
+        return (T) Proxy.newProxyInstance(
+                TracedDAO.class.getClassLoader(),
+                new Class<?>[]{type},
+                new TracedHandler(target, dao));
+    }
+
+    private record TracedHandler(Object target, String dao) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args);
+            }
+            DaoCallEvent event = DaoCallEvent.start(dao, method.getName());
+            if (event == null) {
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+            long rows = 0;
+            try {
+                Object result = method.invoke(target, args);
+                rows = MeteredDAO.countRows(result);
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                event.finish(rows);
+            }
+        }
+    }
+}
@@ -2,12 +2,14 @@ package br.com.squadra.bootcamp.projeto.model.dao;
 
 import br.com.squadra.bootcamp.projeto.model.entities.Uf;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UfDAO {
     Uf findByNome(String nomeUF);
     Uf findBySigla(String sigla);
     Uf findById(Long id);
+    List<Uf> findByIds(Collection<Long> ids);
     List<Uf> findAll();
     List<Uf> findByStatus(int status);
     Uf insert(Uf uf);
@@ -1,17 +1,29 @@
 package br.com.squadra.bootcamp.projeto.model.dao.impl;
 
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import br.com.squadra.bootcamp.projeto.events.ChangeEvent.Operation;
+import br.com.squadra.bootcamp.projeto.events.Outbox;
 import br.com.squadra.bootcamp.projeto.exception.DbException;
+import br.com.squadra.bootcamp.projeto.jdbc.InList;
 import br.com.squadra.bootcamp.projeto.model.dao.BairroDAO;
+import br.com.squadra.bootcamp.projeto.model.dao.Flyweights;
+import br.com.squadra.bootcamp.projeto.model.dao.GeoDictionary;
+import br.com.squadra.bootcamp.projeto.model.dao.IdentityMap;
+import br.com.squadra.bootcamp.projeto.model.dao.MunicipioDAO;
 import br.com.squadra.bootcamp.projeto.dto.BairroDTO;
 import br.com.squadra.bootcamp.projeto.model.entities.Bairro;
 import br.com.squadra.bootcamp.projeto.model.entities.Municipio;
+import br.com.squadra.bootcamp.projeto.model.entities.Uf;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -20,18 +32,33 @@ import java.util.Optional;
 public class BairroDAOImpl implements BairroDAO {
 
     private Connection connection;
+    private final MunicipioDAO municipioDAO;  // Busca dos municípios dos bairros lidos, um a um ou em lote
 
     /**
-     * Construtor da classe BairroDAOImpl.
+     * Construtor da classe BairroDAOImpl. O município de cada bairro é buscado na mesma conexão.
      *
      * @param connection Conexão com o banco de dados.
      */
     public BairroDAOImpl(Connection connection) {
+        this(connection, new MunicipioDAOImpl(connection));
+    }
+
+    /**
+     * Construtor que recebe o DAO usado nas buscas do município dos bairros lidos, como o {@link MunicipioDAO}
+     * criado pelo {@link br.com.squadra.bootcamp.projeto.model.dao.DAOFactory}. As buscas de um município e as
+     * buscas em lote passam pelo mesmo DAO.
+     *
+     * @param connection   Conexão com o banco de dados.
+     * @param municipioDAO DAO dos municípios.
+     */
+    public BairroDAOImpl(Connection connection, MunicipioDAO municipioDAO) {
         this.connection = connection;
+        this.municipioDAO = municipioDAO;
     }
 
     /**
      * Busca um bairro pelo código.
+     * Atendida pelo {@link GeoDictionary} enquanto ele estiver atualizado.
      *
      * @param codigoBairro Código do bairro a ser buscado.
      * @return Bairro encontrado ou null se não existir.
@@ -39,6 +66,10 @@ public class BairroDAOImpl implements BairroDAO {
      */
     @Override
     public Bairro findByCodigoBairro(Long codigoBairro) {
+        GeoDictionary geo = GeoDictionary.current();
+        if (geo != null) {
+            return geo.bairro(codigoBairro);
+        }
         Bairro bairro = null;
         String sql = "SELECT * FROM TB_BAIRRO WHERE CODIGO_BAIRRO = ?";
 
@@ -57,8 +88,62 @@ public class BairroDAOImpl implements BairroDAO {
         return bairro;
     }
 
+    /**
+     * Busca vários bairros pelos códigos, com uma consulta {@code IN} por bloco de códigos. Os municípios dos
+     * bairros encontrados também são carregados de uma só vez.
+     * Atendida pelo {@link GeoDictionary} enquanto ele estiver atualizado.
+     *
+     * @param codigosBairro Códigos dos bairros.
+     * @return Bairros encontrados, em qualquer ordem; códigos inexistentes são ignorados.
+     * @throws DbException Se ocorrer um erro na consulta ao banco de dados.
+     */
+    @Override
+    public List<Bairro> findByCodigosBairro(Collection<Long> codigosBairro) {
+        List<Bairro> bairroList = new ArrayList<>();
+        GeoDictionary geo = GeoDictionary.current();
+        if (geo != null) {
+            for (Long codigo : codigosBairro) {
+                Bairro bairro = geo.bairro(codigo);
+                if (bairro != null) {
+                    bairroList.add(bairro);
+                    IdentityMap.put(Bairro.class, bairro.getCodigoBairro(), bairro);
+                }
+            }
+            return bairroList;
+        }
+        Map<Bairro, Long> codigoMunicipioPorBairro = new HashMap<>();
+        for (List<Long> bloco : InList.chunks(codigosBairro)) {
+            String sql = "SELECT * FROM TB_BAIRRO WHERE CODIGO_BAIRRO IN (" + InList.placeholders(bloco) + ")";
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                InList.bind(stmt, 1, bloco);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        Bairro bairro = new Bairro();
+                        bairro.setCodigoBairro(rs.getLong("CODIGO_BAIRRO"));
+                        bairro.setNome(Flyweights.nome(rs.getString("NOME")));
+                        bairro.setStatus(rs.getInt("STATUS"));
+                        bairroList.add(bairro);
+                        codigoMunicipioPorBairro.put(bairro, rs.getLong("CODIGO_MUNICIPIO"));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new DbException("Erro ao buscar Bairros pelos códigos: " + e.getMessage(), e);
+            }
+        }
+        Map<Long, Municipio> municipios = new HashMap<>();
+        for (Municipio municipio : municipioDAO.findByCodigosMunicipio(codigoMunicipioPorBairro.values())) {
+            municipios.put(municipio.getCodigoMunicipio(), municipio);
+        }
+        for (Bairro bairro : bairroList) {
+            bairro.setMunicipio(Flyweights.municipio(municipios.get(codigoMunicipioPorBairro.get(bairro))));
+            IdentityMap.put(Bairro.class, bairro.getCodigoBairro(), bairro);
+        }
+        return bairroList;
+    }
+
     /**
      * Busca bairros pertencentes a um município específico.
+     * Atendida pelo {@link GeoDictionary} enquanto ele estiver atualizado.
      *
      * @param codigoMunicipio Código do município.
      * @return Lista de bairros pertencentes ao município.
@@ -66,6 +151,10 @@ public class BairroDAOImpl implements BairroDAO {
      */
     @Override
     public List<Bairro> findByCodigoMunicipio(Long codigoMunicipio) {
+        GeoDictionary geo = GeoDictionary.current();
+        if (geo != null) {
+            return geo.bairros(null, codigoMunicipio, null, null);
+        }
         List<Bairro> bairroList = new ArrayList<>();
         String sql = "SELECT * FROM TB_BAIRRO WHERE CODIGO_MUNICIPIO = ?";
 
@@ -110,6 +199,7 @@ public class BairroDAOImpl implements BairroDAO {
 
     /**
      * Busca bairros pelo status.
+     * Atendida pelo {@link GeoDictionary} enquanto ele estiver atualizado.
      *
      * @param status Status do bairro.
      * @return Lista de bairros com o status especificado.
@@ -117,6 +207,10 @@ public class BairroDAOImpl implements BairroDAO {
      */
     @Override
     public List<Bairro> findByStatus(int status) {
+        GeoDictionary geo = GeoDictionary.current();
+        if (geo != null) {
+            return geo.bairros(null, null, null, status);
+        }
         List<Bairro> bairroList = new ArrayList<>();
         String sql = "SELECT * FROM TB_BAIRRO WHERE STATUS = ?";
 
@@ -147,13 +241,17 @@ public class BairroDAOImpl implements BairroDAO {
         Long codigoBairro = getNextCodigoBairro();
         String sql = "INSERT INTO TB_BAIRRO (CODIGO_BAIRRO, CODIGO_MUNICIPIO, NOME, STATUS) VALUES (?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setLong(1, codigoBairro);
-            stmt.setLong(2, bairroDTO.getCodigoMunicipio());
-            stmt.setString(3, bairroDTO.getNome().toUpperCase());
-            stmt.setInt(4, bairroDTO.getStatus());
+        try {
+            Outbox.write(connection, Table.TB_BAIRRO, codigoBairro, Operation.INSERT, tx -> {
+                try (PreparedStatement stmt = tx.prepareStatement(sql)) {
+                    stmt.setLong(1, codigoBairro);
+                    stmt.setLong(2, bairroDTO.getCodigoMunicipio());
+                    stmt.setString(3, bairroDTO.getNome().toUpperCase());
+                    stmt.setInt(4, bairroDTO.getStatus());
 
-            stmt.executeUpdate();
+                    stmt.executeUpdate();
+                }
+            });
             bairroDTO.setCodigoBairro(codigoBairro);
         } catch (SQLException e) {
             throw new DbException("Erro ao salvar o Bairro: " + e.getMessage(), e);
@@ -173,13 +271,17 @@ public class BairroDAOImpl implements BairroDAO {
     public BairroDTO update(BairroDTO bairroDTO) {
         String sql = "UPDATE TB_BAIRRO SET CODIGO_MUNICIPIO = ?, NOME = ?, STATUS = ? WHERE CODIGO_BAIRRO = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setLong(1, bairroDTO.getCodigoMunicipio());
-            stmt.setString(2, bairroDTO.getNome().toUpperCase());
-            stmt.setInt(3, bairroDTO.getStatus());
-            stmt.setLong(4, bairroDTO.getCodigoBairro());
+        try {
+            Outbox.write(connection, Table.TB_BAIRRO, bairroDTO.getCodigoBairro(), Operation.UPDATE, tx -> {
+                try (PreparedStatement stmt = tx.prepareStatement(sql)) {
+                    stmt.setLong(1, bairroDTO.getCodigoMunicipio());
+                    stmt.setString(2, bairroDTO.getNome().toUpperCase());
+                    stmt.setInt(3, bairroDTO.getStatus());
+                    stmt.setLong(4, bairroDTO.getCodigoBairro());
 
-            stmt.executeUpdate();
+                    stmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             throw new DbException("Erro ao atualizar Bairro de código " + bairroDTO.getCodigoBairro() + ": " + e.getMessage(), e);
         }
@@ -219,14 +321,43 @@ public class BairroDAOImpl implements BairroDAO {
     private Bairro instanceBairro(ResultSet rs) throws SQLException {
         Bairro bairro = new Bairro();
         bairro.setCodigoBairro(rs.getLong("CODIGO_BAIRRO"));
-        bairro.setNome(rs.getString("NOME"));
+        bairro.setNome(Flyweights.nome(rs.getString("NOME")));
         bairro.setStatus(rs.getInt("STATUS"));
-        bairro.setMunicipio(new MunicipioDAOImpl(connection).findByCodigoMunicipio(rs.getLong("CODIGO_MUNICIPIO")));
+        bairro.setMunicipio(Flyweights.municipio(IdentityMap.get(Municipio.class, rs.getLong("CODIGO_MUNICIPIO"), municipioDAO::findByCodigoMunicipio)));
+        return bairro;
+    }
+
+    /**
+     * Instancia um bairro de uma consulta que também traz as colunas do município ({@code NOME_MUNICIPIO},
+     * {@code STATUS_MUNICIPIO}) e da UF ({@code CODIGO_UF}, {@code SIGLA}, {@code NOME_UF}, {@code STATUS_UF}).
+     *
+     * @param rs         ResultSet posicionado na linha do bairro.
+     * @param municipios Municípios já instanciados na mesma consulta, por código.
+     * @return Objeto Bairro instanciado, com o município compartilhado.
+     * @throws SQLException Se ocorrer um erro ao acessar os dados do ResultSet.
+     */
+    private static Bairro instanceBairro(ResultSet rs, Map<Long, Municipio> municipios) throws SQLException {
+        Bairro bairro = new Bairro();
+        bairro.setCodigoBairro(rs.getLong("CODIGO_BAIRRO"));
+        bairro.setNome(Flyweights.nome(rs.getString("NOME")));
+        bairro.setStatus(rs.getInt("STATUS"));
+        long codigoMunicipio = rs.getLong("CODIGO_MUNICIPIO");
+        Municipio municipio = municipios.get(codigoMunicipio);
+        if (municipio == null) {
+            Uf uf = Flyweights.uf(rs.getLong("CODIGO_UF"), rs.getString("SIGLA"), rs.getString("NOME_UF"),
+                    rs.getInt("STATUS_UF"));
+            municipio = Flyweights.municipio(codigoMunicipio, uf, rs.getString("NOME_MUNICIPIO"),
+                    rs.getInt("STATUS_MUNICIPIO"));
+            municipios.put(codigoMunicipio, municipio);
+            IdentityMap.put(Municipio.class, codigoMunicipio, municipio);
+        }
+        bairro.setMunicipio(municipio);
         return bairro;
     }
 
     /**
      * Busca bairros com base em filtros opcionais.
+     * Atendida pelo {@link GeoDictionary} enquanto ele estiver atualizado.
      *
      * @param codigoBairro   Código do bairro (opcional).
      * @param codigoMunicipio Código do município (opcional).
@@ -237,20 +368,30 @@ public class BairroDAOImpl implements BairroDAO {
      */
     @Override
     public List<Bairro> findByFilters(Optional<Long> codigoBairro, Optional<Long> codigoMunicipio, Optional<String> nome, Optional<Integer> status) {
+        GeoDictionary geo = GeoDictionary.current();
+        if (geo != null) {
+            return geo.bairros(codigoBairro.orElse(null), codigoMunicipio.orElse(null), nome.orElse(null), status.orElse(null));
+        }
         List<Bairro> bairroList = new ArrayList<>();
-        StringBuilder sql = new StringBuilder("SELECT * FROM TB_BAIRRO WHERE 1=1");
+        // O município e a UF de cada bairro vêm na mesma consulta, em vez de uma busca por município distinto
+        StringBuilder sql = new StringBuilder("SELECT B.CODIGO_BAIRRO, B.NOME, B.STATUS, M.CODIGO_MUNICIPIO, "
+                + "M.NOME AS NOME_MUNICIPIO, M.STATUS AS STATUS_MUNICIPIO, "
+                + "U.CODIGO_UF, U.SIGLA, U.NOME AS NOME_UF, U.STATUS AS STATUS_UF "
+                + "FROM TB_BAIRRO B "
+                + "JOIN TB_MUNICIPIO M ON M.CODIGO_MUNICIPIO = B.CODIGO_MUNICIPIO "
+                + "JOIN TB_UF U ON U.CODIGO_UF = M.CODIGO_UF WHERE 1=1");
 
         if (codigoBairro.isPresent()) {
-            sql.append(" AND CODIGO_BAIRRO = ?");
+            sql.append(" AND B.CODIGO_BAIRRO = ?");
         }
         if (codigoMunicipio.isPresent()) {
-            sql.append(" AND CODIGO_MUNICIPIO = ?");
+            sql.append(" AND B.CODIGO_MUNICIPIO = ?");
         }
         if (nome.isPresent()) {
-            sql.append(" AND NOME = ?");
+            sql.append(" AND B.NOME = ?");
         }
         if (status.isPresent()) {
-            sql.append(" AND STATUS = ?");
+            sql.append(" AND B.STATUS = ?");
         }
 
         try (PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
@@ -270,8 +411,9 @@ public class BairroDAOImpl implements BairroDAO {
             }
 
             try (ResultSet rs = stmt.executeQuery()) {
+                Map<Long, Municipio> municipios = new HashMap<>();
                 while (rs.next()) {
-                    bairroList.add(instanceBairro(rs));
+                    bairroList.add(instanceBairro(rs, municipios));
                 }
             }
         } catch (SQLException e) {
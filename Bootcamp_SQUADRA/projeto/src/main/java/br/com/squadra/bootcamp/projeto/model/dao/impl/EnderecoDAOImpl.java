@@ -1,11 +1,19 @@
 package br.com.squadra.bootcamp.projeto.model.dao.impl;
 
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import br.com.squadra.bootcamp.projeto.events.ChangeEvent;
+import br.com.squadra.bootcamp.projeto.events.ChangeEvent.Operation;
+import br.com.squadra.bootcamp.projeto.events.Outbox;
 import br.com.squadra.bootcamp.projeto.exception.DbException;
+import br.com.squadra.bootcamp.projeto.jdbc.ColumnChanges;
+import br.com.squadra.bootcamp.projeto.jdbc.InList;
+import br.com.squadra.bootcamp.projeto.jdbc.JdbcTransaction;
 import br.com.squadra.bootcamp.projeto.model.dao.EnderecoDAO;
 import br.com.squadra.bootcamp.projeto.model.entities.Endereco;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -14,6 +22,8 @@ import java.util.List;
 public class EnderecoDAOImpl implements EnderecoDAO {
 
     private Connection connection;
+    private final int shard;
+    private final int shardCount;
 
     /**
      * Construtor para inicializar a conexão com o banco de dados.
@@ -21,7 +31,21 @@ public class EnderecoDAOImpl implements EnderecoDAO {
      * @param connection Conexão com o banco de dados.
      */
     public EnderecoDAOImpl(Connection connection) {
+        this(connection, 0, 1);
+    }
+
+    /**
+     * Construtor para um shard de endereços, o mesmo das pessoas a que pertencem. Os códigos gerados embutem o shard
+     * da mesma forma que os de {@link PessoaDAOImpl}.
+     *
+     * @param connection Conexão com o banco de dados do shard.
+     * @param shard      Índice do shard, de 0 a {@code shardCount - 1}.
+     * @param shardCount Quantidade total de shards.
+     */
+    public EnderecoDAOImpl(Connection connection, int shard, int shardCount) {
         this.connection = connection;
+        this.shard = shard;
+        this.shardCount = shardCount;
     }
 
     /**
@@ -48,6 +72,127 @@ public class EnderecoDAOImpl implements EnderecoDAO {
         return lista;
     }
 
+    /**
+     * Busca os endereços de várias pessoas, com uma consulta {@code IN} por bloco de códigos.
+     *
+     * @param codigosPessoa Códigos das pessoas.
+     * @return Endereços das pessoas informadas, em qualquer ordem.
+     * @throws DbException Se ocorrer um erro ao buscar os dados no banco.
+     */
+    @Override
+    public List<Endereco> findByCodigosPessoa(Collection<Long> codigosPessoa) {
+        List<Endereco> lista = new ArrayList<>();
+        for (List<Long> bloco : InList.chunks(codigosPessoa)) {
+            String sql = "SELECT * FROM TB_ENDERECO WHERE CODIGO_PESSOA IN (" + InList.placeholders(bloco) + ")";
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                InList.bind(stmt, 1, bloco);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        lista.add(instanceEndereco(rs));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new DbException("Erro ao buscar Endereços pelos Códigos Pessoa: " + e.getMessage(), e);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Busca todos os endereços cadastrados, agrupados por pessoa.
+     *
+     * @return Lista de endereços ordenada pelo código da pessoa e pelo código do endereço.
+     * @throws DbException Se ocorrer um erro ao buscar os dados no banco.
+     */
+    @Override
+    public List<Endereco> findAll() {
+        List<Endereco> lista = new ArrayList<>();
+        String sql = "SELECT * FROM TB_ENDERECO ORDER BY CODIGO_PESSOA, CODIGO_ENDERECO";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    lista.add(instanceEndereco(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DbException("Erro ao buscar todos os Endereços: " + e.getMessage(), e);
+        }
+        return lista;
+    }
+
+    /**
+     * Busca um endereço pelo seu código.
+     *
+     * @param codigoEndereco Código do endereço.
+     * @return Endereço encontrado ou {@code null} se não existir.
+     * @throws DbException Se ocorrer um erro ao buscar os dados no banco.
+     */
+    @Override
+    public Endereco findByCodigoEndereco(Long codigoEndereco) {
+        String sql = "SELECT * FROM TB_ENDERECO WHERE CODIGO_ENDERECO = ?";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setLong(1, codigoEndereco);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? instanceEndereco(rs) : null;
+            }
+        } catch (SQLException e) {
+            throw new DbException("Erro ao buscar Endereço pelo código: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Busca uma página dos endereços com CEP dentro de uma faixa, em ordem de CEP e código do endereço. A comparação
+     * é feita sobre o texto gravado, portanto só encontra CEPs no formato {@code 00000-000}.
+     *
+     * @param de     Menor CEP da faixa, formatado.
+     * @param ate    Maior CEP da faixa, formatado.
+     * @param offset Quantidade de endereços a pular.
+     * @param limite Quantidade máxima de endereços retornados.
+     * @return Endereços da página.
+     * @throws DbException Se ocorrer um erro ao buscar os dados no banco.
+     */
+    @Override
+    public List<Endereco> findByCep(String de, String ate, long offset, int limite) {
+        List<Endereco> lista = new ArrayList<>();
+        String sql = "SELECT * FROM TB_ENDERECO WHERE CEP BETWEEN ? AND ? ORDER BY CEP, CODIGO_ENDERECO OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, de);
+            stmt.setString(2, ate);
+            stmt.setLong(3, offset);
+            stmt.setInt(4, limite);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    lista.add(instanceEndereco(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DbException("Erro ao buscar Endereços por CEP: " + e.getMessage(), e);
+        }
+        return lista;
+    }
+
+    /**
+     * Conta os endereços com CEP dentro de uma faixa, com a mesma regra de {@link #findByCep}.
+     *
+     * @param de  Menor CEP da faixa, formatado.
+     * @param ate Maior CEP da faixa, formatado.
+     * @return Quantidade de endereços na faixa.
+     * @throws DbException Se ocorrer um erro ao buscar os dados no banco.
+     */
+    @Override
+    public long findCountByCep(String de, String ate) {
+        String sql = "SELECT COUNT(*) FROM TB_ENDERECO WHERE CEP BETWEEN ? AND ?";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, de);
+            stmt.setString(2, ate);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new DbException("Erro ao contar Endereços por CEP: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Insere um novo endereço no banco de dados.
      *
@@ -58,16 +203,20 @@ public class EnderecoDAOImpl implements EnderecoDAO {
     @Override
     public Endereco insert(Endereco endereco) {
         String sql = "INSERT INTO TB_ENDERECO (CODIGO_ENDERECO, CODIGO_PESSOA, CODIGO_BAIRRO, NOME_RUA, NUMERO, COMPLEMENTO, CEP) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try {
             Long codigoEndereco = getNextCodigoEndereco();
-            stmt.setLong(1, codigoEndereco);
-            stmt.setLong(2, endereco.getCodigoPessoa());
-            stmt.setLong(3, endereco.getCodigoBairro());
-            stmt.setString(4, endereco.getNomeRua());
-            stmt.setString(5, endereco.getNumero());
-            stmt.setString(6, endereco.getComplemento());
-            stmt.setString(7, endereco.getCep());
-            stmt.executeUpdate();
+            Outbox.write(connection, Table.TB_ENDERECO, codigoEndereco, Operation.INSERT, tx -> {
+                try (PreparedStatement stmt = tx.prepareStatement(sql)) {
+                    stmt.setLong(1, codigoEndereco);
+                    stmt.setLong(2, endereco.getCodigoPessoa());
+                    stmt.setLong(3, endereco.getCodigoBairro());
+                    stmt.setString(4, endereco.getNomeRua());
+                    stmt.setString(5, endereco.getNumero());
+                    stmt.setString(6, endereco.getComplemento());
+                    stmt.setString(7, endereco.getCep());
+                    stmt.executeUpdate();
+                }
+            });
             endereco.setCodigoEndereco(codigoEndereco);
         } catch (SQLException e) {
             throw new DbException("Erro ao inserir Endereço: " + e.getMessage(), e);
@@ -85,14 +234,18 @@ public class EnderecoDAOImpl implements EnderecoDAO {
     @Override
     public Endereco update(Endereco endereco) {
         String sql = "UPDATE TB_ENDERECO SET CODIGO_BAIRRO = ?, NOME_RUA = ?, NUMERO = ?, COMPLEMENTO = ?, CEP = ? WHERE CODIGO_ENDERECO = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setLong(1, endereco.getCodigoBairro());
-            stmt.setString(2, endereco.getNomeRua());
-            stmt.setString(3, endereco.getNumero());
-            stmt.setString(4, endereco.getComplemento());
-            stmt.setString(5, endereco.getCep());
-            stmt.setLong(6, endereco.getCodigoEndereco());
-            stmt.executeUpdate();
+        try {
+            Outbox.write(connection, Table.TB_ENDERECO, endereco.getCodigoEndereco(), Operation.UPDATE, tx -> {
+                try (PreparedStatement stmt = tx.prepareStatement(sql)) {
+                    stmt.setLong(1, endereco.getCodigoBairro());
+                    stmt.setString(2, endereco.getNomeRua());
+                    stmt.setString(3, endereco.getNumero());
+                    stmt.setString(4, endereco.getComplemento());
+                    stmt.setString(5, endereco.getCep());
+                    stmt.setLong(6, endereco.getCodigoEndereco());
+                    stmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             throw new DbException("Erro ao atualizar Endereço: " + e.getMessage(), e);
         }
@@ -100,7 +253,35 @@ public class EnderecoDAOImpl implements EnderecoDAO {
     }
 
     /**
-     * Exclui todos os endereços associados a uma pessoa pelo código da pessoa.
+     * Atualiza apenas as colunas alteradas de um endereço. Sem colunas alteradas, nenhum comando é executado.
+     *
+     * @param codigoEndereco Código do endereço.
+     * @param changes        Colunas alteradas e seus novos valores.
+     * @return {@code true} se o registro foi gravado.
+     * @throws DbException Se ocorrer um erro ao atualizar o endereço.
+     */
+    @Override
+    public boolean updateColumns(Long codigoEndereco, ColumnChanges changes) {
+        if (changes.isEmpty()) {
+            return false;
+        }
+        String sql = "UPDATE TB_ENDERECO SET " + changes.setClause() + " WHERE CODIGO_ENDERECO = ?";
+        try {
+            Outbox.write(connection, Table.TB_ENDERECO, codigoEndereco, Operation.UPDATE, tx -> {
+                try (PreparedStatement stmt = tx.prepareStatement(sql)) {
+                    stmt.setLong(changes.bind(stmt, 1), codigoEndereco);
+                    stmt.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            throw new DbException("Erro ao atualizar Endereço: " + e.getMessage(), e);
+        }
+        return true;
+    }
+
+    /**
+     * Exclui todos os endereços associados a uma pessoa pelo código da pessoa, registrando um evento de exclusão
+     * para cada endereço.
      *
      * @param codigoPessoa Código da pessoa.
      * @throws DbException Se ocorrer um erro ao excluir os endereços.
@@ -108,9 +289,27 @@ public class EnderecoDAOImpl implements EnderecoDAO {
     @Override
     public void deleteByCodigoPessoa(Long codigoPessoa) {
         String sql = "DELETE FROM TB_ENDERECO WHERE CODIGO_PESSOA = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setLong(1, codigoPessoa);
-            stmt.executeUpdate();
+        try {
+            List<ChangeEvent> events = new ArrayList<>();
+            JdbcTransaction.run(connection, tx -> {
+                List<Long> codigos = new ArrayList<>();
+                try (PreparedStatement stmt = tx.prepareStatement("SELECT CODIGO_ENDERECO FROM TB_ENDERECO WHERE CODIGO_PESSOA = ?")) {
+                    stmt.setLong(1, codigoPessoa);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            codigos.add(rs.getLong(1));
+                        }
+                    }
+                }
+                try (PreparedStatement stmt = tx.prepareStatement(sql)) {
+                    stmt.setLong(1, codigoPessoa);
+                    stmt.executeUpdate();
+                }
+                for (Long codigoEndereco : codigos) {
+                    events.add(Outbox.append(tx, Table.TB_ENDERECO, codigoEndereco, Operation.DELETE));
+                }
+            });
+            Outbox.committed(events);
         } catch (SQLException e) {
             throw new DbException("Erro ao deletar Endereços por Código Pessoa: " + e.getMessage(), e);
         }
@@ -125,9 +324,13 @@ public class EnderecoDAOImpl implements EnderecoDAO {
     @Override
     public void deleteByCodigoEndereco(Long codigoEndereco) {
         String sql = "DELETE FROM TB_ENDERECO WHERE CODIGO_ENDERECO = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setLong(1, codigoEndereco);
-            stmt.executeUpdate();
+        try {
+            Outbox.write(connection, Table.TB_ENDERECO, codigoEndereco, Operation.DELETE, tx -> {
+                try (PreparedStatement stmt = tx.prepareStatement(sql)) {
+                    stmt.setLong(1, codigoEndereco);
+                    stmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             throw new DbException("Erro ao deletar Endereço: " + e.getMessage(), e);
         }
@@ -153,7 +356,7 @@ public class EnderecoDAOImpl implements EnderecoDAO {
     }
 
     /**
-     * Obtém o próximo valor da sequência para o código do endereço.
+     * Obtém o próximo valor da sequência para o código do endereço, embutindo o shard.
      *
      * @return Próximo código de endereço disponível.
      * @throws DbException Se ocorrer um erro ao acessar a sequência.
@@ -163,7 +366,7 @@ public class EnderecoDAOImpl implements EnderecoDAO {
         try (PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             if (rs.next()) {
-                return rs.getLong(1);
+                return rs.getLong(1) * shardCount + shard;
             }
             throw new DbException("Erro ao obter próximo código de Endereço.");
         } catch (SQLException e) {
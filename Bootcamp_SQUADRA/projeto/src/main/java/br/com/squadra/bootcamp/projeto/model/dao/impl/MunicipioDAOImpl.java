@@ -1,16 +1,28 @@
 package br.com.squadra.bootcamp.projeto.model.dao.impl;
 
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import br.com.squadra.bootcamp.projeto.events.ChangeEvent.Operation;
+import br.com.squadra.bootcamp.projeto.events.Outbox;
 import br.com.squadra.bootcamp.projeto.exception.DbException;
+import br.com.squadra.bootcamp.projeto.jdbc.InList;
+import br.com.squadra.bootcamp.projeto.model.dao.Flyweights;
+import br.com.squadra.bootcamp.projeto.model.dao.GeoDictionary;
+import br.com.squadra.bootcamp.projeto.model.dao.IdentityMap;
 import br.com.squadra.bootcamp.projeto.model.dao.MunicipioDAO;
+import br.com.squadra.bootcamp.projeto.model.dao.UfDAO;
 import br.com.squadra.bootcamp.projeto.dto.MunicipioDTO;
 import br.com.squadra.bootcamp.projeto.model.entities.Municipio;
+import br.com.squadra.bootcamp.projeto.model.entities.Uf;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -19,18 +31,33 @@ import java.util.Optional;
 public class MunicipioDAOImpl implements MunicipioDAO {
 
     private Connection connection;
+    private final UfDAO ufDAO;  // Busca das UFs dos municípios lidos, uma a uma ou em lote
 
     /**
-     * Construtor que inicializa a conexão com o banco de dados.
+     * Construtor que inicializa a conexão com o banco de dados. A UF de cada município é buscada na mesma conexão.
      *
      * @param connection Conexão com o banco de dados.
      */
     public MunicipioDAOImpl(Connection connection) {
+        this(connection, new UfDAOImpl(connection));
+    }
+
+    /**
+     * Construtor que recebe o DAO usado nas buscas da UF dos municípios lidos, como o {@link UfDAO} criado pelo
+     * {@link br.com.squadra.bootcamp.projeto.model.dao.DAOFactory}. As buscas de uma UF e as buscas em lote passam
+     * pelo mesmo DAO.
+     *
+     * @param connection Conexão com o banco de dados.
+     * @param ufDAO      DAO das UFs.
+     */
+    public MunicipioDAOImpl(Connection connection, UfDAO ufDAO) {
         this.connection = connection;
+        this.ufDAO = ufDAO;
     }
 
     /**
      * Busca um município pelo código.
+     * Atendida pelo {@link GeoDictionary} enquanto ele estiver atualizado.
      *
      * @param codigoMunicipio Código do município a ser buscado.
      * @return Objeto {@link Municipio} correspondente ao código informado ou {@code null} se não encontrado.
@@ -38,6 +65,10 @@ public class MunicipioDAOImpl implements MunicipioDAO {
      */
     @Override
     public Municipio findByCodigoMunicipio(Long codigoMunicipio) {
+        GeoDictionary geo = GeoDictionary.current();
+        if (geo != null) {
+            return geo.municipio(codigoMunicipio);
+        }
         Municipio municipio = null;
         String sql = "SELECT * FROM TB_MUNICIPIO WHERE CODIGO_MUNICIPIO = ?";
 
@@ -56,8 +87,62 @@ public class MunicipioDAOImpl implements MunicipioDAO {
         return municipio;
     }
 
+    /**
+     * Busca vários municípios pelos códigos, com uma consulta {@code IN} por bloco de códigos. As UFs dos
+     * municípios encontrados também são carregadas de uma só vez.
+     * Atendida pelo {@link GeoDictionary} enquanto ele estiver atualizado.
+     *
+     * @param codigosMunicipio Códigos dos municípios.
+     * @return Municípios encontrados, em qualquer ordem; códigos inexistentes são ignorados.
+     * @throws DbException Se ocorrer um erro ao buscar os municípios.
+     */
+    @Override
+    public List<Municipio> findByCodigosMunicipio(Collection<Long> codigosMunicipio) {
+        List<Municipio> municipioList = new ArrayList<>();
+        GeoDictionary geo = GeoDictionary.current();
+        if (geo != null) {
+            for (Long codigo : codigosMunicipio) {
+                Municipio municipio = geo.municipio(codigo);
+                if (municipio != null) {
+                    municipioList.add(municipio);
+                    IdentityMap.put(Municipio.class, municipio.getCodigoMunicipio(), municipio);
+                }
+            }
+            return municipioList;
+        }
+        Map<Municipio, Long> codigoUfPorMunicipio = new HashMap<>();
+        for (List<Long> bloco : InList.chunks(codigosMunicipio)) {
+            String sql = "SELECT * FROM TB_MUNICIPIO WHERE CODIGO_MUNICIPIO IN (" + InList.placeholders(bloco) + ")";
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                InList.bind(stmt, 1, bloco);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        Municipio municipio = new Municipio();
+                        municipio.setCodigoMunicipio(rs.getLong("CODIGO_MUNICIPIO"));
+                        municipio.setNome(rs.getString("NOME"));
+                        municipio.setStatus(rs.getInt("STATUS"));
+                        municipioList.add(municipio);
+                        codigoUfPorMunicipio.put(municipio, rs.getLong("CODIGO_UF"));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new DbException("Erro ao buscar Municípios pelos códigos: " + e.getMessage(), e);
+            }
+        }
+        Map<Long, Uf> ufs = new HashMap<>();
+        for (Uf uf : ufDAO.findByIds(codigoUfPorMunicipio.values())) {
+            ufs.put(uf.getCodigoUF(), uf);
+        }
+        for (Municipio municipio : municipioList) {
+            municipio.setUf(Flyweights.uf(ufs.get(codigoUfPorMunicipio.get(municipio))));
+            IdentityMap.put(Municipio.class, municipio.getCodigoMunicipio(), municipio);
+        }
+        return municipioList;
+    }
+
     /**
      * Busca municípios pelo código da UF.
+     * Atendida pelo {@link GeoDictionary} enquanto ele estiver atualizado.
      *
      * @param codigoUF Código da UF.
      * @return Lista de municípios associados ao código da UF.
@@ -65,6 +150,10 @@ public class MunicipioDAOImpl implements MunicipioDAO {
      */
     @Override
     public List<Municipio> findByCodigoUF(Long codigoUF) {
+        GeoDictionary geo = GeoDictionary.current();
+        if (geo != null) {
+            return geo.municipios(null, codigoUF, null, null);
+        }
         List<Municipio> municipioList = new ArrayList<>();
         String sql = "SELECT * FROM TB_MUNICIPIO WHERE CODIGO_UF = ?";
 
@@ -109,6 +198,7 @@ public class MunicipioDAOImpl implements MunicipioDAO {
 
     /**
      * Busca municípios pelo status.
+     * Atendida pelo {@link GeoDictionary} enquanto ele estiver atualizado.
      *
      * @param status Status do município.
      * @return Lista de municípios com o status informado.
@@ -116,6 +206,10 @@ public class MunicipioDAOImpl implements MunicipioDAO {
      */
     @Override
     public List<Municipio> findByStatus(int status) {
+        GeoDictionary geo = GeoDictionary.current();
+        if (geo != null) {
+            return geo.municipios(null, null, null, status);
+        }
         List<Municipio> municipioList = new ArrayList<>();
         String sql = "SELECT * FROM TB_MUNICIPIO WHERE STATUS = ?";
 
@@ -174,13 +268,17 @@ public class MunicipioDAOImpl implements MunicipioDAO {
 
         String sql = "INSERT INTO TB_MUNICIPIO (CODIGO_MUNICIPIO, CODIGO_UF, NOME, STATUS) VALUES (?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setLong(1, codigoMunicipio);
-            stmt.setLong(2, municipioDTO.getCodigoUF());
-            stmt.setString(3, municipioDTO.getNome().toUpperCase());
-            stmt.setInt(4, municipioDTO.getStatus());
+        try {
+            Outbox.write(connection, Table.TB_MUNICIPIO, codigoMunicipio, Operation.INSERT, tx -> {
+                try (PreparedStatement stmt = tx.prepareStatement(sql)) {
+                    stmt.setLong(1, codigoMunicipio);
+                    stmt.setLong(2, municipioDTO.getCodigoUF());
+                    stmt.setString(3, municipioDTO.getNome().toUpperCase());
+                    stmt.setInt(4, municipioDTO.getStatus());
 
-            stmt.executeUpdate();
+                    stmt.executeUpdate();
+                }
+            });
 
             municipioDTO.setCodigoMunicipio(codigoMunicipio);
 
@@ -202,13 +300,17 @@ public class MunicipioDAOImpl implements MunicipioDAO {
     public MunicipioDTO update(MunicipioDTO municipioDTO) {
         String sql = "UPDATE TB_MUNICIPIO SET CODIGO_UF = ?, NOME = ?, STATUS = ? WHERE CODIGO_MUNICIPIO = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setLong(1, municipioDTO.getCodigoUF());
-            stmt.setString(2, municipioDTO.getNome().toUpperCase());
-            stmt.setInt(3, municipioDTO.getStatus());
-            stmt.setLong(4, municipioDTO.getCodigoMunicipio());
+        try {
+            Outbox.write(connection, Table.TB_MUNICIPIO, municipioDTO.getCodigoMunicipio(), Operation.UPDATE, tx -> {
+                try (PreparedStatement stmt = tx.prepareStatement(sql)) {
+                    stmt.setLong(1, municipioDTO.getCodigoUF());
+                    stmt.setString(2, municipioDTO.getNome().toUpperCase());
+                    stmt.setInt(3, municipioDTO.getStatus());
+                    stmt.setLong(4, municipioDTO.getCodigoMunicipio());
 
-            stmt.executeUpdate();
+                    stmt.executeUpdate();
+                }
+            });
 
         } catch (SQLException e) {
             throw new DbException("Erro ao atualizar Município de código " + municipioDTO.getCodigoMunicipio() + ": " + e.getMessage(), e);
@@ -252,12 +354,13 @@ public class MunicipioDAOImpl implements MunicipioDAO {
         municipio.setCodigoMunicipio(rs.getLong("CODIGO_MUNICIPIO"));
         municipio.setNome(rs.getString("NOME"));
         municipio.setStatus(rs.getInt("STATUS"));
-        municipio.setUf(new UfDAOImpl(connection).findById(rs.getLong("CODIGO_UF")));
+        municipio.setUf(Flyweights.uf(IdentityMap.get(Uf.class, rs.getLong("CODIGO_UF"), ufDAO::findById)));
         return municipio;
     }
 
     /**
      * Busca municípios com base em filtros opcionais.
+     * Atendida pelo {@link GeoDictionary} enquanto ele estiver atualizado.
      *
      * @param codigoMunicipio Código do município (opcional).
      * @param codigoUF        Código da UF (opcional).
@@ -268,6 +371,10 @@ public class MunicipioDAOImpl implements MunicipioDAO {
      */
     @Override
     public List<Municipio> findByFilters(Optional<Long> codigoMunicipio, Optional<Long> codigoUF, Optional<String> nome, Optional<Integer> status) {
+        GeoDictionary geo = GeoDictionary.current();
+        if (geo != null) {
+            return geo.municipios(codigoMunicipio.orElse(null), codigoUF.orElse(null), nome.orElse(null), status.orElse(null));
+        }
         List<Municipio> municipioList = new ArrayList<>();
         StringBuilder sql = new StringBuilder("SELECT * FROM TB_MUNICIPIO WHERE 1=1");
 
@@ -1,20 +1,30 @@
 package br.com.squadra.bootcamp.projeto.model.dao.impl;
 
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import br.com.squadra.bootcamp.projeto.events.ChangeEvent.Operation;
+import br.com.squadra.bootcamp.projeto.events.Outbox;
 import br.com.squadra.bootcamp.projeto.exception.DbException;
+import br.com.squadra.bootcamp.projeto.jdbc.ColumnChanges;
+import br.com.squadra.bootcamp.projeto.jdbc.InList;
+import br.com.squadra.bootcamp.projeto.model.dao.Flyweights;
 import br.com.squadra.bootcamp.projeto.model.dao.PessoaDAO;
 import br.com.squadra.bootcamp.projeto.model.entities.Pessoa;
 import com.sun.source.tree.ReturnTree;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Implementação da interface {@link PessoaDAO}, responsável pelas operações relacionadas à entidade Pessoa.
+ * Pode representar o banco inteiro ou um único shard de um {@link ShardedPessoaDAO}.
  */
 public class PessoaDAOImpl implements PessoaDAO {
     private Connection connection;
+    private final int shard;
+    private final int shardCount;
 
     /**
      * Construtor que inicializa a conexão com o banco de dados.
@@ -22,7 +32,21 @@ public class PessoaDAOImpl implements PessoaDAO {
      * @param connection Conexão com o banco de dados.
      */
     public PessoaDAOImpl(Connection connection) {
+        this(connection, 0, 1);
+    }
+
+    /**
+     * Construtor para um shard de pessoas. Os códigos gerados embutem o shard: {@code sequence * shardCount + shard},
+     * de modo que o shard de uma pessoa é o resto da divisão do seu código por {@code shardCount}.
+     *
+     * @param connection Conexão com o banco de dados do shard.
+     * @param shard      Índice do shard, de 0 a {@code shardCount - 1}.
+     * @param shardCount Quantidade total de shards.
+     */
+    public PessoaDAOImpl(Connection connection, int shard, int shardCount) {
         this.connection = connection;
+        this.shard = shard;
+        this.shardCount = shardCount;
     }
 
     /**
@@ -49,13 +73,40 @@ public class PessoaDAOImpl implements PessoaDAO {
         return pessoa;
     }
 
+    /**
+     * Busca várias pessoas pelos códigos, com uma consulta {@code IN} por bloco de códigos. Os endereços não são
+     * carregados.
+     *
+     * @param codigosPessoa Códigos das pessoas.
+     * @return Pessoas encontradas, em qualquer ordem; códigos inexistentes são ignorados.
+     * @throws DbException Se ocorrer um erro ao buscar as pessoas.
+     */
+    @Override
+    public List<Pessoa> findByCodigosPessoa(Collection<Long> codigosPessoa) {
+        List<Pessoa> lista = new ArrayList<>();
+        for (List<Long> bloco : InList.chunks(codigosPessoa)) {
+            String sql = "SELECT * FROM TB_PESSOA WHERE CODIGO_PESSOA IN (" + InList.placeholders(bloco) + ")";
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                InList.bind(stmt, 1, bloco);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        lista.add(instancePessoa(rs, false));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new DbException("Erro ao buscar Pessoas pelos códigos: " + e.getMessage(), e);
+            }
+        }
+        return lista;
+    }
+
     /**
      * Busca pessoas com base em filtros opcionais.
      *
      * @param codigoPessoa Código da pessoa (opcional).
      * @param login        Login da pessoa (opcional).
      * @param status       Status da pessoa (opcional).
-     * @return Lista de pessoas que atendem aos filtros informados.
+     * @return Lista de pessoas que atendem aos filtros informados, ordenadas pelo código em ordem decrescente.
      * @throws DbException Se ocorrer um erro ao buscar as pessoas.
      */
     @Override
@@ -65,6 +116,7 @@ public class PessoaDAOImpl implements PessoaDAO {
         if (codigoPessoa.isPresent()) sql.append(" AND CODIGO_PESSOA = ?");
         if (login.isPresent()) sql.append(" AND UPPER(LOGIN) = ?");
         if (status.isPresent()) sql.append(" AND STATUS = ?");
+        sql.append(" ORDER BY CODIGO_PESSOA DESC");
 
         try (PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
             int index = 1;
@@ -84,7 +136,7 @@ public class PessoaDAOImpl implements PessoaDAO {
     }
 
     /**
-     * Busca todas as pessoas cadastradas no banco.
+     * Busca todas as pessoas cadastradas no banco, ordenadas pelo código em ordem decrescente.
      *
      * @return Lista de todas as pessoas.
      * @throws DbException Se ocorrer um erro ao buscar as pessoas.
@@ -92,7 +144,7 @@ public class PessoaDAOImpl implements PessoaDAO {
     @Override
     public List<Pessoa> findAll() {
         List<Pessoa> lista = new ArrayList<>();
-        String sql = "SELECT * FROM TB_PESSOA";
+        String sql = "SELECT * FROM TB_PESSOA ORDER BY CODIGO_PESSOA DESC";
         try (PreparedStatement stmt = connection.prepareStatement(sql)) {
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -115,16 +167,20 @@ public class PessoaDAOImpl implements PessoaDAO {
     @Override
     public Pessoa insert(Pessoa pessoa) {
         String sql = "INSERT INTO TB_PESSOA (CODIGO_PESSOA, NOME, SOBRENOME, IDADE, LOGIN, SENHA, STATUS) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try {
             Long codigoPessoa = getNextCodigoPessoa();
-            stmt.setLong(1, codigoPessoa);
-            stmt.setString(2, pessoa.getNome());
-            stmt.setString(3, pessoa.getSobrenome());
-            stmt.setInt(4, pessoa.getIdade());
-            stmt.setString(5, pessoa.getLogin());
-            stmt.setString(6, pessoa.getSenha());
-            stmt.setInt(7, pessoa.getStatus());
-            stmt.executeUpdate();
+            Outbox.write(connection, Table.TB_PESSOA, codigoPessoa, Operation.INSERT, tx -> {
+                try (PreparedStatement stmt = tx.prepareStatement(sql)) {
+                    stmt.setLong(1, codigoPessoa);
+                    stmt.setString(2, pessoa.getNome());
+                    stmt.setString(3, pessoa.getSobrenome());
+                    stmt.setInt(4, pessoa.getIdade());
+                    stmt.setString(5, pessoa.getLogin());
+                    stmt.setString(6, pessoa.getSenha());
+                    stmt.setInt(7, pessoa.getStatus());
+                    stmt.executeUpdate();
+                }
+            });
             pessoa.setCodigoPessoa(codigoPessoa);
         } catch (SQLException e) {
             throw new DbException("Erro ao inserir Pessoa: " + e.getMessage(), e);
@@ -142,21 +198,52 @@ public class PessoaDAOImpl implements PessoaDAO {
     @Override
     public Pessoa update(Pessoa pessoa) {
         String sql = "UPDATE TB_PESSOA SET NOME = ?, SOBRENOME = ?, IDADE = ?, LOGIN = ?, SENHA = ?, STATUS = ? WHERE CODIGO_PESSOA = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, pessoa.getNome());
-            stmt.setString(2, pessoa.getSobrenome());
-            stmt.setInt(3, pessoa.getIdade());
-            stmt.setString(4, pessoa.getLogin());
-            stmt.setString(5, pessoa.getSenha());
-            stmt.setInt(6, pessoa.getStatus());
-            stmt.setLong(7, pessoa.getCodigoPessoa());
-            stmt.executeUpdate();
+        try {
+            Outbox.write(connection, Table.TB_PESSOA, pessoa.getCodigoPessoa(), Operation.UPDATE, tx -> {
+                try (PreparedStatement stmt = tx.prepareStatement(sql)) {
+                    stmt.setString(1, pessoa.getNome());
+                    stmt.setString(2, pessoa.getSobrenome());
+                    stmt.setInt(3, pessoa.getIdade());
+                    stmt.setString(4, pessoa.getLogin());
+                    stmt.setString(5, pessoa.getSenha());
+                    stmt.setInt(6, pessoa.getStatus());
+                    stmt.setLong(7, pessoa.getCodigoPessoa());
+                    stmt.executeUpdate();
+                }
+            });
         } catch (SQLException e) {
             throw new DbException("Erro ao atualizar Pessoa: " + e.getMessage(), e);
         }
         return pessoa;
     }
 
+    /**
+     * Atualiza apenas as colunas alteradas de uma pessoa. Sem colunas alteradas, nenhum comando é executado.
+     *
+     * @param codigoPessoa Código da pessoa.
+     * @param changes      Colunas alteradas e seus novos valores.
+     * @return {@code true} se o registro foi gravado.
+     * @throws DbException Se ocorrer um erro ao atualizar a pessoa.
+     */
+    @Override
+    public boolean updateColumns(Long codigoPessoa, ColumnChanges changes) {
+        if (changes.isEmpty()) {
+            return false;
+        }
+        String sql = "UPDATE TB_PESSOA SET " + changes.setClause() + " WHERE CODIGO_PESSOA = ?";
+        try {
+            Outbox.write(connection, Table.TB_PESSOA, codigoPessoa, Operation.UPDATE, tx -> {
+                try (PreparedStatement stmt = tx.prepareStatement(sql)) {
+                    stmt.setLong(changes.bind(stmt, 1), codigoPessoa);
+                    stmt.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            throw new DbException("Erro ao atualizar Pessoa: " + e.getMessage(), e);
+        }
+        return true;
+    }
+
     /**
      * Busca uma pessoa pelo login.
      *
@@ -190,8 +277,8 @@ public class PessoaDAOImpl implements PessoaDAO {
     private Pessoa instancePessoa(ResultSet rs, boolean includeEnderecos) throws SQLException {
         Pessoa pessoa = new Pessoa();
         pessoa.setCodigoPessoa(rs.getLong("CODIGO_PESSOA"));
-        pessoa.setNome(rs.getString("NOME"));
-        pessoa.setSobrenome(rs.getString("SOBRENOME"));
+        pessoa.setNome(Flyweights.nome(rs.getString("NOME")));
+        pessoa.setSobrenome(Flyweights.nome(rs.getString("SOBRENOME")));
         pessoa.setIdade(rs.getInt("IDADE"));
         pessoa.setLogin(rs.getString("LOGIN"));
         pessoa.setSenha(rs.getString("SENHA"));
@@ -205,7 +292,7 @@ public class PessoaDAOImpl implements PessoaDAO {
     }
 
     /**
-     * Obtém o próximo código disponível para uma pessoa usando uma sequência.
+     * Obtém o próximo código disponível para uma pessoa usando uma sequência, embutindo o shard.
      *
      * @return Próximo código de pessoa.
      * @throws DbException Se ocorrer um erro ao obter o valor da sequência.
@@ -215,7 +302,7 @@ public class PessoaDAOImpl implements PessoaDAO {
         try (PreparedStatement stmt = connection.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             if (rs.next()) {
-                return rs.getLong(1);
+                return rs.getLong(1) * shardCount + shard;
             }
             throw new DbException("Erro ao obter próximo código de Pessoa.");
         } catch (SQLException e) {
@@ -0,0 +1,125 @@
+package br.com.squadra.bootcamp.projeto.model.dao.impl;
+
+import br.com.squadra.bootcamp.projeto.jdbc.ColumnChanges;
+import br.com.squadra.bootcamp.projeto.model.dao.EnderecoDAO;
+import br.com.squadra.bootcamp.projeto.model.entities.Endereco;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Implementação da interface {@link EnderecoDAO} que mantém os endereços no mesmo shard da pessoa a que pertencem.
+ * <p>
+ * Operações por código de pessoa usam o shard embutido nesse código; operações por código de endereço usam o
+ * shard embutido no código do endereço, gerado no shard da pessoa (ver {@link EnderecoDAOImpl}). Apenas as
+ * consultas sem código ({@link #findAll()} e por CEP) consultam todos os shards.
+ * </p>
+ */
+public class ShardedEnderecoDAO implements EnderecoDAO {
+
+    private static final Comparator<Endereco> POR_CEP =
+            Comparator.comparing(Endereco::getCep).thenComparing(Endereco::getCodigoEndereco);
+
+    private final List<EnderecoDAO> shards;
+
+    /**
+     * Construtor que recebe os DAOs de cada shard, na mesma ordem dos shards de {@link ShardedPessoaDAO}.
+     *
+     * @param shards DAOs dos shards.
+     */
+    public ShardedEnderecoDAO(List<EnderecoDAO> shards) {
+        this.shards = List.copyOf(shards);
+    }
+
+    @Override
+    public List<Endereco> findByCodigoPessoa(Long codigoPessoa) {
+        return shard(codigoPessoa).findByCodigoPessoa(codigoPessoa);
+    }
+
+    /**
+     * Agrupa os códigos das pessoas pelo shard embutido neles e faz uma consulta por shard envolvido.
+     */
+    @Override
+    public List<Endereco> findByCodigosPessoa(Collection<Long> codigosPessoa) {
+        List<Endereco> lista = new ArrayList<>();
+        List<List<Long>> porShard = ShardedPessoaDAO.byShard(codigosPessoa, shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            if (!porShard.get(i).isEmpty()) {
+                lista.addAll(shards.get(i).findByCodigosPessoa(porShard.get(i)));
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Busca os endereços de todos os shards, um shard após o outro.
+     */
+    @Override
+    public List<Endereco> findAll() {
+        List<Endereco> lista = new ArrayList<>();
+        for (EnderecoDAO shard : shards) {
+            lista.addAll(shard.findAll());
+        }
+        return lista;
+    }
+
+    @Override
+    public Endereco findByCodigoEndereco(Long codigoEndereco) {
+        return shard(codigoEndereco).findByCodigoEndereco(codigoEndereco);
+    }
+
+    /**
+     * Busca a página em todos os shards: cada shard devolve os seus primeiros {@code offset + limite} endereços da
+     * faixa, que são intercalados na mesma ordem de CEP e código antes de recortar a página.
+     */
+    @Override
+    public List<Endereco> findByCep(String de, String ate, long offset, int limite) {
+        List<Endereco> lista = new ArrayList<>();
+        for (EnderecoDAO shard : shards) {
+            lista.addAll(shard.findByCep(de, ate, 0, (int) Math.min(Integer.MAX_VALUE, offset + limite)));
+        }
+        lista.sort(POR_CEP);
+        int inicio = (int) Math.min(offset, lista.size());
+        return new ArrayList<>(lista.subList(inicio, Math.min(lista.size(), inicio + limite)));
+    }
+
+    @Override
+    public long findCountByCep(String de, String ate) {
+        long total = 0;
+        for (EnderecoDAO shard : shards) {
+            total += shard.findCountByCep(de, ate);
+        }
+        return total;
+    }
+
+    @Override
+    public Endereco insert(Endereco endereco) {
+        return shard(endereco.getCodigoPessoa()).insert(endereco);
+    }
+
+    @Override
+    public Endereco update(Endereco endereco) {
+        return shard(endereco.getCodigoEndereco()).update(endereco);
+    }
+
+    @Override
+    public boolean updateColumns(Long codigoEndereco, ColumnChanges changes) {
+        return shard(codigoEndereco).updateColumns(codigoEndereco, changes);
+    }
+
+    @Override
+    public void deleteByCodigoPessoa(Long codigoPessoa) {
+        shard(codigoPessoa).deleteByCodigoPessoa(codigoPessoa);
+    }
+
+    @Override
+    public void deleteByCodigoEndereco(Long codigoEndereco) {
+        shard(codigoEndereco).deleteByCodigoEndereco(codigoEndereco);
+    }
+
+    private EnderecoDAO shard(long codigo) {
+        return shards.get(ShardedPessoaDAO.shardOf(codigo, shards.size()));
+    }
+}
@@ -0,0 +1,178 @@
+package br.com.squadra.bootcamp.projeto.model.dao.impl;
+
+import br.com.squadra.bootcamp.projeto.jdbc.ColumnChanges;
+import br.com.squadra.bootcamp.projeto.model.dao.PessoaDAO;
+import br.com.squadra.bootcamp.projeto.model.entities.Pessoa;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Implementação da interface {@link PessoaDAO} que distribui as pessoas entre N shards.
+ * <p>
+ * Cada shard é um {@link PessoaDAOImpl} com sua própria conexão. O código de uma pessoa embute o seu shard
+ * ({@code codigo % N}), então buscas e alterações por código acessam um único shard. Uma nova pessoa é gravada no
+ * shard escolhido pelo hash do login. Consultas sem código ({@link #findAll()}, {@link #findByFilters}) são
+ * enviadas a todos os shards e os resultados, já ordenados pelo código em cada shard, são intercalados mantendo a
+ * ordem decrescente.
+ * </p>
+ * Os endereços ficam no mesmo shard da pessoa (ver {@link ShardedEnderecoDAO}).
+ */
+public class ShardedPessoaDAO implements PessoaDAO {
+
+    private static final Comparator<Pessoa> CODIGO_DESC =
+            Comparator.comparing(Pessoa::getCodigoPessoa, Comparator.reverseOrder());
+
+    private final List<PessoaDAO> shards;
+
+    /**
+     * Construtor que recebe os DAOs de cada shard.
+     *
+     * @param shards DAOs dos shards; a posição na lista é o índice do shard embutido nos códigos.
+     */
+    public ShardedPessoaDAO(List<PessoaDAO> shards) {
+        this.shards = List.copyOf(shards);
+    }
+
+    /**
+     * Retorna o shard de um código de pessoa.
+     *
+     * @param codigoPessoa Código da pessoa.
+     * @param shardCount   Quantidade de shards.
+     * @return Índice do shard.
+     */
+    public static int shardOf(long codigoPessoa, int shardCount) {
+        return (int) Math.floorMod(codigoPessoa, (long) shardCount);
+    }
+
+    @Override
+    public Pessoa findByCodigoPessoa(Long codigoPessoa) {
+        return shard(codigoPessoa).findByCodigoPessoa(codigoPessoa);
+    }
+
+    /**
+     * Agrupa os códigos pelo shard embutido neles e faz uma consulta por shard envolvido.
+     */
+    @Override
+    public List<Pessoa> findByCodigosPessoa(Collection<Long> codigosPessoa) {
+        List<Pessoa> lista = new ArrayList<>();
+        List<List<Long>> porShard = byShard(codigosPessoa, shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            if (!porShard.get(i).isEmpty()) {
+                lista.addAll(shards.get(i).findByCodigosPessoa(porShard.get(i)));
+            }
+        }
+        return lista;
+    }
+
+    @Override
+    public List<Pessoa> findByFilters(Optional<Long> codigoPessoa, Optional<String> login, Optional<Integer> status) {
+        if (codigoPessoa.isPresent()) {
+            return shard(codigoPessoa.get()).findByFilters(codigoPessoa, login, status);
+        }
+        List<List<Pessoa>> partes = new ArrayList<>(shards.size());
+        for (PessoaDAO shard : shards) {
+            partes.add(shard.findByFilters(codigoPessoa, login, status));
+        }
+        return merge(partes);
+    }
+
+    @Override
+    public List<Pessoa> findAll() {
+        List<List<Pessoa>> partes = new ArrayList<>(shards.size());
+        for (PessoaDAO shard : shards) {
+            partes.add(shard.findAll());
+        }
+        return merge(partes);
+    }
+
+    @Override
+    public Pessoa insert(Pessoa pessoa) {
+        String login = pessoa.getLogin() != null ? pessoa.getLogin().toUpperCase(Locale.ROOT) : "";
+        return shards.get(Math.floorMod(login.hashCode(), shards.size())).insert(pessoa);
+    }
+
+    @Override
+    public Pessoa update(Pessoa pessoa) {
+        return shard(pessoa.getCodigoPessoa()).update(pessoa);
+    }
+
+    @Override
+    public boolean updateColumns(Long codigoPessoa, ColumnChanges changes) {
+        return shard(codigoPessoa).updateColumns(codigoPessoa, changes);
+    }
+
+    /**
+     * Busca uma pessoa pelo login em todos os shards, já que o login pode ter sido alterado depois da gravação.
+     */
+    @Override
+    public Pessoa findByLogin(String login) {
+        for (PessoaDAO shard : shards) {
+            Pessoa pessoa = shard.findByLogin(login);
+            if (pessoa != null) {
+                return pessoa;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Separa códigos pelo shard embutido neles, descartando nulos.
+     *
+     * @param codigos    Códigos de pessoas ou de endereços.
+     * @param shardCount Quantidade de shards.
+     * @return Uma lista de códigos por shard, na posição do shard.
+     */
+    static List<List<Long>> byShard(Collection<Long> codigos, int shardCount) {
+        List<List<Long>> porShard = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            porShard.add(new ArrayList<>());
+        }
+        for (Long codigo : codigos) {
+            if (codigo != null) {
+                porShard.get(shardOf(codigo, shardCount)).add(codigo);
+            }
+        }
+        return porShard;
+    }
+
+    private PessoaDAO shard(long codigoPessoa) {
+        return shards.get(shardOf(codigoPessoa, shards.size()));
+    }
+
+    /**
+     * Intercala listas já ordenadas pelo código em ordem decrescente, em O(n log k) para k shards.
+     *
+     * @param partes Resultado de cada shard.
+     * @return Lista única ordenada pelo código em ordem decrescente.
+     */
+    static List<Pessoa> merge(List<List<Pessoa>> partes) {
+        int total = 0;
+        for (List<Pessoa> parte : partes) {
+            total += parte.size();
+        }
+        List<Pessoa> resultado = new ArrayList<>(total);
+        // Cada entrada da fila é {índice da parte, posição atual na parte}
+        PriorityQueue<int[]> fila = new PriorityQueue<>(Math.max(1, partes.size()),
+                (a, b) -> CODIGO_DESC.compare(partes.get(a[0]).get(a[1]), partes.get(b[0]).get(b[1])));
+        for (int i = 0; i < partes.size(); i++) {
+            if (!partes.get(i).isEmpty()) {
+                fila.add(new int[]{i, 0});
+            }
+        }
+        while (!fila.isEmpty()) {
+            int[] cursor = fila.poll();
+            List<Pessoa> parte = partes.get(cursor[0]);
+            resultado.add(parte.get(cursor[1]));
+            if (++cursor[1] < parte.size()) {
+                fila.add(cursor);
+            }
+        }
+        return resultado;
+    }
+}
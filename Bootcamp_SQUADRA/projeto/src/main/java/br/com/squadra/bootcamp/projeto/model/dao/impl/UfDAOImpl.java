@@ -1,6 +1,12 @@
 package br.com.squadra.bootcamp.projeto.model.dao.impl;
 
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import br.com.squadra.bootcamp.projeto.events.ChangeEvent.Operation;
+import br.com.squadra.bootcamp.projeto.events.Outbox;
 import br.com.squadra.bootcamp.projeto.exception.DbException;
+import br.com.squadra.bootcamp.projeto.jdbc.InList;
+import br.com.squadra.bootcamp.projeto.model.dao.GeoDictionary;
+import br.com.squadra.bootcamp.projeto.model.dao.IdentityMap;
 import br.com.squadra.bootcamp.projeto.model.dao.UfDAO;
 import br.com.squadra.bootcamp.projeto.model.entities.Uf;
 
@@ -9,6 +15,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -134,6 +141,7 @@ public class UfDAOImpl implements UfDAO {
 
     /**
      * Busca uma UF pelo ID.
+     * Atendida pelo {@link GeoDictionary} enquanto ele estiver atualizado.
      *
      * @param id ID da UF.
      * @return Objeto {@link Uf} correspondente ou {@code null} se não encontrado.
@@ -141,6 +149,10 @@ public class UfDAOImpl implements UfDAO {
      */
     @Override
     public Uf findById(Long id) {
+        GeoDictionary geo = GeoDictionary.current();
+        if (geo != null) {
+            return geo.uf(id);
+        }
         Uf uf = null;
         String sql = "SELECT * FROM TB_UF WHERE CODIGO_UF = ? ORDER BY CODIGO_UF DESC";
 
@@ -157,6 +169,46 @@ public class UfDAOImpl implements UfDAO {
         return uf;
     }
 
+    /**
+     * Busca várias UFs pelos códigos, com uma consulta {@code IN} por bloco de códigos.
+     * Atendida pelo {@link GeoDictionary} enquanto ele estiver atualizado.
+     *
+     * @param ids Códigos das UFs.
+     * @return UFs encontradas, em qualquer ordem; códigos inexistentes são ignorados.
+     * @throws DbException Se ocorrer um erro na consulta ao banco de dados.
+     */
+    @Override
+    public List<Uf> findByIds(Collection<Long> ids) {
+        List<Uf> ufList = new ArrayList<>();
+        GeoDictionary geo = GeoDictionary.current();
+        if (geo != null) {
+            for (Long id : ids) {
+                Uf uf = geo.uf(id);
+                if (uf != null) {
+                    ufList.add(uf);
+                    IdentityMap.put(Uf.class, uf.getCodigoUF(), uf);
+                }
+            }
+            return ufList;
+        }
+        for (List<Long> bloco : InList.chunks(ids)) {
+            String sql = "SELECT * FROM TB_UF WHERE CODIGO_UF IN (" + InList.placeholders(bloco) + ")";
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                InList.bind(stmt, 1, bloco);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        Uf uf = instanceUf(rs);
+                        ufList.add(uf);
+                        IdentityMap.put(Uf.class, uf.getCodigoUF(), uf);
+                    }
+                }
+            } catch (SQLException e) {
+                throw new DbException("Erro ao buscar UFs pelos IDs: " + e.getMessage(), e);
+            }
+        }
+        return ufList;
+    }
+
     /**
      * Busca uma UF com base em filtros opcionais.
      *
@@ -219,13 +271,17 @@ public class UfDAOImpl implements UfDAO {
 
         String sql = "INSERT INTO TB_UF (CODIGO_UF, SIGLA, NOME, STATUS) VALUES (?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setLong(1, codigoUf);
-            stmt.setString(2, uf.getSigla().toUpperCase());
-            stmt.setString(3, uf.getNome().toUpperCase());
-            stmt.setInt(4, uf.getStatus());
+        try {
+            Outbox.write(connection, Table.TB_UF, codigoUf, Operation.INSERT, tx -> {
+                try (PreparedStatement stmt = tx.prepareStatement(sql)) {
+                    stmt.setLong(1, codigoUf);
+                    stmt.setString(2, uf.getSigla().toUpperCase());
+                    stmt.setString(3, uf.getNome().toUpperCase());
+                    stmt.setInt(4, uf.getStatus());
 
-            stmt.executeUpdate();
+                    stmt.executeUpdate();
+                }
+            });
 
             uf.setCodigoUF(codigoUf);
 
@@ -246,12 +302,16 @@ public class UfDAOImpl implements UfDAO {
     @Override
     public Uf update(Uf uf) {
         String sql = "UPDATE TB_UF SET SIGLA = ?, NOME = ?, STATUS = ? WHERE CODIGO_UF = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, uf.getSigla());
-            stmt.setString(2, uf.getNome());
-            stmt.setInt(3, uf.getStatus());
-            stmt.setLong(4, uf.getCodigoUF());
-            stmt.executeUpdate();
+        try {
+            Outbox.write(connection, Table.TB_UF, uf.getCodigoUF(), Operation.UPDATE, tx -> {
+                try (PreparedStatement stmt = tx.prepareStatement(sql)) {
+                    stmt.setString(1, uf.getSigla());
+                    stmt.setString(2, uf.getNome());
+                    stmt.setInt(3, uf.getStatus());
+                    stmt.setLong(4, uf.getCodigoUF());
+                    stmt.executeUpdate();
+                }
+            });
             return uf;
         } catch (SQLException e) {
             throw new DbException("Erro ao atualizar UF de código " + uf.getCodigoUF() + ". Causado por: " + e.getMessage(), e);
@@ -8,6 +8,7 @@ public class Municipio {
     private Uf uf;
     private String nome;
     private Integer status;
+    private boolean frozen;
 
     public Municipio() {}
 
@@ -23,6 +24,7 @@ public class Municipio {
     }
 
     public void setCodigoMunicipio(Long codigoMunicipio) {
+        checkMutable();
         this.codigoMunicipio = codigoMunicipio;
     }
 
@@ -31,6 +33,7 @@ public class Municipio {
     }
 
     public void setUf(Uf uf) {
+        checkMutable();
         this.uf = uf;
     }
 
@@ -39,6 +42,7 @@ public class Municipio {
     }
 
     public void setNome(String nome) {
+        checkMutable();
         this.nome = nome;
     }
 
@@ -47,9 +51,24 @@ public class Municipio {
     }
 
     public void setStatus(Integer status) {
+        checkMutable();
         this.status = status;
     }
 
+    /**
+     * Torna a instância imutável: a partir daqui qualquer setter lança {@link UnsupportedOperationException}.
+     * Usado nas instâncias compartilhadas entre requisições (ver {@code Flyweights}).
+     */
+    public void freeze() {
+        frozen = true;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Município compartilhado não pode ser alterado.");
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
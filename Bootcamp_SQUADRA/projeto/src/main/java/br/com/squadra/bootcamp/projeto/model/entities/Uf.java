@@ -8,6 +8,7 @@ public class Uf {
     private String sigla;
     private String nome;
     private Integer status;
+    private boolean frozen;
 
     public Uf() {}
 
@@ -23,6 +24,7 @@ public class Uf {
     }
 
     public void setCodigoUF(Long codigoUf) {
+        checkMutable();
         this.codigoUF = codigoUf;
     }
 
@@ -31,6 +33,7 @@ public class Uf {
     }
 
     public void setSigla(String sigla) {
+        checkMutable();
         this.sigla = sigla;
     }
 
@@ -39,6 +42,7 @@ public class Uf {
     }
 
     public void setNome(String nome) {
+        checkMutable();
         this.nome = nome;
     }
 
@@ -47,9 +51,24 @@ public class Uf {
     }
 
     public void setStatus(Integer status) {
+        checkMutable();
         this.status = status;
     }
 
+    /**
+     * Torna a instância imutável: a partir daqui qualquer setter lança {@link UnsupportedOperationException}.
+     * Usado nas instâncias compartilhadas entre requisições (ver {@code Flyweights}).
+     */
+    public void freeze() {
+        frozen = true;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("UF compartilhada não pode ser alterada.");
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,227 @@
+package br.com.squadra.bootcamp.projeto.readmodel;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Dicionário nacional de CEPs, usado para validar e completar os endereços recebidos na API.
+ * <p>
+ * A tabela de CEPs (cerca de um milhão de linhas) é compilada uma única vez, a partir de um CSV, para um arquivo
+ * binário ordenado por CEP com registros de tamanho fixo ({@link #compile(Path, Path)}). Em tempo de execução o
+ * arquivo é mapeado em memória ({@link MappedByteBuffer}) e cada consulta é uma busca binária direto sobre o
+ * arquivo: abrir o dicionário não lê o conteúdo, o heap ocupado é o de um único buffer e as páginas ficam no cache
+ * do sistema operacional, compartilhadas entre as instâncias da aplicação na mesma máquina.
+ * </p>
+ * Formato do arquivo: cabeçalho de 16 bytes ({@code "CEPD"}, versão, quantidade de registros e um campo reservado),
+ * seguido de um registro de 16 bytes por CEP: CEP normalizado, código do bairro, código do município e código da UF,
+ * todos inteiros de 32 bits. Métrica: {@code cep.dictionary}, com a tag {@code result} ({@code hit} ou {@code miss}).
+ */
+public class CepDictionary {
+
+    private static final int MAGIC = 0x43455044;  // "CEPD"
+    private static final int VERSION = 1;
+    private static final int HEADER = 16;
+    private static final int RECORD = 16;
+
+    private static final Counter hits = counter("hit");
+    private static final Counter misses = counter("miss");
+
+    private static volatile CepDictionary current;
+
+    /**
+     * Localização de um CEP.
+     *
+     * @param codigoBairro    Código do bairro.
+     * @param codigoMunicipio Código do município.
+     * @param codigoUF        Código da UF.
+     */
+    public record Localizacao(long codigoBairro, long codigoMunicipio, long codigoUF) {
+    }
+
+    private final MappedByteBuffer buffer;
+    private final int size;
+
+    private CepDictionary(MappedByteBuffer buffer, int size) {
+        this.buffer = buffer;
+        this.size = size;
+    }
+
+    /**
+     * Abre o dicionário configurado para a aplicação.
+     *
+     * @param caminho Caminho do arquivo compilado, ou vazio para desabilitar o dicionário.
+     * @throws UncheckedIOException Se o arquivo não puder ser aberto ou não for um dicionário válido.
+     */
+    public static void configure(String caminho) {
+        current = caminho == null || caminho.isBlank() ? null : open(Path.of(caminho));
+    }
+
+    /**
+     * @return Dicionário configurado, ou {@code null} se nenhum arquivo foi configurado.
+     */
+    public static CepDictionary get() {
+        return current;
+    }
+
+    /**
+     * Mapeia em memória um dicionário compilado.
+     *
+     * @param arquivo Arquivo gerado por {@link #compile(Path, Path)}.
+     * @return Dicionário pronto para consultas.
+     * @throws UncheckedIOException Se o arquivo não puder ser aberto ou não for um dicionário válido.
+     */
+    public static CepDictionary open(Path arquivo) {
+        try (FileChannel channel = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            // O mapeamento continua válido depois que o canal é fechado
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (channel.size() < HEADER || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Arquivo não é um dicionário de CEPs: " + arquivo);
+            }
+            int size = buffer.getInt(8);
+            if (channel.size() != HEADER + (long) size * RECORD) {
+                throw new IOException("Dicionário de CEPs incompleto: " + arquivo);
+            }
+            return new CepDictionary(buffer, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Compila um CSV de CEPs para o formato binário do dicionário.
+     * <p>
+     * Cada linha deve ter o CEP, o código do bairro, o código do município e o código da UF, separados por
+     * {@code ;} ou {@code ,}. O CEP pode estar formatado ({@code 01310-100}). Linhas em branco e linhas cujo primeiro
+     * campo não é um CEP, como o cabeçalho, são ignoradas. O arquivo é gravado em um temporário e renomeado ao final,
+     * para que uma instância em execução nunca mapeie um arquivo pela metade.
+     * </p>
+     *
+     * @param csv     Arquivo CSV de origem, em UTF-8.
+     * @param destino Arquivo binário a ser gerado.
+     * @return Quantidade de CEPs compilados.
+     * @throws IOException              Se ocorrer um erro de leitura ou gravação.
+     * @throws IllegalArgumentException Se uma linha estiver incompleta ou um CEP aparecer mais de uma vez.
+     */
+    public static int compile(Path csv, Path destino) throws IOException {
+        int[] ceps = new int[1 << 16];
+        int[] bairros = new int[ceps.length];
+        int[] municipios = new int[ceps.length];
+        int[] ufs = new int[ceps.length];
+        int size = 0;
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String linha;
+            int numero = 0;
+            while ((linha = reader.readLine()) != null) {
+                numero++;
+                String[] campos = linha.split("[;,]");
+                int cep = CepIndex.normalize(campos[0].trim());
+                if (cep < 0) {
+                    continue;
+                }
+                if (campos.length < 4) {
+                    throw new IllegalArgumentException("Linha " + numero + " incompleta: " + linha);
+                }
+                if (size == ceps.length) {
+                    ceps = Arrays.copyOf(ceps, size * 2);
+                    bairros = Arrays.copyOf(bairros, size * 2);
+                    municipios = Arrays.copyOf(municipios, size * 2);
+                    ufs = Arrays.copyOf(ufs, size * 2);
+                }
+                ceps[size] = cep;
+                bairros[size] = Integer.parseInt(campos[1].trim());
+                municipios[size] = Integer.parseInt(campos[2].trim());
+                ufs[size] = Integer.parseInt(campos[3].trim());
+                size++;
+            }
+        }
+
+        // Ordena chaves primitivas (CEP nos 32 bits altos, linha nos baixos) em vez de objetos por linha
+        long[] ordem = new long[size];
+        for (int i = 0; i < size; i++) {
+            ordem[i] = ((long) ceps[i] << 32) | i;
+        }
+        Arrays.sort(ordem);
+
+        Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporario), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(size);
+            out.writeInt(0);
+            int anterior = -1;
+            for (long chave : ordem) {
+                int i = (int) chave;
+                if (ceps[i] == anterior) {
+                    throw new IllegalArgumentException("CEP repetido: " + CepIndex.format(ceps[i]));
+                }
+                anterior = ceps[i];
+                out.writeInt(ceps[i]);
+                out.writeInt(bairros[i]);
+                out.writeInt(municipios[i]);
+                out.writeInt(ufs[i]);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporario);
+            throw e;
+        }
+        Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return size;
+    }
+
+    /**
+     * Busca a localização de um CEP.
+     *
+     * @param cep CEP, formatado ou não.
+     * @return Localização do CEP, ou {@code null} se o CEP for inválido ou não estiver no dicionário.
+     */
+    public Localizacao lookup(String cep) {
+        int chave = CepIndex.normalize(cep);
+        int baixo = 0;
+        int alto = size - 1;
+        while (chave >= 0 && baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            int posicao = HEADER + meio * RECORD;
+            int atual = buffer.getInt(posicao);
+            if (atual < chave) {
+                baixo = meio + 1;
+            } else if (atual > chave) {
+                alto = meio - 1;
+            } else {
+                hits.increment();
+                return new Localizacao(buffer.getInt(posicao + 4), buffer.getInt(posicao + 8), buffer.getInt(posicao + 12));
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * @return Quantidade de CEPs do dicionário.
+     */
+    public int size() {
+        return size;
+    }
+
+    private static Counter counter(String result) {
+        return Counter.builder("cep.dictionary")
+                .description("Consultas ao dicionário de CEPs")
+                .tag("result", result)
+                .register(Metrics.globalRegistry);
+    }
+}
@@ -0,0 +1,324 @@
+package br.com.squadra.bootcamp.projeto.readmodel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Índice ordenado de endereços por CEP, para consultas exatas e por prefixo.
+ * <p>
+ * O CEP é normalizado para um número de 8 dígitos, e um prefixo como {@code 01310*} vira a faixa
+ * {@code 01310000..01310999}. A base do índice são três arrays primitivos paralelos (CEP, endereço e pessoa)
+ * ordenados por CEP e código do endereço: cada consulta faz duas buscas binárias e a página é lida diretamente da
+ * faixa encontrada, sem criar objetos por endereço indexado.
+ * </p>
+ * <p>
+ * As alterações não reescrevem os arrays: inclusões vão para um conjunto ordenado e exclusões para um mapa de
+ * entradas removidas da base, combinados com a base em cada consulta. Quando essas diferenças passam de um
+ * dezesseis avos da base, o índice é compactado em novos arrays. Cada consulta lê um único estado publicado, sem
+ * trava; as alterações devem ser feitas por uma única thread por vez (a trava do {@link PessoaReadModel}).
+ * </p>
+ */
+public class CepIndex {
+
+    private static final int MIN_DIFERENCAS = 1024;
+
+    /**
+     * Faixa de CEPs normalizados, com os dois extremos incluídos.
+     *
+     * @param de  Menor CEP da faixa.
+     * @param ate Maior CEP da faixa.
+     */
+    public record Faixa(int de, int ate) {
+
+        /**
+         * Interpreta uma consulta de CEP: 8 dígitos para busca exata ou de 1 a 8 dígitos seguidos de {@code *} para
+         * busca por prefixo. Hífens, pontos e espaços são ignorados.
+         *
+         * @param consulta CEP ou prefixo informado.
+         * @return Faixa correspondente.
+         * @throws IllegalArgumentException Se a consulta não for um CEP ou prefixo válido.
+         */
+        public static Faixa parse(String consulta) {
+            if (consulta == null) {
+                throw new IllegalArgumentException("CEP não informado.");
+            }
+            String texto = consulta.trim();
+            boolean prefixo = texto.endsWith("*");
+            String digitos = (prefixo ? texto.substring(0, texto.length() - 1) : texto).replaceAll("[-. ]", "");
+            if (digitos.isEmpty() || digitos.length() > 8 || !digitos.chars().allMatch(c -> c >= '0' && c <= '9')
+                    || (!prefixo && digitos.length() != 8)) {
+                throw new IllegalArgumentException("CEP inválido: " + consulta);
+            }
+            int escala = (int) Math.pow(10, 8 - digitos.length());
+            int de = Integer.parseInt(digitos) * escala;
+            return new Faixa(de, de + escala - 1);
+        }
+    }
+
+    /**
+     * Endereço indexado.
+     *
+     * @param cep            CEP normalizado.
+     * @param codigoEndereco Código do endereço.
+     * @param codigoPessoa   Código da pessoa dona do endereço.
+     */
+    public record Entrada(int cep, long codigoEndereco, long codigoPessoa) implements Comparable<Entrada> {
+
+        @Override
+        public int compareTo(Entrada outra) {
+            int porCep = Integer.compare(cep, outra.cep);
+            return porCep != 0 ? porCep : Long.compare(codigoEndereco, outra.codigoEndereco);
+        }
+    }
+
+    /**
+     * Página de uma consulta.
+     *
+     * @param entradas Endereços da página, em ordem de CEP e código.
+     * @param total    Quantidade de endereços na faixa consultada.
+     */
+    public record Pagina(List<Entrada> entradas, long total) {
+    }
+
+    /**
+     * Estado publicado: a base ordenada e as diferenças acumuladas desde a última compactação.
+     */
+    private record Estado(int[] ceps, long[] enderecos, long[] pessoas,
+                          ConcurrentSkipListSet<Entrada> incluidas, Map<Long, Entrada> incluidasPorEndereco,
+                          Map<Long, Entrada> removidas) {
+
+        static Estado of(int[] ceps, long[] enderecos, long[] pessoas) {
+            return new Estado(ceps, enderecos, pessoas, new ConcurrentSkipListSet<>(), new ConcurrentHashMap<>(),
+                    new ConcurrentHashMap<>());
+        }
+
+        int diferencas() {
+            return incluidas.size() + removidas.size();
+        }
+
+        /**
+         * @return Posição da entrada na base, ou {@code -1} se ela não estiver na base.
+         */
+        int posicao(int cep, long codigoEndereco) {
+            int i = lowerBound(this, cep, codigoEndereco);
+            return i < ceps.length && ceps[i] == cep && enderecos[i] == codigoEndereco ? i : -1;
+        }
+    }
+
+    private volatile Estado estado = Estado.of(new int[0], new long[0], new long[0]);
+
+    /**
+     * Normaliza um CEP para 8 dígitos, ignorando hífens, pontos e espaços.
+     *
+     * @param cep CEP como gravado no endereço.
+     * @return CEP numérico, ou {@code -1} se o texto não tiver exatamente 8 dígitos.
+     */
+    public static int normalize(String cep) {
+        if (cep == null) {
+            return -1;
+        }
+        int valor = 0;
+        int digitos = 0;
+        for (int i = 0; i < cep.length(); i++) {
+            char c = cep.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digitos > 8) {
+                    return -1;
+                }
+                valor = valor * 10 + (c - '0');
+            } else if (c != '-' && c != '.' && c != ' ') {
+                return -1;
+            }
+        }
+        return digitos == 8 ? valor : -1;
+    }
+
+    /**
+     * Formata um CEP normalizado no padrão {@code 00000-000}.
+     *
+     * @param cep CEP numérico.
+     * @return CEP formatado.
+     */
+    public static String format(int cep) {
+        return String.format("%05d-%03d", cep / 1000, cep % 1000);
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice.
+     *
+     * @param entradas Endereços a indexar, em qualquer ordem.
+     */
+    public void rebuild(Collection<Entrada> entradas) {
+        Entrada[] ordenadas = entradas.toArray(new Entrada[0]);
+        Arrays.sort(ordenadas);
+        estado = pack(ordenadas);
+    }
+
+    /**
+     * Indexa um endereço. Se o endereço já tiver sido incluído com outro CEP desde a última compactação, a inclusão
+     * anterior é substituída; a entrada com o CEP antigo que estiver na base deve ser removida com
+     * {@link #remove(int, long)}.
+     *
+     * @param cep            CEP normalizado.
+     * @param codigoEndereco Código do endereço.
+     * @param codigoPessoa   Código da pessoa dona do endereço.
+     */
+    public void add(int cep, long codigoEndereco, long codigoPessoa) {
+        Estado atual = estado;
+        Entrada removida = atual.removidas().get(codigoEndereco);
+        if (removida != null && removida.cep() == cep && removida.codigoPessoa() == codigoPessoa) {
+            atual.removidas().remove(codigoEndereco);
+            return;
+        }
+        Entrada entrada = new Entrada(cep, codigoEndereco, codigoPessoa);
+        Entrada substituida = atual.incluidasPorEndereco().put(codigoEndereco, entrada);
+        atual.incluidas().add(entrada);
+        if (substituida != null && !substituida.equals(entrada)) {
+            atual.incluidas().remove(substituida);
+        }
+        compactIfNeeded(atual);
+    }
+
+    /**
+     * Remove um endereço do índice.
+     *
+     * @param cep            CEP normalizado com que o endereço foi indexado.
+     * @param codigoEndereco Código do endereço.
+     */
+    public void remove(int cep, long codigoEndereco) {
+        Estado atual = estado;
+        Entrada incluida = atual.incluidasPorEndereco().get(codigoEndereco);
+        if (incluida != null && incluida.cep() == cep) {
+            atual.incluidasPorEndereco().remove(codigoEndereco);
+            atual.incluidas().remove(incluida);
+            return;
+        }
+        int posicao = atual.posicao(cep, codigoEndereco);
+        if (posicao >= 0) {
+            atual.removidas().put(codigoEndereco, new Entrada(cep, codigoEndereco, atual.pessoas()[posicao]));
+            compactIfNeeded(atual);
+        }
+    }
+
+    /**
+     * @return Quantidade de endereços indexados.
+     */
+    public int size() {
+        Estado atual = estado;
+        return atual.ceps().length - atual.removidas().size() + atual.incluidas().size();
+    }
+
+    /**
+     * Consulta uma faixa de CEPs.
+     *
+     * @param faixa  Faixa consultada.
+     * @param offset Quantidade de endereços da faixa a pular.
+     * @param limite Quantidade máxima de endereços retornados.
+     * @return Página com os endereços e o total da faixa.
+     */
+    public Pagina find(Faixa faixa, long offset, int limite) {
+        Estado atual = estado;
+        int inicio = lowerBound(atual, faixa.de(), Long.MIN_VALUE);
+        int fim = lowerBound(atual, faixa.ate() + 1, Long.MIN_VALUE);
+        NavigableSet<Entrada> incluidas = atual.incluidas().subSet(
+                new Entrada(faixa.de(), Long.MIN_VALUE, 0), true, new Entrada(faixa.ate(), Long.MAX_VALUE, 0), true);
+        long removidasNaFaixa = atual.removidas().isEmpty() ? 0 : atual.removidas().values().stream()
+                .filter(e -> e.cep() >= faixa.de() && e.cep() <= faixa.ate())
+                .count();
+        long total = (fim - inicio) - removidasNaFaixa + incluidas.size();
+
+        List<Entrada> pagina = new ArrayList<>(Math.min(limite, (int) Math.max(0, Math.min(total - offset, limite))));
+        if (incluidas.isEmpty() && removidasNaFaixa == 0) {
+            // Caso comum: a faixa não foi alterada desde a compactação e a página é lida por posição
+            for (long i = inicio + offset; i < fim && pagina.size() < limite; i++) {
+                pagina.add(new Entrada(atual.ceps()[(int) i], atual.enderecos()[(int) i], atual.pessoas()[(int) i]));
+            }
+            return new Pagina(pagina, total);
+        }
+        Iterator<Entrada> delta = incluidas.iterator();
+        Entrada proximaIncluida = delta.hasNext() ? delta.next() : null;
+        int i = inicio;
+        long pular = offset;
+        while (pagina.size() < limite) {
+            boolean temBase = i < fim;
+            Entrada proxima;
+            if (temBase && atual.removidas().containsKey(atual.enderecos()[i])
+                    && atual.removidas().get(atual.enderecos()[i]).cep() == atual.ceps()[i]) {
+                i++;
+                continue;
+            }
+            if (temBase && (proximaIncluida == null || compare(atual, i, proximaIncluida) < 0)) {
+                proxima = new Entrada(atual.ceps()[i], atual.enderecos()[i], atual.pessoas()[i]);
+                i++;
+            } else if (proximaIncluida != null) {
+                proxima = proximaIncluida;
+                proximaIncluida = delta.hasNext() ? delta.next() : null;
+            } else {
+                break;
+            }
+            if (pular > 0) {
+                pular--;
+            } else {
+                pagina.add(proxima);
+            }
+        }
+        return new Pagina(pagina, total);
+    }
+
+    private void compactIfNeeded(Estado atual) {
+        if (atual.diferencas() <= Math.max(MIN_DIFERENCAS, atual.ceps().length / 16)) {
+            return;
+        }
+        List<Entrada> entradas = new ArrayList<>(atual.ceps().length + atual.incluidas().size());
+        for (int i = 0; i < atual.ceps().length; i++) {
+            Entrada removida = atual.removidas().get(atual.enderecos()[i]);
+            if (removida == null || removida.cep() != atual.ceps()[i]) {
+                entradas.add(new Entrada(atual.ceps()[i], atual.enderecos()[i], atual.pessoas()[i]));
+            }
+        }
+        entradas.addAll(atual.incluidas());
+        rebuild(entradas);
+    }
+
+    private static Estado pack(Entrada[] ordenadas) {
+        int[] ceps = new int[ordenadas.length];
+        long[] enderecos = new long[ordenadas.length];
+        long[] pessoas = new long[ordenadas.length];
+        for (int i = 0; i < ordenadas.length; i++) {
+            ceps[i] = ordenadas[i].cep();
+            enderecos[i] = ordenadas[i].codigoEndereco();
+            pessoas[i] = ordenadas[i].codigoPessoa();
+        }
+        return Estado.of(ceps, enderecos, pessoas);
+    }
+
+    private static int compare(Estado estado, int i, Entrada entrada) {
+        int porCep = Integer.compare(estado.ceps()[i], entrada.cep());
+        return porCep != 0 ? porCep : Long.compare(estado.enderecos()[i], entrada.codigoEndereco());
+    }
+
+    /**
+     * @return Primeira posição da base cuja chave (CEP, endereço) não é menor que a informada.
+     */
+    private static int lowerBound(Estado estado, int cep, long codigoEndereco) {
+        int baixo = 0;
+        int alto = estado.ceps().length;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            int porCep = Integer.compare(estado.ceps()[meio], cep);
+            if (porCep < 0 || (porCep == 0 && estado.enderecos()[meio] < codigoEndereco)) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+}
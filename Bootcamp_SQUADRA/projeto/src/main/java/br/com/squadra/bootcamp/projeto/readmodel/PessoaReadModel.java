@@ -0,0 +1,913 @@
+package br.com.squadra.bootcamp.projeto.readmodel;
+
+import br.com.squadra.bootcamp.projeto.cache.TableVersions;
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import br.com.squadra.bootcamp.projeto.dto.BairroDTOGet;
+import br.com.squadra.bootcamp.projeto.dto.EnderecoDTOGet;
+import br.com.squadra.bootcamp.projeto.dto.EnderecoPessoaDTO;
+import br.com.squadra.bootcamp.projeto.dto.MunicipioDTOGet;
+import br.com.squadra.bootcamp.projeto.dto.PaginaDTO;
+import br.com.squadra.bootcamp.projeto.dto.PessoaDTO;
+import br.com.squadra.bootcamp.projeto.dto.UfDTO;
+import br.com.squadra.bootcamp.projeto.health.WarmupHealthIndicator;
+import br.com.squadra.bootcamp.projeto.invalidation.ClusterInvalidation;
+import br.com.squadra.bootcamp.projeto.invalidation.Invalidation;
+import br.com.squadra.bootcamp.projeto.jfr.CacheEvent;
+import br.com.squadra.bootcamp.projeto.jdbc.RoutingContext;
+import br.com.squadra.bootcamp.projeto.model.dao.BairroDAO;
+import br.com.squadra.bootcamp.projeto.model.dao.DAOFactory;
+import br.com.squadra.bootcamp.projeto.model.dao.EnderecoDAO;
+import br.com.squadra.bootcamp.projeto.model.dao.MunicipioDAO;
+import br.com.squadra.bootcamp.projeto.model.dao.PessoaDAO;
+import br.com.squadra.bootcamp.projeto.model.dao.UfDAO;
+import br.com.squadra.bootcamp.projeto.model.entities.Bairro;
+import br.com.squadra.bootcamp.projeto.model.entities.Endereco;
+import br.com.squadra.bootcamp.projeto.model.entities.Municipio;
+import br.com.squadra.bootcamp.projeto.model.entities.Pessoa;
+import br.com.squadra.bootcamp.projeto.model.entities.Uf;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Modelo de leitura desnormalizado de pessoas (lado de consulta no estilo CQRS).
+ * <p>
+ * Cada pessoa é mantida em memória como um único documento ({@link PessoaDTO}) com seus endereços e, em cada
+ * endereço, o bairro, o município e a UF já embutidos. Consultas por código, login ou status são atendidas com
+ * uma busca em mapa, sem acesso ao banco. Consultas por CEP, exato ou por prefixo, usam o {@link CepIndex}, e a
+ * busca textual por nome, sobrenome e login usa o {@link PessoaSearchIndex}. A senha não é guardada nos documentos.
+ * </p>
+ * <p>
+ * O modelo é atualizado de forma incremental pelos serviços: {@link #refresh(Long)} após gravar uma pessoa e
+ * {@link #bairroChanged(Long)}, {@link #municipioChanged(Long)} e {@link #ufChanged(Long)} após alterar dados de
+ * referência, que são propagados às pessoas afetadas através de índices reversos. Os documentos nunca são
+ * alterados depois de publicados: cada atualização publica uma nova cópia, de modo que leituras concorrentes não
+ * precisam de trava. Escritas feitas por outras instâncias da aplicação chegam pelo {@link ClusterInvalidation} e
+ * são aplicadas da mesma forma; se avisos forem perdidos, o modelo é recarregado por inteiro.
+ * </p>
+ * <p>
+ * As leituras do banco de uma atualização são feitas fora da trava do modelo, que protege apenas a troca dos
+ * documentos e índices em memória. Cada leitura recebe um número de ordem, e um documento só é publicado se foi
+ * lido depois do que está publicado: duas gravações simultâneas da mesma pessoa não fazem o modelo voltar a um
+ * estado anterior. O mesmo vale entre uma pessoa e as localidades embutidas nela: um documento lido antes de uma
+ * alteração de bairro, município ou UF já propagada é lido de novo, em vez de publicar o nome antigo.
+ * </p>
+ * A carga completa monta um novo conjunto de documentos e índices sem a trava e o publica de uma vez. Ela é feita
+ * em segundo plano, em uma única thread, quando a aplicação termina de subir e após falhas ou perdas de avisos;
+ * enquanto isso o nó fica fora do grupo de prontidão (ver {@link WarmupHealthIndicator}), os serviços consultam o
+ * banco e as gravações feitas durante a carga são reaplicadas antes da publicação. Uma carga que falha é repetida
+ * depois de {@code readmodel.retry-initial-ms}, com a espera dobrada a cada nova falha até
+ * {@code readmodel.retry-max-ms}, para que o nó não fique fora da prontidão até o próximo aviso perdido.
+ */
+@Component
+public class PessoaReadModel {
+
+    public static final String CACHE = "pessoa-read-model";
+
+    private static final Logger log = LoggerFactory.getLogger(PessoaReadModel.class);
+
+    private final PessoaDAO pessoaDAO;
+    private final EnderecoDAO enderecoDAO;
+    private final BairroDAO bairroDAO;
+    private final MunicipioDAO municipioDAO;
+    private final UfDAO ufDAO;
+
+    @Value("${readmodel.retry-initial-ms:1000}")
+    private long retryInitialMillis;  // Espera antes de repetir uma carga completa que falhou
+
+    @Value("${readmodel.retry-max-ms:60000}")
+    private long retryMaxMillis;  // Espera máxima entre tentativas, alcançada dobrando a espera a cada falha
+
+    @Autowired
+    private WarmupHealthIndicator warmup;
+
+    @Autowired
+    private ClusterInvalidation invalidation;
+
+    /**
+     * Documento de uma pessoa: a versão completa, com endereços, e o resumo sem endereços usado nas listagens.
+     */
+    private record Documento(PessoaDTO completo, PessoaDTO resumo) {
+    }
+
+    /**
+     * Registro cuja alteração deve ser aplicada ao modelo.
+     */
+    private record Chave(Table tabela, long codigo) {
+    }
+
+    // Modelo publicado, ou null enquanto a carga completa não termina
+    private volatile Modelo modelo;
+
+    // Alterações recebidas durante a carga completa, reaplicadas antes da publicação; usadas sob a trava do modelo
+    private boolean carregando;
+    private final Set<Chave> pendentes = new LinkedHashSet<>();
+
+    private final AtomicLong leituras = new AtomicLong();
+    private final AtomicBoolean cargaAgendada = new AtomicBoolean();
+    private final AtomicInteger falhas = new AtomicInteger();  // Cargas completas seguidas que falharam
+    private final ScheduledExecutorService cargas = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, CACHE + "-warmup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PessoaReadModel() {
+        this(DAOFactory.createPessoaDAO(), DAOFactory.createEnderecoDAO(), DAOFactory.createBairroDAO(),
+                DAOFactory.createMunicipioDAO(), DAOFactory.createUfDAO(), 1000, 60000);
+    }
+
+    /**
+     * Cria o modelo sobre os DAOs informados, sem os decoradores do {@link DAOFactory}. O indicador de prontidão é
+     * injetado pelo Spring e deve ser informado com {@link #setWarmup} por quem usa este construtor.
+     */
+    PessoaReadModel(PessoaDAO pessoaDAO, EnderecoDAO enderecoDAO, BairroDAO bairroDAO, MunicipioDAO municipioDAO,
+                    UfDAO ufDAO, long retryInitialMillis, long retryMaxMillis) {
+        this.pessoaDAO = pessoaDAO;
+        this.enderecoDAO = enderecoDAO;
+        this.bairroDAO = bairroDAO;
+        this.municipioDAO = municipioDAO;
+        this.ufDAO = ufDAO;
+        this.retryInitialMillis = retryInitialMillis;
+        this.retryMaxMillis = retryMaxMillis;
+    }
+
+    void setWarmup(WarmupHealthIndicator warmup) {
+        this.warmup = warmup;
+    }
+
+    @PostConstruct
+    public void register() {
+        warmup.register(CACHE);
+        warmup.register(PessoaSearchIndex.CACHE);
+        invalidation.subscribe(CACHE, this::onInvalidations, this::warmUpAsync);
+    }
+
+    /**
+     * Aplica um lote de alterações feitas por outras instâncias. As escritas desta instância já foram aplicadas
+     * pelos serviços e não são recebidas aqui.
+     *
+     * @param invalidations Avisos das alterações.
+     */
+    public void onInvalidations(List<Invalidation> invalidations) {
+        if (modelo == null && !isLoading()) {
+            return;
+        }
+        // Cada pessoa, bairro, município ou UF é recarregado uma única vez por lote
+        Set<Chave> alterados = new LinkedHashSet<>();
+        for (Invalidation event : invalidations) {
+            if (event.table() == Table.TB_ENDERECO) {
+                Long codigoPessoa = pessoaDoEndereco(event.id());
+                if (codigoPessoa != null) {
+                    alterados.add(new Chave(Table.TB_PESSOA, codigoPessoa));
+                }
+            } else {
+                alterados.add(new Chave(event.table(), event.id()));
+            }
+        }
+        alterados.forEach(this::apply);
+    }
+
+    private synchronized boolean isLoading() {
+        return carregando;
+    }
+
+    /**
+     * Descobre a pessoa de um endereço alterado: pelo índice de endereços do modelo, ou pelo banco se o endereço é
+     * novo ou o modelo ainda não foi carregado.
+     */
+    private Long pessoaDoEndereco(long codigoEndereco) {
+        Modelo publicado = modelo;
+        Long codigoPessoa = publicado != null ? publicado.porEndereco.get(codigoEndereco) : null;
+        if (codigoPessoa != null) {
+            return codigoPessoa;
+        }
+        Endereco endereco = enderecoDAO.findByCodigoEndereco(codigoEndereco);
+        return endereco != null ? endereco.getCodigoPessoa() : null;
+    }
+
+    /**
+     * Agenda a carga completa do modelo em segundo plano. Pedidos feitos enquanto outra carga aguarda a vez são
+     * atendidos por ela.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpAsync() {
+        if (cargaAgendada.compareAndSet(false, true)) {
+            cargas.execute(() -> {
+                cargaAgendada.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    /**
+     * Indica se uma consulta pode ser atendida pelo modelo, gravando um {@link CacheEvent} do cache {@value #CACHE}:
+     * acerto quando o modelo atende a consulta, falha quando ela vai ao banco.
+     *
+     * @param operation Nome da consulta, gravado como chave do evento.
+     * @return {@code true} se o modelo foi carregado e pode atender consultas.
+     */
+    public boolean isWarm(String operation) {
+        boolean warm = modelo != null;
+        CacheEvent.emit(CACHE, operation, warm);
+        return warm;
+    }
+
+    /**
+     * Recarrega todo o modelo a partir do banco de dados. O modelo anterior deixa de atender consultas no início
+     * da carga, e o novo é publicado de uma vez ao final. A carga lê do primário: ela também atende os pedidos de
+     * recarga de {@link ClusterInvalidation}, feitos quando avisos de outras instâncias foram perdidos.
+     */
+    public void rebuild() {
+        synchronized (this) {
+            modelo = null;
+            carregando = true;
+            pendentes.clear();
+        }
+        long inicio = System.nanoTime();
+        Modelo novo = new Modelo();
+        int bairrosCarregados;
+        RoutingContext.Scope primario = RoutingContext.primary();
+        try {
+            bairrosCarregados = load(novo);
+            // Gravações feitas durante a carga podem não ter sido lidas; o modelo só é publicado sem pendências
+            while (true) {
+                List<Chave> alterados;
+                synchronized (this) {
+                    if (pendentes.isEmpty()) {
+                        modelo = novo;
+                        carregando = false;
+                        break;
+                    }
+                    alterados = List.copyOf(pendentes);
+                    pendentes.clear();
+                }
+                alterados.forEach(chave -> apply(novo, chave, leituras.incrementAndGet()));
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                carregando = false;
+                pendentes.clear();
+            }
+            long espera = retryDelay(falhas.incrementAndGet());
+            log.error("Falha ao carregar o modelo de leitura de pessoas; os serviços continuam consultando o banco "
+                    + "e a carga será repetida em {} ms.", espera, e);
+            cargas.schedule(this::retry, espera, TimeUnit.MILLISECONDS);
+            return;
+        } finally {
+            primario.close();
+        }
+        falhas.set(0);
+        TableVersions.bump(Table.TB_PESSOA);
+        warmup.markWarm(CACHE);
+        warmup.markWarm(PessoaSearchIndex.CACHE);
+        log.info("Modelo de leitura de pessoas carregado: {} pessoas, {} bairros e {} termos de busca em {} ms.",
+                novo.documentos.size(), bairrosCarregados, novo.porTexto.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Espera antes da próxima tentativa: {@code readmodel.retry-initial-ms} dobrado a cada falha seguida, limitado a
+     * {@code readmodel.retry-max-ms}.
+     *
+     * @param falhasSeguidas Quantidade de cargas seguidas que falharam, a partir de 1.
+     * @return Espera em milissegundos.
+     */
+    long retryDelay(int falhasSeguidas) {
+        int dobras = Math.min(falhasSeguidas - 1, 30);
+        return Math.min(retryMaxMillis, retryInitialMillis << dobras);
+    }
+
+    /**
+     * Repete a carga completa que falhou, a menos que outra carga já tenha publicado o modelo ou esteja em andamento.
+     */
+    private void retry() {
+        if (modelo == null && !isLoading()) {
+            warmUpAsync();
+        }
+    }
+
+    /**
+     * Lê todas as pessoas e endereços para um modelo ainda não publicado.
+     *
+     * @return Quantidade de bairros distintos carregados.
+     */
+    private int load(Modelo novo) {
+        Map<Long, List<Endereco>> enderecosPorPessoa = new HashMap<>();
+        for (Endereco endereco : enderecoDAO.findAll()) {
+            enderecosPorPessoa.computeIfAbsent(endereco.getCodigoPessoa(), k -> new ArrayList<>()).add(endereco);
+        }
+        // Bairros compartilhados entre documentos: cada bairro distinto é carregado uma única vez
+        Map<Long, BairroDTOGet> bairros = new HashMap<>();
+        for (Pessoa pessoa : pessoaDAO.findAll()) {
+            List<Endereco> enderecos = enderecosPorPessoa.getOrDefault(pessoa.getCodigoPessoa(), List.of());
+            novo.publish(build(pessoa, enderecos, bairros));
+        }
+        // O índice de CEP é montado de uma vez ao final, em vez de endereço por endereço
+        List<CepIndex.Entrada> ceps = new ArrayList<>();
+        for (Documento documento : novo.documentos.values()) {
+            ceps(documento.completo()).forEach((codigoEndereco, cep) ->
+                    ceps.add(new CepIndex.Entrada(cep, codigoEndereco, documento.completo().getCodigoPessoa())));
+        }
+        novo.porCep.rebuild(ceps);
+        novo.cepsIndexados = true;
+        return bairros.size();
+    }
+
+    /**
+     * Retorna o documento completo de uma pessoa.
+     *
+     * @param codigoPessoa Código da pessoa.
+     * @return Pessoa com endereços e hierarquia de localidades, ou {@code null} se não existir.
+     */
+    public PessoaDTO findByCodigoPessoa(Long codigoPessoa) {
+        Modelo atual = modelo;
+        Documento documento = atual != null ? atual.documentos.get(codigoPessoa) : null;
+        return documento != null ? documento.completo() : null;
+    }
+
+    /**
+     * Busca pessoas pelos filtros opcionais, com as mesmas regras de
+     * {@link PessoaDAO#findByFilters(Optional, Optional, Optional)}.
+     *
+     * @param codigoPessoa Código da pessoa (opcional).
+     * @param login        Login da pessoa, sem diferenciar maiúsculas e minúsculas (opcional).
+     * @param status       Status da pessoa (opcional).
+     * @return Resumos das pessoas encontradas, sem endereços, em ordem decrescente de código.
+     */
+    public List<PessoaDTO> findByFilters(Optional<Long> codigoPessoa, Optional<String> login, Optional<Integer> status) {
+        Modelo atual = modelo;
+        if (atual == null) {
+            return List.of();
+        }
+        Collection<Long> codigos;
+        if (codigoPessoa.isPresent()) {
+            codigos = List.of(codigoPessoa.get());
+        } else if (login.isPresent()) {
+            Long codigo = atual.porLogin.get(login.get().toUpperCase(Locale.ROOT));
+            codigos = codigo != null ? List.of(codigo) : List.of();
+        } else if (status.isPresent()) {
+            codigos = atual.porStatus.getOrDefault(status.get(), Set.of());
+        } else {
+            codigos = atual.documentos.keySet();
+        }
+        List<PessoaDTO> resultado = new ArrayList<>();
+        for (Long codigo : codigos) {
+            Documento documento = atual.documentos.get(codigo);
+            if (documento == null) {
+                continue;
+            }
+            PessoaDTO resumo = documento.resumo();
+            if (login.isPresent() && !resumo.getLogin().equalsIgnoreCase(login.get())) {
+                continue;
+            }
+            if (status.isPresent() && !status.get().equals(resumo.getStatus())) {
+                continue;
+            }
+            resultado.add(resumo);
+        }
+        return resultado;
+    }
+
+    /**
+     * Busca os endereços com CEP dentro de uma faixa, com os dados da pessoa a que pertencem.
+     *
+     * @param faixa   Faixa de CEPs (ver {@link CepIndex.Faixa#parse(String)}).
+     * @param pagina  Número da página, a partir de zero.
+     * @param tamanho Quantidade de endereços por página.
+     * @return Página de endereços em ordem de CEP e código do endereço.
+     */
+    public PaginaDTO<EnderecoPessoaDTO> findByCep(CepIndex.Faixa faixa, int pagina, int tamanho) {
+        Modelo atual = modelo;
+        if (atual == null) {
+            return new PaginaDTO<>(List.of(), pagina, tamanho, 0);
+        }
+        CepIndex.Pagina encontrados = atual.porCep.find(faixa, (long) pagina * tamanho, tamanho);
+        List<EnderecoPessoaDTO> conteudo = new ArrayList<>(encontrados.entradas().size());
+        for (CepIndex.Entrada entrada : encontrados.entradas()) {
+            Documento documento = atual.documentos.get(entrada.codigoPessoa());
+            if (documento == null) {
+                continue;  // Pessoa excluída entre a leitura do índice e a dos documentos
+            }
+            for (EnderecoDTOGet endereco : documento.completo().getEnderecos()) {
+                if (endereco.getCodigoEndereco() == entrada.codigoEndereco()) {
+                    conteudo.add(new EnderecoPessoaDTO(documento.resumo(), endereco));
+                    break;
+                }
+            }
+        }
+        return new PaginaDTO<>(conteudo, pagina, tamanho, encontrados.total());
+    }
+
+    /**
+     * Busca pessoas por nome, sobrenome e login (ver {@link PessoaSearchIndex}), com filtros opcionais de idade e
+     * status.
+     *
+     * @param consulta     Texto da busca.
+     * @param idadeMinima  Idade mínima, inclusive (opcional).
+     * @param idadeMaxima  Idade máxima, inclusive (opcional).
+     * @param status       Status da pessoa (opcional).
+     * @param pagina       Número da página, a partir de zero.
+     * @param tamanho      Quantidade de pessoas por página.
+     * @return Página de resumos das pessoas, sem endereços, em ordem de relevância.
+     */
+    public PaginaDTO<PessoaDTO> search(String consulta, Optional<Integer> idadeMinima, Optional<Integer> idadeMaxima,
+                                       Optional<Integer> status, int pagina, int tamanho) {
+        Modelo atual = modelo;
+        if (atual == null) {
+            return new PaginaDTO<>(List.of(), pagina, tamanho, 0);
+        }
+        PessoaSearchIndex.Pagina encontrados = atual.porTexto.search(consulta, codigo -> {
+            Documento documento = atual.documentos.get(codigo);
+            return documento != null && matches(documento.resumo(), idadeMinima, idadeMaxima, status);
+        }, (long) pagina * tamanho, tamanho);
+        List<PessoaDTO> conteudo = new ArrayList<>(encontrados.resultados().size());
+        for (PessoaSearchIndex.Resultado resultado : encontrados.resultados()) {
+            Documento documento = atual.documentos.get(resultado.codigoPessoa());
+            if (documento != null) {
+                conteudo.add(documento.resumo());
+            }
+        }
+        return new PaginaDTO<>(conteudo, pagina, tamanho, encontrados.total());
+    }
+
+    /**
+     * Verifica os filtros de idade e status da busca textual.
+     *
+     * @param pessoa      Pessoa encontrada pelo texto.
+     * @param idadeMinima Idade mínima, inclusive (opcional).
+     * @param idadeMaxima Idade máxima, inclusive (opcional).
+     * @param status      Status da pessoa (opcional).
+     * @return {@code true} se a pessoa atende a todos os filtros informados.
+     */
+    public static boolean matches(PessoaDTO pessoa, Optional<Integer> idadeMinima, Optional<Integer> idadeMaxima,
+                                  Optional<Integer> status) {
+        Integer idade = pessoa.getIdade();
+        if (idadeMinima.isPresent() && (idade == null || idade < idadeMinima.get())) {
+            return false;
+        }
+        if (idadeMaxima.isPresent() && (idade == null || idade > idadeMaxima.get())) {
+            return false;
+        }
+        return status.isEmpty() || status.get().equals(pessoa.getStatus());
+    }
+
+    /**
+     * Recarrega o documento de uma pessoa após sua inclusão ou alteração. Durante uma carga completa a alteração é
+     * apenas registrada, para ser reaplicada pela carga, e o método retorna sem esperar por ela.
+     *
+     * @param codigoPessoa Código da pessoa gravada.
+     */
+    public void refresh(Long codigoPessoa) {
+        apply(new Chave(Table.TB_PESSOA, codigoPessoa));
+    }
+
+    /**
+     * Propaga a alteração de um bairro para as pessoas com endereço nele.
+     *
+     * @param codigoBairro Código do bairro alterado.
+     */
+    public void bairroChanged(Long codigoBairro) {
+        apply(new Chave(Table.TB_BAIRRO, codigoBairro));
+    }
+
+    /**
+     * Propaga a alteração de um município para as pessoas com endereço em algum de seus bairros.
+     *
+     * @param codigoMunicipio Código do município alterado.
+     */
+    public void municipioChanged(Long codigoMunicipio) {
+        apply(new Chave(Table.TB_MUNICIPIO, codigoMunicipio));
+    }
+
+    /**
+     * Propaga a alteração de uma UF para as pessoas com endereço em algum de seus municípios.
+     *
+     * @param codigoUF Código da UF alterada.
+     */
+    public void ufChanged(Long codigoUF) {
+        apply(new Chave(Table.TB_UF, codigoUF));
+    }
+
+    /**
+     * Aplica uma alteração ao modelo publicado, ou a registra se uma carga completa está em andamento.
+     */
+    private void apply(Chave chave) {
+        Modelo atual;
+        synchronized (this) {
+            atual = modelo;
+            if (atual == null) {
+                if (carregando) {
+                    pendentes.add(chave);
+                }
+                return;  // Sem carga em andamento, a próxima vai ler o estado atual do banco
+            }
+        }
+        try {
+            if (apply(atual, chave, leituras.incrementAndGet())) {
+                TableVersions.bump(Table.TB_PESSOA);
+            }
+        } catch (RuntimeException e) {
+            invalidate(e);
+        }
+    }
+
+    /**
+     * Lê do banco o estado atual de um registro e o aplica aos documentos de um modelo. A leitura é feita sem
+     * trava; a trava é tomada apenas para publicar, e só se nenhuma leitura posterior do mesmo registro já foi
+     * publicada.
+     *
+     * @param alvo   Modelo a alterar.
+     * @param chave  Registro alterado.
+     * @param ordem  Número de ordem da leitura.
+     * @return {@code true} se algum documento foi publicado ou removido.
+     */
+    private boolean apply(Modelo alvo, Chave chave, long ordem) {
+        Long codigo = chave.codigo();
+        switch (chave.tabela()) {
+            case TB_PESSOA -> {
+                long leitura = ordem;
+                while (true) {
+                    // A busca por código já traz os endereços da pessoa
+                    Pessoa pessoa = pessoaDAO.findByCodigoPessoa(codigo);
+                    PessoaDTO completo = pessoa != null ? build(pessoa, pessoa.getEnderecos(), new HashMap<>()) : null;
+                    synchronized (this) {
+                        if (completo == null || !alvo.hasNewerLocalidades(completo, leitura)) {
+                            if (!alvo.claim(chave, leitura)) {
+                                return false;
+                            }
+                            return completo != null ? alvo.publish(completo) : alvo.unpublish(codigo);
+                        }
+                    }
+                    // Uma localidade do documento mudou depois desta leitura e a mudança já foi propagada
+                    leitura = leituras.incrementAndGet();
+                }
+            }
+            case TB_BAIRRO -> {
+                if (!claimIfUnused(alvo, alvo.porBairro, chave, ordem)) {
+                    return false;
+                }
+                BairroDTOGet novo = toDTO(bairroDAO.findByCodigoBairro(codigo));
+                synchronized (this) {
+                    return alvo.claim(chave, ordem) && alvo.replaceBairros(alvo.porBairro.get(codigo),
+                            bairro -> codigo.equals(bairro.getCodigoBairro()) ? novo : bairro);
+                }
+            }
+            case TB_MUNICIPIO -> {
+                if (!claimIfUnused(alvo, alvo.porMunicipio, chave, ordem)) {
+                    return false;
+                }
+                MunicipioDTOGet novo = toDTO(municipioDAO.findByCodigoMunicipio(codigo));
+                Map<Long, BairroDTOGet> substitutos = new HashMap<>();
+                synchronized (this) {
+                    return alvo.claim(chave, ordem) && alvo.replaceBairros(alvo.porMunicipio.get(codigo), bairro -> {
+                        if (bairro.getMunicipio() == null || !codigo.equals(bairro.getMunicipio().getCodigoMunicipio())) {
+                            return bairro;
+                        }
+                        return substitutos.computeIfAbsent(bairro.getCodigoBairro(), k -> new BairroDTOGet(
+                                bairro.getCodigoBairro(), bairro.getCodigoMunicipio(), bairro.getNome(), bairro.getStatus(), novo));
+                    });
+                }
+            }
+            case TB_UF -> {
+                if (!claimIfUnused(alvo, alvo.porUf, chave, ordem)) {
+                    return false;
+                }
+                UfDTO novo = toDTO(ufDAO.findById(codigo));
+                Map<Long, BairroDTOGet> substitutos = new HashMap<>();
+                synchronized (this) {
+                    return alvo.claim(chave, ordem) && alvo.replaceBairros(alvo.porUf.get(codigo), bairro -> {
+                        MunicipioDTOGet municipio = bairro.getMunicipio();
+                        if (municipio == null || !codigo.equals(municipio.getCodigoUF())) {
+                            return bairro;
+                        }
+                        return substitutos.computeIfAbsent(bairro.getCodigoBairro(), k -> new BairroDTOGet(
+                                bairro.getCodigoBairro(), bairro.getCodigoMunicipio(), bairro.getNome(), bairro.getStatus(),
+                                new MunicipioDTOGet(municipio.getCodigoMunicipio(), municipio.getCodigoUF(),
+                                        municipio.getNome(), municipio.getStatus(), novo)));
+                    });
+                }
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Registra a leitura de uma localidade que nenhum documento usa, sem precisar lê-la: um documento lido antes dela
+     * que passe a usar a localidade será lido de novo.
+     *
+     * @param indice Índice reverso do nível da localidade.
+     * @return {@code true} se algum documento usa a localidade e a alteração deve ser lida e propagada.
+     */
+    private synchronized boolean claimIfUnused(Modelo alvo, Map<Long, Set<Long>> indice, Chave chave, long ordem) {
+        if (indice.containsKey(chave.codigo())) {
+            return true;
+        }
+        alvo.claim(chave, ordem);
+        return false;
+    }
+
+    /**
+     * Descarta o modelo após uma falha de atualização e agenda uma recarga completa; enquanto isso os serviços
+     * voltam a consultar o banco.
+     */
+    private void invalidate(RuntimeException e) {
+        log.error("Falha ao atualizar o modelo de leitura de pessoas; recarregando.", e);
+        synchronized (this) {
+            modelo = null;
+        }
+        warmUpAsync();
+    }
+
+    private PessoaDTO build(Pessoa pessoa, List<Endereco> enderecos, Map<Long, BairroDTOGet> bairros) {
+        PessoaDTO dto = new PessoaDTO(pessoa.getCodigoPessoa(), pessoa.getNome(), pessoa.getSobrenome(),
+                pessoa.getIdade(), pessoa.getLogin(), null, pessoa.getStatus());
+        for (Endereco endereco : enderecos) {
+            BairroDTOGet bairro = bairros.computeIfAbsent(endereco.getCodigoBairro(),
+                    codigo -> toDTO(bairroDAO.findByCodigoBairro(codigo)));
+            dto.getEnderecos().add(new EnderecoDTOGet(endereco.getCodigoEndereco(), endereco.getCodigoPessoa(),
+                    endereco.getCodigoBairro(), endereco.getNomeRua(), endereco.getNumero(), endereco.getComplemento(),
+                    endereco.getCep(), bairro));
+        }
+        return dto;
+    }
+
+    /**
+     * Documentos e índices de uma carga do modelo. Depois de publicado, é alterado apenas sob a trava do
+     * {@link PessoaReadModel}; antes disso, apenas pela thread da carga.
+     */
+    private static final class Modelo {
+
+        // Documentos em ordem decrescente de código e índices de consulta (leitura sem trava)
+        final ConcurrentSkipListMap<Long, Documento> documentos = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+        final Map<String, Long> porLogin = new ConcurrentHashMap<>();
+        final Map<Integer, Set<Long>> porStatus = new ConcurrentHashMap<>();
+        final Map<Long, Long> porEndereco = new ConcurrentHashMap<>();  // Código do endereço -> código da pessoa
+        final CepIndex porCep = new CepIndex();
+        final PessoaSearchIndex porTexto = new PessoaSearchIndex();
+
+        // Índices reversos para propagar alterações de referência
+        final Map<Long, Set<Long>> porBairro = new ConcurrentHashMap<>();
+        final Map<Long, Set<Long>> porMunicipio = new ConcurrentHashMap<>();
+        final Map<Long, Set<Long>> porUf = new ConcurrentHashMap<>();
+
+        // Número de ordem da última leitura publicada de cada registro alterado depois da carga
+        final Map<Chave, Long> ordens = new HashMap<>();
+
+        boolean cepsIndexados;
+
+        /**
+         * Reserva a publicação de uma leitura, recusando-a se uma leitura posterior do mesmo registro já foi
+         * publicada.
+         */
+        boolean claim(Chave chave, long ordem) {
+            return ordens.merge(chave, ordem, Math::max) == ordem;
+        }
+
+        /**
+         * Indica se algum bairro, município ou UF embutido no documento teve uma leitura posterior à do documento
+         * já publicada: o documento pode trazer o nome ou o status anterior a essa alteração.
+         */
+        boolean hasNewerLocalidades(PessoaDTO completo, long ordem) {
+            Localidades localidades = Localidades.of(completo);
+            return hasNewer(Table.TB_BAIRRO, localidades.bairros(), ordem)
+                    || hasNewer(Table.TB_MUNICIPIO, localidades.municipios(), ordem)
+                    || hasNewer(Table.TB_UF, localidades.ufs(), ordem);
+        }
+
+        private boolean hasNewer(Table tabela, Set<Long> codigos, long ordem) {
+            for (Long codigo : codigos) {
+                if (ordens.getOrDefault(new Chave(tabela, codigo), 0L) > ordem) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Publica o documento de uma pessoa e atualiza todos os índices. As entradas novas são indexadas antes de
+         * remover as antigas, para que consultas concorrentes nunca deixem de encontrar uma pessoa que continua
+         * existindo.
+         */
+        boolean publish(PessoaDTO completo) {
+            Long codigo = completo.getCodigoPessoa();
+            Documento anterior = documentos.put(codigo, new Documento(completo, copy(completo)));
+            porLogin.put(completo.getLogin().toUpperCase(Locale.ROOT), codigo);
+            porStatus.computeIfAbsent(completo.getStatus(), k -> new ConcurrentSkipListSet<>(Comparator.reverseOrder())).add(codigo);
+            porTexto.index(codigo, anterior != null ? campos(anterior.completo()) : null, campos(completo));
+            completo.getEnderecos().forEach(e -> porEndereco.put(e.getCodigoEndereco(), codigo));
+            Localidades novas = Localidades.of(completo);
+            novas.bairros().forEach(c -> porBairro.computeIfAbsent(c, k -> new HashSet<>()).add(codigo));
+            novas.municipios().forEach(c -> porMunicipio.computeIfAbsent(c, k -> new HashSet<>()).add(codigo));
+            novas.ufs().forEach(c -> porUf.computeIfAbsent(c, k -> new HashSet<>()).add(codigo));
+            if (cepsIndexados) {
+                indexCeps(anterior != null ? anterior.completo() : null, completo);
+            }
+            if (anterior != null) {
+                unindex(anterior.completo(), completo);
+            }
+            return true;
+        }
+
+        boolean unpublish(Long codigoPessoa) {
+            Documento anterior = documentos.remove(codigoPessoa);
+            if (anterior == null) {
+                return false;
+            }
+            indexCeps(anterior.completo(), null);
+            porTexto.index(codigoPessoa, campos(anterior.completo()), null);
+            unindex(anterior.completo(), null);
+            return true;
+        }
+
+        /**
+         * Publica novas cópias dos documentos das pessoas informadas, com os bairros dos endereços substituídos.
+         */
+        boolean replaceBairros(Set<Long> pessoas, UnaryOperator<BairroDTOGet> substituir) {
+            if (pessoas == null) {
+                return false;
+            }
+            boolean publicado = false;
+            for (Long codigoPessoa : List.copyOf(pessoas)) {
+                Documento atual = documentos.get(codigoPessoa);
+                if (atual == null) {
+                    continue;
+                }
+                PessoaDTO completo = copy(atual.completo());
+                for (EnderecoDTOGet endereco : atual.completo().getEnderecos()) {
+                    EnderecoDTOGet copia = copy(endereco);
+                    if (endereco.getBairro() != null) {
+                        copia.setBairro(substituir.apply(endereco.getBairro()));
+                    }
+                    completo.getEnderecos().add(copia);
+                }
+                publicado |= publish(completo);
+            }
+            return publicado;
+        }
+
+        /**
+         * Remove dos índices as entradas do documento antigo que não valem mais para o documento atual.
+         */
+        private void unindex(PessoaDTO antigo, PessoaDTO atual) {
+            Long codigo = antigo.getCodigoPessoa();
+            String login = antigo.getLogin().toUpperCase(Locale.ROOT);
+            if (atual == null || !login.equals(atual.getLogin().toUpperCase(Locale.ROOT))) {
+                porLogin.remove(login, codigo);
+            }
+            if (atual == null || !antigo.getStatus().equals(atual.getStatus())) {
+                Set<Long> mesmoStatus = porStatus.get(antigo.getStatus());
+                if (mesmoStatus != null) {
+                    mesmoStatus.remove(codigo);
+                }
+            }
+            Set<Long> enderecos = new HashSet<>();
+            if (atual != null) {
+                atual.getEnderecos().forEach(e -> enderecos.add(e.getCodigoEndereco()));
+            }
+            antigo.getEnderecos().stream().map(EnderecoDTOGet::getCodigoEndereco).filter(c -> !enderecos.contains(c))
+                    .forEach(c -> porEndereco.remove(c, codigo));
+            Localidades antigas = Localidades.of(antigo);
+            Localidades atuais = atual != null ? Localidades.of(atual) : Localidades.NENHUMA;
+            antigas.bairros().stream().filter(c -> !atuais.bairros().contains(c)).forEach(c -> remove(porBairro, c, codigo));
+            antigas.municipios().stream().filter(c -> !atuais.municipios().contains(c)).forEach(c -> remove(porMunicipio, c, codigo));
+            antigas.ufs().stream().filter(c -> !atuais.ufs().contains(c)).forEach(c -> remove(porUf, c, codigo));
+        }
+
+        /**
+         * Atualiza o índice de CEP com os endereços incluídos, alterados e excluídos entre duas versões de um
+         * documento.
+         */
+        private void indexCeps(PessoaDTO antigo, PessoaDTO atual) {
+            Map<Long, Integer> anteriores = antigo != null ? ceps(antigo) : Map.of();
+            Map<Long, Integer> atuais = atual != null ? ceps(atual) : Map.of();
+            atuais.forEach((codigoEndereco, cep) -> {
+                if (!cep.equals(anteriores.get(codigoEndereco))) {
+                    porCep.add(cep, codigoEndereco, atual.getCodigoPessoa());
+                }
+            });
+            anteriores.forEach((codigoEndereco, cep) -> {
+                if (!cep.equals(atuais.get(codigoEndereco))) {
+                    porCep.remove(cep, codigoEndereco);
+                }
+            });
+        }
+    }
+
+    /**
+     * CEPs normalizados dos endereços de um documento, por código do endereço. Endereços com CEP fora do padrão de
+     * 8 dígitos não são indexados.
+     */
+    private static Map<Long, Integer> ceps(PessoaDTO documento) {
+        Map<Long, Integer> ceps = new HashMap<>();
+        for (EnderecoDTOGet endereco : documento.getEnderecos()) {
+            int cep = CepIndex.normalize(endereco.getCep());
+            if (cep >= 0) {
+                ceps.put(endereco.getCodigoEndereco(), cep);
+            }
+        }
+        return ceps;
+    }
+
+    private static PessoaSearchIndex.Campos campos(PessoaDTO documento) {
+        return new PessoaSearchIndex.Campos(documento.getNome(), documento.getSobrenome(), documento.getLogin());
+    }
+
+    /**
+     * Códigos das localidades referenciadas pelos endereços de um documento.
+     */
+    private record Localidades(Set<Long> bairros, Set<Long> municipios, Set<Long> ufs) {
+
+        static final Localidades NENHUMA = new Localidades(Set.of(), Set.of(), Set.of());
+
+        static Localidades of(PessoaDTO documento) {
+            Localidades localidades = new Localidades(new HashSet<>(), new HashSet<>(), new HashSet<>());
+            for (EnderecoDTOGet endereco : documento.getEnderecos()) {
+                BairroDTOGet bairro = endereco.getBairro();
+                if (bairro == null) {
+                    continue;
+                }
+                localidades.bairros().add(bairro.getCodigoBairro());
+                if (bairro.getMunicipio() != null) {
+                    localidades.municipios().add(bairro.getMunicipio().getCodigoMunicipio());
+                    localidades.ufs().add(bairro.getMunicipio().getCodigoUF());
+                }
+            }
+            return localidades;
+        }
+    }
+
+    private static void remove(Map<Long, Set<Long>> indice, Long chave, Long codigoPessoa) {
+        Set<Long> pessoas = indice.get(chave);
+        if (pessoas != null) {
+            pessoas.remove(codigoPessoa);
+            if (pessoas.isEmpty()) {
+                indice.remove(chave);
+            }
+        }
+    }
+
+    private static PessoaDTO copy(PessoaDTO pessoa) {
+        return new PessoaDTO(pessoa.getCodigoPessoa(), pessoa.getNome(), pessoa.getSobrenome(), pessoa.getIdade(),
+                pessoa.getLogin(), null, pessoa.getStatus());
+    }
+
+    private static EnderecoDTOGet copy(EnderecoDTOGet endereco) {
+        return new EnderecoDTOGet(endereco.getCodigoEndereco(), endereco.getCodigoPessoa(), endereco.getCodigoBairro(),
+                endereco.getNomeRua(), endereco.getNumero(), endereco.getComplemento(), endereco.getCep(),
+                endereco.getBairro());
+    }
+
+    private static BairroDTOGet toDTO(Bairro bairro) {
+        if (bairro == null) {
+            return null;
+        }
+        Municipio municipio = bairro.getMunicipio();
+        return new BairroDTOGet(bairro.getCodigoBairro(), municipio != null ? municipio.getCodigoMunicipio() : null,
+                bairro.getNome(), bairro.getStatus(), toDTO(municipio));
+    }
+
+    private static MunicipioDTOGet toDTO(Municipio municipio) {
+        if (municipio == null) {
+            return null;
+        }
+        Uf uf = municipio.getUf();
+        return new MunicipioDTOGet(municipio.getCodigoMunicipio(), uf != null ? uf.getCodigoUF() : null,
+                municipio.getNome(), municipio.getStatus(), toDTO(uf));
+    }
+
+    private static UfDTO toDTO(Uf uf) {
+        if (uf == null) {
+            return null;
+        }
+        return new UfDTO(uf.getCodigoUF(), uf.getSigla(), uf.getNome(), uf.getStatus());
+    }
+}
@@ -0,0 +1,217 @@
+package br.com.squadra.bootcamp.projeto.readmodel;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória para a busca textual de pessoas por nome, sobrenome e login.
+ * <p>
+ * Os textos são normalizados ({@link #normalize(String)}: sem acentos, em maiúsculas) e quebrados em termos de
+ * letras e dígitos. Cada termo aponta para as pessoas que o contêm, com os campos em que ele aparece. Os termos
+ * ficam em um mapa ordenado, de modo que um termo da consulta encontra o termo exato e todos os que começam com ele
+ * ({@code MAR} encontra {@code MARIA} e {@code MARCOS}) com uma única varredura de intervalo, sem guardar cada
+ * prefixo. Termos com menos de {@link #PREFIXO_MINIMO} caracteres encontram apenas o termo exato, para que uma
+ * consulta de uma ou duas letras não percorra boa parte do índice.
+ * </p>
+ * <p>
+ * Todos os termos da consulta precisam ser encontrados. A relevância de uma pessoa é a soma, para cada termo da
+ * consulta, do peso do melhor campo em que ele aparece (nome 3, sobrenome 2, login 1), em dobro quando o termo é
+ * exato e não apenas um prefixo. Empates são desfeitos pelo código, em ordem decrescente.
+ * </p>
+ * O índice é alterado apenas sob a trava do {@link PessoaReadModel}; as consultas não usam trava.
+ */
+public class PessoaSearchIndex {
+
+    public static final String CACHE = "pessoa-search-index";
+
+    /** Tamanho mínimo de um termo da consulta para ser usado como prefixo. */
+    public static final int PREFIXO_MINIMO = 3;
+
+    private static final int NOME = 1;
+    private static final int SOBRENOME = 2;
+    private static final int LOGIN = 4;
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^A-Z0-9]+");
+
+    /**
+     * Campos pesquisáveis de uma pessoa.
+     *
+     * @param nome      Nome.
+     * @param sobrenome Sobrenome.
+     * @param login     Login.
+     */
+    public record Campos(String nome, String sobrenome, String login) {
+    }
+
+    /**
+     * Pessoa encontrada por uma busca.
+     *
+     * @param codigoPessoa Código da pessoa.
+     * @param relevancia   Pontuação usada na ordenação, maior primeiro.
+     */
+    public record Resultado(long codigoPessoa, int relevancia) {
+    }
+
+    /**
+     * Página de uma busca.
+     *
+     * @param resultados Pessoas da página, em ordem de relevância.
+     * @param total      Quantidade de pessoas encontradas em todas as páginas.
+     */
+    public record Pagina(List<Resultado> resultados, long total) {
+    }
+
+    private static final Comparator<Resultado> RELEVANCIA = Comparator.comparingInt(Resultado::relevancia)
+            .thenComparingLong(Resultado::codigoPessoa).reversed();
+
+    // Termo -> campos em que ele aparece, por código da pessoa
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> termos = new ConcurrentSkipListMap<>();
+
+    /**
+     * Normaliza um texto para indexação e busca: remove acentos e converte para maiúsculas.
+     *
+     * @param texto Texto original.
+     * @return Texto normalizado, ou texto vazio para {@code null}.
+     */
+    public static String normalize(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        return ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("").toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Quebra um texto em termos normalizados, sem repetição.
+     *
+     * @param texto Texto original.
+     * @return Termos na ordem em que aparecem.
+     */
+    public static Set<String> tokens(String texto) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SEPARADORES.split(normalize(texto))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Remove todas as pessoas do índice.
+     */
+    public void clear() {
+        termos.clear();
+    }
+
+    /**
+     * Atualiza o índice com a inclusão, alteração ou exclusão de uma pessoa. Os termos novos são indexados antes de
+     * remover os antigos, para que buscas concorrentes continuem encontrando a pessoa.
+     *
+     * @param codigoPessoa Código da pessoa.
+     * @param anterior     Campos indexados até agora, ou {@code null} para uma pessoa nova.
+     * @param atual        Campos atuais, ou {@code null} para uma pessoa excluída.
+     */
+    public void index(long codigoPessoa, Campos anterior, Campos atual) {
+        Map<String, Integer> antigos = campos(anterior);
+        Map<String, Integer> novos = campos(atual);
+        novos.forEach((termo, campos) -> {
+            if (!campos.equals(antigos.get(termo))) {
+                termos.computeIfAbsent(termo, k -> new ConcurrentHashMap<>()).put(codigoPessoa, campos);
+            }
+        });
+        antigos.keySet().stream().filter(termo -> !novos.containsKey(termo)).forEach(termo ->
+                termos.computeIfPresent(termo, (k, pessoas) -> {
+                    pessoas.remove(codigoPessoa);
+                    return pessoas.isEmpty() ? null : pessoas;
+                }));
+    }
+
+    /**
+     * @return Quantidade de termos distintos indexados.
+     */
+    public int size() {
+        return termos.size();
+    }
+
+    /**
+     * Busca as pessoas que contêm todos os termos da consulta, exatos ou como prefixo.
+     *
+     * @param consulta Texto da busca.
+     * @param filtro   Filtro adicional sobre o código das pessoas encontradas.
+     * @param offset   Quantidade de resultados a pular.
+     * @param limite   Quantidade máxima de resultados da página.
+     * @return Página de resultados em ordem de relevância.
+     */
+    public Pagina search(String consulta, LongPredicate filtro, long offset, int limite) {
+        // Termos mais longos costumam ser mais seletivos e reduzem cedo o conjunto de candidatos
+        List<String> busca = new ArrayList<>(tokens(consulta));
+        busca.sort(Comparator.comparingInt(String::length).reversed());
+        Map<Long, Integer> pontos = null;
+        for (String termo : busca) {
+            Map<Long, Integer> doTermo = new HashMap<>();
+            String fim = termo.length() >= PREFIXO_MINIMO ? termo + Character.MAX_VALUE : termo + Character.MIN_VALUE;
+            for (Map.Entry<String, Map<Long, Integer>> entrada : termos.subMap(termo, true, fim, false).entrySet()) {
+                int fator = entrada.getKey().length() == termo.length() ? 2 : 1;
+                Map<Long, Integer> candidatos = pontos;
+                entrada.getValue().forEach((codigo, campos) -> {
+                    if (candidatos == null || candidatos.containsKey(codigo)) {
+                        doTermo.merge(codigo, peso(campos) * fator, Math::max);
+                    }
+                });
+            }
+            if (pontos != null) {
+                Map<Long, Integer> anteriores = pontos;
+                doTermo.replaceAll((codigo, peso) -> peso + anteriores.get(codigo));
+            }
+            pontos = doTermo;
+            if (pontos.isEmpty()) {
+                break;
+            }
+        }
+        if (pontos == null) {
+            return new Pagina(List.of(), 0);
+        }
+        List<Resultado> resultados = new ArrayList<>();
+        pontos.forEach((codigo, relevancia) -> {
+            if (filtro.test(codigo)) {
+                resultados.add(new Resultado(codigo, relevancia));
+            }
+        });
+        resultados.sort(RELEVANCIA);
+        int de = (int) Math.min(offset, resultados.size());
+        int ate = (int) Math.min(offset + limite, resultados.size());
+        return new Pagina(List.copyOf(resultados.subList(de, ate)), resultados.size());
+    }
+
+    /**
+     * Termos dos campos de uma pessoa, com a máscara dos campos em que cada um aparece.
+     */
+    private static Map<String, Integer> campos(Campos campos) {
+        Map<String, Integer> termos = new HashMap<>();
+        if (campos != null) {
+            tokens(campos.nome()).forEach(termo -> termos.merge(termo, NOME, (a, b) -> a | b));
+            tokens(campos.sobrenome()).forEach(termo -> termos.merge(termo, SOBRENOME, (a, b) -> a | b));
+            tokens(campos.login()).forEach(termo -> termos.merge(termo, LOGIN, (a, b) -> a | b));
+        }
+        return termos;
+    }
+
+    private static int peso(int campos) {
+        if ((campos & NOME) != 0) {
+            return 3;
+        }
+        return (campos & SOBRENOME) != 0 ? 2 : 1;
+    }
+}
@@ -1,11 +1,16 @@
 package br.com.squadra.bootcamp.projeto.service;
 
+import br.com.squadra.bootcamp.projeto.cache.SingleFlight;
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
 import br.com.squadra.bootcamp.projeto.dto.BairroDTO;
+import br.com.squadra.bootcamp.projeto.dto.DuplicadoDTO;
 import br.com.squadra.bootcamp.projeto.model.dao.BairroDAO;
 import br.com.squadra.bootcamp.projeto.model.dao.DAOFactory;
 import br.com.squadra.bootcamp.projeto.model.dao.MunicipioDAO;
 import br.com.squadra.bootcamp.projeto.model.entities.Bairro;
 import br.com.squadra.bootcamp.projeto.model.entities.Municipio;
+import br.com.squadra.bootcamp.projeto.readmodel.PessoaReadModel;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -21,6 +26,10 @@ public class BairroService {
 
     private BairroDAO bairroDAO = DAOFactory.createBairroDAO();
     private MunicipioDAO municipioDAO = DAOFactory.createMunicipioDAO();
+    private final SingleFlight flights = SingleFlight.of("bairro", Table.TB_BAIRRO); // Agrupa consultas idênticas simultâneas
+
+    @Autowired
+    private PessoaReadModel readModel;
 
     /**
      * Insere um novo bairro no banco de dados.
@@ -38,6 +47,7 @@ public class BairroService {
      */
     public void update(BairroDTO bairroDTO) {
         bairroDAO.update(bairroDTO);
+        readModel.bairroChanged(bairroDTO.getCodigoBairro());
     }
 
     /**
@@ -46,7 +56,7 @@ public class BairroService {
      * @return lista de objetos {@link BairroDTO} representando os bairros encontrados.
      */
     public List<BairroDTO> findAll() {
-        return bairroDAO.findAll()
+        return flights.execute(bairroDAO::findAll, "findAll")
                 .stream()
                 .map(bairro -> new BairroDTO(
                         bairro.getCodigoBairro(),
@@ -57,6 +67,39 @@ public class BairroService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Busca bairros do mesmo município com nome provavelmente igual ao de um bairro a ser cadastrado, como
+     * "JD. AMÉRICA" para "JARDIM AMERICA" (ver {@link DuplicateNames}). Não impede o cadastro: o resultado é
+     * devolvido ao cliente como aviso.
+     *
+     * @param bairroDTO objeto com os dados do bairro já validados.
+     * @return lista de objetos {@link DuplicadoDTO}, do bairro mais parecido para o menos parecido.
+     */
+    public List<DuplicadoDTO> findLikelyDuplicates(BairroDTO bairroDTO) {
+        List<DuplicateNames.Nome> irmaos = bairroDAO.findByCodigoMunicipio(bairroDTO.getCodigoMunicipio()).stream()
+                .map(bairro -> new DuplicateNames.Nome(bairro.getCodigoBairro(), bairroDTO.getCodigoMunicipio(), bairro.getNome()))
+                .collect(Collectors.toList());
+        return DuplicateNames.similar(bairroDTO.getNome(), irmaos, DuplicateNames.LIMIAR_PADRAO).stream()
+                .map(DuplicadoDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Relatório dos pares de bairros de um mesmo município com nomes provavelmente duplicados em toda a base.
+     *
+     * @param limiar similaridade mínima entre os nomes, de 0 a 1.
+     * @return lista de objetos {@link DuplicadoDTO}, em ordem de município e de código.
+     */
+    public List<DuplicadoDTO> findDuplicates(double limiar) {
+        List<DuplicateNames.Nome> nomes = flights.execute(bairroDAO::findAll, "findAll").stream()
+                .map(bairro -> new DuplicateNames.Nome(bairro.getCodigoBairro(),
+                        bairro.getMunicipio().getCodigoMunicipio(), bairro.getNome()))
+                .collect(Collectors.toList());
+        return DuplicateNames.find(nomes, limiar).stream()
+                .map(DuplicadoDTO::new)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Valida os dados de um bairro para inserção no banco de dados.
      *
@@ -132,7 +175,8 @@ public class BairroService {
      * @return lista de objetos {@link BairroDTO} que atendem aos critérios de filtro.
      */
     public List<BairroDTO> findByFilters(Optional<Long> codigoBairro, Optional<Long> codigoMunicipio, Optional<String> nome, Optional<Integer> status) {
-        List<Bairro> bairros = bairroDAO.findByFilters(codigoBairro, codigoMunicipio, nome, status);
+        List<Bairro> bairros = flights.execute(() -> bairroDAO.findByFilters(codigoBairro, codigoMunicipio, nome, status),
+                "findByFilters", codigoBairro, codigoMunicipio, nome, status);
 
         return bairros.stream()
                 .map(bairro -> new BairroDTO(
@@ -1,12 +1,19 @@
 package br.com.squadra.bootcamp.projeto.service;
 
 import br.com.squadra.bootcamp.projeto.exception.DbException;
+import br.com.squadra.bootcamp.projeto.jdbc.InstrumentedConnection;
+import br.com.squadra.bootcamp.projeto.jdbc.JdbcTransaction;
+import br.com.squadra.bootcamp.projeto.jdbc.RoutingConnection;
 
 import java.io.FileInputStream;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -16,21 +23,35 @@ import java.util.Properties;
 public class ConnectionService {
 
     private static Connection connection = null;
+    private static List<RoutingConnection.Replica> replicas = List.of();  // Réplicas de leitura configuradas
+    private static List<Connection> shards = null;  // Conexões dos shards de pessoas e endereços
 
     /**
      * Estabelece uma conexão com o banco de dados utilizando as propriedades configuradas no arquivo {@code application.properties}.
      * Caso já exista uma conexão ativa, retorna a mesma.
+     * A conexão é envolvida por {@link InstrumentedConnection}, que contabiliza os comandos executados por requisição.
+     * Se a propriedade {@code dburl.replicas} estiver preenchida, a conexão também é uma {@link RoutingConnection},
+     * que envia as leituras dos DAOs às réplicas. As transações abertas com {@link JdbcTransaction} usam conexões
+     * próprias com o primário.
      *
      * @return a conexão com o banco de dados.
      * @throws DbException se houver falha ao estabelecer a conexão.
      */
-    public static Connection getConnection() {
+    public static synchronized Connection getConnection() {
         if(connection == null) {
             try {
-                String dbUrl = loadProperties().getProperty("dburl");
-                String username = loadProperties().getProperty("username");
-                String password = loadProperties().getProperty("password");
-                connection = DriverManager.getConnection(dbUrl, username, password);
+                Properties properties = loadProperties();
+                String dbUrl = properties.getProperty("dburl");
+                String username = properties.getProperty("username");
+                String password = properties.getProperty("password");
+                Connection primary = DriverManager.getConnection(dbUrl, username, password);
+                replicas = replicas(properties, username, password);
+                if (!replicas.isEmpty()) {
+                    long retryMillis = Long.parseLong(properties.getProperty("dburl.replicas.retry-ms", "30000"));
+                    primary = RoutingConnection.wrap(primary, replicas, retryMillis);
+                }
+                connection = InstrumentedConnection.wrap(primary);
+                JdbcTransaction.register(connection, () -> InstrumentedConnection.wrap(DriverManager.getConnection(dbUrl, username, password)));
                 return connection;
             } catch (SQLException e) {
                 throw new DbException("Erro ao estabelecer conexão com banco de dados. Caused by: " + e.getMessage());
@@ -38,6 +59,81 @@ public class ConnectionService {
         } else return connection;
     }
 
+    /**
+     * Retorna as conexões com os shards de {@code TB_PESSOA} e {@code TB_ENDERECO}, listados em ordem, separados
+     * por vírgula, na propriedade {@code dburl.shards}. As tabelas de referência (UF, município e bairro)
+     * continuam na conexão principal.
+     * As conexões são abertas na primeira chamada e envolvidas por {@link InstrumentedConnection}. As transações abertas
+     * com {@link JdbcTransaction} usam conexões próprias com cada shard.
+     *
+     * @return Conexões dos shards, na ordem configurada; vazia se não houver shards configurados.
+     * @throws DbException se houver falha ao estabelecer alguma das conexões.
+     */
+    public static synchronized List<Connection> getShardConnections() {
+        if (shards == null) {
+            Properties properties = loadProperties();
+            String username = properties.getProperty("username");
+            String password = properties.getProperty("password");
+            List<Connection> conexoes = new ArrayList<>();
+            for (String url : properties.getProperty("dburl.shards", "").split(",")) {
+                if (url.isBlank()) {
+                    continue;
+                }
+                try {
+                    Connection shard = InstrumentedConnection.wrap(DriverManager.getConnection(url.trim(), username, password));
+                    JdbcTransaction.register(shard, () -> InstrumentedConnection.wrap(DriverManager.getConnection(url.trim(), username, password)));
+                    conexoes.add(shard);
+                } catch (SQLException e) {
+                    throw new DbException("Erro ao estabelecer conexão com o shard " + url.trim() + ". Caused by: " + e.getMessage());
+                }
+            }
+            shards = List.copyOf(conexoes);
+        }
+        return shards;
+    }
+
+    /**
+     * Monta as réplicas de leitura listadas, separadas por vírgula, na propriedade {@code dburl.replicas}.
+     * As conexões com as réplicas são abertas somente leitura e apenas quando a primeira leitura é roteada.
+     *
+     * @param properties Propriedades de configuração.
+     * @param username   Usuário do banco, o mesmo do primário.
+     * @param password   Senha do banco, a mesma do primário.
+     * @return Lista de réplicas, vazia se nenhuma estiver configurada.
+     */
+    private static List<RoutingConnection.Replica> replicas(Properties properties, String username, String password) {
+        List<RoutingConnection.Replica> replicas = new ArrayList<>();
+        String urls = properties.getProperty("dburl.replicas", "");
+        for (String url : urls.split(",")) {
+            if (url.isBlank()) {
+                continue;
+            }
+            replicas.add(new RoutingConnection.Replica(url.trim(), () -> {
+                try {
+                    Connection replica = DriverManager.getConnection(url.trim(), username, password);
+                    replica.setReadOnly(true);
+                    return replica;
+                } catch (SQLException e) {
+                    throw new DbException("Erro ao estabelecer conexão com a réplica " + url.trim() + ". Caused by: " + e.getMessage());
+                }
+            }));
+        }
+        return replicas;
+    }
+
+    /**
+     * Retorna o estado das réplicas de leitura configuradas.
+     *
+     * @return Mapa da URL de cada réplica para {@code true} se disponível; vazio se não houver réplicas.
+     */
+    public static Map<String, Boolean> replicaStatus() {
+        Map<String, Boolean> status = new LinkedHashMap<>();
+        for (RoutingConnection.Replica replica : replicas) {
+            status.put(replica.getName(), replica.isHealthy());
+        }
+        return status;
+    }
+
     /**
      * Fecha a conexão ativa com o banco de dados.
      *
@@ -71,6 +167,7 @@ public class ConnectionService {
 
     /**
      * Carrega as propriedades de configuração para a conexão com o banco de dados a partir do arquivo {@code application.properties}.
+     * Uma propriedade de sistema com o mesmo nome ({@code -Ddburl=...}) tem precedência sobre o valor do arquivo.
      *
      * @return um objeto {@link Properties} contendo as propriedades carregadas.
      * @throws DbException se houver falha ao carregar as propriedades.
@@ -79,6 +176,12 @@ public class ConnectionService {
         try (FileInputStream fr = new FileInputStream("./src/main/resources/application.properties")){
             Properties properties = new Properties();
             properties.load(fr);
+            for (String nome : properties.stringPropertyNames()) {
+                String valor = System.getProperty(nome);
+                if (valor != null) {
+                    properties.setProperty(nome, valor);
+                }
+            }
             return properties;
         } catch (Exception e) {
             throw new DbException("Erro ao extrair propriedades para a conexão. Caused by: " + e.getMessage());
@@ -0,0 +1,313 @@
+package br.com.squadra.bootcamp.projeto.service;
+
+import br.com.squadra.bootcamp.projeto.readmodel.PessoaSearchIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Detecção de nomes de bairros e municípios provavelmente duplicados dentro do mesmo pai (município ou UF), como
+ * "JARDIM AMERICA" e "JD. AMÉRICA".
+ * <p>
+ * Os nomes são comparados na forma canônica ({@link #canonical(String)}): sem acentos e pontuação, com as
+ * abreviações comuns de endereços expandidas e sem preposições. Dois nomes são duplicados quando a similaridade de
+ * edição entre as formas canônicas ({@link #similarity(String, String)}) atinge o limite e os dois têm os mesmos
+ * números, em algarismos ou romanos: "SETOR 1" e "SETOR 2", ou "CONJUNTO I" e "CONJUNTO II", são lugares distintos.
+ * </p>
+ * <p>
+ * No relatório de toda a base ({@link #find(Collection, double)}) a distância de edição não é calculada para todos
+ * os pares de irmãos: cada nome recebe uma assinatura MinHash dos seus trigramas, a assinatura é dividida em faixas
+ * e só nomes do mesmo pai que coincidem em alguma faixa (LSH) viram candidatos. Com dez faixas de três linhas, pares
+ * com dois terços dos trigramas em comum colidem em 97% dos casos, e irmãos que só compartilham uma palavra como
+ * "JARDIM" raramente viram candidatos. Nomes com a mesma forma canônica no mesmo pai são agrupados antes e
+ * comparados uma única vez.
+ * </p>
+ */
+public class DuplicateNames {
+
+    /** Similaridade mínima padrão para considerar dois nomes duplicados. */
+    public static final double LIMIAR_PADRAO = 0.85;
+
+    /** Cabeçalho da resposta de um cadastro com os códigos dos registros de nome semelhante no mesmo pai. */
+    public static final String HEADER = "X-Possiveis-Duplicados";
+
+    private static final int HASHES = 30;
+    private static final int LINHAS_POR_FAIXA = 3;
+    private static final long POSICAO = (1L << 24) - 1;  // Bits da posição do grupo nas entradas do LSH
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^A-Z0-9]+");
+    private static final Pattern NUMERO = Pattern.compile("[0-9]+|[IVX]+");
+
+    private static final Set<String> PREPOSICOES = Set.of("DE", "DA", "DO", "DAS", "DOS", "E");
+
+    private static final Map<String, String> ABREVIACOES = Map.ofEntries(
+            Map.entry("JD", "JARDIM"), Map.entry("JDM", "JARDIM"), Map.entry("JDIM", "JARDIM"),
+            Map.entry("VL", "VILA"), Map.entry("PQ", "PARQUE"), Map.entry("PRQ", "PARQUE"),
+            Map.entry("ST", "SETOR"), Map.entry("SET", "SETOR"), Map.entry("RES", "RESIDENCIAL"),
+            Map.entry("RESID", "RESIDENCIAL"), Map.entry("CJ", "CONJUNTO"), Map.entry("CONJ", "CONJUNTO"),
+            Map.entry("LOT", "LOTEAMENTO"), Map.entry("CH", "CHACARA"), Map.entry("CHAC", "CHACARA"),
+            Map.entry("HAB", "HABITACIONAL"), Map.entry("STA", "SANTA"), Map.entry("STO", "SANTO"),
+            Map.entry("NSA", "NOSSA"), Map.entry("SRA", "SENHORA"), Map.entry("PRES", "PRESIDENTE"),
+            Map.entry("GOV", "GOVERNADOR"), Map.entry("DR", "DOUTOR"), Map.entry("PROF", "PROFESSOR"),
+            Map.entry("CEL", "CORONEL"), Map.entry("MAL", "MARECHAL"), Map.entry("GEN", "GENERAL"));
+
+    // Coeficientes das funções de hash da assinatura, fixos para que as assinaturas sejam comparáveis
+    private static final long[] COEFICIENTES = new long[HASHES];
+
+    static {
+        long semente = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < HASHES; i++) {
+            semente = mix(semente + i);
+            COEFICIENTES[i] = semente | 1;
+        }
+    }
+
+    /**
+     * Nome cadastrado.
+     *
+     * @param codigo    Código do bairro ou município.
+     * @param codigoPai Código do município do bairro, ou da UF do município.
+     * @param nome      Nome cadastrado.
+     */
+    public record Nome(long codigo, long codigoPai, String nome) {
+    }
+
+    /**
+     * Par de nomes provavelmente duplicados.
+     *
+     * @param nome          Nome cadastrado primeiro (menor código).
+     * @param duplicado     Nome cadastrado depois, ou o nome em validação, com código 0.
+     * @param similaridade  Similaridade entre as formas canônicas, de 0 a 1.
+     */
+    public record Par(Nome nome, Nome duplicado, double similaridade) {
+    }
+
+    private DuplicateNames() {
+    }
+
+    /**
+     * Forma canônica de um nome para comparação.
+     *
+     * @param nome Nome original.
+     * @return Palavras do nome sem acentos, em maiúsculas, com abreviações expandidas e sem preposições.
+     */
+    public static String canonical(String nome) {
+        StringBuilder canonico = new StringBuilder();
+        for (String palavra : SEPARADORES.split(PessoaSearchIndex.normalize(nome))) {
+            if (palavra.isEmpty() || PREPOSICOES.contains(palavra)) {
+                continue;
+            }
+            if (!canonico.isEmpty()) {
+                canonico.append(' ');
+            }
+            canonico.append(ABREVIACOES.getOrDefault(palavra, palavra));
+        }
+        return canonico.toString();
+    }
+
+    /**
+     * Similaridade de edição entre dois nomes: 1 menos a distância de Levenshtein entre as formas canônicas dividida
+     * pelo tamanho da maior.
+     *
+     * @param a Primeiro nome.
+     * @param b Segundo nome.
+     * @return Similaridade de 0 (nada em comum) a 1 (mesma forma canônica).
+     */
+    public static double similarity(String a, String b) {
+        return canonicalSimilarity(canonical(a), canonical(b));
+    }
+
+    /**
+     * Busca entre os irmãos de um novo nome aqueles que provavelmente são o mesmo lugar. Usado na validação de um
+     * cadastro, em que os irmãos de um único pai são poucos e todos são comparados.
+     *
+     * @param nome    Nome a cadastrar.
+     * @param irmaos  Nomes já cadastrados no mesmo pai.
+     * @param limiar  Similaridade mínima.
+     * @return Nomes semelhantes, do mais parecido para o menos parecido.
+     */
+    public static List<Par> similar(String nome, Collection<Nome> irmaos, double limiar) {
+        String canonico = canonical(nome);
+        String numeros = numbers(canonico);
+        List<Par> semelhantes = new ArrayList<>();
+        for (Nome irmao : irmaos) {
+            String outro = canonical(irmao.nome());
+            double similaridade = canonicalSimilarity(canonico, outro);
+            if (similaridade >= limiar && numeros.equals(numbers(outro))) {
+                semelhantes.add(new Par(irmao, new Nome(0, irmao.codigoPai(), nome), similaridade));
+            }
+        }
+        semelhantes.sort(Comparator.comparingDouble(Par::similaridade).reversed());
+        return semelhantes;
+    }
+
+    /**
+     * Encontra os pares de nomes provavelmente duplicados em toda a base, comparando apenas nomes do mesmo pai.
+     *
+     * @param nomes  Nomes cadastrados.
+     * @param limiar Similaridade mínima.
+     * @return Pares encontrados, em ordem de pai e de código.
+     */
+    public static List<Par> find(Collection<Nome> nomes, double limiar) {
+        // Nomes com a mesma forma canônica no mesmo pai são duplicados entre si e entram no LSH uma única vez
+        Map<String, Grupo> porCanonico = new HashMap<>();
+        for (Nome nome : nomes) {
+            String canonico = canonical(nome.nome());
+            porCanonico.computeIfAbsent(nome.codigoPai() + " " + canonico,
+                    k -> new Grupo(nome.codigoPai(), canonico, numbers(canonico), new ArrayList<>())).nomes().add(nome);
+        }
+        Grupo[] grupos = porCanonico.values().toArray(new Grupo[0]);
+
+        List<Par> pares = new ArrayList<>();
+        if (grupos.length > POSICAO) {
+            throw new IllegalArgumentException("Nomes demais para o relatório de duplicados: " + grupos.length);
+        }
+
+        // Uma entrada por grupo e faixa: hash da faixa (com o pai) nos bits altos e posição do grupo nos baixos.
+        // Ordenar o array primitivo agrupa as faixas iguais sem um mapa de objetos por entrada.
+        int faixas = HASHES / LINHAS_POR_FAIXA;
+        long[] entradas = new long[grupos.length * faixas];
+        for (int i = 0; i < grupos.length; i++) {
+            add(pares, grupos[i], grupos[i], 1);
+            long[] assinatura = signature(grupos[i].canonico());
+            for (int faixa = 0; faixa < faixas; faixa++) {
+                long chave = mix(grupos[i].codigoPai() * 31 + faixa);
+                for (int linha = 0; linha < LINHAS_POR_FAIXA; linha++) {
+                    chave = mix(chave ^ assinatura[faixa * LINHAS_POR_FAIXA + linha]);
+                }
+                entradas[i * faixas + faixa] = (chave & ~POSICAO) | i;
+            }
+        }
+        Arrays.sort(entradas);
+
+        // Pares candidatos (menor posição nos 32 bits altos), ordenados para descartar os repetidos entre faixas
+        long[] candidatos = new long[1024];
+        int quantidade = 0;
+        for (int inicio = 0, fim; inicio < entradas.length; inicio = fim) {
+            fim = inicio + 1;
+            while (fim < entradas.length && (entradas[fim] & ~POSICAO) == (entradas[inicio] & ~POSICAO)) {
+                fim++;
+            }
+            for (int x = inicio; x < fim; x++) {
+                for (int y = x + 1; y < fim; y++) {
+                    long i = entradas[x] & POSICAO;
+                    long j = entradas[y] & POSICAO;
+                    if (quantidade == candidatos.length) {
+                        candidatos = Arrays.copyOf(candidatos, quantidade * 2);
+                    }
+                    candidatos[quantidade++] = (Math.min(i, j) << 32) | Math.max(i, j);
+                }
+            }
+        }
+        Arrays.sort(candidatos, 0, quantidade);
+
+        for (int k = 0; k < quantidade; k++) {
+            if (k > 0 && candidatos[k] == candidatos[k - 1]) {
+                continue;
+            }
+            Grupo a = grupos[(int) (candidatos[k] >>> 32)];
+            Grupo b = grupos[(int) candidatos[k]];
+            // Colisões de hash entre pais diferentes são descartadas aqui
+            if (a.codigoPai() != b.codigoPai() || !a.numeros().equals(b.numeros())) {
+                continue;
+            }
+            double similaridade = canonicalSimilarity(a.canonico(), b.canonico());
+            if (similaridade >= limiar) {
+                add(pares, a, b, similaridade);
+            }
+        }
+        pares.sort(Comparator.comparingLong((Par par) -> par.nome().codigoPai())
+                .thenComparingLong(par -> par.nome().codigo())
+                .thenComparingLong(par -> par.duplicado().codigo()));
+        return pares;
+    }
+
+    /**
+     * Nomes de um mesmo pai com a mesma forma canônica.
+     */
+    private record Grupo(long codigoPai, String canonico, String numeros, List<Nome> nomes) {
+    }
+
+    /**
+     * Adiciona os pares formados entre os nomes de dois grupos, ou entre os nomes de um mesmo grupo.
+     */
+    private static void add(List<Par> pares, Grupo a, Grupo b, double similaridade) {
+        for (int i = 0; i < a.nomes().size(); i++) {
+            for (int j = a == b ? i + 1 : 0; j < b.nomes().size(); j++) {
+                Nome x = a.nomes().get(i);
+                Nome y = b.nomes().get(j);
+                pares.add(x.codigo() <= y.codigo() ? new Par(x, y, similaridade) : new Par(y, x, similaridade));
+            }
+        }
+    }
+
+    private static double canonicalSimilarity(String a, String b) {
+        int maior = Math.max(a.length(), b.length());
+        if (maior == 0) {
+            return 1;
+        }
+        return 1 - (double) levenshtein(a, b) / maior;
+    }
+
+    /**
+     * Números de um nome canônico, em algarismos ou romanos, na ordem em que aparecem.
+     */
+    private static String numbers(String canonico) {
+        StringBuilder numeros = new StringBuilder();
+        for (String palavra : canonico.split(" ")) {
+            if (NUMERO.matcher(palavra).matches()) {
+                numeros.append(palavra).append(' ');
+            }
+        }
+        return numeros.toString();
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[] anterior = new int[b.length() + 1];
+        int[] atual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            atual[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int troca = anterior[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                atual[j] = Math.min(troca, Math.min(anterior[j], atual[j - 1]) + 1);
+            }
+            int[] troca = anterior;
+            anterior = atual;
+            atual = troca;
+        }
+        return anterior[b.length()];
+    }
+
+    /**
+     * Assinatura MinHash dos trigramas de caracteres de um nome canônico, com espaços nas pontas para que palavras
+     * curtas também gerem trigramas.
+     */
+    private static long[] signature(String canonico) {
+        String texto = " " + canonico + " ";
+        long[] assinatura = new long[HASHES];
+        Arrays.fill(assinatura, Long.MAX_VALUE);
+        for (int i = 0; i + 3 <= texto.length(); i++) {
+            long trigrama = ((long) texto.charAt(i) << 32) | ((long) texto.charAt(i + 1) << 16) | texto.charAt(i + 2);
+            for (int h = 0; h < HASHES; h++) {
+                assinatura[h] = Math.min(assinatura[h], mix(trigrama * COEFICIENTES[h]));
+            }
+        }
+        return assinatura;
+    }
+
+    private static long mix(long valor) {
+        valor = (valor ^ (valor >>> 33)) * 0xFF51AFD7ED558CCDL;
+        valor = (valor ^ (valor >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return valor ^ (valor >>> 33);
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.squadra.bootcamp.projeto.service;
+
+import br.com.squadra.bootcamp.projeto.jdbc.ColumnChanges;
+import br.com.squadra.bootcamp.projeto.model.entities.Endereco;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Diferença entre os endereços gravados de uma pessoa e os endereços recebidos em uma alteração.
+ * <p>
+ * Cada endereço é classificado em uma única passada, com os endereços atuais indexados por código:
+ * <ul>
+ *     <li>sem código: inclusão;</li>
+ *     <li>com código de um endereço atual: alteração das colunas que mudaram, ou nenhuma ação se nada mudou;</li>
+ *     <li>endereço atual que não foi recebido: exclusão.</li>
+ * </ul>
+ * Códigos que não pertencem à pessoa são ignorados, e se o mesmo código vier repetido vale a primeira ocorrência.
+ * </p>
+ */
+public class EnderecoDiff {
+
+    /**
+     * Alteração de um endereço existente.
+     *
+     * @param codigoEndereco Código do endereço.
+     * @param changes        Colunas alteradas e seus novos valores.
+     */
+    public record Update(Long codigoEndereco, ColumnChanges changes) {
+    }
+
+    private final List<Endereco> inserts = new ArrayList<>();
+    private final List<Update> updates = new ArrayList<>();
+    private final List<Long> deletes = new ArrayList<>();
+    private int unchanged;
+
+    /**
+     * Calcula a diferença entre os endereços atuais e os desejados.
+     *
+     * @param atuais     Endereços gravados no banco.
+     * @param desejados  Endereços recebidos na alteração.
+     * @return Inclusões, alterações e exclusões necessárias.
+     */
+    public static EnderecoDiff of(List<Endereco> atuais, List<Endereco> desejados) {
+        EnderecoDiff diff = new EnderecoDiff();
+        Map<Long, Endereco> porCodigo = new HashMap<>(atuais.size() * 2);
+        for (Endereco atual : atuais) {
+            porCodigo.put(atual.getCodigoEndereco(), atual);
+        }
+        Set<Long> mantidos = new HashSet<>(desejados.size() * 2);
+        for (Endereco desejado : desejados) {
+            Long codigo = desejado.getCodigoEndereco();
+            if (codigo == null) {
+                diff.inserts.add(desejado);
+                continue;
+            }
+            Endereco atual = porCodigo.get(codigo);
+            if (atual == null || !mantidos.add(codigo)) {
+                continue;
+            }
+            ColumnChanges changes = changes(atual, desejado);
+            if (changes.isEmpty()) {
+                diff.unchanged++;
+            } else {
+                diff.updates.add(new Update(codigo, changes));
+            }
+        }
+        for (Endereco atual : atuais) {
+            if (!mantidos.contains(atual.getCodigoEndereco())) {
+                diff.deletes.add(atual.getCodigoEndereco());
+            }
+        }
+        return diff;
+    }
+
+    /**
+     * Compara as colunas editáveis de um endereço.
+     *
+     * @param atual Endereço gravado no banco.
+     * @param novo  Endereço recebido.
+     * @return Colunas de {@code TB_ENDERECO} que mudaram.
+     */
+    public static ColumnChanges changes(Endereco atual, Endereco novo) {
+        return new ColumnChanges()
+                .compare("CODIGO_BAIRRO", atual.getCodigoBairro(), novo.getCodigoBairro())
+                .compare("NOME_RUA", atual.getNomeRua(), novo.getNomeRua())
+                .compare("NUMERO", atual.getNumero(), novo.getNumero())
+                .compare("COMPLEMENTO", atual.getComplemento(), novo.getComplemento())
+                .compare("CEP", atual.getCep(), novo.getCep());
+    }
+
+    public List<Endereco> getInserts() {
+        return inserts;
+    }
+
+    public List<Update> getUpdates() {
+        return updates;
+    }
+
+    public List<Long> getDeletes() {
+        return deletes;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    /**
+     * @return {@code true} se nenhum endereço precisa ser gravado.
+     */
+    public boolean isEmpty() {
+        return inserts.isEmpty() && updates.isEmpty() && deletes.isEmpty();
+    }
+}
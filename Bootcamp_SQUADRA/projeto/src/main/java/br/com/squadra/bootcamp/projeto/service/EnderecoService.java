@@ -0,0 +1,84 @@
+package br.com.squadra.bootcamp.projeto.service;
+
+import br.com.squadra.bootcamp.projeto.cache.SingleFlight;
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import br.com.squadra.bootcamp.projeto.dto.EnderecoDTOGet;
+import br.com.squadra.bootcamp.projeto.dto.EnderecoPessoaDTO;
+import br.com.squadra.bootcamp.projeto.dto.PaginaDTO;
+import br.com.squadra.bootcamp.projeto.dto.PessoaDTO;
+import br.com.squadra.bootcamp.projeto.model.dao.DAOFactory;
+import br.com.squadra.bootcamp.projeto.model.dao.EnderecoDAO;
+import br.com.squadra.bootcamp.projeto.model.entities.Endereco;
+import br.com.squadra.bootcamp.projeto.readmodel.CepIndex;
+import br.com.squadra.bootcamp.projeto.readmodel.PessoaReadModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serviço responsável pelas consultas de endereços que não partem de uma pessoa, como a busca por CEP.
+ */
+@Service
+public class EnderecoService {
+
+    private EnderecoDAO enderecoDAO = DAOFactory.createEnderecoDAO();
+
+    // Agrupa consultas idênticas simultâneas feitas ao banco enquanto o modelo de leitura não está carregado
+    private final SingleFlight flights = SingleFlight.of("endereco",
+            Table.TB_ENDERECO, Table.TB_PESSOA, Table.TB_BAIRRO, Table.TB_MUNICIPIO, Table.TB_UF);
+
+    @Autowired
+    private PessoaReadModel readModel;
+
+    @Autowired
+    private PessoaService pessoaService;
+
+    /**
+     * Busca os endereços com CEP dentro de uma faixa, com os dados da pessoa a que pertencem.
+     * <p>
+     * Com o modelo de leitura carregado, a consulta é atendida pelo índice de CEP em memória. Até lá, a faixa é
+     * consultada no banco pelo texto do CEP, o que só encontra endereços gravados no formato {@code 00000-000}.
+     * </p>
+     *
+     * @param faixa   Faixa de CEPs (ver {@link CepIndex.Faixa#parse(String)}).
+     * @param pagina  Número da página, a partir de zero.
+     * @param tamanho Quantidade de endereços por página.
+     * @return Página de endereços em ordem de CEP e código do endereço.
+     */
+    public PaginaDTO<EnderecoPessoaDTO> findByCep(CepIndex.Faixa faixa, int pagina, int tamanho) {
+        if (readModel.isWarm("findByCep")) {
+            return readModel.findByCep(faixa, pagina, tamanho);
+        }
+        return flights.execute(() -> loadByCep(faixa, pagina, tamanho), "findByCep", faixa, pagina, tamanho);
+    }
+
+    /**
+     * Carrega do banco uma página da busca por CEP. As pessoas donas dos endereços da página são carregadas juntas,
+     * com consultas {@code IN} (ver {@link PessoaService#findByCodigosPessoa}).
+     */
+    private PaginaDTO<EnderecoPessoaDTO> loadByCep(CepIndex.Faixa faixa, int pagina, int tamanho) {
+        String de = CepIndex.format(faixa.de());
+        String ate = CepIndex.format(faixa.ate());
+        long total = enderecoDAO.findCountByCep(de, ate);
+        List<Endereco> enderecos = enderecoDAO.findByCep(de, ate, (long) pagina * tamanho, tamanho);
+        Map<Long, PessoaDTO> pessoas = pessoaService.findByCodigosPessoa(
+                enderecos.stream().map(Endereco::getCodigoPessoa).toList());
+        List<EnderecoPessoaDTO> conteudo = new ArrayList<>(enderecos.size());
+        for (Endereco endereco : enderecos) {
+            PessoaDTO pessoa = pessoas.get(endereco.getCodigoPessoa());
+            if (pessoa == null) {
+                continue;
+            }
+            for (EnderecoDTOGet enderecoDTO : pessoa.getEnderecos()) {
+                if (endereco.getCodigoEndereco().equals(enderecoDTO.getCodigoEndereco())) {
+                    conteudo.add(new EnderecoPessoaDTO(pessoa, enderecoDTO));
+                    break;
+                }
+            }
+        }
+        return new PaginaDTO<>(conteudo, pagina, tamanho, total);
+    }
+}
@@ -1,11 +1,16 @@
 package br.com.squadra.bootcamp.projeto.service;
 
+import br.com.squadra.bootcamp.projeto.cache.SingleFlight;
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import br.com.squadra.bootcamp.projeto.dto.DuplicadoDTO;
 import br.com.squadra.bootcamp.projeto.model.dao.DAOFactory;
 import br.com.squadra.bootcamp.projeto.model.dao.MunicipioDAO;
 import br.com.squadra.bootcamp.projeto.dto.MunicipioDTO;
 import br.com.squadra.bootcamp.projeto.model.dao.UfDAO;
 import br.com.squadra.bootcamp.projeto.model.entities.Municipio;
 import br.com.squadra.bootcamp.projeto.model.entities.Uf;
+import br.com.squadra.bootcamp.projeto.readmodel.PessoaReadModel;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -20,6 +25,10 @@ public class MunicipioService {
 
     private MunicipioDAO municipioDAO = DAOFactory.createMunicipioDAO();
     private UfDAO ufDAO = DAOFactory.createUfDAO();
+    private final SingleFlight flights = SingleFlight.of("municipio", Table.TB_MUNICIPIO); // Agrupa consultas idênticas simultâneas
+
+    @Autowired
+    private PessoaReadModel readModel;
 
     /**
      * Insere um novo município no banco de dados.
@@ -37,6 +46,7 @@ public class MunicipioService {
      */
     public void update(MunicipioDTO municipioDTO) {
         municipioDAO.update(municipioDTO);
+        readModel.municipioChanged(municipioDTO.getCodigoMunicipio());
     }
 
     /**
@@ -45,7 +55,7 @@ public class MunicipioService {
      * @return lista de objetos {@link MunicipioDTO} representando os municípios encontrados.
      */
     public List<MunicipioDTO> findAll() {
-        return municipioDAO.findAll()
+        return flights.execute(municipioDAO::findAll, "findAll")
                 .stream()
                 .map(municipio -> {
                     return new MunicipioDTO(
@@ -58,6 +68,38 @@ public class MunicipioService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Busca municípios da mesma UF com nome provavelmente igual ao de um município a ser cadastrado (ver
+     * {@link DuplicateNames}). Não impede o cadastro: o resultado é devolvido ao cliente como aviso.
+     *
+     * @param municipioDTO objeto com os dados do município já validados.
+     * @return lista de objetos {@link DuplicadoDTO}, do município mais parecido para o menos parecido.
+     */
+    public List<DuplicadoDTO> findLikelyDuplicates(MunicipioDTO municipioDTO) {
+        List<DuplicateNames.Nome> irmaos = municipioDAO.findByCodigoUF(municipioDTO.getCodigoUF()).stream()
+                .map(municipio -> new DuplicateNames.Nome(municipio.getCodigoMunicipio(), municipioDTO.getCodigoUF(), municipio.getNome()))
+                .collect(Collectors.toList());
+        return DuplicateNames.similar(municipioDTO.getNome(), irmaos, DuplicateNames.LIMIAR_PADRAO).stream()
+                .map(DuplicadoDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Relatório dos pares de municípios de uma mesma UF com nomes provavelmente duplicados em toda a base.
+     *
+     * @param limiar similaridade mínima entre os nomes, de 0 a 1.
+     * @return lista de objetos {@link DuplicadoDTO}, em ordem de UF e de código.
+     */
+    public List<DuplicadoDTO> findDuplicates(double limiar) {
+        List<DuplicateNames.Nome> nomes = flights.execute(municipioDAO::findAll, "findAll").stream()
+                .map(municipio -> new DuplicateNames.Nome(municipio.getCodigoMunicipio(),
+                        municipio.getUf().getCodigoUF(), municipio.getNome()))
+                .collect(Collectors.toList());
+        return DuplicateNames.find(nomes, limiar).stream()
+                .map(DuplicadoDTO::new)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Valida os dados de um município para inserção no banco de dados.
      *
@@ -139,7 +181,8 @@ public class MunicipioService {
      * @return lista de objetos {@link MunicipioDTO} que atendem aos critérios de filtro.
      */
     public List<MunicipioDTO> findByFilters(Optional<Long> codigoMunicipio, Optional<Long> codigoUF, Optional<String> nome, Optional<Integer> status) {
-        List<Municipio> municipios = municipioDAO.findByFilters(codigoMunicipio, codigoUF, nome, status);
+        List<Municipio> municipios = flights.execute(() -> municipioDAO.findByFilters(codigoMunicipio, codigoUF, nome, status),
+                "findByFilters", codigoMunicipio, codigoUF, nome, status);
 
         return municipios.stream()
                 .map(municipio -> new MunicipioDTO(
@@ -1,6 +1,11 @@
 package br.com.squadra.bootcamp.projeto.service;
 
+import br.com.squadra.bootcamp.projeto.cache.SingleFlight;
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
 import br.com.squadra.bootcamp.projeto.dto.*;
+import br.com.squadra.bootcamp.projeto.exception.DbException;
+import br.com.squadra.bootcamp.projeto.jdbc.ColumnChanges;
+import br.com.squadra.bootcamp.projeto.jdbc.RoutingContext;
 import br.com.squadra.bootcamp.projeto.model.dao.BairroDAO;
 import br.com.squadra.bootcamp.projeto.model.dao.DAOFactory;
 import br.com.squadra.bootcamp.projeto.model.dao.EnderecoDAO;
@@ -12,10 +17,19 @@ import br.com.squadra.bootcamp.projeto.model.entities.Endereco;
 import br.com.squadra.bootcamp.projeto.model.entities.Municipio;
 import br.com.squadra.bootcamp.projeto.model.entities.Pessoa;
 import br.com.squadra.bootcamp.projeto.model.entities.Uf;
+import br.com.squadra.bootcamp.projeto.readmodel.CepDictionary;
+import br.com.squadra.bootcamp.projeto.readmodel.CepIndex;
+import br.com.squadra.bootcamp.projeto.readmodel.PessoaReadModel;
+import br.com.squadra.bootcamp.projeto.readmodel.PessoaSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -32,16 +46,26 @@ public class PessoaService {
     private MunicipioDAO municipioDAO = DAOFactory.createMunicipioDAO();
     private UfDAO ufDAO = DAOFactory.createUfDAO();
 
+    // Agrupa consultas idênticas simultâneas feitas ao banco enquanto o modelo de leitura não está carregado
+    private final SingleFlight flights = SingleFlight.of("pessoa",
+            Table.TB_PESSOA, Table.TB_ENDERECO, Table.TB_BAIRRO, Table.TB_MUNICIPIO, Table.TB_UF);
+
+    @Autowired
+    private PessoaReadModel readModel;
+
     /**
      * Retorna uma lista de todas as pessoas, convertidas para DTO e ordenadas por código de forma decrescente.
      *
      * @return Lista de pessoas no formato DTO.
      */
     public List<PessoaDTO> findAll() {
-        return pessoaDAO.findAll().stream()
+        if (readModel.isWarm("findAll")) {
+            return readModel.findByFilters(Optional.empty(), Optional.empty(), Optional.empty());
+        }
+        return flights.execute(() -> pessoaDAO.findAll().stream()
                 .map(this::convertToDTO)
                 .sorted((o1, o2) -> -o1.getCodigoPessoa().compareTo(o2.getCodigoPessoa()))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), "findAll");
     }
 
     /**
@@ -51,6 +75,19 @@ public class PessoaService {
      * @return DTO da pessoa com os endereços, ou null se não encontrar a pessoa.
      */
     public PessoaDTO findByCodigoPessoa(Long codigoPessoa) {
+        if (readModel.isWarm("findByCodigoPessoa")) {
+            return readModel.findByCodigoPessoa(codigoPessoa);
+        }
+        return flights.execute(() -> loadByCodigoPessoa(codigoPessoa), "findByCodigoPessoa", codigoPessoa);
+    }
+
+    /**
+     * Carrega do banco uma pessoa e seus endereços.
+     *
+     * @param codigoPessoa Código único de identificação da pessoa.
+     * @return DTO da pessoa com os endereços, ou null se não encontrar a pessoa.
+     */
+    private PessoaDTO loadByCodigoPessoa(Long codigoPessoa) {
         Pessoa pessoa = pessoaDAO.findByCodigoPessoa(codigoPessoa);
         if (pessoa != null) {
             List<Endereco> enderecos = enderecoDAO.findByCodigoPessoa(codigoPessoa);
@@ -61,6 +98,45 @@ public class PessoaService {
         return null;
     }
 
+    /**
+     * Retorna várias pessoas e seus endereços, a partir dos códigos.
+     * <p>
+     * Com o modelo de leitura frio, as pessoas e os endereços são carregados com uma consulta {@code IN} cada, e os
+     * bairros dos endereços de uma só vez, em vez de uma consulta por pessoa.
+     * </p>
+     *
+     * @param codigosPessoa Códigos das pessoas.
+     * @return DTOs das pessoas encontradas, pelo código; códigos inexistentes ficam de fora.
+     */
+    public Map<Long, PessoaDTO> findByCodigosPessoa(Collection<Long> codigosPessoa) {
+        Map<Long, PessoaDTO> pessoas = new HashMap<>();
+        if (readModel.isWarm("findByCodigosPessoa")) {
+            for (Long codigoPessoa : new LinkedHashSet<>(codigosPessoa)) {
+                PessoaDTO pessoa = readModel.findByCodigoPessoa(codigoPessoa);
+                if (pessoa != null) {
+                    pessoas.put(codigoPessoa, pessoa);
+                }
+            }
+            return pessoas;
+        }
+        for (Pessoa pessoa : pessoaDAO.findByCodigosPessoa(codigosPessoa)) {
+            pessoas.put(pessoa.getCodigoPessoa(), convertToDTO(pessoa));
+        }
+        if (pessoas.isEmpty()) {
+            return pessoas;
+        }
+        List<Endereco> enderecos = enderecoDAO.findByCodigosPessoa(pessoas.keySet());
+        // Deixa os bairros no IdentityMap da requisição antes da conversão, que os busca um a um
+        bairroDAO.findByCodigosBairro(enderecos.stream().map(Endereco::getCodigoBairro).collect(Collectors.toSet()));
+        for (Endereco endereco : enderecos) {
+            PessoaDTO pessoa = pessoas.get(endereco.getCodigoPessoa());
+            if (pessoa != null) {
+                pessoa.getEnderecos().add(convertToDTO(endereco));
+            }
+        }
+        return pessoas;
+    }
+
     /**
      * Busca pessoas com base em filtros opcionais como código, login e status.
      *
@@ -70,10 +146,55 @@ public class PessoaService {
      * @return Lista de pessoas no formato DTO filtradas.
      */
     public List<PessoaDTO> findByFilters(Optional<Long> codigoPessoa, Optional<String> login, Optional<Integer> status) {
-        return pessoaDAO.findByFilters(codigoPessoa, login, status).stream()
+        if (readModel.isWarm("findByFilters")) {
+            return readModel.findByFilters(codigoPessoa, login, status);
+        }
+        return flights.execute(() -> pessoaDAO.findByFilters(codigoPessoa, login, status).stream()
                 .map(this::convertToDTO)
                 .sorted((o1, o2) -> -o1.getCodigoPessoa().compareTo(o2.getCodigoPessoa()))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), "findByFilters", codigoPessoa, login, status);
+    }
+
+    /**
+     * Busca pessoas por nome, sobrenome e login, sem diferenciar acentos nem maiúsculas e minúsculas, aceitando
+     * prefixos de cada palavra. Os resultados vêm em ordem de relevância (ver {@link PessoaSearchIndex}).
+     * <p>
+     * A busca usa o índice invertido mantido pelo modelo de leitura. Enquanto ele não está carregado a busca não é
+     * atendida: montar um índice a cada consulta exigiria ler todas as pessoas do banco.
+     * </p>
+     *
+     * @param consulta    Texto da busca.
+     * @param idadeMinima Idade mínima, inclusive (opcional).
+     * @param idadeMaxima Idade máxima, inclusive (opcional).
+     * @param status      Status da pessoa (opcional).
+     * @param pagina      Número da página, a partir de zero.
+     * @param tamanho     Quantidade de pessoas por página.
+     * @return Página de pessoas, sem endereços, ou null se o índice de busca ainda está sendo carregado.
+     */
+    public PaginaDTO<PessoaDTO> search(String consulta, Optional<Integer> idadeMinima, Optional<Integer> idadeMaxima,
+                                       Optional<Integer> status, int pagina, int tamanho) {
+        if (!readModel.isWarm("search")) {
+            return null;
+        }
+        return readModel.search(consulta, idadeMinima, idadeMaxima, status, pagina, tamanho);
+    }
+
+    /**
+     * Valida o texto de uma busca textual de pessoas.
+     *
+     * @param consulta Texto da busca.
+     * @return Mensagem de erro caso haja algum problema, ou null se tudo estiver correto.
+     */
+    public MessageErrorService validateSearch(String consulta) {
+        if (consulta == null || consulta.isBlank()) {
+            return new MessageErrorService("Não foi possível consultar Pessoa no banco de dados. O campo q deve ser informado.", 404);
+        }
+        boolean temPrefixo = PessoaSearchIndex.tokens(consulta).stream()
+                .anyMatch(termo -> termo.length() >= PessoaSearchIndex.PREFIXO_MINIMO);
+        if (!temPrefixo) {
+            return new MessageErrorService("Não foi possível consultar Pessoa no banco de dados. O campo q deve ter ao menos uma palavra com " + PessoaSearchIndex.PREFIXO_MINIMO + " letras ou mais.", 404);
+        }
+        return null;
     }
 
     /**
@@ -89,51 +210,72 @@ public class PessoaService {
             Endereco endereco = convertToEntity(enderecoDTOGet, pessoa.getCodigoPessoa());
             enderecoDAO.insert(endereco);
         }
+        readModel.refresh(pessoa.getCodigoPessoa());
     }
 
     /**
      * Atualiza os dados de uma pessoa e seus endereços no banco de dados.
+     * <p>
+     * O registro atual é comparado com o recebido: só as colunas alteradas são gravadas, endereços sem alteração não
+     * geram comando algum e, se nada mudou, nem o modelo de leitura é recarregado. A leitura do estado atual é feita
+     * no primário, já que uma réplica atrasada faria uma alteração real parecer sem efeito.
+     * </p>
      *
      * @param pessoaDTO Dados da pessoa a serem atualizados.
+     * @throws DbException Se a pessoa não existir.
      */
     public void update(PessoaDTO pessoaDTO) {
         Pessoa pessoa = convertToEntity(pessoaDTO);
-        pessoaDAO.update(pessoa);
-
-        List<Endereco> enderecosAtuais = enderecoDAO.findByCodigoPessoa(pessoa.getCodigoPessoa());
-
-        List<Long> enderecosIdsAtualizados = new ArrayList<>();
-
-        for (EnderecoDTOGet enderecoDTO : pessoaDTO.getEnderecos()) {
-            if (enderecoDTO.getCodigoEndereco() != null) {
-                Endereco enderecoExistente = enderecosAtuais.stream()
-                        .filter(e -> e.getCodigoEndereco().equals(enderecoDTO.getCodigoEndereco()))
-                        .findFirst()
-                        .orElse(null);
-
-                if (enderecoExistente != null) {
-                    enderecoExistente.setCodigoBairro(enderecoDTO.getCodigoBairro());
-                    enderecoExistente.setNomeRua(enderecoDTO.getNomeRua());
-                    enderecoExistente.setNumero(enderecoDTO.getNumero());
-                    enderecoExistente.setComplemento(enderecoDTO.getComplemento());
-                    enderecoExistente.setCep(enderecoDTO.getCep());
-                    enderecoDAO.update(enderecoExistente);
-                    enderecosIdsAtualizados.add(enderecoExistente.getCodigoEndereco());
-                }
-            } else {
-                Endereco novoEndereco = convertToEntity(enderecoDTO, pessoa.getCodigoPessoa());
-                enderecoDAO.insert(novoEndereco);
-                enderecosIdsAtualizados.add(novoEndereco.getCodigoEndereco());
+        RoutingContext.Intent intentAnterior = RoutingContext.enter(RoutingContext.Intent.WRITE);
+        try {
+            Pessoa atual = pessoaDAO.findByCodigoPessoa(pessoa.getCodigoPessoa());
+            if (atual == null) {
+                throw new DbException("Pessoa não encontrada: " + pessoa.getCodigoPessoa());
+            }
+            boolean alterada = pessoaDAO.updateColumns(pessoa.getCodigoPessoa(), changes(atual, pessoa));
+
+            List<Endereco> enderecosDesejados = new ArrayList<>(pessoaDTO.getEnderecos().size());
+            for (EnderecoDTOGet enderecoDTO : pessoaDTO.getEnderecos()) {
+                Endereco endereco = convertToEntity(enderecoDTO, pessoa.getCodigoPessoa());
+                endereco.setCodigoEndereco(enderecoDTO.getCodigoEndereco());
+                enderecosDesejados.add(endereco);
+            }
+            EnderecoDiff diff = EnderecoDiff.of(atual.getEnderecos(), enderecosDesejados);
+            for (Endereco endereco : diff.getInserts()) {
+                enderecoDAO.insert(endereco);
+            }
+            for (EnderecoDiff.Update update : diff.getUpdates()) {
+                enderecoDAO.updateColumns(update.codigoEndereco(), update.changes());
+            }
+            for (Long codigoEndereco : diff.getDeletes()) {
+                enderecoDAO.deleteByCodigoEndereco(codigoEndereco);
             }
-        }
 
-        for (Endereco enderecoAtual : enderecosAtuais) {
-            if (!enderecosIdsAtualizados.contains(enderecoAtual.getCodigoEndereco())) {
-                enderecoDAO.deleteByCodigoEndereco(enderecoAtual.getCodigoEndereco());
+            if (alterada || !diff.isEmpty()) {
+                readModel.refresh(pessoa.getCodigoPessoa());
             }
+        } finally {
+            RoutingContext.exit(intentAnterior);
         }
     }
 
+    /**
+     * Compara as colunas editáveis de uma pessoa.
+     *
+     * @param atual Pessoa gravada no banco.
+     * @param nova  Pessoa recebida na alteração.
+     * @return Colunas de {@code TB_PESSOA} que mudaram.
+     */
+    private static ColumnChanges changes(Pessoa atual, Pessoa nova) {
+        return new ColumnChanges()
+                .compare("NOME", atual.getNome(), nova.getNome())
+                .compare("SOBRENOME", atual.getSobrenome(), nova.getSobrenome())
+                .compare("IDADE", atual.getIdade(), nova.getIdade())
+                .compare("LOGIN", atual.getLogin(), nova.getLogin())
+                .compare("SENHA", atual.getSenha(), nova.getSenha())
+                .compare("STATUS", atual.getStatus(), nova.getStatus());
+    }
+
     /**
      * Converte uma entidade Pessoa para o seu DTO correspondente.
      *
@@ -283,7 +425,8 @@ public class PessoaService {
     }
 
     /**
-     * Valida os dados de entrada para a criação de uma nova pessoa no banco de dados.
+     * Valida os dados de entrada para a criação de uma nova pessoa no banco de dados. Endereços cujo CEP está no
+     * {@link CepDictionary} têm o bairro completado, quando omitido, e o CEP gravado no formato {@code 00000-000}.
      *
      * @param pessoaDTO Dados da pessoa a serem validados.
      * @return Mensagem de erro caso haja algum problema, ou null se tudo estiver correto.
@@ -319,6 +462,21 @@ public class PessoaService {
             return new MessageErrorService("Não foi possível incluir pessoa no banco de dados. O status deve ser 1 ou 2.", 404);
         }
 
+        // Completa o bairro e padroniza o CEP pelo dicionário de CEPs, quando configurado, sem consultar o banco
+        CepDictionary dicionario = CepDictionary.get();
+        for (EnderecoDTOGet endereco : pessoaDTO.getEnderecos()) {
+            CepDictionary.Localizacao localizacao = dicionario != null ? dicionario.lookup(endereco.getCep()) : null;
+            if (localizacao == null) {
+                continue;
+            }
+            if (endereco.getCodigoBairro() == null) {
+                endereco.setCodigoBairro(localizacao.codigoBairro());
+            } else if (endereco.getCodigoBairro() != localizacao.codigoBairro()) {
+                return new MessageErrorService("Não foi possível incluir pessoa no banco de dados. O CEP " + endereco.getCep() + " não pertence ao bairro " + endereco.getCodigoBairro() + ".", 404);
+            }
+            endereco.setCep(CepIndex.format(CepIndex.normalize(endereco.getCep())));
+        }
+
         // Valida se todos os códigos de bairro existem no banco de dados
         for (EnderecoDTOGet endereco : pessoaDTO.getEnderecos()) {
             if (endereco.getCodigoBairro() == null) {
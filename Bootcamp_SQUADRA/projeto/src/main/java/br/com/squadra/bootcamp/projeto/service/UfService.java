@@ -1,9 +1,13 @@
 package br.com.squadra.bootcamp.projeto.service;
 
+import br.com.squadra.bootcamp.projeto.cache.SingleFlight;
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
 import br.com.squadra.bootcamp.projeto.model.dao.DAOFactory;
 import br.com.squadra.bootcamp.projeto.model.dao.UfDAO;
 import br.com.squadra.bootcamp.projeto.model.entities.Uf;
 import br.com.squadra.bootcamp.projeto.util.UfList;
+import br.com.squadra.bootcamp.projeto.readmodel.PessoaReadModel;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,6 +20,10 @@ import java.util.List;
 public class UfService {
 
     private UfDAO ufDAO = DAOFactory.createUfDAO(); // Instância do DAO responsável por interagir com a tabela de UFs
+    private final SingleFlight flights = SingleFlight.of("uf", Table.TB_UF); // Agrupa consultas idênticas simultâneas
+
+    @Autowired
+    private PessoaReadModel readModel;
     private final MessageErrorService messageErrorServicePost = new MessageErrorService("Não foi possível incluir UF no banco de dados.", 404); // Mensagem de erro para POST
     private final MessageErrorService messageErrorServicePut = new MessageErrorService("Não foi possível alterar UF no banco de dados.", 404); // Mensagem de erro para PUT
 
@@ -40,7 +48,8 @@ public class UfService {
      * @return A UF que corresponde aos filtros fornecidos.
      */
     public Uf findUniqueByFilters(Long codigoUF, String sigla, String nome, Integer status) {
-        return ufDAO.findUniqueByFilters(codigoUF, sigla, nome, status);
+        return flights.execute(() -> ufDAO.findUniqueByFilters(codigoUF, sigla, nome, status),
+                "findUniqueByFilters", codigoUF, sigla, nome, status);
     }
 
     /**
@@ -50,7 +59,7 @@ public class UfService {
      * @return Uma lista de UFs com o status informado.
      */
     public List<Uf> findByStatus(int status) {
-        return ufDAO.findByStatus(status);
+        return flights.execute(() -> ufDAO.findByStatus(status), "findByStatus", status);
     }
 
     /**
@@ -60,7 +69,7 @@ public class UfService {
      * @return A UF encontrada, ou null se não houver nenhuma UF com o código informado.
      */
     public Uf findById(Long codigoUF) {
-        return ufDAO.findById(codigoUF);
+        return flights.execute(() -> ufDAO.findById(codigoUF), "findById", codigoUF);
     }
 
     /**
@@ -69,7 +78,7 @@ public class UfService {
      * @return Uma lista com todas as UFs cadastradas.
      */
     public List<Uf> findAll() {
-        List<Uf> ufList = ufDAO.findAll();
+        List<Uf> ufList = flights.execute(ufDAO::findAll, "findAll");
         return ufList;
     }
 
@@ -92,6 +101,7 @@ public class UfService {
      */
     public List<Uf> updateUf(Uf uf) {
         ufDAO.update(uf);
+        readModel.ufChanged(uf.getCodigoUF());
         return ufDAO.findAll();
     }
 
@@ -0,0 +1,31 @@
+package br.com.squadra.bootcamp.projeto.util;
+
+import br.com.squadra.bootcamp.projeto.readmodel.CepDictionary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Compila a tabela nacional de CEPs, em CSV, para o arquivo binário lido pelo {@link CepDictionary}.
+ * <p>
+ * O CSV deve ter, em cada linha, o CEP e os códigos do bairro, do município e da UF já cadastrados na base
+ * ({@code cep;codigoBairro;codigoMunicipio;codigoUF}). Exemplo de uso, a partir do diretório do projeto:
+ * <pre>
+ * ./mvnw -q compile exec:java -Dexec.mainClass=br.com.squadra.bootcamp.projeto.util.CepDictionaryCompiler \
+ *     -Dexec.args="ceps.csv ceps.bin"
+ * </pre>
+ * O arquivo gerado é configurado na propriedade {@code cep-dictionary.path}.
+ * </p>
+ */
+public class CepDictionaryCompiler {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: CepDictionaryCompiler <ceps.csv> <ceps.bin>");
+            System.exit(1);
+        }
+        long inicio = System.nanoTime();
+        int ceps = CepDictionary.compile(Path.of(args[0]), Path.of(args[1]));
+        System.out.printf("%d CEPs compilados em %s (%d ms).%n", ceps, args[1], (System.nanoTime() - inicio) / 1_000_000);
+    }
+}
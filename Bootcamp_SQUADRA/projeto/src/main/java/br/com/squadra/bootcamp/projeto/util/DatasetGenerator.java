@@ -0,0 +1,468 @@
+package br.com.squadra.bootcamp.projeto.util;
+
+import br.com.squadra.bootcamp.projeto.exception.DbException;
+import br.com.squadra.bootcamp.projeto.service.ConnectionService;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Gerador de massa de dados sintética com volumes próximos aos de produção.
+ * <p>
+ * Carrega, através de JDBC em lotes, todas as 27 UFs de {@link UfList#mapUfs}, os municípios (por padrão 5.570,
+ * distribuídos entre as UFs na proporção real), os bairros (por padrão 50.000) e as pessoas, cada uma com 1 a 5
+ * endereços. Municípios são sorteados com distribuição Zipfiana, de forma que poucas cidades concentram a maior parte
+ * dos bairros e das pessoas, como acontece na base real.
+ * </p>
+ * <p>
+ * A geração é determinística para uma mesma semente, de modo que todo benchmark e teste de carga rode sobre o mesmo
+ * volume. As tabelas precisam estar vazias; ao final as sequences são reposicionadas após o maior código gerado.
+ * </p>
+ * <p>
+ * Cada tabela, e cada lote de pessoas, é confirmado assim que carregado, para que uma carga de milhões de linhas não
+ * dependa de uma única transação gigante. Se a carga falhar no meio, todas as linhas já confirmadas são removidas,
+ * o que é seguro porque as tabelas estavam vazias no início, e a base volta ao estado anterior.
+ * </p>
+ * <p>
+ * Exemplo de uso, a partir do diretório do projeto:
+ * <pre>
+ * ./mvnw -q compile exec:java -Dexec.mainClass=br.com.squadra.bootcamp.projeto.util.DatasetGenerator \
+ *     -Dexec.args="--pessoas=2000000 --seed=42"
+ * </pre>
+ * Parâmetros aceitos: {@code --municipios}, {@code --bairros}, {@code --pessoas}, {@code --seed}, {@code --lote}
+ * e {@code --zipf} (expoente da distribuição).
+ * </p>
+ */
+public class DatasetGenerator {
+
+    /**
+     * Quantidade real de municípios por sigla de UF, usada como peso na distribuição dos municípios gerados.
+     */
+    private static final Map<String, Integer> MUNICIPIOS_POR_UF = Map.ofEntries(
+            Map.entry("AC", 22), Map.entry("AL", 102), Map.entry("AP", 16), Map.entry("AM", 62),
+            Map.entry("BA", 417), Map.entry("CE", 184), Map.entry("DF", 1), Map.entry("ES", 78),
+            Map.entry("GO", 246), Map.entry("MA", 217), Map.entry("MT", 141), Map.entry("MS", 79),
+            Map.entry("MG", 853), Map.entry("PA", 144), Map.entry("PB", 223), Map.entry("PR", 399),
+            Map.entry("PE", 185), Map.entry("PI", 224), Map.entry("RJ", 92), Map.entry("RN", 167),
+            Map.entry("RS", 497), Map.entry("RO", 52), Map.entry("RR", 15), Map.entry("SC", 295),
+            Map.entry("SP", 645), Map.entry("SE", 75), Map.entry("TO", 139)
+    );
+
+    private static final String[] PREFIXOS_MUNICIPIO = {"SÃO", "SANTA", "SANTO", "NOVA", "NOVO", "PORTO", "BOM", "BOA", "CAMPO", "RIO", "MONTE", "VILA", "PONTE", "SERRA", "BARRA"};
+    private static final String[] NUCLEOS_MUNICIPIO = {"JOSÉ", "MARIA", "ESPERANÇA", "JESUS", "PAULO", "ALEGRE", "VISTA", "FÉ", "ANTÔNIO", "LUZIA", "CRUZ", "FLORESTA", "HORIZONTE", "BRANCO", "VERDE", "AZUL", "DOURADO", "BONITO", "LINDO", "REDONDO", "ALTO", "GRANDE"};
+    private static final String[] SUFIXOS_MUNICIPIO = {"", "", "", " DO NORTE", " DO SUL", " DO OESTE", " DAS PEDRAS", " DA SERRA", " DOS CAMPOS", " DO RIO", " DO VALE", " DA MATA"};
+    private static final String[] TIPOS_BAIRRO = {"JARDIM", "VILA", "PARQUE", "CONJUNTO", "RESIDENCIAL", "SETOR", "CENTRO", "NÚCLEO", "LOTEAMENTO", "CHÁCARA"};
+    private static final String[] NOMES_BAIRRO = {"AMÉRICA", "EUROPA", "PRIMAVERA", "DAS FLORES", "SÃO JORGE", "NOVA ESPERANÇA", "BELA VISTA", "DOS IPÊS", "DAS PALMEIRAS", "INDUSTRIAL", "UNIVERSITÁRIO", "AEROPORTO", "IPIRANGA", "PAULISTA", "PROGRESSO", "DOS ESTADOS", "ALVORADA", "SANTA RITA", "BOM JESUS", "AURORA"};
+    private static final String[] NOMES = {"ANA", "MARIA", "JOÃO", "JOSÉ", "PEDRO", "LUCAS", "GABRIEL", "JULIA", "BEATRIZ", "MATEUS", "RAFAEL", "CAMILA", "LARISSA", "BRUNO", "FERNANDA", "CARLOS", "PAULA", "RODRIGO", "LETÍCIA", "GUSTAVO", "MARCOS", "ALINE", "FELIPE", "VITÓRIA"};
+    private static final String[] SOBRENOMES = {"SILVA", "SANTOS", "OLIVEIRA", "SOUZA", "RODRIGUES", "FERREIRA", "ALVES", "PEREIRA", "LIMA", "GOMES", "COSTA", "RIBEIRO", "MARTINS", "CARVALHO", "ALMEIDA", "LOPES", "SOARES", "FERNANDES", "VIEIRA", "BARBOSA"};
+    private static final String[] LOGRADOUROS = {"RUA", "AVENIDA", "TRAVESSA", "ALAMEDA", "RODOVIA", "ESTRADA"};
+    private static final String[] COMPLEMENTOS = {"", "", "", "CASA", "APTO 101", "APTO 204", "BLOCO B", "FUNDOS", "SALA 3", "QUADRA 5 LOTE 12"};
+
+    /**
+     * Tabelas carregadas, das tabelas pai para as tabelas filhas.
+     */
+    private static final String[] TABELAS = {"TB_UF", "TB_MUNICIPIO", "TB_BAIRRO", "TB_PESSOA", "TB_ENDERECO"};
+
+    /**
+     * Distribuição acumulada do número de endereços por pessoa (1 a 5).
+     */
+    private static final double[] ENDERECOS_POR_PESSOA_ACUMULADO = {0.50, 0.75, 0.90, 0.97, 1.00};
+
+    private final Connection connection;
+    private final Random random;
+    private final int totalMunicipios;
+    private final int totalBairros;
+    private final long totalPessoas;
+    private final int tamanhoLote;
+    private final double expoenteZipf;
+
+    private long[] codigosMunicipio;
+    private int[] primeiroBairroDoMunicipio;
+    private int[] quantidadeBairrosDoMunicipio;
+    private long[] codigosBairro;
+    private int[] cepBaseDoBairro;
+
+    /**
+     * Construtor do gerador.
+     *
+     * @param connection      Conexão com o banco de dados onde os dados serão carregados.
+     * @param seed            Semente do gerador pseudoaleatório.
+     * @param totalMunicipios Quantidade de municípios a gerar.
+     * @param totalBairros    Quantidade de bairros a gerar (no mínimo um por município).
+     * @param totalPessoas    Quantidade de pessoas a gerar.
+     * @param tamanhoLote     Quantidade de linhas por lote JDBC.
+     * @param expoenteZipf    Expoente da distribuição Zipfiana entre municípios.
+     */
+    public DatasetGenerator(Connection connection, long seed, int totalMunicipios, int totalBairros, long totalPessoas, int tamanhoLote, double expoenteZipf) {
+        this.connection = connection;
+        this.random = new Random(seed);
+        this.totalMunicipios = totalMunicipios;
+        this.totalBairros = Math.max(totalBairros, totalMunicipios);
+        this.totalPessoas = totalPessoas;
+        this.tamanhoLote = tamanhoLote;
+        this.expoenteZipf = expoenteZipf;
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> opcoes = parseArgs(args);
+        long seed = Long.parseLong(opcoes.getOrDefault("seed", "20241018"));
+        int municipios = Integer.parseInt(opcoes.getOrDefault("municipios", "5570"));
+        int bairros = Integer.parseInt(opcoes.getOrDefault("bairros", "50000"));
+        long pessoas = Long.parseLong(opcoes.getOrDefault("pessoas", "1000000"));
+        int lote = Integer.parseInt(opcoes.getOrDefault("lote", "1000"));
+        double zipf = Double.parseDouble(opcoes.getOrDefault("zipf", "1.07"));
+
+        Connection connection = ConnectionService.getConnection();
+        try {
+            new DatasetGenerator(connection, seed, municipios, bairros, pessoas, lote, zipf).generate();
+        } finally {
+            ConnectionService.closeConnection();
+        }
+    }
+
+    /**
+     * Executa a geração completa: UFs, municípios, bairros, pessoas e endereços, nessa ordem.
+     *
+     * @throws DbException Se alguma tabela não estiver vazia ou ocorrer erro durante a carga; neste caso as tabelas
+     *                     são esvaziadas novamente.
+     */
+    public void generate() {
+        try {
+            validateEmptyTables();
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                long inicio = System.nanoTime();
+                long[] codigosUf = generateUfs();
+                generateMunicipios(codigosUf);
+                generateBairros();
+                long enderecos = generatePessoas();
+                restartSequences(enderecos);
+                connection.commit();
+                System.out.printf("Carga concluída em %d s.%n", (System.nanoTime() - inicio) / 1_000_000_000L);
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    connection.rollback();
+                    deleteGenerated();
+                } catch (SQLException limpeza) {
+                    e.addSuppressed(limpeza);
+                }
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new DbException("Erro ao gerar massa de dados: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Garante que as tabelas de destino estão vazias, evitando conflito com os códigos gerados.
+     */
+    private void validateEmptyTables() throws SQLException {
+        for (String tabela : TABELAS) {
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + tabela)) {
+                if (rs.next() && rs.getLong(1) > 0) {
+                    throw new DbException("A tabela " + tabela + " não está vazia. A massa de dados só pode ser gerada em uma base vazia.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove as linhas confirmadas por uma carga que falhou, das tabelas filhas para as tabelas pai.
+     */
+    private void deleteGenerated() throws SQLException {
+        for (int i = TABELAS.length - 1; i >= 0; i--) {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.executeUpdate("DELETE FROM " + TABELAS[i]);
+            }
+            connection.commit();
+        }
+        System.out.println("Carga interrompida; as linhas já gravadas foram removidas.");
+    }
+
+    /**
+     * Insere as 27 UFs em ordem alfabética, para que os códigos sejam sempre os mesmos.
+     *
+     * @return Códigos gerados, na mesma ordem alfabética dos nomes.
+     */
+    private long[] generateUfs() throws SQLException {
+        Map<String, String> ufsOrdenadas = new TreeMap<>(UfList.mapUfs);
+        long[] codigos = new long[ufsOrdenadas.size()];
+        String sql = "INSERT INTO TB_UF (CODIGO_UF, SIGLA, NOME, STATUS) VALUES (?, ?, ?, ?)";
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            int i = 0;
+            for (Map.Entry<String, String> uf : ufsOrdenadas.entrySet()) {
+                codigos[i] = i + 1;
+                stmt.setLong(1, codigos[i]);
+                stmt.setString(2, uf.getValue());
+                stmt.setString(3, uf.getKey());
+                stmt.setInt(4, 1);
+                stmt.addBatch();
+                i++;
+            }
+            stmt.executeBatch();
+        }
+        connection.commit();
+        System.out.printf("UFs: %d%n", codigos.length);
+        return codigos;
+    }
+
+    /**
+     * Distribui os municípios entre as UFs proporcionalmente à quantidade real de cada estado.
+     * O código do município define seu posto na distribuição Zipfiana (código 1 é a maior cidade).
+     */
+    private void generateMunicipios(long[] codigosUf) throws SQLException {
+        List<String> siglas = new ArrayList<>(new TreeMap<>(UfList.mapUfs).values());
+        int pesoTotal = MUNICIPIOS_POR_UF.values().stream().mapToInt(Integer::intValue).sum();
+        long[] ufDoMunicipio = new long[totalMunicipios];
+
+        int posicao = 0;
+        for (int i = 0; i < siglas.size() && posicao < totalMunicipios; i++) {
+            int quantidade = Math.max(1, (int) Math.round((double) MUNICIPIOS_POR_UF.get(siglas.get(i)) * totalMunicipios / pesoTotal));
+            for (int j = 0; j < quantidade && posicao < totalMunicipios; j++) {
+                ufDoMunicipio[posicao++] = codigosUf[i];
+            }
+        }
+        while (posicao < totalMunicipios) {
+            ufDoMunicipio[posicao++] = codigosUf[random.nextInt(codigosUf.length)];
+        }
+        shuffle(ufDoMunicipio);
+
+        codigosMunicipio = new long[totalMunicipios];
+        Set<String> nomesUsados = new HashSet<>();
+        String sql = "INSERT INTO TB_MUNICIPIO (CODIGO_MUNICIPIO, CODIGO_UF, NOME, STATUS) VALUES (?, ?, ?, ?)";
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < totalMunicipios; i++) {
+                codigosMunicipio[i] = i + 1;
+                String nome = uniqueName(nomesUsados,
+                        pick(PREFIXOS_MUNICIPIO) + " " + pick(NUCLEOS_MUNICIPIO) + pick(SUFIXOS_MUNICIPIO));
+                stmt.setLong(1, codigosMunicipio[i]);
+                stmt.setLong(2, ufDoMunicipio[i]);
+                stmt.setString(3, nome);
+                stmt.setInt(4, random.nextInt(100) < 97 ? 1 : 2);
+                addBatch(stmt, i + 1);
+            }
+            stmt.executeBatch();
+        }
+        connection.commit();
+        System.out.printf("Municípios: %d%n", totalMunicipios);
+    }
+
+    /**
+     * Gera um bairro por município e distribui o restante seguindo a distribuição Zipfiana,
+     * mantendo os bairros de um mesmo município com códigos contíguos.
+     */
+    private void generateBairros() throws SQLException {
+        quantidadeBairrosDoMunicipio = new int[totalMunicipios];
+        Arrays.fill(quantidadeBairrosDoMunicipio, 1);
+        ZipfSampler zipf = new ZipfSampler(totalMunicipios, expoenteZipf);
+        for (int i = totalMunicipios; i < totalBairros; i++) {
+            quantidadeBairrosDoMunicipio[zipf.sample(random)]++;
+        }
+
+        primeiroBairroDoMunicipio = new int[totalMunicipios];
+        codigosBairro = new long[totalBairros];
+        cepBaseDoBairro = new int[totalBairros];
+        Set<String> nomesUsados = new HashSet<>();
+        String sql = "INSERT INTO TB_BAIRRO (CODIGO_BAIRRO, CODIGO_MUNICIPIO, NOME, STATUS) VALUES (?, ?, ?, ?)";
+
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            int indice = 0;
+            for (int m = 0; m < totalMunicipios; m++) {
+                primeiroBairroDoMunicipio[m] = indice;
+                for (int b = 0; b < quantidadeBairrosDoMunicipio[m]; b++) {
+                    codigosBairro[indice] = indice + 1;
+                    // Faixa de CEP de 5 dígitos por bairro, derivada do município, como nas faixas dos Correios
+                    cepBaseDoBairro[indice] = (int) ((codigosMunicipio[m] * 97 + b) % 100_000);
+                    String nome = uniqueName(nomesUsados, pick(TIPOS_BAIRRO) + " " + pick(NOMES_BAIRRO));
+                    stmt.setLong(1, codigosBairro[indice]);
+                    stmt.setLong(2, codigosMunicipio[m]);
+                    stmt.setString(3, nome);
+                    stmt.setInt(4, random.nextInt(100) < 95 ? 1 : 2);
+                    addBatch(stmt, indice + 1);
+                    indice++;
+                }
+            }
+            stmt.executeBatch();
+        }
+        connection.commit();
+        System.out.printf("Bairros: %d%n", totalBairros);
+    }
+
+    /**
+     * Gera as pessoas e seus endereços. O município de cada pessoa é sorteado pela distribuição Zipfiana
+     * e os endereços caem em bairros desse município.
+     *
+     * @return Quantidade total de endereços gerados.
+     */
+    private long generatePessoas() throws SQLException {
+        ZipfSampler zipf = new ZipfSampler(totalMunicipios, expoenteZipf);
+        String sqlPessoa = "INSERT INTO TB_PESSOA (CODIGO_PESSOA, NOME, SOBRENOME, IDADE, LOGIN, SENHA, STATUS) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String sqlEndereco = "INSERT INTO TB_ENDERECO (CODIGO_ENDERECO, CODIGO_PESSOA, CODIGO_BAIRRO, NOME_RUA, NUMERO, COMPLEMENTO, CEP) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        long codigoEndereco = 0;
+
+        try (PreparedStatement stmtPessoa = connection.prepareStatement(sqlPessoa);
+             PreparedStatement stmtEndereco = connection.prepareStatement(sqlEndereco)) {
+            for (long codigoPessoa = 1; codigoPessoa <= totalPessoas; codigoPessoa++) {
+                stmtPessoa.setLong(1, codigoPessoa);
+                stmtPessoa.setString(2, pick(NOMES));
+                stmtPessoa.setString(3, pick(SOBRENOMES));
+                stmtPessoa.setInt(4, 18 + random.nextInt(73));
+                stmtPessoa.setString(5, "usuario" + codigoPessoa);
+                stmtPessoa.setString(6, "senha" + Long.toHexString(random.nextLong()));
+                stmtPessoa.setInt(7, random.nextInt(100) < 90 ? 1 : 2);
+                stmtPessoa.addBatch();
+
+                int municipio = zipf.sample(random);
+                int quantidadeEnderecos = sampleQuantidadeEnderecos();
+                for (int e = 0; e < quantidadeEnderecos; e++) {
+                    int bairro = primeiroBairroDoMunicipio[municipio] + random.nextInt(quantidadeBairrosDoMunicipio[municipio]);
+                    stmtEndereco.setLong(1, ++codigoEndereco);
+                    stmtEndereco.setLong(2, codigoPessoa);
+                    stmtEndereco.setLong(3, codigosBairro[bairro]);
+                    stmtEndereco.setString(4, pick(LOGRADOUROS) + " " + pick(NOMES_BAIRRO));
+                    stmtEndereco.setString(5, String.valueOf(1 + random.nextInt(3000)));
+                    stmtEndereco.setString(6, pick(COMPLEMENTOS));
+                    stmtEndereco.setString(7, String.format("%05d-%03d", cepBaseDoBairro[bairro], random.nextInt(1000)));
+                    stmtEndereco.addBatch();
+                }
+
+                // Pessoas e endereços são enviados juntos para respeitar a chave estrangeira de TB_ENDERECO
+                if (codigoPessoa % tamanhoLote == 0) {
+                    stmtPessoa.executeBatch();
+                    stmtEndereco.executeBatch();
+                    connection.commit();
+                }
+                if (codigoPessoa % 100_000 == 0) {
+                    System.out.printf("Pessoas: %d de %d%n", codigoPessoa, totalPessoas);
+                }
+            }
+            stmtPessoa.executeBatch();
+            stmtEndereco.executeBatch();
+        }
+        connection.commit();
+        System.out.printf("Pessoas: %d, Endereços: %d%n", totalPessoas, codigoEndereco);
+        return codigoEndereco;
+    }
+
+    /**
+     * Reposiciona as sequences após os códigos gerados, para que as inserções feitas pela API não colidam com a massa.
+     */
+    private void restartSequences(long totalEnderecos) throws SQLException {
+        restartSequence("SEQUENCE_UF", UfList.mapUfs.size() + 1L);
+        restartSequence("SEQUENCE_MUNICIPIO", totalMunicipios + 1L);
+        restartSequence("SEQUENCE_BAIRRO", totalBairros + 1L);
+        restartSequence("SEQUENCE_PESSOA", totalPessoas + 1);
+        restartSequence("SEQUENCE_ENDERECO", totalEnderecos + 1);
+    }
+
+    private void restartSequence(String sequence, long inicio) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("ALTER SEQUENCE " + sequence + " RESTART START WITH " + inicio);
+        }
+    }
+
+    private void addBatch(PreparedStatement stmt, long linha) throws SQLException {
+        stmt.addBatch();
+        if (linha % tamanhoLote == 0) {
+            stmt.executeBatch();
+        }
+    }
+
+    private int sampleQuantidadeEnderecos() {
+        double u = random.nextDouble();
+        for (int i = 0; i < ENDERECOS_POR_PESSOA_ACUMULADO.length; i++) {
+            if (u < ENDERECOS_POR_PESSOA_ACUMULADO[i]) {
+                return i + 1;
+            }
+        }
+        return ENDERECOS_POR_PESSOA_ACUMULADO.length;
+    }
+
+    private String pick(String[] valores) {
+        return valores[random.nextInt(valores.length)];
+    }
+
+    /**
+     * Garante nomes únicos, pois a API rejeita municípios e bairros com nomes repetidos.
+     */
+    private static String uniqueName(Set<String> usados, String nome) {
+        String candidato = nome;
+        int sufixo = 2;
+        while (!usados.add(candidato)) {
+            candidato = nome + " " + sufixo++;
+        }
+        return candidato;
+    }
+
+    private void shuffle(long[] valores) {
+        for (int i = valores.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long aux = valores[i];
+            valores[i] = valores[j];
+            valores[j] = aux;
+        }
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opcoes = new TreeMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                opcoes.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return opcoes;
+    }
+
+    /**
+     * Amostrador de distribuição Zipfiana sobre os postos {@code 0..n-1}, usando a distribuição acumulada
+     * pré-calculada e busca binária.
+     */
+    static class ZipfSampler {
+
+        private final double[] acumulado;
+
+        ZipfSampler(int n, double expoente) {
+            acumulado = new double[n];
+            double soma = 0;
+            for (int i = 0; i < n; i++) {
+                soma += 1.0 / Math.pow(i + 1, expoente);
+                acumulado[i] = soma;
+            }
+            for (int i = 0; i < n; i++) {
+                acumulado[i] /= soma;
+            }
+        }
+
+        int sample(Random random) {
+            double u = random.nextDouble();
+            int baixo = 0;
+            int alto = acumulado.length - 1;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (acumulado[meio] < u) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.squadra.bootcamp.projeto.util;
+
+import br.com.squadra.bootcamp.projeto.model.dao.Flyweights;
+import br.com.squadra.bootcamp.projeto.model.dao.IdentityMap;
+import br.com.squadra.bootcamp.projeto.model.dao.impl.BairroDAOImpl;
+import br.com.squadra.bootcamp.projeto.model.dao.impl.MunicipioDAOImpl;
+import br.com.squadra.bootcamp.projeto.model.dao.impl.PessoaDAOImpl;
+import br.com.squadra.bootcamp.projeto.service.ConnectionService;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Mede o heap retido por linha das listas grandes, com e sem as instâncias compartilhadas do {@link Flyweights}.
+ * <p>
+ * Para cada tabela, a lista completa é carregada {@code --copias} vezes, cada carga em um escopo próprio do
+ * {@link IdentityMap}, como se fossem requisições diferentes cujas respostas ficam em memória ao mesmo tempo (cache
+ * de respostas, read model). O heap ocupado é medido depois de uma coleta completa antes e depois das cargas, e a
+ * diferença é dividida pelo total de linhas. A primeira rodada é feita com o compartilhamento desabilitado, que é o
+ * comportamento anterior, e a segunda com ele habilitado.
+ * </p>
+ * <p>
+ * Deve ser executado sobre a massa do {@link DatasetGenerator}, a partir do diretório do projeto:
+ * <pre>
+ * ./mvnw -q compile exec:java -Dexec.mainClass=br.com.squadra.bootcamp.projeto.util.HeapPerRowBenchmark \
+ *     -Dexec.args="--copias=4"
+ * </pre>
+ * Parâmetros aceitos: {@code --copias} e {@code --max-nomes} (capacidade do repositório de nomes).
+ * </p>
+ */
+public class HeapPerRowBenchmark {
+
+    private static final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    public static void main(String[] args) {
+        Map<String, String> opcoes = new HashMap<>();
+        for (String arg : args) {
+            String[] partes = arg.replaceFirst("^--", "").split("=", 2);
+            opcoes.put(partes[0], partes.length > 1 ? partes[1] : "true");
+        }
+        int copias = Integer.parseInt(opcoes.getOrDefault("copias", "4"));
+        int maxNomes = Integer.parseInt(opcoes.getOrDefault("max-nomes", "100000"));
+
+        Connection connection = ConnectionService.getConnection();
+        try {
+            Map<String, Supplier<List<?>>> tabelas = new LinkedHashMap<>();
+            tabelas.put("TB_MUNICIPIO", () -> new MunicipioDAOImpl(connection).findAll());
+            tabelas.put("TB_BAIRRO", () -> new BairroDAOImpl(connection).findAll());
+            tabelas.put("TB_PESSOA", () -> new PessoaDAOImpl(connection).findAll());
+
+            System.out.printf("%-14s %10s %16s %16s %8s%n", "tabela", "linhas", "antes (B/linha)", "depois (B/linha)", "ganho");
+            for (Map.Entry<String, Supplier<List<?>>> tabela : tabelas.entrySet()) {
+                Medida antes = medir(tabela.getValue(), copias, false, maxNomes);
+                Medida depois = medir(tabela.getValue(), copias, true, maxNomes);
+                System.out.printf("%-14s %10d %16.1f %16.1f %7.1f%%%n", tabela.getKey(), antes.linhas(),
+                        antes.bytesPorLinha(), depois.bytesPorLinha(),
+                        100.0 * (antes.bytesPorLinha() - depois.bytesPorLinha()) / antes.bytesPorLinha());
+            }
+        } finally {
+            Flyweights.configure(true, maxNomes);
+            ConnectionService.closeConnection();
+        }
+    }
+
+    /**
+     * Resultado de uma rodada.
+     *
+     * @param linhas        Linhas retidas, somando todas as cópias.
+     * @param bytesPorLinha Heap retido dividido pela quantidade de linhas.
+     */
+    private record Medida(long linhas, double bytesPorLinha) {
+    }
+
+    private static Medida medir(Supplier<List<?>> carga, int copias, boolean compartilhar, int maxNomes) {
+        Flyweights.configure(compartilhar, maxNomes);
+        long inicial = usedHeapAfterGc();
+        List<List<?>> retidas = new ArrayList<>(copias);
+        long linhas = 0;
+        for (int i = 0; i < copias; i++) {
+            IdentityMap.begin();
+            try {
+                List<?> lista = carga.get();
+                retidas.add(lista);
+                linhas += lista.size();
+            } finally {
+                IdentityMap.end();
+            }
+        }
+        long retido = usedHeapAfterGc() - inicial;
+        Reference.reachabilityFence(retidas);
+        // As instâncias compartilhadas guardadas pelo Flyweights também fazem parte do custo da rodada
+        return new Medida(linhas, linhas == 0 ? 0 : (double) retido / linhas);
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.squadra.bootcamp.projeto.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Buffer circular de tamanho fixo e sem travas, usado para manter em memória as entradas mais recentes de um
+ * registro de diagnóstico.
+ * <p>
+ * Cada escrita reserva uma posição com um contador atômico e sobrescreve a entrada mais antiga, de modo que
+ * escritores concorrentes nunca bloqueiam. Uma leitura concorrente pode observar uma entrada recém-sobrescrita,
+ * o que é aceitável para fins de diagnóstico.
+ * </p>
+ *
+ * @param <T> Tipo das entradas.
+ */
+public class RingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLong cursor = new AtomicLong();
+
+    /**
+     * Cria o buffer.
+     *
+     * @param capacity Quantidade de entradas mantidas; valores menores que 1 são tratados como 1.
+     */
+    public RingBuffer(int capacity) {
+        slots = new AtomicReferenceArray<>(Math.max(1, capacity));
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Adiciona uma entrada, sobrescrevendo a mais antiga quando o buffer está cheio.
+     *
+     * @param entry Entrada a ser guardada.
+     */
+    public void add(T entry) {
+        int index = (int) (cursor.getAndIncrement() % slots.length());
+        slots.set(index, entry);
+    }
+
+    /**
+     * Copia as entradas presentes no buffer, sem ordem definida.
+     *
+     * @return Lista com as entradas não nulas.
+     */
+    public List<T> snapshot() {
+        List<T> list = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            T entry = slots.get(i);
+            if (entry != null) {
+                list.add(entry);
+            }
+        }
+        return list;
+    }
+}
@@ -0,0 +1,25 @@
+-- Tabela de eventos de alteração (outbox), lida pelo OutboxRelay.
+-- Deve existir no banco principal e em cada shard configurado em dburl.shards.
+CREATE TABLE TB_OUTBOX (
+    CODIGO_EVENTO NUMBER(18) PRIMARY KEY,
+    ENTIDADE VARCHAR2(30) NOT NULL,
+    CODIGO NUMBER(18) NOT NULL,
+    OPERACAO VARCHAR2(10) NOT NULL,
+    ORIGEM VARCHAR2(128) NOT NULL,
+    DATA_EVENTO TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IDX_OUTBOX_DATA_EVENTO ON TB_OUTBOX (DATA_EVENTO);
+
+-- ORDER NOCACHE: códigos na ordem de obtenção, usada pelo OutboxRelay para detectar eventos pulados.
+CREATE SEQUENCE SEQUENCE_OUTBOX ORDER NOCACHE;
+
+-- Concessão de limpeza: apenas a instância registrada em ORIGEM remove os eventos antigos até VALIDO_ATE.
+CREATE TABLE TB_OUTBOX_LIMPEZA (
+    CODIGO_LIMPEZA NUMBER(1) PRIMARY KEY,
+    ORIGEM VARCHAR2(128),
+    VALIDO_ATE TIMESTAMP NOT NULL
+);
+
+INSERT INTO TB_OUTBOX_LIMPEZA (CODIGO_LIMPEZA, ORIGEM, VALIDO_ATE) VALUES (1, NULL, TIMESTAMP '2000-01-01 00:00:00');
+COMMIT;
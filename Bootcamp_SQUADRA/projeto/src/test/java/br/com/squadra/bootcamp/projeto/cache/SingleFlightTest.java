@@ -0,0 +1,82 @@
+package br.com.squadra.bootcamp.projeto.cache;
+
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+	@Test
+	void agrupaConsultasIdenticasSimultaneas() throws Exception {
+		SingleFlight flights = SingleFlight.of("teste-agrupa", Table.TB_UF);
+		AtomicInteger consultas = new AtomicInteger();
+		CountDownLatch liberar = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<List<String>>> resultados = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				// Textos que diferem só em maiúsculas e Optional vazio equivalem à mesma consulta
+				Object nome = i % 2 == 0 ? "goiás" : "GOIÁS";
+				Object status = i % 3 == 0 ? Optional.empty() : null;
+				resultados.add(executor.submit(() -> flights.execute(() -> {
+					consultas.incrementAndGet();
+					await(liberar);
+					return List.of("GO");
+				}, "findByFilters", nome, status)));
+			}
+			Thread.sleep(200);
+			liberar.countDown();
+			for (Future<List<String>> resultado : resultados) {
+				assertThat(resultado.get(2, TimeUnit.SECONDS)).containsExactly("GO");
+			}
+			assertThat(consultas).hasValue(1);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void naoAproveitaConsultaIniciadaAntesDeUmaEscrita() throws Exception {
+		SingleFlight flights = SingleFlight.of("teste-escrita", Table.TB_MUNICIPIO);
+		AtomicInteger consultas = new AtomicInteger();
+		CountDownLatch iniciou = new CountDownLatch(1);
+		CountDownLatch liberar = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Integer> antiga = executor.submit(() -> flights.execute(() -> {
+				iniciou.countDown();
+				await(liberar);
+				return consultas.incrementAndGet();
+			}, "findAll"));
+			iniciou.await();
+			TableVersions.bump(Table.TB_MUNICIPIO);
+
+			Integer nova = flights.execute(consultas::incrementAndGet, "findAll");
+			liberar.countDown();
+
+			assertThat(nova).isEqualTo(1);
+			assertThat(antiga.get(2, TimeUnit.SECONDS)).isEqualTo(2);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
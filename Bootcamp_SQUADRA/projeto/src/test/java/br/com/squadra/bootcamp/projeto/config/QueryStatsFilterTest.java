@@ -0,0 +1,102 @@
+package br.com.squadra.bootcamp.projeto.config;
+
+import br.com.squadra.bootcamp.projeto.ProjetoApplication;
+import br.com.squadra.bootcamp.projeto.jdbc.QueryStats;
+import br.com.squadra.bootcamp.projeto.jdbc.QueryStatsHolder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conta os comandos SQL de cada requisição, com o {@link QueryStatsFilter} da aplicação, contra um H2 no lugar do
+ * banco configurado. O dicionário geográfico e o cache de respostas ficam desligados para que as buscas cheguem ao
+ * banco.
+ */
+@SpringBootTest(classes = ProjetoApplication.class,
+		properties = {"geo-dictionary.enabled=false", "http.response-cache.enabled=false"})
+class QueryStatsFilterTest {
+
+	private static final String URL = "jdbc:h2:mem:querystatsfilter;MODE=Oracle;DB_CLOSE_DELAY=-1";
+
+	static {
+		System.setProperty("dburl", URL);
+		System.setProperty("username", "sa");
+		System.setProperty("password", "");
+		execute("RUNSCRIPT FROM 'classpath:db/schema-h2.sql'",
+				"INSERT INTO TB_UF VALUES (1, 'GO', 'GOIÁS', 1)",
+				"INSERT INTO TB_UF VALUES (2, 'DF', 'DISTRITO FEDERAL', 1)",
+				"INSERT INTO TB_MUNICIPIO VALUES (1, 1, 'GOIÂNIA', 1)",
+				"INSERT INTO TB_MUNICIPIO VALUES (2, 1, 'ANÁPOLIS', 1)",
+				"INSERT INTO TB_MUNICIPIO VALUES (3, 2, 'BRASÍLIA', 1)",
+				"INSERT INTO TB_BAIRRO VALUES (1, 1, 'SETOR BUENO', 1)",
+				"INSERT INTO TB_BAIRRO VALUES (2, 1, 'SETOR OESTE', 1)",
+				"INSERT INTO TB_BAIRRO VALUES (3, 2, 'JUNDIAÍ', 1)",
+				"INSERT INTO TB_BAIRRO VALUES (4, 3, 'ASA SUL', 2)");
+	}
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private QueryStatsFilter queryStatsFilter;
+
+	private MockMvc mvc;
+	private final List<QueryStats> requisicoes = new CopyOnWriteArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		// O filtro de teste roda dentro do QueryStatsFilter e guarda os contadores que ele abriu para a requisição
+		mvc = MockMvcBuilders.webAppContextSetup(context)
+				.addFilters(queryStatsFilter, (request, response, chain) -> {
+					QueryStats stats = QueryStatsHolder.current();
+					chain.doFilter(request, response);
+					requisicoes.add(stats);
+				})
+				.build();
+	}
+
+	@AfterAll
+	static void tearDown() {
+		System.clearProperty("dburl");
+		System.clearProperty("username");
+		System.clearProperty("password");
+	}
+
+	@Test
+	void getBairroIssuesAtMostOneQuery() throws Exception {
+		mvc.perform(get("/bairro"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(4))
+				.andExpect(jsonPath("$[?(@.codigoBairro == 4)].codigoMunicipio").value(3));
+
+		assertThat(requisicoes).singleElement()
+				.satisfies(stats -> assertThat(stats.getStatementCount()).isLessThanOrEqualTo(1));
+	}
+
+	private static void execute(String... sqls) {
+		try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+			 Statement stmt = connection.createStatement()) {
+			for (String sql : sqls) {
+				stmt.execute(sql);
+			}
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package br.com.squadra.bootcamp.projeto.config;
+
+import br.com.squadra.bootcamp.projeto.cache.ResponseCache;
+import br.com.squadra.bootcamp.projeto.cache.TableVersions;
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheFilterTest {
+
+	private final ResponseCacheFilter filter = new ResponseCacheFilter();
+	private final AtomicInteger chamadas = new AtomicInteger();  // Requisições que chegaram ao "controlador"
+	private String corpo = "[{\"codigoBairro\":1,\"nome\":\"SETOR BUENO\"}]";
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(filter, "enabled", true);
+		ReflectionTestUtils.setField(filter, "maxEntries", 16);
+		ReflectionTestUtils.setField(filter, "maxBodyBytes", 1 << 20);
+		ReflectionTestUtils.setField(filter, "gzipMinBytes", 64);
+		filter.configure();
+		ResponseCache.clear();
+	}
+
+	@Test
+	void segundaConsultaIgualEAtendidaPeloCache() throws Exception {
+		MockHttpServletResponse primeira = get("/bairro", "codigoMunicipio", "1");
+		MockHttpServletResponse segunda = get("/bairro", "codigoMunicipio", "1");
+
+		assertThat(chamadas).hasValue(1);
+		assertThat(segunda.getStatus()).isEqualTo(200);
+		assertThat(segunda.getContentType()).isEqualTo(primeira.getContentType());
+		assertThat(segunda.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(corpo);
+
+		get("/bairro", "codigoMunicipio", "2");
+		assertThat(chamadas).hasValue(2);  // Outros parâmetros, outra chave
+	}
+
+	@Test
+	void escritaEmTabelaDaRotaInvalidaAResposta() throws Exception {
+		get("/bairro");
+		TableVersions.bump(Table.TB_UF);  // Tabela que /bairro não lê
+		get("/bairro");
+		assertThat(chamadas).hasValue(1);
+
+		TableVersions.bump(Table.TB_BAIRRO);
+		corpo = "[{\"codigoBairro\":1,\"nome\":\"SETOR BUENO II\"}]";
+		MockHttpServletResponse depois = get("/bairro");
+
+		assertThat(chamadas).hasValue(2);
+		assertThat(depois.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(corpo);
+		assertThat(get("/bairro").getContentAsString(StandardCharsets.UTF_8)).isEqualTo(corpo);
+		assertThat(chamadas).hasValue(2);
+	}
+
+	@Test
+	void acertoDevolveAVersaoCompactadaQuandoOClienteAceitaGzip() throws Exception {
+		corpo = "[" + "{\"codigoBairro\":1,\"nome\":\"SETOR BUENO\"},".repeat(20) + "{}]";
+		get("/bairro");
+
+		MockHttpServletRequest request = request("/bairro");
+		request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, chain());
+
+		assertThat(chamadas).hasValue(1);
+		assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+		assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+			assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(corpo);
+		}
+	}
+
+	private MockHttpServletResponse get(String uri, String... parametros) throws Exception {
+		MockHttpServletRequest request = request(uri);
+		for (int i = 0; i < parametros.length; i += 2) {
+			request.addParameter(parametros[i], parametros[i + 1]);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, chain());
+		return response;
+	}
+
+	private static MockHttpServletRequest request(String uri) {
+		return new MockHttpServletRequest("GET", uri);
+	}
+
+	/**
+	 * Cadeia que termina em um servlet no papel do controlador, contando as chamadas.
+	 */
+	private MockFilterChain chain() {
+		return new MockFilterChain(new HttpServlet() {
+			@Override
+			protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+				chamadas.incrementAndGet();
+				response.setContentType("application/json");
+				response.getOutputStream().write(corpo.getBytes(StandardCharsets.UTF_8));
+			}
+		});
+	}
+}
@@ -0,0 +1,122 @@
+package br.com.squadra.bootcamp.projeto.events;
+
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import br.com.squadra.bootcamp.projeto.events.ChangeEvent.Operation;
+import br.com.squadra.bootcamp.projeto.jdbc.JdbcTransaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OutboxRelayTest {
+
+	private static final String URL = "jdbc:h2:mem:outbox;MODE=Oracle;DB_CLOSE_DELAY=-1";
+
+	private Connection connection;
+	private final OutboxRelay relay = new OutboxRelay();
+	private final List<List<ChangeEvent>> lotes = new CopyOnWriteArrayList<>();  // Lotes entregues ao assinante
+
+	@BeforeEach
+	void setUp() throws Exception {
+		connection = DriverManager.getConnection(URL + ";INIT=RUNSCRIPT FROM 'classpath:db/schema-h2.sql'");
+		// Como na aplicação, as transações usam conexões próprias e a conexão compartilhada só enxerga o confirmado
+		JdbcTransaction.register(connection, () -> DriverManager.getConnection(URL));
+
+		ChangeEventBus bus = new ChangeEventBus();
+		bus.subscribe("teste", lotes::add);
+		ReflectionTestUtils.setField(relay, "bus", bus);
+		ReflectionTestUtils.setField(relay, "pollMillis", 10L);
+		ReflectionTestUtils.setField(relay, "batchSize", 2);
+		ReflectionTestUtils.setField(relay, "retentionMinutes", 60L);
+		ReflectionTestUtils.setField(relay, "gapTimeoutMillis", 60_000L);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		relay.stop();
+		try (Statement stmt = connection.createStatement()) {
+			stmt.execute("DROP ALL OBJECTS");
+		}
+		connection.close();
+	}
+
+	@Test
+	void entregaOsEventosEmOrdemEmLotes() throws Exception {
+		for (long codigo = 1; codigo <= 5; codigo++) {
+			insertUf(codigo);
+		}
+
+		relay.start(List.of(connection));
+
+		aguardar(() -> eventos().size() == 5);
+		assertThat(lotes).extracting(List::size).containsExactly(2, 2, 1);
+		assertThat(eventos()).extracting(ChangeEvent::id).containsExactly(1L, 2L, 3L, 4L, 5L);
+		assertThat(eventos()).extracting(ChangeEvent::version).isSorted();
+		assertThat(eventos()).allSatisfy(event -> {
+			assertThat(event.table()).isEqualTo(Table.TB_UF);
+			assertThat(event.operation()).isEqualTo(Operation.INSERT);
+			assertThat(event.isRemote()).isFalse();
+		});
+	}
+
+	@Test
+	void entregaApenasEventosConfirmados() throws Exception {
+		relay.start(List.of(connection));
+
+		assertThatThrownBy(() -> Outbox.write(connection, Table.TB_UF, 1, Operation.INSERT, tx -> {
+			insert(tx, 1);
+			throw new SQLException("Falha depois do comando");
+		})).isInstanceOf(SQLException.class);
+
+		JdbcTransaction.run(connection, tx -> {
+			insert(tx, 2);
+			Outbox.append(tx, Table.TB_UF, 2, Operation.INSERT);
+			pausa(100);  // Várias leituras do relay com a transação aberta
+			assertThat(lotes).isEmpty();
+		});
+
+		aguardar(() -> !lotes.isEmpty());
+		assertThat(eventos()).extracting(ChangeEvent::id).containsExactly(2L);
+	}
+
+	private void insertUf(long codigo) throws SQLException {
+		Outbox.write(connection, Table.TB_UF, codigo, Operation.INSERT, tx -> insert(tx, codigo));
+	}
+
+	private static void insert(Connection tx, long codigo) throws SQLException {
+		try (Statement stmt = tx.createStatement()) {
+			stmt.execute("INSERT INTO TB_UF VALUES (" + codigo + ", 'U" + codigo + "', 'UF " + codigo + "', 1)");
+		}
+	}
+
+	private List<ChangeEvent> eventos() {
+		return lotes.stream().flatMap(List::stream).toList();
+	}
+
+	private static void aguardar(BooleanSupplier condicao) {
+		long limite = System.nanoTime() + 5_000_000_000L;
+		while (!condicao.getAsBoolean()) {
+			assertThat(System.nanoTime()).as("tempo de espera esgotado").isLessThan(limite);
+			pausa(5);
+		}
+	}
+
+	private static void pausa(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package br.com.squadra.bootcamp.projeto.invalidation;
+
+import br.com.squadra.bootcamp.projeto.cache.TableVersions;
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Duas instâncias trocando avisos por UDP no loopback. Os datagramas passam por um socket intermediário, que
+ * permite simular a perda de um deles.
+ */
+class ClusterInvalidationTest {
+
+	private static final byte[] CHAVE = "segredo-compartilhado".getBytes(StandardCharsets.UTF_8);
+	private static final long SEM_HEARTBEAT = 3_600_000;  // Os testes enviam os heartbeats explicitamente
+	private static final int MAC_OFFSET = 33;  // Último byte do conteúdo, antes dos 32 bytes do HMAC
+
+	private UdpInvalidationTransport remetente;
+	private UdpInvalidationTransport destinatario;
+	private DatagramSocket rede;
+	private ClusterInvalidation cluster;
+
+	private final BlockingQueue<List<Invalidation>> recebidos = new LinkedBlockingQueue<>();
+	private final CountDownLatch flush = new CountDownLatch(1);
+
+	@BeforeEach
+	void setUp() throws Exception {
+		InetAddress loopback = InetAddress.getLoopbackAddress();
+		destinatario = new UdpInvalidationTransport("b@teste", 0, List.of(), null, CHAVE, SEM_HEARTBEAT);
+		rede = new DatagramSocket(0, loopback);
+		rede.setSoTimeout(2000);
+		remetente = new UdpInvalidationTransport("a@teste", 0, List.of(new InetSocketAddress(loopback, rede.getLocalPort())), null,
+				CHAVE, SEM_HEARTBEAT);
+		cluster = new ClusterInvalidation(destinatario, 100);
+		cluster.subscribe("teste", recebidos::add, flush::countDown);
+		cluster.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		cluster.close();
+		remetente.close();
+		rede.close();
+	}
+
+	@Test
+	void descartaAvisosRepetidosOuForaDeOrdem() throws Exception {
+		long versaoBairro = TableVersions.version(Table.TB_BAIRRO);
+
+		enviar(new Invalidation(Table.TB_PESSOA, 1, 5), true);
+		assertThat(recebidos.poll(2, TimeUnit.SECONDS)).containsExactly(new Invalidation(Table.TB_PESSOA, 1, 5));
+
+		// Versão antiga do mesmo registro: chegou atrasada e não pode ser aplicada
+		enviar(new Invalidation(Table.TB_PESSOA, 1, 3), true);
+		enviar(new Invalidation(Table.TB_BAIRRO, 2, 4), true);
+		assertThat(recebidos.poll(2, TimeUnit.SECONDS)).containsExactly(new Invalidation(Table.TB_BAIRRO, 2, 4));
+		assertThat(TableVersions.version(Table.TB_BAIRRO)).isGreaterThan(versaoBairro);
+		assertThat(flush.getCount()).isEqualTo(1);
+	}
+
+	@Test
+	void esvaziaOsCachesAposPerdaDeAvisos() throws Exception {
+		enviar(new Invalidation(Table.TB_UF, 1, 10), true);
+		assertThat(recebidos.poll(2, TimeUnit.SECONDS)).hasSize(1);
+
+		enviar(new Invalidation(Table.TB_UF, 1, 11), false);
+		enviar(new Invalidation(Table.TB_UF, 1, 12), true);
+
+		assertThat(flush.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(recebidos.poll(2, TimeUnit.SECONDS)).containsExactly(new Invalidation(Table.TB_UF, 1, 12));
+	}
+
+	@Test
+	void heartbeatRevelaPerdaDoUltimoDatagrama() throws Exception {
+		enviar(new Invalidation(Table.TB_UF, 1, 20), true);
+		assertThat(recebidos.poll(2, TimeUnit.SECONDS)).hasSize(1);
+
+		remetente.heartbeat();
+		entregar(receber());
+		enviar(new Invalidation(Table.TB_UF, 1, 21), false);
+		assertThat(flush.getCount()).isEqualTo(1);
+
+		remetente.heartbeat();
+		entregar(receber());
+		assertThat(flush.await(2, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void descartaDatagramasSemAssinaturaValida() throws Exception {
+		remetente.broadcast(List.of(new Invalidation(Table.TB_MUNICIPIO, 7, 30)));
+		DatagramPacket adulterado = receber();
+		adulterado.getData()[adulterado.getLength() - MAC_OFFSET] ^= 1;  // Altera a versão do aviso
+		entregar(adulterado);
+		assertThat(recebidos.poll(500, TimeUnit.MILLISECONDS)).isNull();
+
+		enviar(new Invalidation(Table.TB_MUNICIPIO, 7, 31), true);
+		assertThat(recebidos.poll(2, TimeUnit.SECONDS)).containsExactly(new Invalidation(Table.TB_MUNICIPIO, 7, 31));
+	}
+
+	private void enviar(Invalidation invalidation, boolean entregar) throws Exception {
+		remetente.broadcast(List.of(invalidation));
+		DatagramPacket packet = receber();
+		if (entregar) {
+			entregar(packet);
+		}
+	}
+
+	private DatagramPacket receber() throws Exception {
+		DatagramPacket packet = new DatagramPacket(new byte[1500], 1500);
+		rede.receive(packet);
+		return packet;
+	}
+
+	private void entregar(DatagramPacket packet) throws Exception {
+		rede.send(new DatagramPacket(packet.getData(), packet.getLength(),
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), destinatario.getLocalPort())));
+	}
+}
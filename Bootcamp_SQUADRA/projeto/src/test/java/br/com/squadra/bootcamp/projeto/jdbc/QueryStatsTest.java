@@ -0,0 +1,191 @@
+package br.com.squadra.bootcamp.projeto.jdbc;
+
+import br.com.squadra.bootcamp.projeto.model.dao.IdentityMap;
+import br.com.squadra.bootcamp.projeto.model.dao.MunicipioDAO;
+import br.com.squadra.bootcamp.projeto.model.dao.UfDAO;
+import br.com.squadra.bootcamp.projeto.model.dao.impl.BairroDAOImpl;
+import br.com.squadra.bootcamp.projeto.model.dao.impl.MunicipioDAOImpl;
+import br.com.squadra.bootcamp.projeto.model.dao.impl.PessoaDAOImpl;
+import br.com.squadra.bootcamp.projeto.model.dao.impl.UfDAOImpl;
+import br.com.squadra.bootcamp.projeto.model.entities.Bairro;
+import br.com.squadra.bootcamp.projeto.model.entities.Municipio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryStatsTest {
+
+	private Connection connection;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		connection = InstrumentedConnection.wrap(DriverManager.getConnection(
+				"jdbc:h2:mem:querystats;MODE=Oracle;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:db/schema-h2.sql'"));
+		try (Statement stmt = connection.createStatement()) {
+			stmt.execute("INSERT INTO TB_UF VALUES (1, 'GO', 'GOIÁS', 1)");
+			stmt.execute("INSERT INTO TB_MUNICIPIO VALUES (1, 1, 'GOIÂNIA', 1)");
+			stmt.execute("INSERT INTO TB_MUNICIPIO VALUES (2, 1, 'ANÁPOLIS', 1)");
+			stmt.execute("INSERT INTO TB_MUNICIPIO VALUES (3, 1, 'RIO VERDE', 1)");
+		}
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		QueryStatsHolder.end();
+		try (Statement stmt = connection.createStatement()) {
+			stmt.execute("DROP ALL OBJECTS");
+		}
+		connection.close();
+	}
+
+	@Test
+	void countsSingleQuery() {
+		QueryStatsHolder.begin();
+		new UfDAOImpl(connection).findAll();
+		QueryStats stats = QueryStatsHolder.end();
+
+		assertThat(stats.getStatementCount()).isEqualTo(1);
+		assertThat(stats.getRowCount()).isEqualTo(1);
+		assertThat(stats.getRepeatedShapes(2)).isEmpty();
+	}
+
+	@Test
+	void flagsRepeatedShapes() {
+		QueryStatsHolder.begin();
+		new MunicipioDAOImpl(connection).findAll();
+		QueryStats stats = QueryStatsHolder.end();
+
+		// Um SELECT de municípios mais um SELECT de UF por município (N+1)
+		assertThat(stats.getStatementCount()).isEqualTo(4);
+		Map<String, Integer> repetidos = stats.getRepeatedShapes(2);
+		assertThat(repetidos).containsEntry("SELECT * FROM TB_UF WHERE CODIGO_UF = ? ORDER BY CODIGO_UF DESC", 3);
+	}
+
+	@Test
+	void identityMapServesRepeatedLookups() {
+		IdentityMap.begin();
+		try {
+			QueryStatsHolder.begin();
+			new MunicipioDAOImpl(connection).findAll();
+			QueryStats stats = QueryStatsHolder.end();
+
+			// A UF compartilhada pelos três municípios é buscada uma única vez na requisição
+			assertThat(stats.getStatementCount()).isEqualTo(2);
+			assertThat(stats.getRepeatedShapes(2)).isEmpty();
+		} finally {
+			IdentityMap.end();
+		}
+	}
+
+	@Test
+	void loadsManyIdsWithOneQueryPerTable() {
+		QueryStatsHolder.begin();
+		List<Municipio> municipios = new MunicipioDAOImpl(connection).findByCodigosMunicipio(List.of(1L, 2L, 3L, 99L));
+		QueryStats stats = QueryStatsHolder.end();
+
+		// Um SELECT de municípios e um de UFs, com a lista IN completada até 4 códigos
+		assertThat(municipios).hasSize(3).allSatisfy(m -> assertThat(m.getUf().getSigla()).isEqualTo("GO"));
+		assertThat(stats.getStatementCount()).isEqualTo(2);
+		assertThat(stats.getShapeCount("SELECT * FROM TB_MUNICIPIO WHERE CODIGO_MUNICIPIO IN (?, ?, ?, ?)")).isEqualTo(1);
+	}
+
+	@Test
+	void resolvesParentsInBatchThroughInjectedDAOs() throws Exception {
+		try (Statement stmt = connection.createStatement()) {
+			stmt.execute("INSERT INTO TB_BAIRRO VALUES (1, 1, 'CENTRO', 1)");
+			stmt.execute("INSERT INTO TB_BAIRRO VALUES (2, 2, 'CENTRO', 1)");
+		}
+		List<String> chamadas = new CopyOnWriteArrayList<>();
+		UfDAO ufs = recording(UfDAO.class, new UfDAOImpl(connection), chamadas);
+		MunicipioDAO municipios = recording(MunicipioDAO.class, new MunicipioDAOImpl(connection, ufs), chamadas);
+
+		QueryStatsHolder.begin();
+		List<Bairro> bairros = new BairroDAOImpl(connection, municipios).findByCodigosBairro(List.of(1L, 2L));
+		QueryStats stats = QueryStatsHolder.end();
+
+		// Os pais dos bairros lidos em lote também são buscados em lote, pelos DAOs recebidos
+		assertThat(bairros).hasSize(2).allSatisfy(b -> assertThat(b.getMunicipio().getUf().getSigla()).isEqualTo("GO"));
+		assertThat(chamadas).containsExactly("findByCodigosMunicipio", "findByIds");
+		assertThat(stats.getStatementCount()).isEqualTo(3);
+	}
+
+	@Test
+	void updatesOnlyChangedColumns() throws Exception {
+		try (Statement stmt = connection.createStatement()) {
+			stmt.execute("INSERT INTO TB_PESSOA VALUES (1, 'ANA', 'SOUZA', 30, 'ana', 'segredo', 1)");
+		}
+		PessoaDAOImpl dao = new PessoaDAOImpl(connection);
+
+		QueryStatsHolder.begin();
+		assertThat(dao.updateColumns(1L, new ColumnChanges().compare("NOME", "ANA", "ANA"))).isFalse();
+		assertThat(QueryStatsHolder.end().getStatementCount()).isZero();
+
+		QueryStatsHolder.begin();
+		assertThat(dao.updateColumns(1L, new ColumnChanges()
+				.compare("NOME", "ANA", "ANA")
+				.compare("IDADE", 30, 31)
+				.compare("SENHA", "segredo", "segredo"))).isTrue();
+		QueryStats stats = QueryStatsHolder.end();
+
+		assertThat(stats.getShapeCount("UPDATE TB_PESSOA SET IDADE = ? WHERE CODIGO_PESSOA = ?")).isEqualTo(1);
+		assertThat(dao.findByCodigoPessoa(1L).getIdade()).isEqualTo(31);
+	}
+
+	@Test
+	void instrumentsCallableStatements() throws Exception {
+		QueryStatsHolder.begin();
+		try (CallableStatement stmt = connection.prepareCall("SELECT COUNT(*) FROM TB_MUNICIPIO WHERE CODIGO_UF = ?")) {
+			stmt.setLong(1, 1L);
+			try (ResultSet rs = stmt.executeQuery()) {
+				assertThat(rs.next()).isTrue();
+				assertThat(rs.getInt(1)).isEqualTo(3);
+			}
+		}
+		QueryStats stats = QueryStatsHolder.end();
+
+		assertThat(stats.getShapeCount("SELECT COUNT(*) FROM TB_MUNICIPIO WHERE CODIGO_UF = ?")).isEqualTo(1);
+		assertThat(stats.getRowCount()).isEqualTo(1);
+	}
+
+	@Test
+	void normalizesLiterals() {
+		assertThat(SqlShape.of("SELECT * FROM  TB_UF WHERE SIGLA = 'GO' AND CODIGO_UF = 10"))
+				.isEqualTo("SELECT * FROM TB_UF WHERE SIGLA = ? AND CODIGO_UF = ?");
+		assertThat(SqlShape.of("SELECT SEQUENCE_UF.NEXTVAL FROM DUAL"))
+				.isEqualTo("SELECT SEQUENCE_UF.NEXTVAL FROM DUAL");
+	}
+
+	@Test
+	void ignoresCallsOutsideScope() {
+		new UfDAOImpl(connection).findAll();
+		assertThat(QueryStatsHolder.current()).isNull();
+	}
+
+	/**
+	 * Envolve um DAO em um proxy que anota o nome de cada método chamado.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T recording(Class<T> type, T target, List<String> chamadas) {
+		return (T) Proxy.newProxyInstance(QueryStatsTest.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+			chamadas.add(method.getName());
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		});
+	}
+}
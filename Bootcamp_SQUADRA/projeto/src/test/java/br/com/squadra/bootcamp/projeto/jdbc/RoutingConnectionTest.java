@@ -0,0 +1,133 @@
+package br.com.squadra.bootcamp.projeto.jdbc;
+
+import br.com.squadra.bootcamp.projeto.exception.DbException;
+import br.com.squadra.bootcamp.projeto.model.dao.RoutedDAO;
+import br.com.squadra.bootcamp.projeto.model.dao.UfDAO;
+import br.com.squadra.bootcamp.projeto.model.dao.impl.UfDAOImpl;
+import br.com.squadra.bootcamp.projeto.model.entities.Uf;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoutingConnectionTest {
+
+	// Sem DB_CLOSE_DELAY, cada banco em memória é descartado quando sua conexão é fechada
+	private static final String URL = "jdbc:h2:mem:%s;MODE=Oracle";
+
+	private Connection primary;
+	private Connection replica;
+	private RoutingConnection.Replica replicaHandle;
+	private UfDAO ufDAO;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		primary = DriverManager.getConnection(URL.formatted("primario"));
+		replica = DriverManager.getConnection(URL.formatted("replica"));
+		execute(primary, "RUNSCRIPT FROM 'classpath:db/schema-h2.sql'");
+		execute(replica, "RUNSCRIPT FROM 'classpath:db/schema-h2.sql'");
+		// O mesmo código de UF com nomes diferentes identifica de qual banco veio a leitura
+		execute(primary, "INSERT INTO TB_UF VALUES (1, 'GO', 'PRIMARIO', 1)");
+		execute(replica, "INSERT INTO TB_UF VALUES (1, 'GO', 'REPLICA', 1)");
+
+		replicaHandle = new RoutingConnection.Replica("replica", () -> replica);
+		Connection routed = RoutingConnection.wrap(primary, List.of(replicaHandle), 60_000);
+		ufDAO = RoutedDAO.wrap(UfDAO.class, new UfDAOImpl(routed));
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		primary.close();
+		replica.close();
+	}
+
+	@Test
+	void readsGoToReplica() {
+		assertThat(ufDAO.findById(1L).getNome()).isEqualTo("REPLICA");
+	}
+
+	@Test
+	void readsAfterWriteStayOnPrimaryUntilScopeCloses() {
+		RoutingContext.Scope scope = RoutingContext.scope();
+		try {
+			Uf uf = ufDAO.findById(1L);
+			uf.setNome("ALTERADO");
+			ufDAO.update(uf);
+
+			assertThat(ufDAO.findById(1L).getNome()).isEqualTo("ALTERADO");
+		} finally {
+			scope.close();
+		}
+		assertThat(ufDAO.findById(1L).getNome()).isEqualTo("REPLICA");
+	}
+
+	@Test
+	void writeOutsideScopeDoesNotPinThread() {
+		Uf uf = ufDAO.findById(1L);
+		uf.setNome("ALTERADO");
+		ufDAO.update(uf);
+
+		assertThat(ufDAO.findById(1L).getNome()).isEqualTo("REPLICA");
+	}
+
+	@Test
+	void primaryScopeReadsFromPrimary() {
+		RoutingContext.Scope primario = RoutingContext.primary();
+		try {
+			assertThat(ufDAO.findById(1L).getNome()).isEqualTo("PRIMARIO");
+		} finally {
+			primario.close();
+		}
+		assertThat(ufDAO.findById(1L).getNome()).isEqualTo("REPLICA");
+	}
+
+	@Test
+	void marksReplicaDownWhenExecutionLosesConnection() {
+		// A réplica cria os comandos normalmente, mas a conexão cai na execução
+		Connection falha = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+				(proxy, method, args) -> {
+					Object result = method.invoke(replica, args);
+					if (!(result instanceof PreparedStatement)) {
+						return result;
+					}
+					return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+							(stmt, stmtMethod, stmtArgs) -> {
+								if (stmtMethod.getName().startsWith("execute")) {
+									throw new SQLNonTransientConnectionException("conexão perdida", "08006");
+								}
+								return stmtMethod.invoke(result, stmtArgs);
+							});
+				});
+		RoutingConnection.Replica instavel = new RoutingConnection.Replica("instavel", () -> falha);
+		UfDAO dao = RoutedDAO.wrap(UfDAO.class, new UfDAOImpl(RoutingConnection.wrap(primary, List.of(instavel), 60_000)));
+
+		assertThatThrownBy(() -> dao.findById(1L)).isInstanceOf(DbException.class);
+		assertThat(instavel.isHealthy()).isFalse();
+		assertThat(dao.findById(1L).getNome()).isEqualTo("PRIMARIO");
+	}
+
+	@Test
+	void fallsBackToPrimaryWhenReplicaFails() throws SQLException {
+		replica.close();
+
+		assertThat(ufDAO.findById(1L).getNome()).isEqualTo("PRIMARIO");
+		assertThat(replicaHandle.isHealthy()).isFalse();
+	}
+
+	private static void execute(Connection connection, String sql) throws SQLException {
+		try (Statement stmt = connection.createStatement()) {
+			stmt.execute(sql);
+		}
+	}
+}
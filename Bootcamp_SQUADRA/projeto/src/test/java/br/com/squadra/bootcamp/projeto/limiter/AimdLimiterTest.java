@@ -0,0 +1,48 @@
+package br.com.squadra.bootcamp.projeto.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdLimiterTest {
+
+	private static final long RAPIDA = 1_000_000L;       // 1 ms
+	private static final long LENTA = 2_000_000_000L;    // 2 s
+
+	@Test
+	void recusaChamadasAlemDoLimite() {
+		AimdLimiter limiter = new AimdLimiter(2, 1, 10, 100, 0.5);
+
+		assertThat(limiter.tryAcquire()).isTrue();
+		assertThat(limiter.tryAcquire()).isTrue();
+		assertThat(limiter.tryAcquire()).isFalse();
+
+		limiter.release();
+		assertThat(limiter.tryAcquire()).isTrue();
+	}
+
+	@Test
+	void reduzComLatenciaAltaECresceAosPoucosComLatenciaBaixa() {
+		AimdLimiter limiter = new AimdLimiter(8, 2, 16, 100, 0.5);
+
+		limiter.onSample(LENTA);
+		assertThat(limiter.getLimit()).isEqualTo(4);
+
+		// Uma rajada de respostas lentas no mesmo intervalo conta como um único sinal
+		limiter.onSample(LENTA);
+		assertThat(limiter.getLimit()).isEqualTo(4);
+
+		// O limite só cresce enquanto está sendo usado
+		limiter.onSample(RAPIDA);
+		assertThat(limiter.getLimit()).isEqualTo(4);
+		for (int i = 0; i < 4; i++) {
+			limiter.tryAcquire();
+		}
+		for (int i = 0; i < 4; i++) {
+			limiter.onSample(RAPIDA);
+		}
+		assertThat(limiter.getLimit()).isEqualTo(4);
+		limiter.onSample(RAPIDA);
+		assertThat(limiter.getLimit()).isEqualTo(5);
+	}
+}
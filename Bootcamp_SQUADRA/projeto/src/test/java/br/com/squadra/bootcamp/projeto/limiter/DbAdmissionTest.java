@@ -0,0 +1,89 @@
+package br.com.squadra.bootcamp.projeto.limiter;
+
+import br.com.squadra.bootcamp.projeto.exception.DbOverloadException;
+import br.com.squadra.bootcamp.projeto.limiter.DbAdmission.Kind;
+import br.com.squadra.bootcamp.projeto.limiter.DbAdmission.Permit;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DbAdmissionTest {
+
+	@BeforeAll
+	static void registry() {
+		// Sem um registro concreto, o registro global não guarda os valores dos medidores
+		Metrics.addRegistry(new SimpleMeterRegistry());
+	}
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+		DbAdmission.configureLimiter(false, 32, 4, 128, 500, 0.9);
+		DbAdmission.configureBulkheads(32, 8, 2, 50);
+	}
+
+	@Test
+	void exportacoesNaoReduzemOLimiteDasLeituras() throws InterruptedException {
+		// Alvo de 0 ms: qualquer amostra indica congestionamento
+		DbAdmission.configureLimiter(true, 8, 1, 8, 0, 0.5);
+
+		call(Kind.BULK);
+		assertThat(limit()).isEqualTo(8);
+
+		call(Kind.READ);
+		assertThat(limit()).isEqualTo(4);
+	}
+
+	@Test
+	void leiturasDepoisDaEscritaDaRequisicaoNaoSaoRecusadas() {
+		DbAdmission.configureLimiter(true, 1, 1, 1, 60_000, 0.5);
+		RequestAttributes requisicao = new ServletRequestAttributes(new MockHttpServletRequest());
+		RequestContextHolder.setRequestAttributes(requisicao);
+
+		Permit ocupada = DbAdmission.enter(Kind.READ);
+		try {
+			assertThatThrownBy(() -> enterInRequest(requisicao, Kind.READ)).hasCauseInstanceOf(DbOverloadException.class);
+
+			enterInRequest(requisicao, Kind.WRITE);
+			enterInRequest(requisicao, Kind.READ);
+		} finally {
+			ocupada.close();
+		}
+	}
+
+	private static void call(Kind kind) throws InterruptedException {
+		Permit permit = DbAdmission.enter(kind);
+		try {
+			Thread.sleep(2);
+		} finally {
+			permit.close();
+		}
+	}
+
+	private static void enterInRequest(RequestAttributes requisicao, Kind kind) {
+		// Outra thread, pois chamadas aninhadas na mesma thread não passam pela admissão
+		CompletableFuture.runAsync(() -> {
+			RequestContextHolder.setRequestAttributes(requisicao);
+			try {
+				DbAdmission.enter(kind).close();
+			} finally {
+				RequestContextHolder.resetRequestAttributes();
+			}
+		}).join();
+	}
+
+	private static double limit() {
+		return Metrics.globalRegistry.find("db.limiter.limit").gauge().value();
+	}
+}
@@ -0,0 +1,74 @@
+package br.com.squadra.bootcamp.projeto.model.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchLoaderTest {
+
+	private final List<List<Long>> consultas = Collections.synchronizedList(new ArrayList<>());
+	private final CountDownLatch primeiraLiberada = new CountDownLatch(1);
+
+	@AfterEach
+	void tearDown() {
+		BatchLoader.configure(true, 200, 256);
+	}
+
+	@Test
+	void agrupaBuscasQueChegamDuranteUmaConsulta() throws Exception {
+		BatchLoader.configure(true, 5_000_000, 5);
+		BatchLoader<String> loader = new BatchLoader<>("teste", ids -> {
+			consultas.add(List.copyOf(ids));
+			if (ids.contains(1L)) {
+				await(primeiraLiberada);
+			}
+			// O código 6 não existe
+			return ids.stream().filter(id -> id != 6).map(id -> "item-" + id).toList();
+		}, valor -> Long.parseLong(valor.substring(5)));
+
+		ExecutorService executor = Executors.newFixedThreadPool(6);
+		try {
+			// Sem nada em andamento, a primeira busca vai direto ao banco
+			Future<String> primeira = executor.submit(() -> loader.load(1L));
+			while (consultas.isEmpty()) {
+				Thread.sleep(1);
+			}
+			// Enquanto ela está em andamento, as seguintes formam um lote, enviado ao atingir 5 códigos
+			List<Future<String>> seguintes = new ArrayList<>();
+			for (long id = 2; id <= 6; id++) {
+				long codigo = id;
+				seguintes.add(executor.submit(() -> loader.load(codigo)));
+			}
+			for (int i = 0; i < 4; i++) {
+				assertThat(seguintes.get(i).get(2, TimeUnit.SECONDS)).isEqualTo("item-" + (i + 2));
+			}
+			assertThat(seguintes.get(4).get(2, TimeUnit.SECONDS)).isNull();
+			primeiraLiberada.countDown();
+			assertThat(primeira.get(2, TimeUnit.SECONDS)).isEqualTo("item-1");
+
+			assertThat(consultas).hasSize(2);
+			assertThat(consultas.get(1)).containsExactlyInAnyOrder(2L, 3L, 4L, 5L, 6L);
+		} finally {
+			primeiraLiberada.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
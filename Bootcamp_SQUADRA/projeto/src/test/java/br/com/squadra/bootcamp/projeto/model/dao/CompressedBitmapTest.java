@@ -0,0 +1,68 @@
+package br.com.squadra.bootcamp.projeto.model.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompressedBitmapTest {
+
+	@Test
+	void intersectaBlocosEsparsosEDensos() {
+		Random random = new Random(42);
+		TreeSet<Integer> a = new TreeSet<>();
+		TreeSet<Integer> b = new TreeSet<>();
+		for (int i = 0; i < 200_000; i++) {
+			// Primeiro bloco denso nos dois, segundo denso só em a, terceiro esparso nos dois
+			int valor = random.nextInt(3 * 65536);
+			if (valor < 65536 || (valor < 131072 && i % 2 == 0) || i % 50 == 0) {
+				a.add(valor);
+			}
+			if (valor < 65536 ? i % 3 != 0 : i % 40 == 0) {
+				b.add(valor);
+			}
+		}
+		CompressedBitmap x = of(a);
+		CompressedBitmap y = of(b);
+		TreeSet<Integer> esperado = new TreeSet<>(a);
+		esperado.retainAll(b);
+
+		CompressedBitmap z = x.and(y);
+
+		assertThat(x.cardinality()).isEqualTo(a.size());
+		assertThat(z.cardinality()).isEqualTo(esperado.size());
+		assertThat(values(z)).containsExactlyElementsOf(esperado);
+		assertThat(values(y.and(x))).containsExactlyElementsOf(esperado);
+		assertThat(z.contains(esperado.first())).isTrue();
+		assertThat(z.contains(-1 >>> 1)).isFalse();
+		assertThat(x.sizeInBytes()).isLessThan(a.size() * 4L);
+	}
+
+	@Test
+	void conjuntosVaziosEUnitarios() {
+		CompressedBitmap pares = of(new TreeSet<>(List.of(0, 2, 4, 70_000)));
+
+		assertThat(values(pares.and(CompressedBitmap.of(70_000)))).containsExactly(70_000);
+		assertThat(pares.and(CompressedBitmap.of(3))).isSameAs(CompressedBitmap.EMPTY);
+		assertThat(new CompressedBitmap.Builder().build()).isSameAs(CompressedBitmap.EMPTY);
+		assertThatThrownBy(() -> new CompressedBitmap.Builder().add(5).add(5))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static CompressedBitmap of(TreeSet<Integer> valores) {
+		CompressedBitmap.Builder builder = new CompressedBitmap.Builder();
+		valores.forEach(builder::add);
+		return builder.build();
+	}
+
+	private static List<Integer> values(CompressedBitmap bitmap) {
+		List<Integer> valores = new ArrayList<>();
+		bitmap.forEach(valores::add);
+		return valores;
+	}
+}
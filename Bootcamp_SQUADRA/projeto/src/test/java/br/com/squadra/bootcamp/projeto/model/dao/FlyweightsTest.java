@@ -0,0 +1,116 @@
+package br.com.squadra.bootcamp.projeto.model.dao;
+
+import br.com.squadra.bootcamp.projeto.model.entities.Municipio;
+import br.com.squadra.bootcamp.projeto.model.entities.Uf;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlyweightsTest {
+
+	@AfterEach
+	void tearDown() {
+		Flyweights.configure(true, 100_000);
+	}
+
+	@Test
+	void compartilhaInstanciasEnquantoORegistroNaoMuda() {
+		Flyweights.configure(true, 100_000);
+		Uf lida = goias(1);
+		Municipio municipio = Flyweights.municipio(goiania(lida));
+
+		assertThat(municipio).isNotSameAs(goiania(lida)).isEqualTo(goiania(lida));
+		assertThat(Flyweights.municipio(goiania(goias(1)))).isSameAs(municipio);
+		assertThat(Flyweights.uf(goias(1))).isSameAs(municipio.getUf());
+		assertThatThrownBy(() -> municipio.getUf().setNome("GOIAS")).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> municipio.setStatus(2)).isInstanceOf(UnsupportedOperationException.class);
+		// A instância lida do banco continua alterável
+		lida.setNome("GOIAS");
+		assertThat(lida.getNome()).isEqualTo("GOIAS");
+	}
+
+	@Test
+	void substituiInstanciasQuandoORegistroMuda() {
+		Flyweights.configure(true, 100_000);
+		Municipio municipio = Flyweights.municipio(goiania(goias(1)));
+
+		// A UF foi desativada: o município passa a apontar para a nova UF
+		Municipio renovado = Flyweights.municipio(goiania(goias(2)));
+		assertThat(renovado).isNotSameAs(municipio);
+		assertThat(renovado.getUf()).isNotSameAs(municipio.getUf());
+		assertThat(renovado.getUf().getStatus()).isEqualTo(2);
+	}
+
+	@Test
+	void compartilhaInstanciasPelosCamposSemInstanciaTemporaria() {
+		Flyweights.configure(true, 100_000);
+		Municipio municipio = Flyweights.municipio(goiania(goias(1)));
+
+		Uf uf = Flyweights.uf(1L, "GO", "GOIÁS", 1);
+		assertThat(uf).isSameAs(municipio.getUf());
+		assertThat(Flyweights.municipio(10L, uf, "GOIÂNIA", 1)).isSameAs(municipio);
+		assertThat(Flyweights.municipio(10L, uf, "GOIÂNIA", 2)).isNotSameAs(municipio).extracting(Municipio::getStatus)
+				.isEqualTo(2);
+
+		Flyweights.configure(false, 100_000);
+		Uf propria = Flyweights.uf(1L, "GO", "GOIÁS", 1);
+		propria.setNome("GOIAS");
+		assertThat(propria.getNome()).isEqualTo("GOIAS");
+	}
+
+	@Test
+	void compartilhaNomesAteACapacidade() {
+		Flyweights.configure(true, 1);
+		String centro = Flyweights.nome(new String("CENTRO"));
+
+		assertThat(Flyweights.nome(new String("CENTRO"))).isSameAs(centro);
+		String outro = new String("VILA NOVA");
+		assertThat(Flyweights.nome(outro)).isSameAs(outro);
+		assertThat(Flyweights.nome(null)).isNull();
+	}
+
+	@Test
+	void contaTodasAsFalhasEAmostraOsAcertos() {
+		Flyweights.configure(true, 100_000);
+		SimpleMeterRegistry registro = new SimpleMeterRegistry();
+		Metrics.addRegistry(registro);
+		try {
+			for (int i = 0; i < 6400; i++) {
+				Flyweights.nome(i < 10 ? "BAIRRO " + i : "CENTRO");
+			}
+
+			assertThat(contador(registro, "miss")).isEqualTo(11);  // 10 nomes distintos e a primeira consulta a CENTRO
+			assertThat(contador(registro, "hit")).isPositive().isLessThan(6400 * 2)
+					.satisfies(amostrados -> assertThat(amostrados % 64).isZero());
+		} finally {
+			Metrics.removeRegistry(registro);
+		}
+	}
+
+	@Test
+	void desabilitadoDevolveAsInstanciasLidas() {
+		Flyweights.configure(false, 100_000);
+		Uf uf = goias(1);
+
+		assertThat(Flyweights.uf(uf)).isSameAs(uf);
+		uf.setNome("GOIAS");
+		assertThat(uf.getNome()).isEqualTo("GOIAS");
+	}
+
+	private static double contador(MeterRegistry registro, String result) {
+		return registro.get("dao.flyweight").tag("type", "nome").tag("result", result).counter().count();
+	}
+
+	private static Uf goias(int status) {
+		return new Uf(1L, "GO", "GOIÁS", status);
+	}
+
+	private static Municipio goiania(Uf uf) {
+		return new Municipio(10L, uf, "GOIÂNIA", 1);
+	}
+}
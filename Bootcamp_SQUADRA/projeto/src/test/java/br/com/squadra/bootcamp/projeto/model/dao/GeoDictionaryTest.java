@@ -0,0 +1,105 @@
+package br.com.squadra.bootcamp.projeto.model.dao;
+
+import br.com.squadra.bootcamp.projeto.model.entities.Bairro;
+import br.com.squadra.bootcamp.projeto.model.entities.Municipio;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoDictionaryTest {
+
+	private Connection connection;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		connection = DriverManager.getConnection("jdbc:h2:mem:geo;MODE=Oracle");
+		try (Statement stmt = connection.createStatement()) {
+			stmt.execute("RUNSCRIPT FROM 'classpath:db/schema-h2.sql'");
+			stmt.executeUpdate("INSERT INTO TB_UF VALUES (1, 'GO', 'GOIÁS', 1)");
+			stmt.executeUpdate("INSERT INTO TB_UF VALUES (2, 'TO', 'TOCANTINS', 2)");
+			stmt.executeUpdate("INSERT INTO TB_MUNICIPIO VALUES (10, 1, 'GOIÂNIA', 1)");
+			stmt.executeUpdate("INSERT INTO TB_MUNICIPIO VALUES (11, 1, 'ANÁPOLIS', 1)");
+			for (int i = 0; i < 3000; i++) {
+				stmt.executeUpdate("INSERT INTO TB_BAIRRO VALUES (" + (100 + i) + ", 10, '" + (i % 2 == 0 ? "CENTRO" : "SETOR " + i) + "', " + (1 + i % 2) + ")");
+			}
+		}
+		Flyweights.configure(true, 100_000);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		connection.close();
+	}
+
+	@Test
+	void montaAHierarquiaComUmaConsulta() {
+		GeoDictionary geo = GeoDictionary.build(connection);
+
+		Bairro bairro = geo.bairro(2099);
+		assertThat(bairro.getCodigoBairro()).isEqualTo(2099L);
+		assertThat(bairro.getNome()).isEqualTo("SETOR 1999");
+		assertThat(bairro.getStatus()).isEqualTo(2);
+		assertThat(bairro.getMunicipio().getNome()).isEqualTo("GOIÂNIA");
+		assertThat(bairro.getMunicipio().getUf().getSigla()).isEqualTo("GO");
+		// Pais compartilhados e nomes repetidos guardados uma única vez
+		assertThat(geo.bairro(100).getMunicipio()).isSameAs(bairro.getMunicipio());
+		assertThat(geo.bairro(100).getNome()).isSameAs(geo.bairro(102).getNome());
+
+		Municipio semBairros = geo.municipio(11);
+		assertThat(semBairros.getNome()).isEqualTo("ANÁPOLIS");
+		assertThat(geo.uf(2).getNome()).isEqualTo("TOCANTINS");
+		assertThat(geo.bairro(99)).isNull();
+		assertThat(geo.municipio(12)).isNull();
+
+		// As entidades devolvidas são instâncias próprias, que podem ser alteradas
+		bairro.setNome("OUTRO");
+		assertThat(geo.bairro(2099).getNome()).isEqualTo("SETOR 1999");
+	}
+
+	@Test
+	void filtraComOsIndicesDeBitmap() {
+		GeoDictionary geo = GeoDictionary.build(connection);
+
+		assertThat(geo.bairros(null, 10L, null, 2)).hasSize(1500).allMatch(b -> b.getStatus() == 2);
+		List<Bairro> centros = geo.bairros(null, 10L, "centro", 1);
+		assertThat(centros).hasSize(1500).allMatch(b -> b.getNome().equals("CENTRO"));
+		assertThat(geo.bairros(null, 10L, "centro", 2)).isEmpty();
+		assertThat(geo.bairros(2099L, null, "setor 1999", null)).extracting(Bairro::getCodigoBairro).containsExactly(2099L);
+		assertThat(geo.bairros(2099L, 11L, null, null)).isEmpty();
+		assertThat(geo.bairros(null, null, "INEXISTENTE", null)).isEmpty();
+		assertThat(geo.bairros(null, 99L, null, null)).isEmpty();
+		assertThat(geo.bairros(null, null, null, null)).hasSize(3000);
+
+		assertThat(geo.municipios(null, 1L, null, null)).extracting(Municipio::getCodigoMunicipio).containsExactly(10L, 11L);
+		assertThat(geo.municipios(null, 2L, null, null)).isEmpty();
+		assertThat(geo.municipios(null, null, "anápolis", 1)).extracting(Municipio::getCodigoMunicipio).containsExactly(11L);
+		assertThat(geo.municipios(null, null, null, 3)).isEmpty();
+	}
+
+	@Test
+	void statusAcimaDe127NaoFicaNegativo() throws Exception {
+		try (Statement stmt = connection.createStatement()) {
+			stmt.executeUpdate("INSERT INTO TB_UF VALUES (3, 'DF', 'DISTRITO FEDERAL', 200)");
+			stmt.executeUpdate("INSERT INTO TB_MUNICIPIO VALUES (12, 3, 'BRASÍLIA', 255)");
+			stmt.executeUpdate("INSERT INTO TB_BAIRRO VALUES (5000, 12, 'ASA SUL', 128)");
+		}
+		GeoDictionary geo = GeoDictionary.build(connection);
+
+		Bairro bairro = geo.bairro(5000);
+		assertThat(bairro.getStatus()).isEqualTo(128);
+		assertThat(bairro.getMunicipio().getStatus()).isEqualTo(255);
+		assertThat(bairro.getMunicipio().getUf().getStatus()).isEqualTo(200);
+		assertThat(geo.uf(3).getStatus()).isEqualTo(200);
+		assertThat(geo.bairros(null, null, null, 128)).extracting(Bairro::getCodigoBairro).containsExactly(5000L);
+		assertThat(geo.municipios(null, null, null, 255)).extracting(Municipio::getCodigoMunicipio).containsExactly(12L);
+		assertThat(geo.bairros(null, null, null, -128)).isEmpty();
+		assertThat(geo.bairros(null, null, null, 384)).isEmpty();
+	}
+}
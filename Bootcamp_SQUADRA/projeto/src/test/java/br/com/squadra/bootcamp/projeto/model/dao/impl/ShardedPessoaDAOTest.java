@@ -0,0 +1,137 @@
+package br.com.squadra.bootcamp.projeto.model.dao.impl;
+
+import br.com.squadra.bootcamp.projeto.model.dao.EnderecoDAO;
+import br.com.squadra.bootcamp.projeto.model.dao.PessoaDAO;
+import br.com.squadra.bootcamp.projeto.model.entities.Endereco;
+import br.com.squadra.bootcamp.projeto.model.entities.Pessoa;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardedPessoaDAOTest {
+
+	private static final int SHARDS = 3;
+
+	private final List<Connection> connections = new ArrayList<>();
+	private PessoaDAO pessoaDAO;
+	private EnderecoDAO enderecoDAO;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		List<PessoaDAO> pessoas = new ArrayList<>();
+		List<EnderecoDAO> enderecos = new ArrayList<>();
+		for (int i = 0; i < SHARDS; i++) {
+			Connection connection = DriverManager.getConnection("jdbc:h2:mem:shard" + i + ";MODE=Oracle");
+			execute(connection, "RUNSCRIPT FROM 'classpath:db/schema-h2.sql'");
+			connections.add(connection);
+			pessoas.add(new PessoaDAOImpl(connection, i, SHARDS));
+			enderecos.add(new EnderecoDAOImpl(connection, i, SHARDS));
+		}
+		pessoaDAO = new ShardedPessoaDAO(pessoas);
+		enderecoDAO = new ShardedEnderecoDAO(enderecos);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		for (Connection connection : connections) {
+			connection.close();
+		}
+	}
+
+	@Test
+	void embedsShardInGeneratedCodes() throws SQLException {
+		for (int i = 0; i < 12; i++) {
+			Pessoa pessoa = pessoaDAO.insert(pessoa("login" + i));
+			int shard = ShardedPessoaDAO.shardOf(pessoa.getCodigoPessoa(), SHARDS);
+
+			assertThat(count(connections.get(shard), "SELECT COUNT(*) FROM TB_PESSOA WHERE CODIGO_PESSOA = " + pessoa.getCodigoPessoa()))
+					.isEqualTo(1);
+			assertThat(pessoaDAO.findByCodigoPessoa(pessoa.getCodigoPessoa()).getLogin()).isEqualTo("login" + i);
+		}
+		// O hash do login distribui as pessoas por mais de um shard
+		long shardsUsados = pessoaDAO.findAll().stream()
+				.map(p -> ShardedPessoaDAO.shardOf(p.getCodigoPessoa(), SHARDS))
+				.distinct()
+				.count();
+		assertThat(shardsUsados).isGreaterThan(1);
+	}
+
+	@Test
+	void mergesScatterGatherResultsInDescendingOrder() {
+		for (int i = 0; i < 12; i++) {
+			pessoaDAO.insert(pessoa("login" + i));
+		}
+
+		List<Pessoa> todas = pessoaDAO.findAll();
+		assertThat(todas).hasSize(12);
+		assertThat(todas).isSortedAccordingTo(Comparator.comparing(Pessoa::getCodigoPessoa).reversed());
+
+		List<Pessoa> ativas = pessoaDAO.findByFilters(Optional.empty(), Optional.empty(), Optional.of(1));
+		assertThat(ativas).hasSize(12);
+		assertThat(ativas).isSortedAccordingTo(Comparator.comparing(Pessoa::getCodigoPessoa).reversed());
+
+		assertThat(pessoaDAO.findByLogin("login7")).isNotNull();
+	}
+
+	@Test
+	void keepsEnderecosOnTheShardOfTheirPessoa() throws SQLException {
+		Pessoa pessoa = pessoaDAO.insert(pessoa("morador"));
+		int shard = ShardedPessoaDAO.shardOf(pessoa.getCodigoPessoa(), SHARDS);
+
+		Endereco endereco = enderecoDAO.insert(new Endereco(null, pessoa.getCodigoPessoa(), 1L, "RUA A", "10", null, "74000-000"));
+
+		assertThat(ShardedPessoaDAO.shardOf(endereco.getCodigoEndereco(), SHARDS)).isEqualTo(shard);
+		assertThat(count(connections.get(shard), "SELECT COUNT(*) FROM TB_ENDERECO")).isEqualTo(1);
+		assertThat(enderecoDAO.findByCodigoPessoa(pessoa.getCodigoPessoa())).hasSize(1);
+
+		enderecoDAO.deleteByCodigoEndereco(endereco.getCodigoEndereco());
+		assertThat(enderecoDAO.findByCodigoPessoa(pessoa.getCodigoPessoa())).isEmpty();
+	}
+
+	@Test
+	void loadsPessoasAndEnderecosByCodesAcrossShards() {
+		List<Long> codigos = new ArrayList<>();
+		for (int i = 0; i < 9; i++) {
+			Pessoa pessoa = pessoaDAO.insert(pessoa("login" + i));
+			enderecoDAO.insert(new Endereco(null, pessoa.getCodigoPessoa(), 1L, "RUA " + i, "10", null, "74000-000"));
+			codigos.add(pessoa.getCodigoPessoa());
+		}
+		List<Long> pedidos = List.of(codigos.get(0), codigos.get(4), codigos.get(8), 999_999L);
+
+		assertThat(pessoaDAO.findByCodigosPessoa(pedidos))
+				.extracting(Pessoa::getCodigoPessoa)
+				.containsExactlyInAnyOrder(codigos.get(0), codigos.get(4), codigos.get(8));
+		assertThat(enderecoDAO.findByCodigosPessoa(pedidos))
+				.extracting(Endereco::getCodigoPessoa)
+				.containsExactlyInAnyOrder(codigos.get(0), codigos.get(4), codigos.get(8));
+	}
+
+	private static Pessoa pessoa(String login) {
+		return new Pessoa(null, "NOME", "SOBRENOME", 30, login, "senha", 1);
+	}
+
+	private static long count(Connection connection, String sql) throws SQLException {
+		try (Statement stmt = connection.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+			rs.next();
+			return rs.getLong(1);
+		}
+	}
+
+	private static void execute(Connection connection, String sql) throws SQLException {
+		try (Statement stmt = connection.createStatement()) {
+			stmt.execute(sql);
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package br.com.squadra.bootcamp.projeto.readmodel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CepDictionaryTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void compilaEConsultaPorBuscaBinaria() throws Exception {
+		Path csv = dir.resolve("ceps.csv");
+		Files.writeString(csv, """
+				cep;codigoBairro;codigoMunicipio;codigoUF
+				13000-500;7;2;1
+				01310100;3;1;1
+
+				13000-000;5;2;1
+				""");
+		Path bin = dir.resolve("ceps.bin");
+
+		assertThat(CepDictionary.compile(csv, bin)).isEqualTo(3);
+		assertThat(Files.size(bin)).isEqualTo(16 + 3 * 16);
+
+		CepDictionary dicionario = CepDictionary.open(bin);
+		assertThat(dicionario.size()).isEqualTo(3);
+		assertThat(dicionario.lookup("01310-100")).isEqualTo(new CepDictionary.Localizacao(3, 1, 1));
+		assertThat(dicionario.lookup("13000000")).isEqualTo(new CepDictionary.Localizacao(5, 2, 1));
+		assertThat(dicionario.lookup("13000-500")).isEqualTo(new CepDictionary.Localizacao(7, 2, 1));
+		assertThat(dicionario.lookup("13000-001")).isNull();
+		assertThat(dicionario.lookup("abc")).isNull();
+	}
+
+	@Test
+	void rejeitaCepRepetidoSemDeixarArquivo() throws Exception {
+		Path csv = dir.resolve("ceps.csv");
+		Files.writeString(csv, "13000-000;5;2;1\n13000000;6;2;1\n");
+		Path bin = dir.resolve("ceps.bin");
+
+		assertThatThrownBy(() -> CepDictionary.compile(csv, bin)).isInstanceOf(IllegalArgumentException.class);
+		assertThat(dir.toFile().list()).containsExactly("ceps.csv");
+	}
+}
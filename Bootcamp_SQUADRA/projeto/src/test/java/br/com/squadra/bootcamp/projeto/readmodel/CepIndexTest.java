@@ -0,0 +1,48 @@
+package br.com.squadra.bootcamp.projeto.readmodel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CepIndexTest {
+
+	@Test
+	void interpretaCepExatoEPrefixo() {
+		assertThat(CepIndex.Faixa.parse("01310-100")).isEqualTo(new CepIndex.Faixa(1310100, 1310100));
+		assertThat(CepIndex.Faixa.parse("01310*")).isEqualTo(new CepIndex.Faixa(1310000, 1310999));
+		assertThat(CepIndex.normalize("01310-100")).isEqualTo(1310100);
+		assertThat(CepIndex.normalize("0131010")).isEqualTo(-1);
+		assertThat(CepIndex.format(1310100)).isEqualTo("01310-100");
+		assertThatThrownBy(() -> CepIndex.Faixa.parse("0131")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> CepIndex.Faixa.parse("ab*")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void combinaBaseEAlteracoesNaOrdemDeCep() {
+		CepIndex index = new CepIndex();
+		List<CepIndex.Entrada> base = new ArrayList<>();
+		for (long codigo = 1; codigo <= 10; codigo++) {
+			base.add(new CepIndex.Entrada(1310000 + (int) codigo, codigo, 100 + codigo));
+		}
+		base.add(new CepIndex.Entrada(2000000, 11, 111));
+		index.rebuild(base);
+
+		index.remove(1310003, 3);                // excluído da base
+		index.add(1310005, 20, 120);             // incluído no meio da faixa
+		index.add(1310999, 4, 104);              // CEP alterado: incluído com o novo CEP...
+		index.remove(1310004, 4);                // ...e removido com o antigo
+		index.add(1310003, 3, 103);              // exclusão desfeita
+
+		CepIndex.Pagina pagina = index.find(CepIndex.Faixa.parse("01310*"), 2, 4);
+
+		assertThat(pagina.total()).isEqualTo(11);
+		assertThat(pagina.entradas()).extracting(CepIndex.Entrada::codigoEndereco).containsExactly(3L, 5L, 20L, 6L);
+		assertThat(index.find(CepIndex.Faixa.parse("01310999"), 0, 10).entradas())
+				.containsExactly(new CepIndex.Entrada(1310999, 4, 104));
+		assertThat(index.size()).isEqualTo(12);
+	}
+}
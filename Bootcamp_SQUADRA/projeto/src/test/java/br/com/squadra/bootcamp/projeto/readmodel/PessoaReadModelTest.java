@@ -0,0 +1,177 @@
+package br.com.squadra.bootcamp.projeto.readmodel;
+
+import br.com.squadra.bootcamp.projeto.cache.TableVersions.Table;
+import br.com.squadra.bootcamp.projeto.dto.EnderecoDTOGet;
+import br.com.squadra.bootcamp.projeto.dto.PessoaDTO;
+import br.com.squadra.bootcamp.projeto.exception.DbException;
+import br.com.squadra.bootcamp.projeto.health.WarmupHealthIndicator;
+import br.com.squadra.bootcamp.projeto.invalidation.Invalidation;
+import br.com.squadra.bootcamp.projeto.model.dao.PessoaDAO;
+import br.com.squadra.bootcamp.projeto.model.dao.impl.BairroDAOImpl;
+import br.com.squadra.bootcamp.projeto.model.dao.impl.EnderecoDAOImpl;
+import br.com.squadra.bootcamp.projeto.model.dao.impl.MunicipioDAOImpl;
+import br.com.squadra.bootcamp.projeto.model.dao.impl.PessoaDAOImpl;
+import br.com.squadra.bootcamp.projeto.model.dao.impl.UfDAOImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PessoaReadModelTest {
+
+	private Connection connection;
+	private final WarmupHealthIndicator warmup = new WarmupHealthIndicator();
+	private final AtomicInteger falhasRestantes = new AtomicInteger();  // findAll de pessoas que ainda vão falhar
+	private PessoaReadModel modelo;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		connection = DriverManager.getConnection(
+				"jdbc:h2:mem:readmodel;MODE=Oracle;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:db/schema-h2.sql'");
+		execute("INSERT INTO TB_UF VALUES (1, 'GO', 'GOIÁS', 1)");
+		execute("INSERT INTO TB_MUNICIPIO VALUES (1, 1, 'GOIÂNIA', 1)");
+		execute("INSERT INTO TB_BAIRRO VALUES (1, 1, 'SETOR BUENO', 1)");
+		execute("INSERT INTO TB_PESSOA VALUES (1, 'MARIA', 'SILVA', 30, 'maria', 'senha', 1)");
+		execute("INSERT INTO TB_ENDERECO VALUES (1, 1, 1, 'RUA T-1', '10', NULL, '74210010')");
+
+		modelo = new PessoaReadModel(falhando(new PessoaDAOImpl(connection)), new EnderecoDAOImpl(connection),
+				new BairroDAOImpl(connection), new MunicipioDAOImpl(connection), new UfDAOImpl(connection), 20, 80);
+		modelo.setWarmup(warmup);
+		warmup.register(PessoaReadModel.CACHE);
+		warmup.register(PessoaSearchIndex.CACHE);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		execute("DROP ALL OBJECTS");
+		connection.close();
+	}
+
+	@Test
+	void repeteACargaQueFalhouAteConseguir() {
+		falhasRestantes.set(2);
+
+		modelo.warmUpAsync();
+
+		aguardar(() -> warmup.health().getStatus().equals(Status.UP));
+		assertThat(falhasRestantes.get()).isNegative();  // Duas tentativas com falha e a terceira com sucesso
+		assertThat(modelo.isWarm("teste")).isTrue();
+		assertThat(modelo.findByCodigoPessoa(1L).getEnderecos()).singleElement()
+				.satisfies(endereco -> assertThat(endereco.getBairro().getNome()).isEqualTo("SETOR BUENO"));
+	}
+
+	@Test
+	void dobraAEsperaEntreTentativasAteOMaximo() {
+		assertThat(modelo.retryDelay(1)).isEqualTo(20);
+		assertThat(modelo.retryDelay(2)).isEqualTo(40);
+		assertThat(modelo.retryDelay(3)).isEqualTo(80);
+		assertThat(modelo.retryDelay(40)).isEqualTo(80);
+	}
+
+	@Test
+	void refreshPublicaAPessoaAlteradaNoBanco() throws Exception {
+		modelo.rebuild();
+		execute("UPDATE TB_PESSOA SET NOME = 'MARIANA' WHERE CODIGO_PESSOA = 1");
+		execute("INSERT INTO TB_PESSOA VALUES (2, 'JOSE', 'SOUZA', 40, 'jose', 'senha', 1)");
+
+		assertThat(modelo.findByCodigoPessoa(1L).getNome()).isEqualTo("MARIA");
+		modelo.refresh(1L);
+		modelo.refresh(2L);
+
+		assertThat(modelo.findByCodigoPessoa(1L).getNome()).isEqualTo("MARIANA");
+		assertThat(modelo.findByCodigoPessoa(2L).getLogin()).isEqualTo("jose");
+		assertThat(modelo.findByFilters(Optional.empty(), Optional.of("JOSE"), Optional.empty()))
+				.extracting(PessoaDTO::getCodigoPessoa).containsExactly(2L);
+	}
+
+	@Test
+	void alteracaoDeLocalidadeChegaATodasAsPessoasQueAUsam() throws Exception {
+		execute("INSERT INTO TB_PESSOA VALUES (2, 'JOSE', 'SOUZA', 40, 'jose', 'senha', 1)");
+		execute("INSERT INTO TB_ENDERECO VALUES (2, 2, 1, 'RUA T-2', '20', NULL, '74210020')");
+		modelo.rebuild();
+
+		execute("UPDATE TB_BAIRRO SET NOME = 'SETOR BUENO II' WHERE CODIGO_BAIRRO = 1");
+		modelo.bairroChanged(1L);
+		execute("UPDATE TB_MUNICIPIO SET NOME = 'GOIANIA' WHERE CODIGO_MUNICIPIO = 1");
+		modelo.municipioChanged(1L);
+		execute("UPDATE TB_UF SET NOME = 'GOIAS' WHERE CODIGO_UF = 1");
+		modelo.ufChanged(1L);
+
+		for (long codigoPessoa : new long[]{1L, 2L}) {
+			assertThat(modelo.findByCodigoPessoa(codigoPessoa).getEnderecos()).singleElement().satisfies(endereco -> {
+				assertThat(endereco.getBairro().getNome()).isEqualTo("SETOR BUENO II");
+				assertThat(endereco.getBairro().getMunicipio().getNome()).isEqualTo("GOIANIA");
+				assertThat(endereco.getBairro().getMunicipio().getUf().getNome()).isEqualTo("GOIAS");
+			});
+		}
+	}
+
+	@Test
+	void enderecoExcluidoRecarregaAPessoaDona() throws Exception {
+		modelo.rebuild();
+		execute("DELETE FROM TB_ENDERECO WHERE CODIGO_ENDERECO = 1");
+
+		// O endereço não existe mais no banco: a pessoa é encontrada pelo índice de endereços do modelo
+		modelo.onInvalidations(List.of(new Invalidation(Table.TB_ENDERECO, 1L, 1L)));
+
+		assertThat(modelo.findByCodigoPessoa(1L).getEnderecos()).isEmpty();
+	}
+
+	@Test
+	void enderecoNovoRecarregaAPessoaPeloBanco() throws Exception {
+		modelo.rebuild();
+		execute("INSERT INTO TB_ENDERECO VALUES (2, 1, 1, 'RUA T-2', '20', NULL, '74210020')");
+
+		modelo.onInvalidations(List.of(new Invalidation(Table.TB_ENDERECO, 2L, 1L)));
+
+		assertThat(modelo.findByCodigoPessoa(1L).getEnderecos()).extracting(EnderecoDTOGet::getCodigoEndereco)
+				.containsExactlyInAnyOrder(1L, 2L);
+	}
+
+	/**
+	 * DAO de pessoas cujo {@code findAll} falha enquanto houver falhas restantes.
+	 */
+	private PessoaDAO falhando(PessoaDAO target) {
+		return (PessoaDAO) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PessoaDAO.class},
+				(proxy, method, args) -> {
+					if (method.getName().equals("findAll") && falhasRestantes.getAndDecrement() > 0) {
+						throw new DbException("Banco indisponível");
+					}
+					try {
+						return method.invoke(target, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				});
+	}
+
+	private static void aguardar(BooleanSupplier condicao) {
+		long limite = System.nanoTime() + 5_000_000_000L;
+		while (!condicao.getAsBoolean()) {
+			assertThat(System.nanoTime()).as("tempo de espera esgotado").isLessThan(limite);
+			try {
+				Thread.sleep(5);
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	private void execute(String sql) throws Exception {
+		try (Statement stmt = connection.createStatement()) {
+			stmt.execute(sql);
+		}
+	}
+}
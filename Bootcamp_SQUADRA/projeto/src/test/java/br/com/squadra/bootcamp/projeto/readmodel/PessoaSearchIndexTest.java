@@ -0,0 +1,58 @@
+package br.com.squadra.bootcamp.projeto.readmodel;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PessoaSearchIndexTest {
+
+	@Test
+	void normalizaAcentosEQuebraEmTermos() {
+		assertThat(PessoaSearchIndex.normalize("João Conceição")).isEqualTo("JOAO CONCEICAO");
+		assertThat(PessoaSearchIndex.tokens("  ana.maria_silva ana ")).containsExactly("ANA", "MARIA", "SILVA");
+		assertThat(PessoaSearchIndex.tokens(null)).isEmpty();
+	}
+
+	@Test
+	void buscaPorPrefixosEmOrdemDeRelevancia() {
+		PessoaSearchIndex index = new PessoaSearchIndex();
+		index.index(1, null, new PessoaSearchIndex.Campos("Maria", "Silva", "msilva"));
+		index.index(2, null, new PessoaSearchIndex.Campos("Mariana", "Souza", "mari"));
+		index.index(3, null, new PessoaSearchIndex.Campos("José", "Mariano", "jose"));
+		index.index(4, null, new PessoaSearchIndex.Campos("João", "Silva", "joao"));
+
+		// Nome exato vale mais que prefixo no nome, que vale mais que prefixo no sobrenome
+		assertThat(index.search("maria", codigo -> true, 0, 10).resultados())
+				.extracting(PessoaSearchIndex.Resultado::codigoPessoa).containsExactly(1L, 2L, 3L);
+		assertThat(index.search("JOS mari", codigo -> true, 0, 10).resultados())
+				.extracting(PessoaSearchIndex.Resultado::codigoPessoa).containsExactly(3L);
+		assertThat(index.search("silva", codigo -> codigo != 1, 0, 10).resultados())
+				.extracting(PessoaSearchIndex.Resultado::codigoPessoa).containsExactly(4L);
+		assertThat(index.search("xyz", codigo -> true, 0, 10).total()).isZero();
+		assertThat(index.search("...", codigo -> true, 0, 10).total()).isZero();
+
+		// Termos curtos não são usados como prefixo
+		assertThat(index.search("ma", codigo -> true, 0, 10).total()).isZero();
+
+		// Empate entre 1 e 2 (prefixo no nome) desfeito pelo código, em ordem decrescente
+		PessoaSearchIndex.Pagina segunda = index.search("mar", codigo -> true, 1, 1);
+		assertThat(segunda.total()).isEqualTo(3);
+		assertThat(segunda.resultados()).extracting(PessoaSearchIndex.Resultado::codigoPessoa).containsExactly(1L);
+	}
+
+	@Test
+	void atualizaEExcluiDeFormaIncremental() {
+		PessoaSearchIndex index = new PessoaSearchIndex();
+		PessoaSearchIndex.Campos antes = new PessoaSearchIndex.Campos("Ana", "Lima", "ana");
+		PessoaSearchIndex.Campos depois = new PessoaSearchIndex.Campos("Ana", "Costa", "ana");
+		index.index(1, null, antes);
+		index.index(1, antes, depois);
+
+		assertThat(index.search("lima", codigo -> true, 0, 10).total()).isZero();
+		assertThat(index.search("ana costa", codigo -> true, 0, 10).total()).isEqualTo(1);
+
+		index.index(1, depois, null);
+		assertThat(index.search("ana", codigo -> true, 0, 10).total()).isZero();
+		assertThat(index.size()).isZero();
+	}
+}
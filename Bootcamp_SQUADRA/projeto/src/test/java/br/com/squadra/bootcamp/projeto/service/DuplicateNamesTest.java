@@ -0,0 +1,49 @@
+package br.com.squadra.bootcamp.projeto.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DuplicateNamesTest {
+
+	@Test
+	void comparaNomesNaFormaCanonica() {
+		assertThat(DuplicateNames.canonical("Jd. América")).isEqualTo("JARDIM AMERICA");
+		assertThat(DuplicateNames.canonical("VL. STA. RITA DE CASSIA")).isEqualTo("VILA SANTA RITA CASSIA");
+		assertThat(DuplicateNames.similarity("JARDIM AMERICA", "JD. AMÉRICA")).isEqualTo(1.0);
+		assertThat(DuplicateNames.similarity("JARDIM AMERICA", "JARDIM AMERICAS")).isGreaterThan(DuplicateNames.LIMIAR_PADRAO);
+		assertThat(DuplicateNames.similarity("CENTRO", "CENTRAL")).isLessThan(DuplicateNames.LIMIAR_PADRAO);
+	}
+
+	@Test
+	void avisaApenasIrmaosSemelhantes() {
+		List<DuplicateNames.Nome> irmaos = List.of(
+				new DuplicateNames.Nome(1, 10, "JARDIM AMERICA"),
+				new DuplicateNames.Nome(2, 10, "JARDIM EUROPA"),
+				new DuplicateNames.Nome(3, 10, "PQ. AMERICA"));
+
+		assertThat(DuplicateNames.similar("Jd América", irmaos, DuplicateNames.LIMIAR_PADRAO))
+				.extracting(par -> par.nome().codigo()).containsExactly(1L);
+	}
+
+	@Test
+	void encontraDuplicadosDentroDoMesmoPai() {
+		List<DuplicateNames.Nome> nomes = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			nomes.add(new DuplicateNames.Nome(i, i % 50, "SETOR " + i));
+		}
+		nomes.add(new DuplicateNames.Nome(10_001, 7, "JARDIM AMERICA"));
+		nomes.add(new DuplicateNames.Nome(10_002, 7, "JD. AMÉRICA"));
+		nomes.add(new DuplicateNames.Nome(10_003, 8, "JARDIM AMERICA"));
+		nomes.add(new DuplicateNames.Nome(10_004, 9, "RESIDENCIAL DAS FLORES"));
+		nomes.add(new DuplicateNames.Nome(10_005, 9, "RES. FLORES"));
+
+		List<DuplicateNames.Par> pares = DuplicateNames.find(nomes, DuplicateNames.LIMIAR_PADRAO);
+
+		assertThat(pares).extracting(par -> par.nome().codigo() + "-" + par.duplicado().codigo())
+				.containsExactly("10001-10002", "10004-10005");
+	}
+}
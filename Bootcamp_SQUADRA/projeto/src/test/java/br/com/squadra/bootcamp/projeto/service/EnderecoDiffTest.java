@@ -0,0 +1,58 @@
+package br.com.squadra.bootcamp.projeto.service;
+
+import br.com.squadra.bootcamp.projeto.model.entities.Endereco;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnderecoDiffTest {
+
+	@Test
+	void classificaCadaEndereco() {
+		List<Endereco> atuais = List.of(
+				endereco(1L, "RUA A", "10", null),
+				endereco(2L, "RUA B", "20", "CASA"),
+				endereco(3L, "RUA C", "30", null));
+		List<Endereco> desejados = List.of(
+				endereco(1L, "RUA A", "10", null),
+				endereco(2L, "RUA B", "22", null),
+				endereco(null, "RUA D", "40", null),
+				endereco(99L, "RUA E", "50", null));
+
+		EnderecoDiff diff = EnderecoDiff.of(atuais, desejados);
+
+		assertThat(diff.getUnchanged()).isEqualTo(1);
+		assertThat(diff.getUpdates()).singleElement().satisfies(update -> {
+			assertThat(update.codigoEndereco()).isEqualTo(2L);
+			assertThat(update.changes().columns()).containsExactly("NUMERO", "COMPLEMENTO");
+		});
+		assertThat(diff.getInserts()).extracting(Endereco::getNomeRua).containsExactly("RUA D");
+		// O código 99 não pertence à pessoa e é ignorado
+		assertThat(diff.getDeletes()).containsExactly(3L);
+	}
+
+	@Test
+	void semAlteracoesNaoGravaNada() {
+		List<Endereco> atuais = List.of(endereco(1L, "RUA A", "10", null), endereco(2L, "RUA B", "20", "CASA"));
+
+		EnderecoDiff diff = EnderecoDiff.of(atuais, List.of(
+				endereco(2L, "RUA B", "20", "CASA"), endereco(1L, "RUA A", "10", null)));
+
+		assertThat(diff.isEmpty()).isTrue();
+		assertThat(diff.getUnchanged()).isEqualTo(2);
+	}
+
+	private static Endereco endereco(Long codigo, String rua, String numero, String complemento) {
+		Endereco endereco = new Endereco();
+		endereco.setCodigoEndereco(codigo);
+		endereco.setCodigoPessoa(1L);
+		endereco.setCodigoBairro(1L);
+		endereco.setNomeRua(rua);
+		endereco.setNumero(numero);
+		endereco.setComplemento(complemento);
+		endereco.setCep("74000-000");
+		return endereco;
+	}
+}
@@ -0,0 +1,104 @@
+package br.com.squadra.bootcamp.projeto.util;
+
+import br.com.squadra.bootcamp.projeto.exception.DbException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatasetGeneratorTest {
+
+	private static final String[] TABELAS = {"TB_UF", "TB_MUNICIPIO", "TB_BAIRRO", "TB_PESSOA", "TB_ENDERECO"};
+
+	private Connection connection;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		connection = DriverManager.getConnection("jdbc:h2:mem:dataset;MODE=Oracle");
+		execute("RUNSCRIPT FROM 'classpath:db/schema-h2.sql'");
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		connection.close();
+	}
+
+	@Test
+	void geraOsVolumesPedidosDeFormaDeterministica() throws SQLException {
+		generator(7).generate();
+
+		assertThat(count("TB_UF")).isEqualTo(27);
+		assertThat(count("TB_MUNICIPIO")).isEqualTo(100);
+		assertThat(count("TB_BAIRRO")).isEqualTo(300);
+		assertThat(count("TB_PESSOA")).isEqualTo(250);
+		assertThat(count("TB_ENDERECO")).isBetween(250L, 1250L);
+		List<String> primeiraCarga = pessoas();
+
+		for (int i = TABELAS.length - 1; i >= 0; i--) {
+			execute("DELETE FROM " + TABELAS[i]);
+		}
+		generator(7).generate();
+
+		assertThat(pessoas()).isEqualTo(primeiraCarga);
+	}
+
+	@Test
+	void recusaTabelasComDados() throws SQLException {
+		execute("INSERT INTO TB_UF VALUES (1, 'GO', 'GOIÁS', 1)");
+
+		assertThatThrownBy(() -> generator(7).generate()).isInstanceOf(DbException.class).hasMessageContaining("TB_UF");
+		assertThat(count("TB_UF")).isEqualTo(1);
+	}
+
+	@Test
+	void removeAsLinhasConfirmadasQuandoACargaFalha() throws SQLException {
+		// A última etapa falha depois que todas as tabelas já foram confirmadas
+		execute("DROP SEQUENCE SEQUENCE_ENDERECO");
+
+		assertThatThrownBy(() -> generator(7).generate()).isInstanceOf(DbException.class);
+
+		for (String tabela : TABELAS) {
+			assertThat(count(tabela)).as(tabela).isZero();
+		}
+	}
+
+	private DatasetGenerator generator(long seed) {
+		// Lotes pequenos para que a carga faça vários commits intermediários
+		return new DatasetGenerator(connection, seed, 100, 300, 250, 40, 1.07);
+	}
+
+	private List<String> pessoas() throws SQLException {
+		List<String> pessoas = new ArrayList<>();
+		try (Statement stmt = connection.createStatement();
+			 ResultSet rs = stmt.executeQuery("SELECT CODIGO_PESSOA, NOME, SOBRENOME, IDADE FROM TB_PESSOA ORDER BY CODIGO_PESSOA")) {
+			while (rs.next()) {
+				pessoas.add(rs.getLong(1) + " " + rs.getString(2) + " " + rs.getString(3) + " " + rs.getInt(4));
+			}
+		}
+		return pessoas;
+	}
+
+	private long count(String tabela) throws SQLException {
+		try (Statement stmt = connection.createStatement();
+			 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + tabela)) {
+			rs.next();
+			return rs.getLong(1);
+		}
+	}
+
+	private void execute(String sql) throws SQLException {
+		try (Statement stmt = connection.createStatement()) {
+			stmt.execute(sql);
+		}
+	}
+}
@@ -0,0 +1,65 @@
+CREATE TABLE TB_UF (
+    CODIGO_UF NUMBER(9) PRIMARY KEY,
+    SIGLA VARCHAR2(3) NOT NULL,
+    NOME VARCHAR2(60) NOT NULL,
+    STATUS NUMBER(3) NOT NULL
+);
+
+CREATE TABLE TB_MUNICIPIO (
+    CODIGO_MUNICIPIO NUMBER(9) PRIMARY KEY,
+    CODIGO_UF NUMBER(9) NOT NULL REFERENCES TB_UF (CODIGO_UF),
+    NOME VARCHAR2(256) NOT NULL,
+    STATUS NUMBER(3) NOT NULL
+);
+
+CREATE TABLE TB_BAIRRO (
+    CODIGO_BAIRRO NUMBER(9) PRIMARY KEY,
+    CODIGO_MUNICIPIO NUMBER(9) NOT NULL REFERENCES TB_MUNICIPIO (CODIGO_MUNICIPIO),
+    NOME VARCHAR2(256) NOT NULL,
+    STATUS NUMBER(3) NOT NULL
+);
+
+CREATE TABLE TB_PESSOA (
+    CODIGO_PESSOA NUMBER(18) PRIMARY KEY,
+    NOME VARCHAR2(256) NOT NULL,
+    SOBRENOME VARCHAR2(256) NOT NULL,
+    IDADE NUMBER(3) NOT NULL,
+    LOGIN VARCHAR2(50) NOT NULL,
+    SENHA VARCHAR2(50) NOT NULL,
+    STATUS NUMBER(3) NOT NULL
+);
+
+CREATE TABLE TB_ENDERECO (
+    CODIGO_ENDERECO NUMBER(18) PRIMARY KEY,
+    CODIGO_PESSOA NUMBER(18) NOT NULL REFERENCES TB_PESSOA (CODIGO_PESSOA),
+    CODIGO_BAIRRO NUMBER(9) NOT NULL,
+    NOME_RUA VARCHAR2(256) NOT NULL,
+    NUMERO VARCHAR2(10) NOT NULL,
+    COMPLEMENTO VARCHAR2(20),
+    CEP VARCHAR2(10) NOT NULL
+);
+
+CREATE SEQUENCE SEQUENCE_UF;
+CREATE SEQUENCE SEQUENCE_MUNICIPIO;
+CREATE SEQUENCE SEQUENCE_BAIRRO;
+CREATE SEQUENCE SEQUENCE_PESSOA;
+CREATE SEQUENCE SEQUENCE_ENDERECO;
+
+CREATE TABLE TB_OUTBOX (
+    CODIGO_EVENTO NUMBER(18) PRIMARY KEY,
+    ENTIDADE VARCHAR2(30) NOT NULL,
+    CODIGO NUMBER(18) NOT NULL,
+    OPERACAO VARCHAR2(10) NOT NULL,
+    ORIGEM VARCHAR2(128) NOT NULL,
+    DATA_EVENTO TIMESTAMP NOT NULL
+);
+
+CREATE SEQUENCE SEQUENCE_OUTBOX;
+
+CREATE TABLE TB_OUTBOX_LIMPEZA (
+    CODIGO_LIMPEZA NUMBER(1) PRIMARY KEY,
+    ORIGEM VARCHAR2(128),
+    VALIDO_ATE TIMESTAMP NOT NULL
+);
+
+INSERT INTO TB_OUTBOX_LIMPEZA (CODIGO_LIMPEZA, ORIGEM, VALIDO_ATE) VALUES (1, NULL, TIMESTAMP '2000-01-01 00:00:00');